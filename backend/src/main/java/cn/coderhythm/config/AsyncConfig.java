@@ -0,0 +1,65 @@
+package cn.coderhythm.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 后台线程池配置
+ * 开启虚拟线程模式时线程池改用虚拟线程，池大小和队列仍作为并发上限与拒绝策略保留。
+ */
+@Configuration
+public class AsyncConfig {
+
+    /**
+     * 仪表盘汇总查询使用的有界线程池
+     * 队列满时直接拒绝，对应的数据块在响应中标记为不可用，而不是拖慢请求线程
+     * 任务带上提交线程的认证信息，读写分离在池内线程上也能识别当前用户的写后读窗口
+     */
+    @Bean(name = "dashboardExecutor")
+    public ThreadPoolTaskExecutor dashboardExecutor(
+            @Value("${app.dashboard.executor.pool-size:8}") int poolSize,
+            @Value("${app.dashboard.executor.queue-capacity:64}") int queueCapacity,
+            @Value("${app.threads.virtual.enabled:false}") boolean virtualThreads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("dashboard-");
+        executor.setTaskDecorator(DelegatingSecurityContextRunnable::new);
+        useVirtualThreads(executor, virtualThreads);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * SSE 推送线程池，各订阅者的队列在此串行发送
+     */
+    @Bean(name = "eventDispatchExecutor")
+    public ThreadPoolTaskExecutor eventDispatchExecutor(
+            @Value("${app.events.executor.pool-size:4}") int poolSize,
+            @Value("${app.events.executor.queue-capacity:1000}") int queueCapacity,
+            @Value("${app.threads.virtual.enabled:false}") boolean virtualThreads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("sse-dispatch-");
+        useVirtualThreads(executor, virtualThreads);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    private static void useVirtualThreads(ThreadPoolTaskExecutor executor, boolean virtualThreads) {
+        if (virtualThreads) {
+            executor.setThreadFactory(Thread.ofVirtual().name(executor.getThreadNamePrefix(), 0).factory());
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package cn.coderhythm.config;
+
+import cn.coderhythm.loadshed.AimdLimiter;
+import cn.coderhythm.loadshed.ConcurrencyLimitFilter;
+import cn.coderhythm.loadshed.EndpointClass;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.web.cors.CorsConfigurationSource;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 自适应并发限制，通过 app.concurrency-limit.enabled 开关
+ * 认证、读、写三类接口各自一个 AIMD 限制器，参数为 app.concurrency-limit.{auth|read|write}.*，未配置时使用下面的默认值。
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.concurrency-limit.enabled", havingValue = "true")
+@Slf4j
+public class ConcurrencyLimitConfig {
+
+    private static final String PREFIX = "app.concurrency-limit.";
+
+    @Value("${app.concurrency-limit.retry-after-seconds:1}")
+    private int retryAfterSeconds;
+
+    // 分片上传的耗时取决于客户端上传速度，占用名额时间长且不反映服务端负载，不参与限制
+    @Value("${app.concurrency-limit.excluded-paths:/avatars/**,/resources/**,/uploads/**,/events/**,/actuator/**,/upload-sessions/*/chunks}")
+    private List<String> excludedPaths;
+
+    @Bean
+    public Map<EndpointClass, AimdLimiter> concurrencyLimiters(Environment environment) {
+        Map<EndpointClass, AimdLimiter> limiters = new EnumMap<>(EndpointClass.class);
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            String prefix = PREFIX + endpointClass.getKey() + ".";
+            int initialLimit = environment.getProperty(prefix + "initial-limit", Integer.class, 20);
+            int minLimit = environment.getProperty(prefix + "min-limit", Integer.class, 2);
+            int maxLimit = environment.getProperty(prefix + "max-limit", Integer.class, 200);
+            long targetLatencyMs = environment.getProperty(prefix + "target-latency-ms", Long.class, 500L);
+            double backoffRatio = environment.getProperty(prefix + "backoff-ratio", Double.class, 0.9);
+            limiters.put(endpointClass, new AimdLimiter(initialLimit, minLimit, maxLimit, targetLatencyMs, backoffRatio));
+            log.info("{} 接口并发上限初始 {}（{}-{}），目标延迟 {}ms", endpointClass.getKey(), initialLimit, minLimit, maxLimit,
+                    targetLatencyMs);
+        }
+        return limiters;
+    }
+
+    /**
+     * 排在请求关联 ID 和耗时追踪之后，被拒绝的请求也有日志关联 ID 和追踪记录
+     */
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            Map<EndpointClass, AimdLimiter> concurrencyLimiters, CorsConfigurationSource corsConfigurationSource,
+            ObjectMapper objectMapper, MeterRegistry meterRegistry) throws IOException {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(concurrencyLimiters, excludedPaths, corsConfigurationSource, retryAfterSeconds,
+                        objectMapper, meterRegistry));
+        registration.addUrlPatterns("/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+
+    @Bean
+    public MeterBinder concurrencyLimitMetrics(Map<EndpointClass, AimdLimiter> concurrencyLimiters) {
+        return registry -> concurrencyLimiters.forEach((endpointClass, limiter) -> {
+            Gauge.builder("garden.concurrency.limit", limiter, AimdLimiter::getLimit)
+                    .description("当前自适应并发上限")
+                    .tag("class", endpointClass.getKey())
+                    .register(registry);
+            Gauge.builder("garden.concurrency.in-flight", limiter, AimdLimiter::getInFlight)
+                    .description("正在处理的请求数")
+                    .tag("class", endpointClass.getKey())
+                    .register(registry);
+        });
+    }
+}
@@ -12,6 +12,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
@@ -26,8 +28,10 @@ import java.util.Set;
 /**
  * 数据初始化组件
  * 用于在应用启动时自动加载初始数据到数据库
+ * 角色等基础数据需先于其他启动任务（如 datagen 批量造数）就绪
  */
 @Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
 @Slf4j
 public class DataInitializer implements CommandLineRunner {
 
@@ -43,6 +47,9 @@ public class DataInitializer implements CommandLineRunner {
     @Autowired
     private MaintenanceCompanyRepository maintenanceCompanyRepository;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @Override
     public void run(String... args) throws Exception {
         log.info("Starting data initialization...");
@@ -167,11 +174,10 @@ public class DataInitializer implements CommandLineRunner {
      * @throws IOException 如果文件读取失败
      */
     private List<MaintenanceCompanyData> loadMaintenanceCompaniesFromFile() throws IOException {
-        ObjectMapper mapper = new ObjectMapper();
         ClassPathResource resource = new ClassPathResource("data/maintenance-companies.json");
         
         try (InputStream is = resource.getInputStream()) {
-            return mapper.readValue(is, new TypeReference<List<MaintenanceCompanyData>>() {});
+            return objectMapper.readValue(is, new TypeReference<List<MaintenanceCompanyData>>() {});
         }
     }
     
@@ -0,0 +1,76 @@
+package cn.coderhythm.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 二级缓存各区域的命中率
+ * hibernate-micrometer 只导出命中、未命中次数；这里按区域补充 hibernate.second.level.cache.hit.ratio，
+ * 查询缓存区域 default-query-results-region 一并导出。统计信息需要开启 hibernate.generate_statistics。
+ * 所有单例创建完成后再绑定，避免指标注册表与 EntityManagerFactory 之间的循环依赖。
+ */
+@Configuration
+public class HibernateCacheMetricsConfig implements SmartInitializingSingleton {
+
+    private static final String QUERY_RESULTS_REGION = "default-query-results-region";
+
+    @Autowired
+    private ObjectProvider<EntityManagerFactory> entityManagerFactory;
+
+    @Autowired
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        EntityManagerFactory emf = entityManagerFactory.getIfUnique();
+        MeterRegistry registry = meterRegistry.getIfUnique();
+        if (emf == null || registry == null) {
+            return;
+        }
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        Set<String> regions = new LinkedHashSet<>();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            regions.add(region);
+        }
+        regions.add(QUERY_RESULTS_REGION);
+        for (String region : regions) {
+            if (!hasRegion(statistics, region)) {
+                continue;
+            }
+            Gauge.builder("hibernate.second.level.cache.hit.ratio", statistics, stats -> hitRatio(stats, region))
+                    .description("二级缓存区域命中率（启动以来），尚无请求时为 0")
+                    .tag("region", region)
+                    .register(registry);
+        }
+    }
+
+    // 关闭查询缓存时没有对应区域，Hibernate 会对未知区域抛出异常
+    private static boolean hasRegion(Statistics statistics, String region) {
+        try {
+            return statistics.getCacheRegionStatistics(region) != null;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static double hitRatio(Statistics statistics, String region) {
+        CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+        if (regionStatistics == null) {
+            return 0;
+        }
+        long hits = regionStatistics.getHitCount();
+        long total = hits + regionStatistics.getMissCount();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+}
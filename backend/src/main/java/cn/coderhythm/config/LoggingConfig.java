@@ -0,0 +1,45 @@
+package cn.coderhythm.config;
+
+import cn.coderhythm.logging.LogSamplingFilter;
+import cn.coderhythm.logging.RequestIdFilter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * 请求关联 ID 与日志丢弃指标
+ * 异步 appender、采样规则见 logback-spring.xml；关联 ID 过滤器排在最前，安全过滤器链里的日志也能带上 requestId。
+ */
+@Configuration
+public class LoggingConfig {
+
+    @Value("${app.logging.max-events-per-request:200}")
+    private int maxEventsPerRequest;
+
+    @Bean
+    public FilterRegistrationBean<RequestIdFilter> requestIdFilter() {
+        FilterRegistrationBean<RequestIdFilter> registration = new FilterRegistrationBean<>(
+                new RequestIdFilter(maxEventsPerRequest));
+        registration.addUrlPatterns("/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public MeterBinder logSamplingMetrics() {
+        return registry -> {
+            FunctionCounter.builder("garden.logging.dropped", LogSamplingFilter.class, type -> LogSamplingFilter.getSampledOut())
+                    .description("采样或超出请求日志预算而丢弃的日志条数")
+                    .tag("reason", "sampled")
+                    .register(registry);
+            FunctionCounter.builder("garden.logging.dropped", LogSamplingFilter.class, type -> LogSamplingFilter.getOverBudget())
+                    .description("采样或超出请求日志预算而丢弃的日志条数")
+                    .tag("reason", "budget")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,53 @@
+package cn.coderhythm.config;
+
+import cn.coderhythm.querybudget.QueryBudgetFilter;
+import cn.coderhythm.querybudget.QueryBudgetInterceptor;
+import cn.coderhythm.querybudget.QueryCountingStatementInspector;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * 接口 SQL 语句数预算检查，仅在测试配置中启用
+ * Hibernate 语句按线程计数，控制器方法上的 @QueryBudget 给出上限，请求结束时由过滤器比对。
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.query-budget.enabled", havingValue = "true")
+public class QueryBudgetConfig implements WebMvcConfigurer {
+
+    @Value("${app.query-budget.fail-on-violation:true}")
+    private boolean failOnViolation;
+
+    @Value("${app.query-budget.require-budget:true}")
+    private boolean requireBudget;
+
+    @Value("${app.query-budget.excluded-paths:/events/**,/actuator/**}")
+    private List<String> excludedPaths;
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountingCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountingStatementInspector());
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryBudgetFilter> queryBudgetFilter(ObjectMapper objectMapper) {
+        FilterRegistrationBean<QueryBudgetFilter> registration = new FilterRegistrationBean<>(
+                new QueryBudgetFilter(objectMapper, failOnViolation, requireBudget, excludedPaths));
+        registration.addUrlPatterns("/*");
+        return registration;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new QueryBudgetInterceptor());
+    }
+}
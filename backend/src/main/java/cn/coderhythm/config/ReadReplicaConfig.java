@@ -0,0 +1,143 @@
+package cn.coderhythm.config;
+
+import cn.coderhythm.datasource.ReadWriteRoutingDataSource;
+import cn.coderhythm.datasource.ReadYourWritesTracker;
+import cn.coderhythm.datasource.ReplicaLagMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+/**
+ * 读写分离，通过 app.datasource.replica.enabled=true 开启
+ * 主库沿用 spring.datasource.*，从库使用 app.datasource.replica.*；两者各自一个 Hikari 连接池，
+ * 对外暴露的 dataSource 是 LazyConnectionDataSourceProxy 包装的路由数据源，路由规则见 ReadWriteRoutingDataSource。
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.enabled", havingValue = "true")
+@Slf4j
+public class ReadReplicaConfig {
+
+    // 定时任务延迟取用本类定义的 Bean
+    @Autowired
+    private ObjectProvider<ReplicaLagMonitor> replicaLagMonitorProvider;
+
+    @Autowired
+    private ObjectProvider<ReadYourWritesTracker> readYourWritesTrackerProvider;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * 从库连接设为只读，误路由的写操作会直接报错而不是写进从库
+     */
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            @Value("${app.datasource.replica.url}") String url,
+            @Value("${app.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${app.datasource.replica.password:${spring.datasource.password:}}") String password,
+            @Value("${app.datasource.replica.driver-class-name:}") String driverClassName) {
+        DataSourceBuilder<HikariDataSource> builder = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password);
+        if (!driverClassName.isEmpty()) {
+            builder.driverClassName(driverClassName);
+        }
+        HikariDataSource dataSource = builder.build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            @Value("${app.datasource.replica.lag-check:mysql}") String strategy,
+            @Value("${app.datasource.replica.max-lag-seconds:5}") long maxLagSeconds) {
+        return new ReplicaLagMonitor(replicaDataSource, strategy, maxLagSeconds);
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(
+            @Value("${app.datasource.replica.read-your-writes-ms:5000}") long windowMillis) {
+        return new ReadYourWritesTracker(windowMillis);
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                                       @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                                       ReplicaLagMonitor replicaLagMonitor,
+                                                       ReadYourWritesTracker readYourWritesTracker) {
+        return new ReadWriteRoutingDataSource(primaryDataSource, replicaDataSource, replicaLagMonitor, readYourWritesTracker);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        log.info("已开启读写分离，只读事务路由到从库");
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    /**
+     * 每个事务结束后归还连接，下一个事务重新路由；
+     * 默认的 DELAYED_ACQUISITION_AND_HOLD 会在 Open Session In View 下把第一次选中的库沿用到请求结束
+     */
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                "DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION");
+    }
+
+    @Bean
+    public MeterBinder replicaLagMetrics(ReplicaLagMonitor replicaLagMonitor, ReadYourWritesTracker readYourWritesTracker,
+                                         ReadWriteRoutingDataSource routingDataSource) {
+        return registry -> {
+            routingDataSource.bindTo(registry);
+            Gauge.builder("garden.datasource.replica.lag", replicaLagMonitor, ReplicaLagMonitor::getLagSeconds)
+                    .description("从库复制延迟（秒），未知时为 -1")
+                    .baseUnit("seconds")
+                    .register(registry);
+            Gauge.builder("garden.datasource.replica.usable", replicaLagMonitor, monitor -> monitor.isUsable() ? 1 : 0)
+                    .description("从库当前是否接收只读请求")
+                    .register(registry);
+            Gauge.builder("garden.datasource.read-your-writes.users", readYourWritesTracker, ReadYourWritesTracker::size)
+                    .description("处于写后读窗口内的用户数")
+                    .register(registry);
+        };
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-ms:1000}")
+    public void checkReplica() {
+        replicaLagMonitorProvider.getObject().check();
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.read-your-writes-purge-ms:60000}")
+    public void purgeReadYourWrites() {
+        readYourWritesTrackerProvider.getObject().purgeExpired();
+    }
+}
@@ -0,0 +1,72 @@
+package cn.coderhythm.config;
+
+import cn.coderhythm.tracing.OtlpTraceExporter;
+import cn.coderhythm.tracing.TracingFilter;
+import cn.coderhythm.tracing.TracingInterceptor;
+import cn.coderhythm.tracing.TracingSessionEventListener;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * 请求级耗时追踪，app.tracing.enabled=false 时整体关闭
+ * 记录 JWT 解析、用户加载、取连接、SQL 执行、控制器和响应体写出各阶段的耗时，
+ * 可选输出 Server-Timing 响应头、慢请求日志和 OTLP 导出。
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.tracing.enabled", havingValue = "true", matchIfMissing = true)
+public class TracingConfig implements WebMvcConfigurer {
+
+    @Value("${app.tracing.server-timing:false}")
+    private boolean serverTiming;
+
+    @Value("${app.tracing.slow-request-ms:1000}")
+    private long slowRequestMillis;
+
+    @Value("${app.tracing.max-spans:256}")
+    private int maxSpans;
+
+    @Value("${app.tracing.excluded-paths:/events/**,/actuator/**}")
+    private List<String> excludedPaths;
+
+    @Bean
+    public HibernatePropertiesCustomizer tracingSessionEventsCustomizer() {
+        return properties -> properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER,
+                TracingSessionEventListener.class.getName());
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "app.tracing.otlp.enabled", havingValue = "true")
+    public OtlpTraceExporter otlpTraceExporter(
+            @Value("${app.tracing.otlp.endpoint:http://localhost:4318/v1/traces}") String endpoint,
+            @Value("${spring.application.name:garden-manager-backend}") String serviceName) {
+        return new OtlpTraceExporter(endpoint, serviceName);
+    }
+
+    /**
+     * 排在请求关联 ID 之后，慢请求日志带 requestId；在安全过滤器链之前，JWT 解析和用户加载计入追踪
+     */
+    @Bean
+    public FilterRegistrationBean<TracingFilter> tracingFilter(ObjectProvider<OtlpTraceExporter> exporter) {
+        FilterRegistrationBean<TracingFilter> registration = new FilterRegistrationBean<>(new TracingFilter(
+                serverTiming, slowRequestMillis, maxSpans, excludedPaths, exporter.getIfAvailable()));
+        registration.addUrlPatterns("/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new TracingInterceptor());
+    }
+}
@@ -0,0 +1,81 @@
+package cn.coderhythm.config;
+
+import cn.coderhythm.datasource.ConnectionLimitingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 虚拟线程执行模式，通过 app.threads.virtual.enabled=true 开启
+ * Tomcat 每个请求在新的虚拟线程上处理，阻塞在 JDBC、BCrypt、文件读写时不再占用平台线程；
+ * server.tomcat.threads.max 因此不再限制并发，改由连接池前的信号量限制同时访问数据库的请求数。
+ * 后台线程池的虚拟线程见 AsyncConfig。
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.threads.virtual.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadConfig {
+
+    @Bean(name = "tomcatVirtualThreadExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService tomcatVirtualThreadExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("http-vt-", 0).factory());
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer(ExecutorService tomcatVirtualThreadExecutor) {
+        log.info("请求处理使用虚拟线程");
+        return protocolHandler -> protocolHandler.setExecutor(tomcatVirtualThreadExecutor);
+    }
+
+    /**
+     * 为每个连接池加并发上限，默认与该连接池大小一致；开启读写分离时主库、从库分别限制
+     */
+    @Bean
+    public static BeanPostProcessor connectionLimitingPostProcessor(Environment environment) {
+        Integer maxConcurrency = environment.getProperty("app.datasource.max-concurrency", Integer.class);
+        Long acquireTimeoutMs = environment.getProperty("app.datasource.acquire-timeout-ms", Long.class);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource)) {
+                    return bean;
+                }
+                HikariDataSource pool = (HikariDataSource) bean;
+                int limit = maxConcurrency != null ? maxConcurrency : pool.getMaximumPoolSize();
+                long timeout = acquireTimeoutMs != null ? acquireTimeoutMs : pool.getConnectionTimeout();
+                log.info("数据源 {} 并发上限 {}，等待超时 {}ms", beanName, limit, timeout);
+                return new ConnectionLimitingDataSource(pool, limit, timeout);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder connectionLimitMetrics(Map<String, DataSource> dataSources) {
+        return registry -> dataSources.forEach((name, dataSource) -> {
+            if (!(dataSource instanceof ConnectionLimitingDataSource)) {
+                return;
+            }
+            ConnectionLimitingDataSource limited = (ConnectionLimitingDataSource) dataSource;
+            Gauge.builder("garden.datasource.permits.available", limited, ConnectionLimitingDataSource::getAvailablePermits)
+                    .description("连接池前剩余的并发许可数")
+                    .tag("pool", name)
+                    .register(registry);
+            Gauge.builder("garden.datasource.permits.waiting", limited, ConnectionLimitingDataSource::getWaitingThreads)
+                    .description("等待并发许可的线程数")
+                    .tag("pool", name)
+                    .register(registry);
+        });
+    }
+}
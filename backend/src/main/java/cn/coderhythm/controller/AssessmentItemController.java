@@ -0,0 +1,152 @@
+package cn.coderhythm.controller;
+
+import cn.coderhythm.models.AssessmentItem;
+import cn.coderhythm.payload.request.AssessmentItemRequest;
+import cn.coderhythm.payload.response.MessageResponse;
+import cn.coderhythm.querybudget.QueryBudget;
+import cn.coderhythm.repository.AssessmentItemRepository;
+import cn.coderhythm.service.AssessmentCatalogService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+import java.util.List;
+import java.util.Optional;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/assessment-items")
+public class AssessmentItemController {
+
+    @Autowired
+    AssessmentItemRepository assessmentItemRepository;
+
+    @Autowired
+    AssessmentCatalogService assessmentCatalogService;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    // 获取考核项目目录树（级别 → 分类 → 项目），直接返回预先序列化的 JSON，支持 If-None-Match
+    @GetMapping("/tree")
+    @QueryBudget(0)
+    public ResponseEntity<byte[]> getCatalogTree(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        AssessmentCatalogService.Snapshot snapshot = assessmentCatalogService.getSnapshot();
+        if (etagMatches(ifNoneMatch, snapshot.getEtag())) {
+            meterRegistry.counter("cache.gets", "cache", "assessment-catalog-etag", "result", "hit").increment();
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(snapshot.getEtag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        meterRegistry.counter("cache.gets", "cache", "assessment-catalog-etag", "result", "miss").increment();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(snapshot.getEtag())
+                .cacheControl(CacheControl.noCache())
+                .body(snapshot.getJson());
+    }
+
+    // 获取全部考核项目
+    @GetMapping
+    @QueryBudget(1)
+    public ResponseEntity<List<AssessmentItem>> getAllAssessmentItems() {
+        return ResponseEntity.ok(assessmentItemRepository.findAll(Sort.by(Sort.Direction.ASC, "id")));
+    }
+
+    // 获取单个考核项目
+    @GetMapping("/{id}")
+    @QueryBudget(1)
+    public ResponseEntity<?> getAssessmentItemById(@PathVariable Long id) {
+        Optional<AssessmentItem> item = assessmentItemRepository.findById(id);
+        if (item.isPresent()) {
+            return ResponseEntity.ok(item.get());
+        } else {
+            return ResponseEntity
+                    .status(HttpStatus.NOT_FOUND)
+                    .body(new MessageResponse("考核项目不存在！"));
+        }
+    }
+
+    // 新增考核项目
+    @PostMapping
+    @QueryBudget(1)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> createAssessmentItem(@Valid @RequestBody AssessmentItemRequest itemRequest) {
+        AssessmentItem item = new AssessmentItem(
+                itemRequest.getLevel(),
+                itemRequest.getCategory(),
+                itemRequest.getName()
+        );
+        AssessmentItem savedItem = assessmentItemRepository.save(item);
+        assessmentCatalogService.upsert(savedItem);
+        return ResponseEntity.status(HttpStatus.CREATED).body(savedItem);
+    }
+
+    // 更新考核项目
+    @PutMapping("/{id}")
+    @QueryBudget(2)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> updateAssessmentItem(
+            @PathVariable Long id,
+            @Valid @RequestBody AssessmentItemRequest itemRequest) {
+
+        Optional<AssessmentItem> itemData = assessmentItemRepository.findById(id);
+        if (itemData.isPresent()) {
+            AssessmentItem item = itemData.get();
+            item.setLevel(itemRequest.getLevel());
+            item.setCategory(itemRequest.getCategory());
+            item.setName(itemRequest.getName());
+
+            AssessmentItem savedItem = assessmentItemRepository.save(item);
+            assessmentCatalogService.upsert(savedItem);
+            return ResponseEntity.ok(savedItem);
+        } else {
+            return ResponseEntity
+                    .status(HttpStatus.NOT_FOUND)
+                    .body(new MessageResponse("考核项目不存在！"));
+        }
+    }
+
+    // 删除考核项目
+    @DeleteMapping("/{id}")
+    @QueryBudget(2)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> deleteAssessmentItem(@PathVariable Long id) {
+        try {
+            assessmentItemRepository.deleteById(id);
+            assessmentCatalogService.remove(id);
+            return ResponseEntity.ok(new MessageResponse("考核项目删除成功！"));
+        } catch (Exception e) {
+            return ResponseEntity
+                    .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new MessageResponse("删除考核项目失败！"));
+        }
+    }
+
+    // If-None-Match 可能是逗号分隔的多个值，经过压缩的代理还可能改为弱校验
+    private boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
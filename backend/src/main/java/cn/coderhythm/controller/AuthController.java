@@ -7,12 +7,15 @@ import cn.coderhythm.dto.response.MessageResponse;
 import cn.coderhythm.model.ERole;
 import cn.coderhythm.model.Role;
 import cn.coderhythm.model.User;
+import cn.coderhythm.querybudget.QueryBudget;
 import cn.coderhythm.repository.RoleRepository;
+import cn.coderhythm.repository.UniqueConstraints;
 import cn.coderhythm.repository.UserRepository;
 import cn.coderhythm.security.jwt.JwtUtils;
 import cn.coderhythm.security.service.UserDetailsImpl;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -50,12 +53,14 @@ public class AuthController {
     JwtUtils jwtUtils;
 
     @GetMapping("/test")
+    @QueryBudget(0)
     public ResponseEntity<?> testEndpoint() {
         log.info("Test endpoint called");
         return ResponseEntity.ok(new MessageResponse("Auth service is up and running"));
     }
 
     @PostMapping("/signin")
+    @QueryBudget(6)
     public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
         log.info("Authentication attempt for user: {}", loginRequest.getUsername());
         
@@ -109,23 +114,12 @@ public class AuthController {
         }
     }
 
+    // 用户名、邮箱重复由唯一约束拦截，不再预先查询；角色查询走查询缓存
+    // 缓存预热后只有 users 一条 INSERT 和每个角色一条 user_roles INSERT，角色最多 3 个
     @PostMapping("/signup")
+    @QueryBudget(4)
     public ResponseEntity<?> registerUser(@Valid @RequestBody SignupRequest signUpRequest) {
         log.info("User registration request for: {}", signUpRequest.getUsername());
-        
-        if (userRepository.existsByUsername(signUpRequest.getUsername())) {
-            log.warn("Registration failed: Username {} is already taken", signUpRequest.getUsername());
-            return ResponseEntity
-                    .badRequest()
-                    .body(new MessageResponse("Error: Username is already taken!"));
-        }
-
-        if (userRepository.existsByEmail(signUpRequest.getEmail())) {
-            log.warn("Registration failed: Email {} is already in use", signUpRequest.getEmail());
-            return ResponseEntity
-                    .badRequest()
-                    .body(new MessageResponse("Error: Email is already in use!"));
-        }
 
         try {
             // Create new user's account
@@ -172,6 +166,20 @@ public class AuthController {
 
             log.info("User registered successfully: {}", signUpRequest.getUsername());
             return ResponseEntity.ok(new MessageResponse("User registered successfully!"));
+        } catch (DataIntegrityViolationException e) {
+            String message;
+            if (UniqueConstraints.isViolated(e, UniqueConstraints.USER_USERNAME)) {
+                message = "Error: Username is already taken!";
+            } else if (UniqueConstraints.isViolated(e, UniqueConstraints.USER_EMAIL)) {
+                message = "Error: Email is already in use!";
+            } else {
+                // 旧库中未命名的唯一约束无法区分字段
+                message = "Error: Username or email is already in use!";
+            }
+            log.warn("Registration failed for user {}: {}", signUpRequest.getUsername(), message);
+            return ResponseEntity
+                    .badRequest()
+                    .body(new MessageResponse(message));
         } catch (Exception e) {
             log.error("Registration error for user {}: {}", signUpRequest.getUsername(), e.getMessage(), e);
             return ResponseEntity
@@ -0,0 +1,168 @@
+package cn.coderhythm.controller;
+
+import cn.coderhythm.event.ChangeEvent;
+import cn.coderhythm.models.Contract;
+import cn.coderhythm.payload.request.ContractRequest;
+import cn.coderhythm.payload.response.MessageResponse;
+import cn.coderhythm.querybudget.QueryBudget;
+import cn.coderhythm.repository.ContractRepository;
+import cn.coderhythm.service.ContractLifecycleService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/contracts")
+public class ContractController {
+
+    @Autowired
+    ContractRepository contractRepository;
+
+    @Autowired
+    ContractLifecycleService contractLifecycleService;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    // 获取合同列表，可按状态过滤
+    @GetMapping
+    @QueryBudget(1)
+    public ResponseEntity<List<Contract>> getContracts(@RequestParam(required = false) String status) {
+        List<Contract> contracts;
+        if (status != null && !status.isEmpty()) {
+            contracts = contractRepository.findByStatusOrderByEndDateAsc(status);
+        } else {
+            contracts = contractRepository.findAll(Sort.by(Sort.Direction.ASC, "endDate"));
+        }
+        return ResponseEntity.ok(contracts);
+    }
+
+    // 获取未来若干天内到期的合同
+    @GetMapping("/expiring")
+    @QueryBudget(1)
+    public ResponseEntity<List<Contract>> getExpiringContracts(@RequestParam(defaultValue = "30") int days) {
+        LocalDate today = LocalDate.now();
+        return ResponseEntity.ok(contractRepository.findExpiringBetween(today, today.plusDays(Math.max(days, 0))));
+    }
+
+    // 获取单个合同
+    @GetMapping("/{id}")
+    @QueryBudget(1)
+    public ResponseEntity<?> getContractById(@PathVariable Long id) {
+        Optional<Contract> contract = contractRepository.findById(id);
+        if (contract.isPresent()) {
+            return ResponseEntity.ok(contract.get());
+        } else {
+            return ResponseEntity
+                    .status(HttpStatus.NOT_FOUND)
+                    .body(new MessageResponse("合同不存在！"));
+        }
+    }
+
+    // 新增合同，未指定状态时按日期确定初始状态
+    @PostMapping
+    @QueryBudget(1)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> createContract(@Valid @RequestBody ContractRequest contractRequest) {
+        if (contractRequest.getEndDate().isBefore(contractRequest.getStartDate())) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(new MessageResponse("结束日期不能早于开始日期！"));
+        }
+
+        Contract contract = new Contract();
+        applyRequest(contract, contractRequest);
+        Contract savedContract = contractRepository.save(contract);
+        contractLifecycleService.schedule(savedContract);
+        eventPublisher.publishEvent(ChangeEvent.created(ChangeEvent.ENTITY_CONTRACT, savedContract.getId()));
+        return ResponseEntity.status(HttpStatus.CREATED).body(savedContract);
+    }
+
+    // 更新合同，结束日期变更（如续签）后重新发送到期提醒
+    @PutMapping("/{id}")
+    @QueryBudget(2)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> updateContract(
+            @PathVariable Long id,
+            @Valid @RequestBody ContractRequest contractRequest) {
+
+        if (contractRequest.getEndDate().isBefore(contractRequest.getStartDate())) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(new MessageResponse("结束日期不能早于开始日期！"));
+        }
+
+        Optional<Contract> contractData = contractRepository.findById(id);
+        if (contractData.isPresent()) {
+            Contract contract = contractData.get();
+            if (!Objects.equals(contract.getEndDate(), contractRequest.getEndDate())) {
+                contract.setReminderSentAt(null);
+            }
+            applyRequest(contract, contractRequest);
+
+            Contract savedContract = contractRepository.save(contract);
+            contractLifecycleService.schedule(savedContract);
+            eventPublisher.publishEvent(ChangeEvent.updated(ChangeEvent.ENTITY_CONTRACT, id));
+            return ResponseEntity.ok(savedContract);
+        } else {
+            return ResponseEntity
+                    .status(HttpStatus.NOT_FOUND)
+                    .body(new MessageResponse("合同不存在！"));
+        }
+    }
+
+    // 删除合同
+    @DeleteMapping("/{id}")
+    @QueryBudget(2)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> deleteContract(@PathVariable Long id) {
+        try {
+            contractRepository.deleteById(id);
+            contractLifecycleService.unschedule(id);
+            eventPublisher.publishEvent(ChangeEvent.deleted(ChangeEvent.ENTITY_CONTRACT, id));
+            return ResponseEntity.ok(new MessageResponse("合同删除成功！"));
+        } catch (Exception e) {
+            return ResponseEntity
+                    .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new MessageResponse("删除合同失败！"));
+        }
+    }
+
+    private void applyRequest(Contract contract, ContractRequest contractRequest) {
+        contract.setContractNo(contractRequest.getContractNo());
+        contract.setContractName(contractRequest.getContractName());
+        contract.setContractType(contractRequest.getContractType());
+        contract.setPartyA(contractRequest.getPartyA());
+        contract.setPartyB(contractRequest.getPartyB());
+        contract.setAmount(contractRequest.getAmount());
+        contract.setStartDate(contractRequest.getStartDate());
+        contract.setEndDate(contractRequest.getEndDate());
+        contract.setSignDate(contractRequest.getSignDate());
+        contract.setArea(contractRequest.getArea());
+        contract.setDescription(contractRequest.getDescription());
+
+        if (contractRequest.getStatus() != null && !contractRequest.getStatus().isEmpty()) {
+            contract.setStatus(contractRequest.getStatus());
+        } else if (contract.getStatus() == null || contract.isOpen()) {
+            LocalDate today = LocalDate.now();
+            if (contract.getEndDate().isBefore(today)) {
+                contract.setStatus(Contract.STATUS_EXPIRED);
+            } else if (contract.getStartDate().isAfter(today)) {
+                contract.setStatus(Contract.STATUS_PENDING);
+            } else {
+                contract.setStatus(Contract.STATUS_ACTIVE);
+            }
+        }
+    }
+}
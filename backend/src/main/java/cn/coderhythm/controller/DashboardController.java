@@ -0,0 +1,33 @@
+package cn.coderhythm.controller;
+
+import cn.coderhythm.querybudget.QueryBudget;
+import cn.coderhythm.security.service.UserDetailsImpl;
+import cn.coderhythm.service.DashboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/dashboard")
+public class DashboardController {
+
+    @Autowired
+    DashboardService dashboardService;
+
+    // 仪表盘首屏所需数据一次返回：个人信息、养护单位、管养单元、问题和评分统计
+    @GetMapping("/summary")
+    @QueryBudget(6)
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<Map<String, Object>> getSummary() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+
+        return ResponseEntity.ok(dashboardService.buildSummary(userDetails.getId()));
+    }
+}
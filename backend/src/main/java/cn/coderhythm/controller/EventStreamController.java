@@ -0,0 +1,38 @@
+package cn.coderhythm.controller;
+
+import cn.coderhythm.querybudget.QueryBudget;
+import cn.coderhythm.service.ChangeEventBroadcaster;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 变更事件推送（Server-Sent Events）
+ * 浏览器 EventSource 无法设置请求头，可通过 ?token= 传递 JWT
+ */
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/events")
+public class EventStreamController {
+
+    @Autowired
+    ChangeEventBroadcaster changeEventBroadcaster;
+
+    // 订阅问题上报、状态变更、养护单位和管养单元的变更事件
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @QueryBudget(0)
+    @PreAuthorize("isAuthenticated()")
+    public SseEmitter stream(HttpServletResponse response) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        // 禁止 Nginx 缓冲事件流
+        response.setHeader("X-Accel-Buffering", "no");
+        response.setHeader("Cache-Control", "no-cache");
+        return changeEventBroadcaster.subscribe(authentication.getName());
+    }
+}
@@ -1,16 +1,25 @@
 package cn.coderhythm.controller;
 
+import cn.coderhythm.event.ChangeEvent;
 import cn.coderhythm.models.MaintenanceCompany;
 import cn.coderhythm.payload.request.MaintenanceCompanyRequest;
 import cn.coderhythm.payload.response.MessageResponse;
+import cn.coderhythm.querybudget.QueryBudget;
 import cn.coderhythm.repository.MaintenanceCompanyRepository;
+import cn.coderhythm.repository.UniqueConstraints;
+import cn.coderhythm.service.ReferenceDataCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,19 +31,36 @@ public class MaintenanceCompanyController {
     @Autowired
     MaintenanceCompanyRepository maintenanceCompanyRepository;
 
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    // 写操作与变更事件在同一事务中执行，增量同步的变更日志随业务数据一起提交
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    ReferenceDataCache referenceDataCache;
+
     // 获取所有养护单位
     @GetMapping("")
-    public ResponseEntity<List<MaintenanceCompany>> getAllMaintenanceCompanies() {
-        List<MaintenanceCompany> companies = maintenanceCompanyRepository.findAll();
-        return ResponseEntity.ok(companies);
+    @QueryBudget(1)
+    public ResponseEntity<byte[]> getAllMaintenanceCompanies(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return referenceDataCache.get(ReferenceDataCache.COMPANIES, maintenanceCompanyRepository::findAll)
+                .toResponse(accept, ifNoneMatch, acceptEncoding);
     }
 
     // 通过ID获取单个养护单位详情
     @GetMapping("/{id}")
+    @QueryBudget(1)
     public ResponseEntity<?> getMaintenanceCompanyById(@PathVariable Long id) {
         Optional<MaintenanceCompany> company = maintenanceCompanyRepository.findById(id);
         if (company.isPresent()) {
-            return ResponseEntity.ok(company.get());
+            return ResponseEntity.ok()
+                    .eTag(VersionTags.toETag(company.get().getVersion()))
+                    .body(company.get());
         } else {
             return ResponseEntity
                     .status(HttpStatus.NOT_FOUND)
@@ -44,6 +70,7 @@ public class MaintenanceCompanyController {
 
     // 通过企业名称查询养护单位
     @GetMapping("/search")
+    @QueryBudget(1)
     public ResponseEntity<List<MaintenanceCompany>> searchMaintenanceCompanies(@RequestParam(required = false) String companyName) {
         List<MaintenanceCompany> companies;
         
@@ -56,17 +83,11 @@ public class MaintenanceCompanyController {
         return ResponseEntity.ok(companies);
     }
 
-    // 创建新养护单位
+    // 创建新养护单位，企业名称重复由唯一约束拦截
     @PostMapping
+    @QueryBudget(2)
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> createMaintenanceCompany(@Valid @RequestBody MaintenanceCompanyRequest companyRequest) {
-        // 检查企业名称是否已存在
-        if (maintenanceCompanyRepository.existsByCompanyName(companyRequest.getCompanyName())) {
-            return ResponseEntity
-                    .status(HttpStatus.BAD_REQUEST)
-                    .body(new MessageResponse("该企业名称已存在！"));
-        }
-
         MaintenanceCompany company = new MaintenanceCompany(
                 companyRequest.getCompanyName(),
                 companyRequest.getCompanyType(),
@@ -76,50 +97,101 @@ public class MaintenanceCompanyController {
                 companyRequest.getAddress()
         );
 
-        MaintenanceCompany savedCompany = maintenanceCompanyRepository.save(company);
-        return ResponseEntity.status(HttpStatus.CREATED).body(savedCompany);
+        MaintenanceCompany savedCompany;
+        try {
+            savedCompany = transactionTemplate.execute(status -> {
+                MaintenanceCompany saved = maintenanceCompanyRepository.save(company);
+                eventPublisher.publishEvent(ChangeEvent.created(ChangeEvent.ENTITY_COMPANY, saved.getId()));
+                return saved;
+            });
+        } catch (DataIntegrityViolationException e) {
+            return duplicateNameOrRethrow(e);
+        }
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .eTag(VersionTags.toETag(savedCompany.getVersion()))
+                .body(savedCompany);
     }
 
-    // 更新养护单位
+    // 更新养护单位：一条带版本条件的 UPDATE，不先查询也不回读实体
+    // 必须携带 If-Match：缺少时返回 428，版本不一致时返回 412 和当前 ETag；If-Match: * 表示明确要求直接覆盖
+    // 响应体由请求内容、ID 和新版本号组成，不含 createdAt；If-Match: * 时不知道新版本号，响应不带 ETag
     @PutMapping("/{id}")
+    @QueryBudget(2)
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> updateMaintenanceCompany(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody MaintenanceCompanyRequest companyRequest) {
 
-        Optional<MaintenanceCompany> companyData = maintenanceCompanyRepository.findById(id);
-        if (companyData.isPresent()) {
-            MaintenanceCompany company = companyData.get();
-            
-            // 检查更新的企业名称是否已存在（排除当前企业）
-            if (!company.getCompanyName().equals(companyRequest.getCompanyName()) && 
-                maintenanceCompanyRepository.existsByCompanyName(companyRequest.getCompanyName())) {
+        if (ifMatch == null || ifMatch.trim().isEmpty()) {
+            return ResponseEntity
+                    .status(HttpStatus.PRECONDITION_REQUIRED)
+                    .body(new MessageResponse("更新养护单位需要携带 If-Match 版本号，请先获取最新数据！"));
+        }
+        Long expectedVersion = VersionTags.parseIfMatch(ifMatch);
+        Date now = new Date();
+        int updated;
+        try {
+            updated = transactionTemplate.execute(status -> {
+                int rows = maintenanceCompanyRepository.updateIfVersion(id, expectedVersion,
+                        companyRequest.getCompanyName(),
+                        companyRequest.getCompanyType(),
+                        companyRequest.getLegalPerson(),
+                        companyRequest.getContactPerson(),
+                        companyRequest.getContactPhone(),
+                        companyRequest.getAddress(),
+                        now);
+                if (rows > 0) {
+                    eventPublisher.publishEvent(ChangeEvent.updated(ChangeEvent.ENTITY_COMPANY, id));
+                }
+                return rows;
+            });
+        } catch (DataIntegrityViolationException e) {
+            return duplicateNameOrRethrow(e);
+        }
+        if (updated == 0) {
+            // 只有失败时才查询，区分不存在和版本冲突
+            Optional<MaintenanceCompany> current = maintenanceCompanyRepository.findById(id);
+            if (!current.isPresent()) {
                 return ResponseEntity
-                        .status(HttpStatus.BAD_REQUEST)
-                        .body(new MessageResponse("该企业名称已存在！"));
+                        .status(HttpStatus.NOT_FOUND)
+                        .body(new MessageResponse("养护单位不存在！"));
             }
-            
-            company.setCompanyName(companyRequest.getCompanyName());
-            company.setCompanyType(companyRequest.getCompanyType());
-            company.setLegalPerson(companyRequest.getLegalPerson());
-            company.setContactPerson(companyRequest.getContactPerson());
-            company.setContactPhone(companyRequest.getContactPhone());
-            company.setAddress(companyRequest.getAddress());
-
-            return ResponseEntity.ok(maintenanceCompanyRepository.save(company));
-        } else {
             return ResponseEntity
-                    .status(HttpStatus.NOT_FOUND)
-                    .body(new MessageResponse("养护单位不存在！"));
+                    .status(HttpStatus.PRECONDITION_FAILED)
+                    .eTag(VersionTags.toETag(current.get().getVersion()))
+                    .body(new MessageResponse("养护单位已被其他人修改，请刷新后重试！"));
+        }
+
+        MaintenanceCompany company = new MaintenanceCompany(
+                companyRequest.getCompanyName(),
+                companyRequest.getCompanyType(),
+                companyRequest.getLegalPerson(),
+                companyRequest.getContactPerson(),
+                companyRequest.getContactPhone(),
+                companyRequest.getAddress()
+        );
+        company.setId(id);
+        company.setUpdatedAt(now);
+        if (expectedVersion == null) {
+            return ResponseEntity.ok(company);
         }
+        company.setVersion(expectedVersion + 1);
+        return ResponseEntity.ok()
+                .eTag(VersionTags.toETag(company.getVersion()))
+                .body(company);
     }
 
     // 删除养护单位
     @DeleteMapping("/{id}")
+    @QueryBudget(3)
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> deleteMaintenanceCompany(@PathVariable Long id) {
         try {
-            maintenanceCompanyRepository.deleteById(id);
+            transactionTemplate.executeWithoutResult(status -> {
+                maintenanceCompanyRepository.deleteById(id);
+                eventPublisher.publishEvent(ChangeEvent.deleted(ChangeEvent.ENTITY_COMPANY, id));
+            });
             return ResponseEntity.ok(new MessageResponse("养护单位删除成功！"));
         } catch (Exception e) {
             return ResponseEntity
@@ -127,4 +199,13 @@ public class MaintenanceCompanyController {
                     .body(new MessageResponse("删除养护单位失败！"));
         }
     }
-} 
\ No newline at end of file
+
+    private ResponseEntity<?> duplicateNameOrRethrow(DataIntegrityViolationException e) {
+        if (UniqueConstraints.isViolated(e, UniqueConstraints.COMPANY_NAME)) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(new MessageResponse("该企业名称已存在！"));
+        }
+        throw e;
+    }
+}
@@ -0,0 +1,259 @@
+package cn.coderhythm.controller;
+
+import cn.coderhythm.models.MaintenancePlan;
+import cn.coderhythm.payload.request.MaintenancePlanRequest;
+import cn.coderhythm.payload.response.MessageResponse;
+import cn.coderhythm.payload.response.PlanConflict;
+import cn.coderhythm.payload.response.PlanOccurrence;
+import cn.coderhythm.plan.RecurrenceFrequency;
+import cn.coderhythm.querybudget.QueryBudget;
+import cn.coderhythm.repository.MaintenancePlanRepository;
+import cn.coderhythm.service.MaintenancePlanService;
+import cn.coderhythm.service.PlanConflictService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/maintenance-plans")
+public class MaintenancePlanController {
+
+    @Autowired
+    MaintenancePlanRepository maintenancePlanRepository;
+
+    @Autowired
+    MaintenancePlanService maintenancePlanService;
+
+    @Autowired
+    PlanConflictService planConflictService;
+
+    @Value("${app.maintenance-plans.max-window-days:366}")
+    private int maxWindowDays;
+
+    // 获取计划列表，可按管养单元过滤
+    @GetMapping
+    @QueryBudget(1)
+    public ResponseEntity<List<MaintenancePlan>> getMaintenancePlans(@RequestParam(required = false) Long unitId) {
+        List<MaintenancePlan> plans;
+        if (unitId != null) {
+            plans = maintenancePlanRepository.findByMaintenanceUnitIdOrderByStartDateAsc(unitId);
+        } else {
+            plans = maintenancePlanRepository.findAll(Sort.by(Sort.Direction.ASC, "startDate"));
+        }
+        return ResponseEntity.ok(plans);
+    }
+
+    // 展开日期窗口内的计划执行（含两端），未指定窗口时为本周
+    @GetMapping("/occurrences")
+    @QueryBudget(1)
+    public ResponseEntity<?> getOccurrences(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long unitId) {
+
+        LocalDate today = LocalDate.now();
+        LocalDate start = from != null ? from : today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        LocalDate end = to != null ? to : start.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY));
+
+        if (end.isBefore(start)) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(new MessageResponse("结束日期不能早于开始日期！"));
+        }
+        if (ChronoUnit.DAYS.between(start, end) >= maxWindowDays) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(new MessageResponse("查询范围不能超过" + maxWindowDays + "天！"));
+        }
+
+        List<PlanOccurrence> occurrences = maintenancePlanService.getOccurrences(start, end, unitId);
+        return ResponseEntity.ok(occurrences);
+    }
+
+    // 保存前检查与同一管养单元或区域内已有计划的有效期冲突，更新时传 excludePlanId 排除自身
+    @PostMapping("/conflicts/check")
+    @QueryBudget(1)
+    public ResponseEntity<?> checkConflicts(@Valid @RequestBody MaintenancePlanRequest planRequest,
+                                            @RequestParam(required = false) Long excludePlanId) {
+        String error = validateRule(planRequest);
+        if (error != null) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(new MessageResponse(error));
+        }
+
+        List<Long> planIds = planConflictService.findConflicts(planRequest.getMaintenanceUnitId(),
+                planRequest.getArea(), planRequest.getStartDate(), planRequest.getEndDate(), excludePlanId);
+        return ResponseEntity.ok(loadPlans(planIds));
+    }
+
+    // 某月的全部计划冲突，未指定月份时为本月（格式 yyyy-MM）
+    @GetMapping("/conflicts")
+    @QueryBudget(1)
+    public ResponseEntity<List<PlanConflict>> getMonthlyConflicts(
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth month) {
+        YearMonth target = month != null ? month : YearMonth.now();
+        return ResponseEntity.ok(planConflictService.findConflictsInWindow(target.atDay(1), target.atEndOfMonth()));
+    }
+
+    // 获取与某个已有计划冲突的计划
+    @GetMapping("/{id}/conflicts")
+    @QueryBudget(2)
+    public ResponseEntity<?> getPlanConflicts(@PathVariable Long id) {
+        Optional<MaintenancePlan> planData = maintenancePlanRepository.findById(id);
+        if (!planData.isPresent()) {
+            return ResponseEntity
+                    .status(HttpStatus.NOT_FOUND)
+                    .body(new MessageResponse("养护计划不存在！"));
+        }
+
+        MaintenancePlan plan = planData.get();
+        List<Long> planIds = planConflictService.findConflicts(plan.getMaintenanceUnitId(),
+                plan.getArea(), plan.getStartDate(), plan.getEndDate(), id);
+        return ResponseEntity.ok(loadPlans(planIds));
+    }
+
+    // 获取单个计划
+    @GetMapping("/{id}")
+    @QueryBudget(1)
+    public ResponseEntity<?> getMaintenancePlanById(@PathVariable Long id) {
+        Optional<MaintenancePlan> plan = maintenancePlanRepository.findById(id);
+        if (plan.isPresent()) {
+            return ResponseEntity.ok(plan.get());
+        } else {
+            return ResponseEntity
+                    .status(HttpStatus.NOT_FOUND)
+                    .body(new MessageResponse("养护计划不存在！"));
+        }
+    }
+
+    // 创建计划
+    @PostMapping
+    @QueryBudget(1)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> createMaintenancePlan(@Valid @RequestBody MaintenancePlanRequest planRequest) {
+        String error = validateRule(planRequest);
+        if (error != null) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(new MessageResponse(error));
+        }
+
+        MaintenancePlan plan = new MaintenancePlan();
+        applyRequest(plan, planRequest);
+        MaintenancePlan savedPlan = maintenancePlanRepository.save(plan);
+        maintenancePlanService.invalidate();
+        planConflictService.indexPlan(savedPlan);
+        return ResponseEntity.status(HttpStatus.CREATED).body(savedPlan);
+    }
+
+    // 更新计划
+    @PutMapping("/{id}")
+    @QueryBudget(2)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> updateMaintenancePlan(
+            @PathVariable Long id,
+            @Valid @RequestBody MaintenancePlanRequest planRequest) {
+
+        String error = validateRule(planRequest);
+        if (error != null) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(new MessageResponse(error));
+        }
+
+        Optional<MaintenancePlan> planData = maintenancePlanRepository.findById(id);
+        if (planData.isPresent()) {
+            MaintenancePlan plan = planData.get();
+            applyRequest(plan, planRequest);
+            MaintenancePlan savedPlan = maintenancePlanRepository.save(plan);
+            maintenancePlanService.invalidate();
+            planConflictService.indexPlan(savedPlan);
+            return ResponseEntity.ok(savedPlan);
+        } else {
+            return ResponseEntity
+                    .status(HttpStatus.NOT_FOUND)
+                    .body(new MessageResponse("养护计划不存在！"));
+        }
+    }
+
+    // 删除计划
+    @DeleteMapping("/{id}")
+    @QueryBudget(2)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> deleteMaintenancePlan(@PathVariable Long id) {
+        try {
+            maintenancePlanRepository.deleteById(id);
+            maintenancePlanService.invalidate();
+            planConflictService.removePlan(id);
+            return ResponseEntity.ok(new MessageResponse("养护计划删除成功！"));
+        } catch (Exception e) {
+            return ResponseEntity
+                    .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new MessageResponse("删除养护计划失败！"));
+        }
+    }
+
+    // 批量加载计划，按开始日期排序
+    private List<MaintenancePlan> loadPlans(List<Long> planIds) {
+        Map<Long, MaintenancePlan> byId = maintenancePlanRepository.findAllById(planIds).stream()
+                .collect(Collectors.toMap(MaintenancePlan::getId, Function.identity()));
+        return planIds.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparing(MaintenancePlan::getStartDate))
+                .collect(Collectors.toList());
+    }
+
+    private String validateRule(MaintenancePlanRequest planRequest) {
+        if (RecurrenceFrequency.fromLabel(planRequest.getFrequency()) == null) {
+            return "不支持的执行频率：" + planRequest.getFrequency();
+        }
+        if (planRequest.getEndDate() != null && planRequest.getEndDate().isBefore(planRequest.getStartDate())) {
+            return "结束日期不能早于开始日期！";
+        }
+        return null;
+    }
+
+    private void applyRequest(MaintenancePlan plan, MaintenancePlanRequest planRequest) {
+        plan.setPlanName(planRequest.getPlanName());
+        plan.setPlanType(planRequest.getPlanType());
+        plan.setArea(planRequest.getArea());
+        plan.setMaintenanceUnit(planRequest.getMaintenanceUnit());
+        plan.setMaintenanceUnitId(planRequest.getMaintenanceUnitId());
+        plan.setResponsiblePerson(planRequest.getResponsiblePerson());
+        // 统一保存中文名称
+        plan.setFrequency(RecurrenceFrequency.fromLabel(planRequest.getFrequency()).getLabel());
+        plan.setPriority(planRequest.getPriority());
+        plan.setDescription(planRequest.getDescription());
+        plan.setReviewer(planRequest.getReviewer());
+        plan.setStartDate(planRequest.getStartDate());
+        plan.setEndDate(planRequest.getEndDate());
+        if (planRequest.getStatus() != null) {
+            plan.setStatus(planRequest.getStatus());
+        }
+        if (planRequest.getReviewStatus() != null) {
+            plan.setReviewStatus(planRequest.getReviewStatus());
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package cn.coderhythm.controller;
+
+import cn.coderhythm.models.MaintenanceRecord;
+import cn.coderhythm.payload.request.MaintenanceRecordRequest;
+import cn.coderhythm.payload.response.MessageResponse;
+import cn.coderhythm.payload.response.ScoreSummary;
+import cn.coderhythm.querybudget.QueryBudget;
+import cn.coderhythm.repository.MaintenanceRecordRepository;
+import cn.coderhythm.service.MaintenanceRecordPartitionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/maintenance-records")
+public class MaintenanceRecordController {
+
+    private static final int MAX_PAGE_SIZE = 200;
+
+    @Autowired
+    MaintenanceRecordRepository maintenanceRecordRepository;
+
+    @Autowired
+    MaintenanceRecordPartitionService partitionService;
+
+    // 按日期范围分页查询养护记录，可按养护单位或道路过滤（结束日期包含当天）
+    @GetMapping
+    @QueryBudget(2)
+    public ResponseEntity<Page<MaintenanceRecord>> getMaintenanceRecords(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String contractor,
+            @RequestParam(required = false) String road,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+
+        LocalDateTime start = startDate.atStartOfDay();
+        LocalDateTime end = endDate.plusDays(1).atStartOfDay();
+        PageRequest pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE),
+                Sort.by(Sort.Direction.DESC, "recordTime"));
+
+        Page<MaintenanceRecord> records;
+        if (contractor != null && !contractor.isEmpty()) {
+            records = maintenanceRecordRepository.findByContractorInRange(contractor, start, end, pageable);
+        } else if (road != null && !road.isEmpty()) {
+            records = maintenanceRecordRepository.findByRoadInRange(road, start, end, pageable);
+        } else {
+            records = maintenanceRecordRepository.findInRange(start, end, pageable);
+        }
+        return ResponseEntity.ok(records);
+    }
+
+    // 按日期范围统计平均分，groupBy 可选 contractor / road
+    @GetMapping("/statistics/average-score")
+    @QueryBudget(1)
+    public ResponseEntity<?> getAverageScore(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String groupBy) {
+
+        LocalDateTime start = startDate.atStartOfDay();
+        LocalDateTime end = endDate.plusDays(1).atStartOfDay();
+
+        if (groupBy == null || groupBy.isEmpty()) {
+            return ResponseEntity.ok(maintenanceRecordRepository.summarizeScore(start, end));
+        }
+
+        List<ScoreSummary> summaries;
+        switch (groupBy) {
+            case "contractor":
+                summaries = maintenanceRecordRepository.averageScoreByContractor(start, end);
+                break;
+            case "road":
+                summaries = maintenanceRecordRepository.averageScoreByRoad(start, end);
+                break;
+            default:
+                return ResponseEntity
+                        .status(HttpStatus.BAD_REQUEST)
+                        .body(new MessageResponse("不支持的分组方式：" + groupBy));
+        }
+        return ResponseEntity.ok(summaries);
+    }
+
+    // 获取单条养护记录
+    @GetMapping("/{id}")
+    @QueryBudget(1)
+    public ResponseEntity<?> getMaintenanceRecordById(@PathVariable Long id) {
+        Optional<MaintenanceRecord> record = maintenanceRecordRepository.findById(id);
+        if (record.isPresent()) {
+            return ResponseEntity.ok(record.get());
+        } else {
+            return ResponseEntity
+                    .status(HttpStatus.NOT_FOUND)
+                    .body(new MessageResponse("养护记录不存在！"));
+        }
+    }
+
+    // 新增养护记录
+    @PostMapping
+    @QueryBudget(1)
+    public ResponseEntity<?> createMaintenanceRecord(@Valid @RequestBody MaintenanceRecordRequest recordRequest) {
+        MaintenanceRecord record = new MaintenanceRecord(
+                recordRequest.getRoad(),
+                recordRequest.getContractor(),
+                recordRequest.getInspector(),
+                recordRequest.getLocation(),
+                recordRequest.getPlantType(),
+                recordRequest.getMaintenanceGoal(),
+                recordRequest.getTechnicalMeasures(),
+                recordRequest.getScore(),
+                recordRequest.getRecordTime()
+        );
+
+        MaintenanceRecord savedRecord = maintenanceRecordRepository.save(record);
+        return ResponseEntity.status(HttpStatus.CREATED).body(savedRecord);
+    }
+
+    // 更新养护记录（记录时间决定所在分区，不允许修改）
+    @PutMapping("/{id}")
+    @QueryBudget(2)
+    public ResponseEntity<?> updateMaintenanceRecord(
+            @PathVariable Long id,
+            @Valid @RequestBody MaintenanceRecordRequest recordRequest) {
+
+        Optional<MaintenanceRecord> recordData = maintenanceRecordRepository.findById(id);
+        if (recordData.isPresent()) {
+            MaintenanceRecord record = recordData.get();
+            record.setRoad(recordRequest.getRoad());
+            record.setContractor(recordRequest.getContractor());
+            record.setInspector(recordRequest.getInspector());
+            record.setLocation(recordRequest.getLocation());
+            record.setPlantType(recordRequest.getPlantType());
+            record.setMaintenanceGoal(recordRequest.getMaintenanceGoal());
+            record.setTechnicalMeasures(recordRequest.getTechnicalMeasures());
+            record.setScore(recordRequest.getScore());
+
+            return ResponseEntity.ok(maintenanceRecordRepository.save(record));
+        } else {
+            return ResponseEntity
+                    .status(HttpStatus.NOT_FOUND)
+                    .body(new MessageResponse("养护记录不存在！"));
+        }
+    }
+
+    // 删除养护记录
+    @DeleteMapping("/{id}")
+    @QueryBudget(2)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> deleteMaintenanceRecord(@PathVariable Long id) {
+        try {
+            maintenanceRecordRepository.deleteById(id);
+            return ResponseEntity.ok(new MessageResponse("养护记录删除成功！"));
+        } catch (Exception e) {
+            return ResponseEntity
+                    .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new MessageResponse("删除养护记录失败！"));
+        }
+    }
+
+    // 查看当前的按月分区
+    @GetMapping("/partitions")
+    @QueryBudget(0)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<String>> getPartitions() {
+        return ResponseEntity.ok(partitionService.listMonthlyPartitions());
+    }
+
+    // 查看已换出的归档表
+    @GetMapping("/partitions/archives")
+    @QueryBudget(0)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<String>> getArchiveTables() {
+        return ResponseEntity.ok(partitionService.listArchiveTables());
+    }
+
+    // 把指定月份（yyyy-MM）之前的历史分区整体换出到归档表，数据不会被删除
+    @PostMapping("/partitions/archive")
+    @QueryBudget(0)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> archivePartitions(@RequestParam String before) {
+        YearMonth boundary;
+        try {
+            boundary = YearMonth.parse(before);
+        } catch (Exception e) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(new MessageResponse("月份格式应为 yyyy-MM"));
+        }
+        if (boundary.isAfter(partitionService.latestArchiveBoundary())) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(new MessageResponse("只能归档 " + partitionService.latestArchiveBoundary() + " 之前的分区"));
+        }
+
+        try {
+            List<String> archived = partitionService.archivePartitionsBefore(boundary);
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", "历史分区归档成功！");
+            response.put("archiveTables", archived);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity
+                    .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new MessageResponse("归档历史分区失败！"));
+        }
+    }
+}
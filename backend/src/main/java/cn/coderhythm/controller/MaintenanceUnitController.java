@@ -1,17 +1,27 @@
 package cn.coderhythm.controller;
 
+import cn.coderhythm.event.ChangeEvent;
 import cn.coderhythm.models.MaintenanceUnit;
 import cn.coderhythm.payload.request.MaintenanceUnitRequest;
 import cn.coderhythm.payload.response.MessageResponse;
+import cn.coderhythm.querybudget.QueryBudget;
 import cn.coderhythm.repository.MaintenanceUnitRepository;
+import cn.coderhythm.repository.UniqueConstraints;
+import cn.coderhythm.service.ReferenceDataCache;
+import cn.coderhythm.service.SpatialIndexService;
+import cn.coderhythm.spatial.GeoBoundary;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
-import java.util.List;
+import java.util.Date;
 import java.util.Optional;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
@@ -22,19 +32,39 @@ public class MaintenanceUnitController {
     @Autowired
     MaintenanceUnitRepository maintenanceUnitRepository;
 
+    @Autowired
+    SpatialIndexService spatialIndexService;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    // 写操作与变更事件在同一事务中执行，增量同步的变更日志随业务数据一起提交
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    ReferenceDataCache referenceDataCache;
+
     // 获取所有管养单元
     @GetMapping
-    public ResponseEntity<List<MaintenanceUnit>> getAllMaintenanceUnits() {
-        List<MaintenanceUnit> units = maintenanceUnitRepository.findAll();
-        return ResponseEntity.ok(units);
+    @QueryBudget(1)
+    public ResponseEntity<byte[]> getAllMaintenanceUnits(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return referenceDataCache.get(ReferenceDataCache.UNITS, maintenanceUnitRepository::findAll)
+                .toResponse(accept, ifNoneMatch, acceptEncoding);
     }
 
     // 获取单个管养单元详情
     @GetMapping("/{id}")
+    @QueryBudget(1)
     public ResponseEntity<?> getMaintenanceUnitById(@PathVariable Long id) {
         Optional<MaintenanceUnit> unit = maintenanceUnitRepository.findById(id);
         if (unit.isPresent()) {
-            return ResponseEntity.ok(unit.get());
+            return ResponseEntity.ok()
+                    .eTag(VersionTags.toETag(unit.get().getVersion()))
+                    .body(unit.get());
         } else {
             return ResponseEntity
                     .status(HttpStatus.NOT_FOUND)
@@ -42,8 +72,9 @@ public class MaintenanceUnitController {
         }
     }
 
-    // 创建新管养单元
+    // 创建新管养单元，单元名称重复由唯一约束拦截
     @PostMapping
+    @QueryBudget(2)
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> createMaintenanceUnit(@Valid @RequestBody MaintenanceUnitRequest unitRequest) {
         MaintenanceUnit unit = new MaintenanceUnit(
@@ -54,42 +85,109 @@ public class MaintenanceUnitController {
                 unitRequest.getGreenArea(),
                 unitRequest.getPatchCount()
         );
+        unit.setBoundary(GeoBoundary.of(unitRequest.getBoundary()));
 
-        MaintenanceUnit savedUnit = maintenanceUnitRepository.save(unit);
-        return ResponseEntity.status(HttpStatus.CREATED).body(savedUnit);
+        MaintenanceUnit savedUnit;
+        try {
+            savedUnit = transactionTemplate.execute(status -> {
+                MaintenanceUnit saved = maintenanceUnitRepository.save(unit);
+                eventPublisher.publishEvent(ChangeEvent.created(ChangeEvent.ENTITY_UNIT, saved.getId()));
+                return saved;
+            });
+        } catch (DataIntegrityViolationException e) {
+            return duplicateNameOrRethrow(e);
+        }
+        spatialIndexService.indexUnit(savedUnit);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .eTag(VersionTags.toETag(savedUnit.getVersion()))
+                .body(savedUnit);
     }
 
-    // 更新管养单元
+    // 更新管养单元：一条带版本条件的 UPDATE，不先查询也不回读实体
+    // 必须携带 If-Match：缺少时返回 428，版本不一致时返回 412 和当前 ETag；If-Match: * 表示明确要求直接覆盖
+    // 响应体由请求内容、ID 和新版本号组成，不含 createdAt；If-Match: * 时不知道新版本号，响应不带 ETag
     @PutMapping("/{id}")
+    @QueryBudget(2)
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> updateMaintenanceUnit(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody MaintenanceUnitRequest unitRequest) {
 
-        Optional<MaintenanceUnit> unitData = maintenanceUnitRepository.findById(id);
-        if (unitData.isPresent()) {
-            MaintenanceUnit unit = unitData.get();
-            unit.setUnitName(unitRequest.getUnitName());
-            unit.setMaintenanceLevel(unitRequest.getMaintenanceLevel());
-            unit.setTreeTypes(unitRequest.getTreeTypes());
-            unit.setTreeCount(unitRequest.getTreeCount());
-            unit.setGreenArea(unitRequest.getGreenArea());
-            unit.setPatchCount(unitRequest.getPatchCount());
-
-            return ResponseEntity.ok(maintenanceUnitRepository.save(unit));
-        } else {
+        if (ifMatch == null || ifMatch.trim().isEmpty()) {
             return ResponseEntity
-                    .status(HttpStatus.NOT_FOUND)
-                    .body(new MessageResponse("管养单元不存在！"));
+                    .status(HttpStatus.PRECONDITION_REQUIRED)
+                    .body(new MessageResponse("更新管养单元需要携带 If-Match 版本号，请先获取最新数据！"));
+        }
+        Long expectedVersion = VersionTags.parseIfMatch(ifMatch);
+        Date now = new Date();
+        GeoBoundary boundary = GeoBoundary.of(unitRequest.getBoundary());
+        int updated;
+        try {
+            updated = transactionTemplate.execute(status -> {
+                int rows = maintenanceUnitRepository.updateIfVersion(id, expectedVersion,
+                        unitRequest.getUnitName(),
+                        unitRequest.getMaintenanceLevel(),
+                        unitRequest.getTreeTypes(),
+                        unitRequest.getTreeCount(),
+                        unitRequest.getGreenArea(),
+                        unitRequest.getPatchCount(),
+                        boundary,
+                        now);
+                if (rows > 0) {
+                    eventPublisher.publishEvent(ChangeEvent.updated(ChangeEvent.ENTITY_UNIT, id));
+                }
+                return rows;
+            });
+        } catch (DataIntegrityViolationException e) {
+            return duplicateNameOrRethrow(e);
         }
+        if (updated == 0) {
+            // 只有失败时才查询，区分不存在和版本冲突
+            Optional<MaintenanceUnit> current = maintenanceUnitRepository.findById(id);
+            if (!current.isPresent()) {
+                return ResponseEntity
+                        .status(HttpStatus.NOT_FOUND)
+                        .body(new MessageResponse("管养单元不存在！"));
+            }
+            return ResponseEntity
+                    .status(HttpStatus.PRECONDITION_FAILED)
+                    .eTag(VersionTags.toETag(current.get().getVersion()))
+                    .body(new MessageResponse("管养单元已被其他人修改，请刷新后重试！"));
+        }
+
+        MaintenanceUnit unit = new MaintenanceUnit(
+                unitRequest.getUnitName(),
+                unitRequest.getMaintenanceLevel(),
+                unitRequest.getTreeTypes(),
+                unitRequest.getTreeCount(),
+                unitRequest.getGreenArea(),
+                unitRequest.getPatchCount()
+        );
+        unit.setId(id);
+        unit.setBoundary(boundary);
+        unit.setUpdatedAt(now);
+        spatialIndexService.indexUnit(unit);
+        if (expectedVersion == null) {
+            return ResponseEntity.ok(unit);
+        }
+        unit.setVersion(expectedVersion + 1);
+        return ResponseEntity.ok()
+                .eTag(VersionTags.toETag(unit.getVersion()))
+                .body(unit);
     }
 
     // 删除管养单元
     @DeleteMapping("/{id}")
+    @QueryBudget(3)
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> deleteMaintenanceUnit(@PathVariable Long id) {
         try {
-            maintenanceUnitRepository.deleteById(id);
+            transactionTemplate.executeWithoutResult(status -> {
+                maintenanceUnitRepository.deleteById(id);
+                eventPublisher.publishEvent(ChangeEvent.deleted(ChangeEvent.ENTITY_UNIT, id));
+            });
+            spatialIndexService.removeUnit(id);
             return ResponseEntity.ok(new MessageResponse("管养单元删除成功！"));
         } catch (Exception e) {
             return ResponseEntity
@@ -97,4 +195,13 @@ public class MaintenanceUnitController {
                     .body(new MessageResponse("删除管养单元失败！"));
         }
     }
-} 
\ No newline at end of file
+
+    private ResponseEntity<?> duplicateNameOrRethrow(DataIntegrityViolationException e) {
+        if (UniqueConstraints.isViolated(e, UniqueConstraints.UNIT_NAME)) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(new MessageResponse("该管养单元名称已存在！"));
+        }
+        throw e;
+    }
+}
@@ -0,0 +1,113 @@
+package cn.coderhythm.controller;
+
+import cn.coderhythm.models.MaintenanceUnit;
+import cn.coderhythm.models.ProblemReport;
+import cn.coderhythm.payload.response.MessageResponse;
+import cn.coderhythm.querybudget.QueryBudget;
+import cn.coderhythm.repository.MaintenanceUnitRepository;
+import cn.coderhythm.repository.ProblemReportRepository;
+import cn.coderhythm.service.SpatialIndexService;
+import cn.coderhythm.spatial.BoundingBox;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 地图视图的空间查询，基于 SpatialIndexService 的内存 R 树
+ */
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/map")
+public class MapController {
+
+    // 半径查询上限 50 公里
+    private static final double MAX_RADIUS_METERS = 50_000d;
+
+    @Autowired
+    SpatialIndexService spatialIndexService;
+
+    @Autowired
+    MaintenanceUnitRepository maintenanceUnitRepository;
+
+    @Autowired
+    ProblemReportRepository problemReportRepository;
+
+    // 查询某个坐标所在的管养单元
+    @GetMapping("/units/locate")
+    @QueryBudget(1)
+    public ResponseEntity<List<MaintenanceUnit>> locateUnit(@RequestParam double lat, @RequestParam double lng) {
+        List<Long> ids = spatialIndexService.findUnitsContaining(lat, lng);
+        return ResponseEntity.ok(loadInOrder(ids, maintenanceUnitRepository::findAllById, MaintenanceUnit::getId));
+    }
+
+    // 查询与可视范围相交的管养单元
+    @GetMapping("/units")
+    @QueryBudget(1)
+    public ResponseEntity<List<MaintenanceUnit>> getUnitsInBox(
+            @RequestParam double minLat, @RequestParam double minLng,
+            @RequestParam double maxLat, @RequestParam double maxLng) {
+        List<Long> ids = spatialIndexService.findUnitsInBox(new BoundingBox(minLng, minLat, maxLng, maxLat));
+        return ResponseEntity.ok(loadInOrder(ids, maintenanceUnitRepository::findAllById, MaintenanceUnit::getId));
+    }
+
+    // 查询可视范围内的问题
+    @GetMapping("/problems")
+    @QueryBudget(1)
+    public ResponseEntity<List<ProblemReport>> getProblemsInBox(
+            @RequestParam double minLat, @RequestParam double minLng,
+            @RequestParam double maxLat, @RequestParam double maxLng) {
+        List<Long> ids = spatialIndexService.findProblemsInBox(new BoundingBox(minLng, minLat, maxLng, maxLat));
+        return ResponseEntity.ok(loadInOrder(ids, problemReportRepository::findAllById, ProblemReport::getId));
+    }
+
+    // 查询半径范围内的问题，按距离由近到远排序
+    @GetMapping("/problems/nearby")
+    @QueryBudget(1)
+    public ResponseEntity<?> getProblemsNearby(
+            @RequestParam double lat, @RequestParam double lng,
+            @RequestParam(defaultValue = "1000") double radius) {
+        if (radius <= 0 || radius > MAX_RADIUS_METERS) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(new MessageResponse("查询半径应在0到50000米之间"));
+        }
+        List<Long> ids = spatialIndexService.findProblemsWithin(lat, lng, radius);
+        return ResponseEntity.ok(loadInOrder(ids, problemReportRepository::findAllById, ProblemReport::getId));
+    }
+
+    // 查询某个问题所在的管养单元
+    @GetMapping("/problems/{id}/unit")
+    @QueryBudget(2)
+    public ResponseEntity<?> getProblemUnit(@PathVariable Long id) {
+        Optional<ProblemReport> problem = problemReportRepository.findById(id);
+        if (!problem.isPresent()) {
+            return ResponseEntity
+                    .status(HttpStatus.NOT_FOUND)
+                    .body(new MessageResponse("问题不存在！"));
+        }
+        if (!problem.get().hasCoordinates()) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(new MessageResponse("该问题没有坐标信息"));
+        }
+        List<Long> ids = spatialIndexService.findUnitsContaining(problem.get().getLatitude(), problem.get().getLongitude());
+        return ResponseEntity.ok(loadInOrder(ids, maintenanceUnitRepository::findAllById, MaintenanceUnit::getId));
+    }
+
+    // 一次查询批量加载实体，并保持索引返回的顺序
+    private <T> List<T> loadInOrder(List<Long> ids, Function<List<Long>, List<T>> loader, Function<T, Long> idGetter) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, T> byId = loader.apply(ids).stream().collect(Collectors.toMap(idGetter, Function.identity()));
+        return ids.stream().map(byId::get).filter(entity -> entity != null).collect(Collectors.toList());
+    }
+}
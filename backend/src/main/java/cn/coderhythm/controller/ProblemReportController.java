@@ -0,0 +1,183 @@
+package cn.coderhythm.controller;
+
+import cn.coderhythm.event.ChangeEvent;
+import cn.coderhythm.models.ProblemReport;
+import cn.coderhythm.payload.request.ProblemReportRequest;
+import cn.coderhythm.payload.response.MessageResponse;
+import cn.coderhythm.querybudget.QueryBudget;
+import cn.coderhythm.repository.ProblemReportRepository;
+import cn.coderhythm.service.SpatialIndexService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/problem-reports")
+public class ProblemReportController {
+
+    @Autowired
+    ProblemReportRepository problemReportRepository;
+
+    @Autowired
+    SpatialIndexService spatialIndexService;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    // 写操作与变更事件在同一事务中执行，增量同步的变更日志随业务数据一起提交
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    // 获取问题列表，可按状态过滤
+    @GetMapping
+    @QueryBudget(1)
+    public ResponseEntity<List<ProblemReport>> getProblemReports(@RequestParam(required = false) String status) {
+        List<ProblemReport> problems;
+        if (status != null && !status.isEmpty()) {
+            problems = problemReportRepository.findByStatusOrderByReportTimeDesc(status);
+        } else {
+            problems = problemReportRepository.findAll(Sort.by(Sort.Direction.DESC, "reportTime"));
+        }
+        return ResponseEntity.ok(problems);
+    }
+
+    // 获取单个问题详情
+    @GetMapping("/{id}")
+    @QueryBudget(1)
+    public ResponseEntity<?> getProblemReportById(@PathVariable Long id) {
+        Optional<ProblemReport> problem = problemReportRepository.findById(id);
+        if (problem.isPresent()) {
+            return ResponseEntity.ok(problem.get());
+        } else {
+            return ResponseEntity
+                    .status(HttpStatus.NOT_FOUND)
+                    .body(new MessageResponse("问题不存在！"));
+        }
+    }
+
+    // 上报新问题，带坐标时自动匹配所在管养单元
+    @PostMapping
+    @QueryBudget(2)
+    public ResponseEntity<?> createProblemReport(@Valid @RequestBody ProblemReportRequest problemRequest) {
+        ProblemReport problem = new ProblemReport();
+        applyRequest(problem, problemRequest);
+
+        ProblemReport savedProblem = transactionTemplate.execute(status -> {
+            ProblemReport saved = problemReportRepository.save(problem);
+            eventPublisher.publishEvent(ChangeEvent.created(ChangeEvent.ENTITY_PROBLEM, saved.getId()));
+            return saved;
+        });
+        spatialIndexService.indexProblem(savedProblem);
+        return ResponseEntity.status(HttpStatus.CREATED).body(savedProblem);
+    }
+
+    // 更新问题
+    @PutMapping("/{id}")
+    @QueryBudget(3)
+    public ResponseEntity<?> updateProblemReport(
+            @PathVariable Long id,
+            @Valid @RequestBody ProblemReportRequest problemRequest) {
+
+        Optional<ProblemReport> problemData = problemReportRepository.findById(id);
+        if (problemData.isPresent()) {
+            ProblemReport problem = problemData.get();
+            applyRequest(problem, problemRequest);
+
+            ProblemReport savedProblem = transactionTemplate.execute(status -> {
+                ProblemReport saved = problemReportRepository.save(problem);
+                eventPublisher.publishEvent(ChangeEvent.updated(ChangeEvent.ENTITY_PROBLEM, id));
+                return saved;
+            });
+            spatialIndexService.indexProblem(savedProblem);
+            return ResponseEntity.ok(savedProblem);
+        } else {
+            return ResponseEntity
+                    .status(HttpStatus.NOT_FOUND)
+                    .body(new MessageResponse("问题不存在！"));
+        }
+    }
+
+    // 变更问题处理状态
+    @PatchMapping("/{id}/status")
+    @QueryBudget(3)
+    public ResponseEntity<?> updateProblemStatus(@PathVariable Long id, @RequestBody Map<String, String> body) {
+        String status = body.get("status");
+        if (status == null || status.isEmpty()) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(new MessageResponse("状态不能为空！"));
+        }
+
+        Optional<ProblemReport> problemData = problemReportRepository.findById(id);
+        if (problemData.isPresent()) {
+            ProblemReport problem = problemData.get();
+            problem.setStatus(status);
+            ProblemReport savedProblem = transactionTemplate.execute(txStatus -> {
+                ProblemReport saved = problemReportRepository.save(problem);
+                eventPublisher.publishEvent(ChangeEvent.statusChanged(ChangeEvent.ENTITY_PROBLEM, id, status));
+                return saved;
+            });
+            return ResponseEntity.ok(savedProblem);
+        } else {
+            return ResponseEntity
+                    .status(HttpStatus.NOT_FOUND)
+                    .body(new MessageResponse("问题不存在！"));
+        }
+    }
+
+    // 删除问题
+    @DeleteMapping("/{id}")
+    @QueryBudget(3)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> deleteProblemReport(@PathVariable Long id) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                problemReportRepository.deleteById(id);
+                eventPublisher.publishEvent(ChangeEvent.deleted(ChangeEvent.ENTITY_PROBLEM, id));
+            });
+            spatialIndexService.removeProblem(id);
+            return ResponseEntity.ok(new MessageResponse("问题删除成功！"));
+        } catch (Exception e) {
+            return ResponseEntity
+                    .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new MessageResponse("删除问题失败！"));
+        }
+    }
+
+    private void applyRequest(ProblemReport problem, ProblemReportRequest problemRequest) {
+        problem.setProblemType(problemRequest.getProblemType());
+        problem.setSource(problemRequest.getSource());
+        problem.setUrgency(problemRequest.getUrgency());
+        problem.setTaskName(problemRequest.getTaskName());
+        problem.setLocation(problemRequest.getLocation());
+        problem.setLatitude(problemRequest.getLatitude());
+        problem.setLongitude(problemRequest.getLongitude());
+        problem.setReporter(problemRequest.getReporter());
+        problem.setDescription(problemRequest.getDescription());
+        if (problemRequest.getReportTime() != null) {
+            problem.setReportTime(problemRequest.getReportTime());
+        }
+        if (problemRequest.getStatus() != null) {
+            problem.setStatus(problemRequest.getStatus());
+        }
+
+        // 根据坐标定位所在的管养单元
+        Long unitId = null;
+        if (problem.hasCoordinates()) {
+            List<Long> units = spatialIndexService.findUnitsContaining(problem.getLatitude(), problem.getLongitude());
+            unitId = units.isEmpty() ? null : units.get(0);
+        }
+        problem.setMaintenanceUnitId(unitId);
+    }
+}
@@ -1,5 +1,6 @@
 package cn.coderhythm.controller;
 
+import cn.coderhythm.querybudget.QueryBudget;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
@@ -34,6 +35,7 @@ public class StaticResourceController {
      * 比如: http://localhost:8080/avatars/{filename}
      */
     @GetMapping("/avatars/{filename:.+}")
+    @QueryBudget(0)
     @ResponseBody
     public ResponseEntity<Resource> serveAvatarFile(@PathVariable String filename) {
         try {
@@ -0,0 +1,39 @@
+package cn.coderhythm.controller;
+
+import cn.coderhythm.querybudget.QueryBudget;
+import cn.coderhythm.service.SyncService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/sync")
+public class SyncController {
+
+    @Autowired
+    SyncService syncService;
+
+    // 拉取某版本之后的变更；首次同步 since=0，之后传上次返回的 nextVersion，hasMore 为 true 时继续拉取
+    @GetMapping("/changes")
+    @QueryBudget(5)
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<Map<String, Object>> getChanges(@RequestParam(defaultValue = "0") long since,
+                                                          @RequestParam(defaultValue = "500") int limit) {
+        return ResponseEntity.ok(syncService.getChangesSince(Math.max(since, 0), limit));
+    }
+
+    // 当前最新版本号
+    @GetMapping("/version")
+    @QueryBudget(1)
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<Map<String, Object>> getCurrentVersion() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("version", syncService.getCurrentVersion());
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,120 @@
+package cn.coderhythm.controller;
+
+import cn.coderhythm.payload.request.UploadInitRequest;
+import cn.coderhythm.payload.response.MessageResponse;
+import cn.coderhythm.payload.response.UploadSessionResponse;
+import cn.coderhythm.querybudget.QueryBudget;
+import cn.coderhythm.service.ChunkedUploadService;
+import cn.coderhythm.upload.UploadException;
+import cn.coderhythm.upload.UploadSession;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.validation.Valid;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 分片上传：POST 发起 → PUT 按偏移量上传分片（可乱序、可重传）→ GET 查询缺失分片 → POST complete 完成
+ */
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/upload-sessions")
+@PreAuthorize("isAuthenticated()")
+@Slf4j
+public class UploadSessionController {
+
+    @Autowired
+    ChunkedUploadService chunkedUploadService;
+
+    // 发起上传
+    @PostMapping
+    @QueryBudget(0)
+    public ResponseEntity<?> initiateUpload(@Valid @RequestBody UploadInitRequest uploadRequest) {
+        try {
+            UploadSession session = chunkedUploadService.initiate(currentUsername(), uploadRequest);
+            return ResponseEntity.status(HttpStatus.CREATED).body(new UploadSessionResponse(session));
+        } catch (UploadException e) {
+            return error(e);
+        }
+    }
+
+    // 查询上传进度和缺失的分片
+    @GetMapping("/{uploadId}")
+    @QueryBudget(0)
+    public ResponseEntity<?> getUploadSession(@PathVariable String uploadId) {
+        try {
+            return ResponseEntity.ok(new UploadSessionResponse(chunkedUploadService.getSession(uploadId, currentUsername())));
+        } catch (UploadException e) {
+            return error(e);
+        }
+    }
+
+    // 上传分片，请求体为分片原始字节，X-Chunk-Checksum 为其 CRC32C（十六进制）
+    @PutMapping(value = "/{uploadId}/chunks")
+    @QueryBudget(0)
+    public ResponseEntity<?> uploadChunk(@PathVariable String uploadId,
+                                         @RequestParam long offset,
+                                         @RequestHeader(value = ChunkedUploadService.CHECKSUM_HEADER, required = false) String checksum,
+                                         HttpServletRequest request) {
+        try {
+            UploadSession session = chunkedUploadService.writeChunk(uploadId, currentUsername(), offset,
+                    request.getInputStream(), checksum);
+            return ResponseEntity.ok(new UploadSessionResponse(session));
+        } catch (UploadException e) {
+            return error(e);
+        } catch (IOException e) {
+            log.error("写入分片失败: upload={}, offset={}, {}", uploadId, offset, e.getMessage());
+            return ResponseEntity
+                    .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new MessageResponse("分片写入失败，请重试"));
+        }
+    }
+
+    // 完成上传，返回文件的相对路径
+    @PostMapping("/{uploadId}/complete")
+    @QueryBudget(0)
+    public ResponseEntity<?> completeUpload(@PathVariable String uploadId) {
+        try {
+            String path = chunkedUploadService.complete(uploadId, currentUsername());
+            Map<String, String> response = new HashMap<>();
+            response.put("path", path);
+            response.put("url", "/uploads/" + path);
+            return ResponseEntity.ok(response);
+        } catch (UploadException e) {
+            return error(e);
+        } catch (IOException e) {
+            log.error("完成上传失败: upload={}, {}", uploadId, e.getMessage());
+            return ResponseEntity
+                    .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new MessageResponse("保存文件失败，请重试"));
+        }
+    }
+
+    // 放弃上传
+    @DeleteMapping("/{uploadId}")
+    @QueryBudget(0)
+    public ResponseEntity<?> abortUpload(@PathVariable String uploadId) {
+        try {
+            chunkedUploadService.abort(uploadId, currentUsername());
+            return ResponseEntity.ok(new MessageResponse("上传已取消"));
+        } catch (UploadException e) {
+            return error(e);
+        }
+    }
+
+    private String currentUsername() {
+        return SecurityContextHolder.getContext().getAuthentication().getName();
+    }
+
+    private ResponseEntity<MessageResponse> error(UploadException e) {
+        return ResponseEntity.status(e.getStatus()).body(new MessageResponse(e.getMessage()));
+    }
+}
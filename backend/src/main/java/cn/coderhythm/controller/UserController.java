@@ -2,6 +2,7 @@ package cn.coderhythm.controller;
 
 import cn.coderhythm.dto.response.MessageResponse;
 import cn.coderhythm.model.User;
+import cn.coderhythm.querybudget.QueryBudget;
 import cn.coderhythm.repository.UserRepository;
 import cn.coderhythm.security.service.UserDetailsImpl;
 import cn.coderhythm.service.FileStorageService;
@@ -38,12 +39,14 @@ public class UserController {
     private String baseUrl;
 
     @GetMapping
+    @QueryBudget(1)
     @PreAuthorize("hasRole('ADMIN')")
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
 
     @GetMapping("/profile")
+    @QueryBudget(1)
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<?> getUserProfile() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -74,6 +77,7 @@ public class UserController {
     }
 
     @PutMapping("/profile")
+    @QueryBudget(3)
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<?> updateUserProfile(@RequestBody Map<String, Object> updates) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -155,6 +159,7 @@ public class UserController {
     }
 
     @GetMapping("/{id}")
+    @QueryBudget(2)
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> getUserById(@PathVariable Long id) {
         Optional<User> userOptional = userRepository.findById(id);
@@ -166,6 +171,7 @@ public class UserController {
     }
 
     @DeleteMapping("/{id}")
+    @QueryBudget(4)
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> deleteUser(@PathVariable Long id) {
         if (!userRepository.existsById(id)) {
@@ -0,0 +1,36 @@
+package cn.coderhythm.controller;
+
+/**
+ * 实体版本号与 ETag / If-Match 之间的转换
+ */
+final class VersionTags {
+
+    // 无法识别的 If-Match，不会与任何版本匹配
+    static final long UNMATCHABLE = -1L;
+
+    private VersionTags() {
+    }
+
+    static String toETag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * 解析 If-Match 中的版本号；未提供或为 * 时返回 null，表示不做版本检查。
+     * 只接受单个强校验值，弱校验值和多个值按不匹配处理。
+     */
+    static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().isEmpty() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.length() < 3 || value.charAt(0) != '"' || value.charAt(value.length() - 1) != '"') {
+            return UNMATCHABLE;
+        }
+        try {
+            return Long.parseLong(value.substring(1, value.length() - 1));
+        } catch (NumberFormatException e) {
+            return UNMATCHABLE;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package cn.coderhythm.datagen;
+
+import java.util.Random;
+
+/**
+ * 生成中文人名、企业名、道路名等测试文本
+ * 姓氏按常见程度偏斜抽取，名字用字取自常用字表，结果完全由传入的 Random 决定。
+ */
+public final class ChineseNames {
+
+    // 按人口占比由高到低排列
+    private static final String SURNAMES = "王李张刘陈杨黄赵吴周徐孙马朱胡郭何高林罗郑梁谢宋唐许韩冯邓曹彭曾肖田董袁潘于蒋蔡余杜叶程苏魏吕丁任沈姚卢姜崔钟谭陆汪范金石廖贾夏韦付方白邹孟熊秦邱江尹薛闫段雷侯龙史陶黎贺顾毛郝龚邵万钱严覃武戴莫孔向汤";
+    private static final String GIVEN_NAME_CHARS = "伟芳娜秀英敏静丽强磊军洋勇艳杰娟涛明超秀兰霞平刚桂英华建国建华志强晓东海燕玉兰红梅文斌国庆春梅丹婷宇浩然子轩欣怡梓涵雨萱思远嘉怡俊杰鹏飞雪莉晨阳";
+    private static final String[] CITIES = {"杭州", "宁波", "温州", "绍兴", "嘉兴", "湖州", "金华", "台州", "苏州", "无锡", "南京", "合肥"};
+    private static final String[] FIRM_WORDS = {"绿源", "青山", "嘉禾", "华林", "园景", "锦绣", "翠微", "森茂", "碧水", "恒绿", "新苑", "常青", "林海", "春晖", "盛景", "秀林"};
+    private static final String[] FIRM_SUFFIXES = {"园林绿化工程有限公司", "市政园林有限公司", "景观工程有限公司", "绿化养护有限公司", "生态环境建设有限公司"};
+    private static final String[] ROAD_WORDS = {"文一", "文二", "学院", "延安", "解放", "中山", "人民", "建设", "环城", "湖滨", "体育场", "凤起", "天目山", "莫干山", "秋涛", "钱江"};
+    private static final String[] ROAD_SUFFIXES = {"路", "大道", "街", "西路", "东路", "北路", "南路"};
+    private static final String[] DISTRICTS = {"上城区", "拱墅区", "西湖区", "滨江区", "萧山区", "余杭区", "临平区", "钱塘区"};
+
+    private static final ZipfDistribution SURNAME_DISTRIBUTION = new ZipfDistribution(SURNAMES.length(), 0.9);
+
+    private ChineseNames() {
+    }
+
+    public static String personName(Random random) {
+        StringBuilder name = new StringBuilder(3);
+        name.append(SURNAMES.charAt(SURNAME_DISTRIBUTION.sample(random)));
+        name.append(GIVEN_NAME_CHARS.charAt(random.nextInt(GIVEN_NAME_CHARS.length())));
+        if (random.nextInt(10) < 7) {
+            name.append(GIVEN_NAME_CHARS.charAt(random.nextInt(GIVEN_NAME_CHARS.length())));
+        }
+        return name.toString();
+    }
+
+    /**
+     * 企业名称，序号保证唯一
+     */
+    public static String companyName(Random random, long index) {
+        return pick(random, CITIES) + pick(random, FIRM_WORDS) + index + pick(random, FIRM_SUFFIXES);
+    }
+
+    /**
+     * 道路名称，序号相同则名称相同
+     */
+    public static String roadName(long index) {
+        String base = ROAD_WORDS[(int) (index % ROAD_WORDS.length)] + ROAD_SUFFIXES[(int) (index / ROAD_WORDS.length % ROAD_SUFFIXES.length)];
+        long round = index / ((long) ROAD_WORDS.length * ROAD_SUFFIXES.length);
+        return round == 0 ? base : base + (round + 1) + "段";
+    }
+
+    public static String district(Random random) {
+        return pick(random, DISTRICTS);
+    }
+
+    public static String city(Random random) {
+        return pick(random, CITIES);
+    }
+
+    public static String mobile(Random random) {
+        return String.format("1%d%09d", 3 + random.nextInt(7), random.nextInt(1_000_000_000));
+    }
+
+    public static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
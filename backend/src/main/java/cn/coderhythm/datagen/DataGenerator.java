@@ -0,0 +1,399 @@
+package cn.coderhythm.datagen;
+
+import cn.coderhythm.event.ChangeEvent;
+import cn.coderhythm.model.ERole;
+import cn.coderhythm.models.SyncChangeLog;
+import cn.coderhythm.models.SyncState;
+import cn.coderhythm.repository.RoleRepository;
+import cn.coderhythm.repository.SyncChangeLogRepository;
+import cn.coderhythm.repository.SyncStateRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 性能测试用的大规模数据生成（datagen 配置）
+ * 通过 JDBC 批量插入写入养护单位、管养单元、用户、养护记录和问题上报，同一种子生成的数据完全相同。
+ * 表中已有数据时只补足差额，可中断后重复执行；完成后默认退出进程。
+ */
+@Component
+@Profile("datagen")
+@Order(Ordered.LOWEST_PRECEDENCE)
+@Slf4j
+public class DataGenerator implements CommandLineRunner {
+
+    private static final String[] COMPANY_TYPES = {"民营企业", "国有企业", "事业单位", "个体工商户"};
+    private static final String[] MAINTENANCE_LEVELS = {"一级", "二级", "三级"};
+    private static final String[] TREE_TYPES = {"香樟", "银杏", "桂花", "广玉兰", "水杉", "榉树", "红枫", "垂柳", "樱花", "女贞"};
+    private static final String[] PLANT_TYPES = {"乔木", "灌木", "花卉", "草坪", "水生植物"};
+    private static final String[] GOALS = {"保持良好生长状态", "预防病虫害", "提高观赏性", "增强抗性", "促进繁殖"};
+    private static final String[] MEASURES = {"定期浇水、施肥", "病虫害防治、修剪", "除草、松土、换土", "防寒、防冻、防暑", "保持水质清洁、定期换水"};
+    private static final String[] PROBLEM_TYPES = {"设施损坏", "植物疾病", "环境卫生", "安全隐患", "其他问题"};
+    private static final String[] PROBLEM_SOURCES = {"巡查上报", "市民投诉", "系统监测", "上级交办"};
+
+    // 杭州主城区范围，用于生成坐标
+    private static final double MIN_LNG = 119.95;
+    private static final double MAX_LNG = 120.45;
+    private static final double MIN_LAT = 30.10;
+    private static final double MAX_LAT = 30.45;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private SyncChangeLogRepository syncChangeLogRepository;
+
+    @Autowired
+    private SyncStateRepository syncStateRepository;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Value("${app.datagen.seed:42}")
+    private long seed;
+
+    @Value("${app.datagen.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${app.datagen.companies:100000}")
+    private long companies;
+
+    @Value("${app.datagen.units:1000000}")
+    private long units;
+
+    @Value("${app.datagen.users:1000000}")
+    private long users;
+
+    @Value("${app.datagen.records:20000000}")
+    private long records;
+
+    @Value("${app.datagen.problems:1000000}")
+    private long problems;
+
+    @Value("${app.datagen.record-months:24}")
+    private int recordMonths;
+
+    @Value("${app.datagen.user-password:Datagen@123}")
+    private String userPassword;
+
+    // 生成时间的基准点，固定后多次生成的时间字段也完全相同；为空时取当前时间
+    @Value("${app.datagen.reference-time:}")
+    private String referenceTime;
+
+    @Value("${app.datagen.exit-on-finish:true}")
+    private boolean exitOnFinish;
+
+    @Value("${spring.datasource.url:}")
+    private String datasourceUrl;
+
+    @Override
+    public void run(String... args) {
+        if (datasourceUrl.startsWith("jdbc:mysql") && !datasourceUrl.contains("rewriteBatchedStatements=true")) {
+            log.warn("MySQL 连接串未开启 rewriteBatchedStatements=true，批量插入会退化为逐行执行");
+        }
+        long start = System.nanoTime();
+        LocalDateTime now = referenceTime.isEmpty()
+                ? LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS)
+                : LocalDateTime.parse(referenceTime);
+
+        long companyIdBefore = maxId("maintenance_companies");
+        long unitIdBefore = maxId("maintenance_units");
+        long problemIdBefore = maxId("problem_reports");
+
+        generateCompanies(now);
+        generateUnits(now);
+        generateUsers(now);
+        generateRecords(now);
+        generateProblems(now);
+        appendSyncLog(companyIdBefore, unitIdBefore, problemIdBefore);
+
+        log.info("数据生成完成，耗时 {}s", (System.nanoTime() - start) / 1_000_000_000L);
+        if (exitOnFinish) {
+            System.exit(SpringApplication.exit(applicationContext, () -> 0));
+        }
+    }
+
+    private void generateCompanies(LocalDateTime now) {
+        insertRows("maintenance_companies", companies, 1,
+                "INSERT INTO maintenance_companies (company_name, company_type, legal_person, contact_person, " +
+                "contact_phone, address, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                (ps, index, random) -> {
+                    LocalDateTime createdAt = now.minusMinutes(random.nextInt(60 * 24 * 365 * 3));
+                    ps.setString(1, ChineseNames.companyName(random, index + 1));
+                    ps.setString(2, COMPANY_TYPES[skewedIndex(random, COMPANY_TYPES.length)]);
+                    ps.setString(3, ChineseNames.personName(random));
+                    ps.setString(4, ChineseNames.personName(random));
+                    ps.setString(5, ChineseNames.mobile(random));
+                    ps.setString(6, ChineseNames.city(random) + "市" + ChineseNames.district(random)
+                            + ChineseNames.roadName(random.nextInt(200)) + (random.nextInt(999) + 1) + "号");
+                    ps.setTimestamp(7, Timestamp.valueOf(createdAt));
+                    ps.setTimestamp(8, Timestamp.valueOf(createdAt));
+                });
+    }
+
+    private void generateUnits(LocalDateTime now) {
+        int roads = roadCount();
+        insertRows("maintenance_units", units, 2,
+                "INSERT INTO maintenance_units (unit_name, maintenance_level, tree_types, tree_count, green_area, " +
+                "patch_count, boundary, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                (ps, index, random) -> {
+                    LocalDateTime createdAt = now.minusMinutes(random.nextInt(60 * 24 * 365 * 3));
+                    ps.setString(1, ChineseNames.roadName(random.nextInt(roads)) + "绿地" + (index + 1) + "号");
+                    ps.setString(2, MAINTENANCE_LEVELS[skewedIndex(random, MAINTENANCE_LEVELS.length)]);
+                    ps.setString(3, ChineseNames.pick(random, TREE_TYPES) + "," + ChineseNames.pick(random, TREE_TYPES));
+                    ps.setInt(4, (int) Math.min(5000, Math.round(Math.exp(3 + random.nextGaussian() * 1.2))));
+                    ps.setDouble(5, Math.round(Math.exp(7 + random.nextGaussian()) * 100) / 100.0);
+                    ps.setInt(6, 1 + random.nextInt(30));
+                    ps.setString(7, random.nextInt(10) < 8 ? boundaryJson(random) : null);
+                    ps.setTimestamp(8, Timestamp.valueOf(createdAt));
+                    ps.setTimestamp(9, Timestamp.valueOf(createdAt));
+                });
+    }
+
+    private void generateUsers(LocalDateTime now) {
+        long userIdBefore = maxId("users");
+        // BCrypt 很慢，所有生成用户共用同一个密码散列
+        String passwordHash = passwordEncoder.encode(userPassword);
+        long inserted = insertRows("users", users, 3,
+                "INSERT INTO users (username, email, password, full_name, nick_name, phone, address, " +
+                "created_at, updated_at, enabled) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                (ps, index, random) -> {
+                    String username = String.format("dg%07d", index + 1);
+                    String fullName = ChineseNames.personName(random);
+                    LocalDateTime createdAt = now.minusMinutes(random.nextInt(60 * 24 * 365 * 3));
+                    ps.setString(1, username);
+                    ps.setString(2, username + "@example.com");
+                    ps.setString(3, passwordHash);
+                    ps.setString(4, fullName);
+                    ps.setString(5, fullName);
+                    ps.setString(6, ChineseNames.mobile(random));
+                    ps.setString(7, ChineseNames.city(random) + "市" + ChineseNames.district(random));
+                    ps.setTimestamp(8, Timestamp.valueOf(createdAt));
+                    ps.setTimestamp(9, Timestamp.valueOf(createdAt));
+                    ps.setBoolean(10, true);
+                });
+        if (inserted > 0) {
+            Integer roleId = roleRepository.findByName(ERole.ROLE_USER)
+                    .orElseThrow(() -> new IllegalStateException("角色 ROLE_USER 不存在"))
+                    .getId();
+            int rows = jdbcTemplate.update(
+                    "INSERT INTO user_roles (user_id, role_id) SELECT id, ? FROM users WHERE id > ?",
+                    roleId, userIdBefore);
+            log.info("user_roles: 新增 {} 行", rows);
+        }
+    }
+
+    private void generateRecords(LocalDateTime now) {
+        List<String> contractors = jdbcTemplate.queryForList(
+                "SELECT company_name FROM maintenance_companies ORDER BY id", String.class);
+        if (contractors.isEmpty()) {
+            log.warn("没有养护单位数据，跳过养护记录");
+            return;
+        }
+        Random poolRandom = new Random(seed);
+        // 少数大单位、主干道承担大部分养护记录
+        ZipfDistribution contractorDistribution = new ZipfDistribution(contractors.size(), 1.1);
+        ZipfDistribution roadDistribution = new ZipfDistribution(roadCount(), 1.0);
+        String[] inspectors = new String[2000];
+        for (int i = 0; i < inspectors.length; i++) {
+            inspectors[i] = ChineseNames.personName(poolRandom);
+        }
+        ZipfDistribution inspectorDistribution = new ZipfDistribution(inspectors.length, 0.8);
+        long windowMinutes = ChronoUnit.MINUTES.between(now.minusMonths(recordMonths), now);
+
+        insertRows("maintenance_records", records, 4,
+                "INSERT INTO maintenance_records (road, contractor, inspector, location, plant_type, maintenance_goal, " +
+                "technical_measures, score, record_time, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                (ps, index, random) -> {
+                    String road = ChineseNames.roadName(roadDistribution.sample(random));
+                    // 越近的月份记录越多
+                    double age = Math.pow(random.nextDouble(), 1.5);
+                    LocalDateTime recordTime = now.minusMinutes((long) (age * windowMinutes));
+                    int score = (int) Math.max(60, Math.min(100, Math.round(86 + random.nextGaussian() * 7)));
+                    ps.setString(1, road);
+                    ps.setString(2, contractors.get(contractorDistribution.sample(random)));
+                    ps.setString(3, inspectors[inspectorDistribution.sample(random)]);
+                    ps.setString(4, road + (random.nextInt(50) + 1) + "号段");
+                    ps.setString(5, PLANT_TYPES[skewedIndex(random, PLANT_TYPES.length)]);
+                    ps.setString(6, ChineseNames.pick(random, GOALS));
+                    ps.setString(7, ChineseNames.pick(random, MEASURES));
+                    ps.setInt(8, score);
+                    ps.setTimestamp(9, Timestamp.valueOf(recordTime));
+                    ps.setTimestamp(10, Timestamp.valueOf(recordTime));
+                });
+    }
+
+    private void generateProblems(LocalDateTime now) {
+        int roads = roadCount();
+        insertRows("problem_reports", problems, 5,
+                "INSERT INTO problem_reports (problem_type, source, urgency, task_name, location, latitude, longitude, " +
+                "reporter, report_time, status, description, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                (ps, index, random) -> {
+                    String problemType = PROBLEM_TYPES[skewedIndex(random, PROBLEM_TYPES.length)];
+                    String location = ChineseNames.roadName(random.nextInt(roads)) + (random.nextInt(50) + 1) + "号段";
+                    LocalDateTime reportTime = now.minusMinutes(random.nextInt(60 * 24 * 365));
+                    // 越早上报的问题越可能已经办结
+                    double age = ChronoUnit.MINUTES.between(reportTime, now) / (60.0 * 24 * 365);
+                    double roll = random.nextDouble();
+                    String status = roll < 0.3 + age * 0.65 ? "已完结" : roll < 0.85 + age * 0.1 ? "处理中" : "未处理";
+                    int urgency = random.nextInt(100);
+                    ps.setString(1, problemType);
+                    ps.setString(2, PROBLEM_SOURCES[skewedIndex(random, PROBLEM_SOURCES.length)]);
+                    ps.setString(3, urgency < 80 ? "一般" : urgency < 97 ? "紧急" : "特急");
+                    ps.setString(4, location + problemType + "处置");
+                    ps.setString(5, location);
+                    ps.setDouble(6, MIN_LAT + random.nextDouble() * (MAX_LAT - MIN_LAT));
+                    ps.setDouble(7, MIN_LNG + random.nextDouble() * (MAX_LNG - MIN_LNG));
+                    ps.setString(8, ChineseNames.personName(random));
+                    ps.setTimestamp(9, Timestamp.valueOf(reportTime));
+                    ps.setString(10, status);
+                    ps.setString(11, location + "发现" + problemType + "，请尽快处理");
+                    ps.setTimestamp(12, Timestamp.valueOf(reportTime));
+                });
+    }
+
+    /**
+     * 应用之前运行过时增量同步日志已初始化，需为新数据补记 UPSERT，否则离线端拿不到这些数据
+     */
+    private void appendSyncLog(long companyIdBefore, long unitIdBefore, long problemIdBefore) {
+        if (syncChangeLogRepository.count() == 0 && !syncStateRepository.existsById(SyncState.PURGED_THROUGH)) {
+            // 下次启动时由 SyncService 整表初始化
+            return;
+        }
+        appendSyncLog(ChangeEvent.ENTITY_COMPANY, "maintenance_companies", companyIdBefore);
+        appendSyncLog(ChangeEvent.ENTITY_UNIT, "maintenance_units", unitIdBefore);
+        appendSyncLog(ChangeEvent.ENTITY_PROBLEM, "problem_reports", problemIdBefore);
+    }
+
+    private void appendSyncLog(String entityType, String table, long idBefore) {
+        int rows = jdbcTemplate.update(
+                "INSERT INTO sync_change_log (entity_type, entity_id, operation, changed_at) " +
+                "SELECT ?, id, ?, CURRENT_TIMESTAMP FROM " + table + " WHERE id > ? ORDER BY id",
+                entityType, SyncChangeLog.OPERATION_UPSERT, idBefore);
+        if (rows > 0) {
+            log.info("增量同步日志补记: {} 共 {} 条", entityType, rows);
+        }
+    }
+
+    /**
+     * 补足到目标行数，每批一个事务
+     * 每行的随机数由种子、表和行号决定，中断后续跑与一次跑完的结果相同。
+     * @return 本次插入的行数
+     */
+    private long insertRows(String table, long target, int stream, String sql, RowWriter writer) {
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+        long from = existing != null ? existing : 0;
+        if (from >= target) {
+            log.info("{}: 已有 {} 行，无需生成", table, from);
+            return 0;
+        }
+        log.info("{}: 已有 {} 行，开始生成至 {} 行", table, from, target);
+
+        Random random = new Random();
+        long start = System.nanoTime();
+        long lastReport = start;
+        for (long offset = from; offset < target; offset += batchSize) {
+            long batchStart = offset;
+            int size = (int) Math.min(batchSize, target - offset);
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    long index = batchStart + i;
+                    random.setSeed(rowSeed(stream, index));
+                    writer.write(ps, index, random);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return size;
+                }
+            }));
+
+            long nowNanos = System.nanoTime();
+            if (nowNanos - lastReport > 10_000_000_000L || offset + size >= target) {
+                long done = offset + size - from;
+                log.info("{}: {}/{} 行，{} 行/秒", table, offset + size, target,
+                        done * 1_000_000_000L / Math.max(1, nowNanos - start));
+                lastReport = nowNanos;
+            }
+        }
+        return target - from;
+    }
+
+    private long maxId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return max != null ? max : 0L;
+    }
+
+    private long rowSeed(int stream, long index) {
+        long h = seed * 0x9E3779B97F4A7C15L + stream * 0xBF58476D1CE4E5B9L + index;
+        h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        return h ^ (h >>> 31);
+    }
+
+    // 道路数量随管养单元规模增长
+    private int roadCount() {
+        return (int) Math.max(50, Math.min(20_000, units / 50));
+    }
+
+    // 前面的取值更常见
+    private static int skewedIndex(Random random, int size) {
+        return (int) (Math.pow(random.nextDouble(), 2) * size);
+    }
+
+    // 围绕随机中心点的 6~12 边形，JSON 格式与 GeoBoundaryConverter 一致
+    private static String boundaryJson(Random random) {
+        double lng = MIN_LNG + random.nextDouble() * (MAX_LNG - MIN_LNG);
+        double lat = MIN_LAT + random.nextDouble() * (MAX_LAT - MIN_LAT);
+        double radius = 0.0005 + random.nextDouble() * 0.003;
+        int vertices = 6 + random.nextInt(7);
+        StringBuilder json = new StringBuilder(vertices * 40).append('[');
+        for (int k = 0; k < vertices; k++) {
+            double angle = Math.PI * 2 * k / vertices;
+            double r = radius * (0.7 + random.nextDouble() * 0.6);
+            if (k > 0) {
+                json.append(',');
+            }
+            json.append('[')
+                    .append(Math.round((lng + Math.cos(angle) * r) * 1e6) / 1e6)
+                    .append(',')
+                    .append(Math.round((lat + Math.sin(angle) * r) * 1e6) / 1e6)
+                    .append(']');
+        }
+        return json.append(']').toString();
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(PreparedStatement ps, long index, Random random) throws SQLException;
+    }
+}
@@ -0,0 +1,38 @@
+package cn.coderhythm.datagen;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Zipf 分布采样：排名 k（从 0 开始）被选中的概率正比于 1 / (k + 1)^s
+ * 预先计算累积分布，每次采样为一次二分查找。用于模拟少数养护单位、路段承担大部分记录的偏斜分布。
+ */
+public class ZipfDistribution {
+
+    private final double[] cumulative;
+
+    public ZipfDistribution(int size, double exponent) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size 必须大于 0");
+        }
+        cumulative = new double[size];
+        double sum = 0;
+        for (int k = 0; k < size; k++) {
+            sum += 1.0 / Math.pow(k + 1, exponent);
+            cumulative[k] = sum;
+        }
+        for (int k = 0; k < size; k++) {
+            cumulative[k] /= sum;
+        }
+    }
+
+    public int sample(Random random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulative.length - 1);
+    }
+
+    public int size() {
+        return cumulative.length;
+    }
+}
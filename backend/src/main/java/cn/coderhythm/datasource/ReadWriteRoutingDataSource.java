@@ -0,0 +1,124 @@
+package cn.coderhythm.datasource;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 读写分离路由
+ * 只有同时满足以下条件的连接才走从库：处于 readOnly 事务中、当前 HTTP 请求是 GET/HEAD/OPTIONS、
+ * 当前用户不在写后读窗口内、从库可用且延迟未超限；其余情况一律走主库。
+ * 写请求中的读取也走主库，避免基于从库旧数据做修改。
+ * 需要包在 LazyConnectionDataSourceProxy 里使用：事务开始时只读标记尚未设置，必须推迟到第一条语句再取连接。
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica";
+
+    private enum Route {
+        WRITE(PRIMARY, "write"),
+        MUTATING_REQUEST(PRIMARY, "mutating_request"),
+        READ_YOUR_WRITES(PRIMARY, "read_your_writes"),
+        REPLICA_UNAVAILABLE(PRIMARY, "replica_unavailable"),
+        READ(REPLICA, "read");
+
+        final String target;
+        final String reason;
+
+        Route(String target, String reason) {
+            this.target = target;
+            this.reason = reason;
+        }
+    }
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final Map<Route, LongAdder> counters = new EnumMap<>(Route.class);
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor,
+                                      ReadYourWritesTracker readYourWritesTracker) {
+        this.lagMonitor = lagMonitor;
+        this.readYourWritesTracker = readYourWritesTracker;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        targets.put(REPLICA, replica);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        for (Route route : Route.values()) {
+            counters.put(route, new LongAdder());
+        }
+        afterPropertiesSet();
+    }
+
+    /**
+     * 注册按路由原因统计的计数器；不在构造时依赖 MeterRegistry，避免与连接池指标形成循环依赖
+     */
+    public void bindTo(MeterRegistry registry) {
+        counters.forEach((route, counter) -> FunctionCounter.builder("garden.datasource.route", counter, LongAdder::sum)
+                .description("连接路由次数")
+                .tag("target", route.target)
+                .tag("reason", route.reason)
+                .register(registry));
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Route route = route();
+        counters.get(route).increment();
+        return route.target;
+    }
+
+    private Route route() {
+        String username = currentUsername();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (username != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+                readYourWritesTracker.recordWrite(username);
+            }
+            return Route.WRITE;
+        }
+        if (isMutatingRequest()) {
+            return Route.MUTATING_REQUEST;
+        }
+        if (username != null && readYourWritesTracker.isWithinWindow(username)) {
+            return Route.READ_YOUR_WRITES;
+        }
+        if (!lagMonitor.isUsable()) {
+            return Route.REPLICA_UNAVAILABLE;
+        }
+        return Route.READ;
+    }
+
+    // 仪表盘等后台线程上没有请求上下文，按只读事务处理
+    private static boolean isMutatingRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes)) {
+            return false;
+        }
+        String method = ((ServletRequestAttributes) attributes).getRequest().getMethod();
+        return !("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method));
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
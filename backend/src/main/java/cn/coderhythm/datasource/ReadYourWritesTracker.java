@@ -0,0 +1,51 @@
+package cn.coderhythm.datasource;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 记录每个用户最近一次写操作的时间
+ * 用户写入后的一段时间内，其读请求继续走主库，避免从库复制延迟导致“刚改完又看到旧数据”。
+ * 窗口只在本实例内有效，多实例部署时需要会话粘滞或适当放宽窗口。
+ */
+public class ReadYourWritesTracker {
+
+    private final long windowMillis;
+    private final Map<String, Long> deadlines = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(long windowMillis) {
+        this.windowMillis = windowMillis;
+    }
+
+    public void recordWrite(String username) {
+        if (windowMillis > 0) {
+            deadlines.put(username, System.currentTimeMillis() + windowMillis);
+        }
+    }
+
+    public boolean isWithinWindow(String username) {
+        Long deadline = deadlines.get(username);
+        if (deadline == null) {
+            return false;
+        }
+        if (deadline > System.currentTimeMillis()) {
+            return true;
+        }
+        deadlines.remove(username, deadline);
+        return false;
+    }
+
+    /**
+     * 清理已过期的记录，防止长期不再访问的用户一直占用内存
+     */
+    public int purgeExpired() {
+        long now = System.currentTimeMillis();
+        int before = deadlines.size();
+        deadlines.values().removeIf(deadline -> deadline <= now);
+        return before - deadlines.size();
+    }
+
+    public int size() {
+        return deadlines.size();
+    }
+}
@@ -0,0 +1,103 @@
+package cn.coderhythm.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * 定期检查从库是否可用以及复制延迟
+ * mysql：读取 SHOW REPLICA STATUS（旧版本回退到 SHOW SLAVE STATUS）的延迟秒数，复制线程停止视为不可用；
+ *        未配置复制的实例（本地替身）视为无延迟。
+ * none：只检查连接是否可用，适用于 H2 等不支持复制状态查询的替身。
+ * 检查失败或延迟超过上限时，只读请求全部回退到主库，直到下一次检查恢复。
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    public static final String STRATEGY_MYSQL = "mysql";
+    public static final String STRATEGY_NONE = "none";
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final DataSource replica;
+    private final String strategy;
+    private final long maxLagSeconds;
+
+    // 首次检查通过前不使用从库
+    private volatile boolean usable = false;
+    private volatile long lagSeconds = -1;
+
+    public ReplicaLagMonitor(DataSource replica, String strategy, long maxLagSeconds) {
+        if (!STRATEGY_MYSQL.equals(strategy) && !STRATEGY_NONE.equals(strategy)) {
+            throw new IllegalArgumentException("不支持的从库延迟检查方式: " + strategy);
+        }
+        this.replica = replica;
+        this.strategy = strategy;
+        this.maxLagSeconds = maxLagSeconds;
+    }
+
+    public void check() {
+        boolean wasUsable = usable;
+        try (Connection connection = replica.getConnection()) {
+            if (STRATEGY_NONE.equals(strategy)) {
+                lagSeconds = 0;
+                usable = connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+            } else {
+                Long lag = readMysqlLag(connection);
+                lagSeconds = lag != null ? lag : -1;
+                usable = lag != null && lag <= maxLagSeconds;
+            }
+        } catch (SQLException e) {
+            lagSeconds = -1;
+            usable = false;
+            if (wasUsable) {
+                log.warn("从库检查失败，读请求回退到主库: {}", e.getMessage());
+            }
+            return;
+        }
+        if (wasUsable && !usable) {
+            log.warn("从库复制延迟 {}s 超过上限 {}s 或复制已停止，读请求回退到主库", lagSeconds, maxLagSeconds);
+        } else if (!wasUsable && usable) {
+            log.info("从库可用，复制延迟 {}s，只读请求恢复路由到从库", lagSeconds);
+        }
+    }
+
+    public boolean isUsable() {
+        return usable;
+    }
+
+    /**
+     * 最近一次检查得到的延迟秒数，未知时为 -1
+     */
+    public long getLagSeconds() {
+        return lagSeconds;
+    }
+
+    /**
+     * @return 延迟秒数；复制线程停止时为 null，未配置复制时为 0
+     */
+    private Long readMysqlLag(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            try {
+                return readLag(statement, "SHOW REPLICA STATUS", "Seconds_Behind_Source");
+            } catch (SQLException e) {
+                // MySQL 8.0.22 之前的版本
+                return readLag(statement, "SHOW SLAVE STATUS", "Seconds_Behind_Master");
+            }
+        }
+    }
+
+    private Long readLag(Statement statement, String sql, String column) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery(sql)) {
+            if (!resultSet.next()) {
+                return 0L;
+            }
+            long lag = resultSet.getLong(column);
+            return resultSet.wasNull() ? null : lag;
+        }
+    }
+}
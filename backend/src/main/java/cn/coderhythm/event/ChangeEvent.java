@@ -0,0 +1,76 @@
+package cn.coderhythm.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * 业务数据变更事件，通过 Spring ApplicationEventPublisher 在进程内发布
+ * 只携带实体类型、操作和 ID 等少量信息，订阅方需要详情时再按 ID 查询
+ */
+public class ChangeEvent {
+
+    public static final String ENTITY_COMPANY = "company";
+    public static final String ENTITY_UNIT = "unit";
+    public static final String ENTITY_PROBLEM = "problem";
+    public static final String ENTITY_CONTRACT = "contract";
+
+    public static final String ACTION_CREATED = "created";
+    public static final String ACTION_UPDATED = "updated";
+    public static final String ACTION_DELETED = "deleted";
+    public static final String ACTION_STATUS_CHANGED = "status_changed";
+    public static final String ACTION_EXPIRY_REMINDER = "expiry_reminder";
+
+    private final String entity;
+    private final String action;
+    private final Long entityId;
+    private final String status;
+    private final LocalDateTime occurredAt;
+
+    public ChangeEvent(String entity, String action, Long entityId, String status) {
+        this.entity = entity;
+        this.action = action;
+        this.entityId = entityId;
+        this.status = status;
+        this.occurredAt = LocalDateTime.now();
+    }
+
+    public static ChangeEvent created(String entity, Long entityId) {
+        return new ChangeEvent(entity, ACTION_CREATED, entityId, null);
+    }
+
+    public static ChangeEvent updated(String entity, Long entityId) {
+        return new ChangeEvent(entity, ACTION_UPDATED, entityId, null);
+    }
+
+    public static ChangeEvent deleted(String entity, Long entityId) {
+        return new ChangeEvent(entity, ACTION_DELETED, entityId, null);
+    }
+
+    public static ChangeEvent statusChanged(String entity, Long entityId, String status) {
+        return new ChangeEvent(entity, ACTION_STATUS_CHANGED, entityId, status);
+    }
+
+    // SSE 事件名，如 problem.created
+    public String getType() {
+        return entity + "." + action;
+    }
+
+    public String getEntity() {
+        return entity;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+}
@@ -0,0 +1,82 @@
+package cn.coderhythm.loadshed;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 加性增、乘性减（AIMD）的自适应并发上限
+ * 请求在目标延迟内完成且并发已用到上限的一半以上时，上限加 1；超过目标延迟或失败时，上限乘以回退系数。
+ * 数据库变慢时上限随之收缩，多出的请求直接拒绝，而不是全部排在连接池上把所有接口一起拖垮。
+ * 一次变慢会让同一批在途请求陆续超时，若每个都乘一次回退系数，上限会瞬间跌到最小值；
+ * 因此只有在上次收缩之后才开始的请求才能再次触发收缩，即每批请求最多收缩一次。
+ */
+public class AimdLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyNanos;
+    private final double backoffRatio;
+
+    private final AtomicInteger limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    // 上次收缩的时间（System.nanoTime），在此之前开始的请求不再触发收缩
+    private final AtomicLong lastDecreaseNanos = new AtomicLong(System.nanoTime());
+
+    public AimdLimiter(int initialLimit, int minLimit, int maxLimit, long targetLatencyMs, double backoffRatio) {
+        if (minLimit < 1 || minLimit > maxLimit) {
+            throw new IllegalArgumentException("并发上限范围无效: " + minLimit + "-" + maxLimit);
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("回退系数必须在 0 和 1 之间: " + backoffRatio);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetLatencyNanos = TimeUnit.MILLISECONDS.toNanos(targetLatencyMs);
+        this.backoffRatio = backoffRatio;
+        this.limit = new AtomicInteger(Math.max(minLimit, Math.min(maxLimit, initialLimit)));
+    }
+
+    /**
+     * 占用一个并发名额，已达上限时返回 false
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit.get()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 归还名额并根据本次结果调整上限
+     *
+     * @param startNanos   请求开始处理的时间（System.nanoTime）
+     * @param latencyNanos 服务端处理耗时
+     * @param overloaded   请求以异常或 5xx 结束，视为过载信号
+     */
+    public void release(long startNanos, long latencyNanos, boolean overloaded) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        if (overloaded || latencyNanos > targetLatencyNanos) {
+            long lastDecrease = lastDecreaseNanos.get();
+            // 同一时刻多个请求超时，只有抢到更新的那个收缩上限
+            if (startNanos - lastDecrease > 0 && lastDecreaseNanos.compareAndSet(lastDecrease, System.nanoTime())) {
+                limit.updateAndGet(current -> Math.max(minLimit, (int) (current * backoffRatio)));
+            }
+        } else if (inFlightBefore * 2 >= limit.get()) {
+            limit.updateAndGet(current -> Math.min(maxLimit, current + 1));
+        }
+    }
+
+    public int getLimit() {
+        return limit.get();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,93 @@
+package cn.coderhythm.loadshed;
+
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 累计读取请求体的耗时
+ * 读请求体时线程在等客户端发送数据，这段时间与服务端负载无关，从并发限制的延迟中扣除，
+ * 否则网络慢的客户端会让 AIMD 误判为过载而收缩上限。
+ */
+class BodyReadTimingRequest extends HttpServletRequestWrapper {
+
+    private long readNanos;
+    private ServletInputStream inputStream;
+    private BufferedReader reader;
+
+    BodyReadTimingRequest(HttpServletRequest request) {
+        super(request);
+    }
+
+    long getReadNanos() {
+        return readNanos;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        if (inputStream == null) {
+            inputStream = new TimingInputStream(super.getInputStream());
+        }
+        return inputStream;
+    }
+
+    @Override
+    public BufferedReader getReader() throws IOException {
+        if (reader == null) {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding == null ? StandardCharsets.ISO_8859_1 : Charset.forName(encoding);
+            reader = new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+        return reader;
+    }
+
+    private class TimingInputStream extends ServletInputStream {
+
+        private final ServletInputStream delegate;
+
+        TimingInputStream(ServletInputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int read() throws IOException {
+            long start = System.nanoTime();
+            try {
+                return delegate.read();
+            } finally {
+                readNanos += System.nanoTime() - start;
+            }
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            long start = System.nanoTime();
+            try {
+                return delegate.read(b, off, len);
+            } finally {
+                readNanos += System.nanoTime() - start;
+            }
+        }
+
+        @Override
+        public boolean isFinished() {
+            return delegate.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            delegate.setReadListener(readListener);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package cn.coderhythm.loadshed;
+
+import cn.coderhythm.payload.response.MessageResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.cors.CorsProcessor;
+import org.springframework.web.cors.DefaultCorsProcessor;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 按接口类别做自适应并发限制，超出上限的请求直接返回 503 和 Retry-After
+ * 排在安全过滤器链之前，JWT 用户查询和登录时的 BCrypt 也计入延迟；头像等静态资源、SSE 长连接、分片上传不参与限制。
+ * 延迟只计服务端处理时间，等待客户端发送请求体的时间不计入。
+ * 拒绝时请求还没经过安全过滤器链里的 CORS 处理，这里补上跨域响应头，前端才能读到 503。
+ */
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final CorsProcessor corsProcessor = new DefaultCorsProcessor();
+
+    private final Map<EndpointClass, AimdLimiter> limiters;
+    private final Map<EndpointClass, Counter> rejected = new EnumMap<>(EndpointClass.class);
+    private final List<String> excludedPaths;
+    private final CorsConfigurationSource corsConfigurationSource;
+    private final int retryAfterSeconds;
+    private final byte[] rejectionBody;
+
+    public ConcurrencyLimitFilter(Map<EndpointClass, AimdLimiter> limiters, List<String> excludedPaths,
+                                  CorsConfigurationSource corsConfigurationSource, int retryAfterSeconds,
+                                  ObjectMapper objectMapper, MeterRegistry meterRegistry) throws IOException {
+        this.limiters = limiters;
+        this.excludedPaths = excludedPaths;
+        this.corsConfigurationSource = corsConfigurationSource;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.rejectionBody = objectMapper.writeValueAsBytes(new MessageResponse("服务繁忙，请稍后重试"));
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            rejected.put(endpointClass, meterRegistry.counter("garden.concurrency.rejected", "class", endpointClass.getKey()));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if ("OPTIONS".equals(request.getMethod())) {
+            return true;
+        }
+        String path = request.getServletPath();
+        return excludedPaths.stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        EndpointClass endpointClass = classify(request);
+        AimdLimiter limiter = limiters.get(endpointClass);
+        if (!limiter.tryAcquire()) {
+            rejected.get(endpointClass).increment();
+            log.debug("并发已达上限 {}（{}），拒绝 {} {}", limiter.getLimit(), endpointClass.getKey(),
+                    request.getMethod(), request.getServletPath());
+            CorsConfiguration corsConfiguration = corsConfigurationSource.getCorsConfiguration(request);
+            if (corsConfiguration != null) {
+                corsProcessor.processRequest(corsConfiguration, request, response);
+            }
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getOutputStream().write(rejectionBody);
+            return;
+        }
+
+        BodyReadTimingRequest timingRequest = new BodyReadTimingRequest(request);
+        long start = System.nanoTime();
+        boolean overloaded = true;
+        try {
+            filterChain.doFilter(timingRequest, response);
+            overloaded = response.getStatus() >= 500;
+        } finally {
+            limiter.release(start, System.nanoTime() - start - timingRequest.getReadNanos(), overloaded);
+        }
+    }
+
+    private EndpointClass classify(HttpServletRequest request) {
+        if (pathMatcher.match("/auth/**", request.getServletPath())) {
+            return EndpointClass.AUTH;
+        }
+        String method = request.getMethod();
+        return "GET".equals(method) || "HEAD".equals(method) ? EndpointClass.READ : EndpointClass.WRITE;
+    }
+}
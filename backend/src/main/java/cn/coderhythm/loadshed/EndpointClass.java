@@ -0,0 +1,26 @@
+package cn.coderhythm.loadshed;
+
+/**
+ * 并发限制按接口类别分别计算，认证、读、写的延迟特征不同，互不挤占
+ */
+public enum EndpointClass {
+    /** 登录注册，耗时主要在 BCrypt */
+    AUTH("auth"),
+    /** GET/HEAD 查询 */
+    READ("read"),
+    /** POST/PUT/DELETE 等写操作 */
+    WRITE("write");
+
+    private final String key;
+
+    EndpointClass(String key) {
+        this.key = key;
+    }
+
+    /**
+     * 配置项和指标标签中使用的名称
+     */
+    public String getKey() {
+        return key;
+    }
+}
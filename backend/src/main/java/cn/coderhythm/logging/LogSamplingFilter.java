@@ -0,0 +1,86 @@
+package cn.coderhythm.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 挂在异步 appender 上的采样过滤器，在调用线程入队前执行
+ * WARN 及以上级别始终输出；以下级别先按 logger 前缀的采样率随机丢弃，再扣减当前请求的日志预算（见 RequestLogBudget）。
+ * 采样率在 logback-spring.xml 中配置，格式为 "logger=比例,logger=比例"，取最长匹配的前缀，未匹配的 logger 全部保留。
+ */
+public class LogSamplingFilter extends Filter<ILoggingEvent> {
+
+    private static final LongAdder SAMPLED_OUT = new LongAdder();
+    private static final LongAdder OVER_BUDGET = new LongAdder();
+
+    private final Map<String, Double> rates = new LinkedHashMap<>();
+    private final Map<String, Double> resolvedRates = new ConcurrentHashMap<>();
+
+    public void setRates(String spec) {
+        rates.clear();
+        resolvedRates.clear();
+        if (spec == null) {
+            return;
+        }
+        for (String rule : spec.split(",")) {
+            int separator = rule.indexOf('=');
+            if (separator <= 0) {
+                continue;
+            }
+            String logger = rule.substring(0, separator).trim();
+            try {
+                double rate = Double.parseDouble(rule.substring(separator + 1).trim());
+                rates.put(logger, Math.max(0, Math.min(1, rate)));
+            } catch (NumberFormatException e) {
+                addWarn("忽略无效的日志采样率: " + rule);
+            }
+        }
+    }
+
+    @Override
+    public FilterReply decide(ILoggingEvent event) {
+        if (event.getLevel().isGreaterOrEqual(Level.WARN)) {
+            return FilterReply.NEUTRAL;
+        }
+        if (!rates.isEmpty()) {
+            double rate = resolvedRates.computeIfAbsent(event.getLoggerName(), this::resolveRate);
+            if (rate < 1 && ThreadLocalRandom.current().nextDouble() >= rate) {
+                SAMPLED_OUT.increment();
+                return FilterReply.DENY;
+            }
+        }
+        if (!RequestLogBudget.tryConsume()) {
+            OVER_BUDGET.increment();
+            return FilterReply.DENY;
+        }
+        return FilterReply.NEUTRAL;
+    }
+
+    private double resolveRate(String loggerName) {
+        String matched = null;
+        for (String prefix : rates.keySet()) {
+            boolean matches = loggerName.equals(prefix)
+                    || (loggerName.startsWith(prefix) && loggerName.charAt(prefix.length()) == '.');
+            if (matches && (matched == null || prefix.length() > matched.length())) {
+                matched = prefix;
+            }
+        }
+        return matched == null ? 1 : rates.get(matched);
+    }
+
+    public static long getSampledOut() {
+        return SAMPLED_OUT.sum();
+    }
+
+    public static long getOverBudget() {
+        return OVER_BUDGET.sum();
+    }
+}
@@ -0,0 +1,55 @@
+package cn.coderhythm.logging;
+
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * 为每个请求分配关联 ID 并开启日志预算
+ * 沿用网关或客户端传入的 X-Request-Id，格式不合法或未传入时生成一个；ID 写入 MDC 的 requestId 并回写到响应头。
+ */
+@Slf4j
+public class RequestIdFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Request-Id";
+    public static final String MDC_KEY = "requestId";
+
+    private static final Pattern VALID_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    private final int maxEventsPerRequest;
+
+    public RequestIdFilter(int maxEventsPerRequest) {
+        this.maxEventsPerRequest = maxEventsPerRequest;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String requestId = request.getHeader(HEADER);
+        if (!StringUtils.hasText(requestId) || !VALID_ID.matcher(requestId).matches()) {
+            requestId = Long.toHexString(ThreadLocalRandom.current().nextLong());
+        }
+        MDC.put(MDC_KEY, requestId);
+        response.setHeader(HEADER, requestId);
+        RequestLogBudget.begin(maxEventsPerRequest);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int dropped = RequestLogBudget.end();
+            if (dropped > 0) {
+                log.warn("{} {} 超出日志预算 {} 条，丢弃 {} 条日志",
+                        request.getMethod(), request.getRequestURI(), maxEventsPerRequest, dropped);
+            }
+            MDC.remove(MDC_KEY);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package cn.coderhythm.logging;
+
+/**
+ * 单个请求可输出的 WARN 以下日志条数上限
+ * 由 RequestIdFilter 在请求开始时为当前线程开启、结束时关闭；没有开启预算的线程（定时任务、启动过程）不受限制。
+ */
+public final class RequestLogBudget {
+
+    private static final ThreadLocal<RequestLogBudget> CURRENT = new ThreadLocal<>();
+
+    private int remaining;
+    private int dropped;
+
+    private RequestLogBudget(int limit) {
+        this.remaining = limit;
+    }
+
+    /**
+     * @param limit 上限，不大于 0 时不限制
+     */
+    static void begin(int limit) {
+        if (limit > 0) {
+            CURRENT.set(new RequestLogBudget(limit));
+        }
+    }
+
+    /**
+     * 关闭当前线程的预算，返回因超出预算被丢弃的条数
+     */
+    static int end() {
+        RequestLogBudget budget = CURRENT.get();
+        if (budget == null) {
+            return 0;
+        }
+        CURRENT.remove();
+        return budget.dropped;
+    }
+
+    static boolean tryConsume() {
+        RequestLogBudget budget = CURRENT.get();
+        if (budget == null) {
+            return true;
+        }
+        if (budget.remaining > 0) {
+            budget.remaining--;
+            return true;
+        }
+        budget.dropped++;
+        return false;
+    }
+}
@@ -4,6 +4,9 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import javax.persistence.*;
 import javax.validation.constraints.Email;
 import javax.validation.constraints.NotBlank;
@@ -15,8 +18,8 @@ import java.util.Set;
 @Entity
 @Table(name = "users", 
        uniqueConstraints = {
-           @UniqueConstraint(columnNames = "username"),
-           @UniqueConstraint(columnNames = "email")
+           @UniqueConstraint(name = "uk_users_username", columnNames = "username"),
+           @UniqueConstraint(name = "uk_users_email", columnNames = "email")
        })
 @Data
 @NoArgsConstructor
@@ -66,7 +69,9 @@ public class User {
     
     private boolean enabled = true;
 
+    // 角色只在注册时写入，缓存角色 ID 集合，加载用户权限时不再查询 user_roles
     @ManyToMany(fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_ONLY)
     @JoinTable(name = "user_roles", 
               joinColumns = @JoinColumn(name = "user_id"),
               inverseJoinColumns = @JoinColumn(name = "role_id"))
@@ -0,0 +1,112 @@
+package cn.coderhythm.models;
+
+import javax.persistence.*;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Size;
+import java.time.LocalDateTime;
+
+/**
+ * 考核项目，按 考核级别 → 考核分类 → 项目名称 组织
+ */
+@Entity
+@Table(name = "assessment_items",
+       indexes = {
+           @Index(name = "idx_assessment_items_level_category", columnList = "level, category")
+       })
+public class AssessmentItem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotBlank
+    @Size(max = 20)
+    private String level;
+
+    @NotBlank
+    @Size(max = 50)
+    private String category;
+
+    @NotBlank
+    @Size(max = 100)
+    private String name;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // 默认构造函数
+    public AssessmentItem() {
+    }
+
+    // 带参数的构造函数
+    public AssessmentItem(String level, String category, String name) {
+        this.level = level;
+        this.category = category;
+        this.name = name;
+    }
+
+    // 在保存前自动设置创建时间和更新时间
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+    }
+
+    // 在更新前自动设置更新时间
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getLevel() {
+        return level;
+    }
+
+    public void setLevel(String level) {
+        this.level = level;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
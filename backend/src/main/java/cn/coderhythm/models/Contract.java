@@ -0,0 +1,240 @@
+package cn.coderhythm.models;
+
+import javax.persistence.*;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 养护合同
+ * 状态随开始/结束日期自动流转，由 ContractLifecycleService 的时间轮驱动
+ */
+@Entity
+@Table(name = "contracts",
+       indexes = {
+           @Index(name = "idx_contracts_end_date", columnList = "end_date"),
+           @Index(name = "idx_contracts_status_end_date", columnList = "status, end_date")
+       })
+public class Contract {
+
+    public static final String STATUS_ACTIVE = "生效中";
+    public static final String STATUS_EXPIRED = "已到期";
+    public static final String STATUS_PENDING = "待生效";
+    public static final String STATUS_TERMINATED = "已终止";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // 合同编号
+    @NotBlank
+    @Size(max = 50)
+    @Column(name = "contract_no")
+    private String contractNo;
+
+    @NotBlank
+    @Size(max = 200)
+    @Column(name = "contract_name")
+    private String contractName;
+
+    @Size(max = 50)
+    @Column(name = "contract_type")
+    private String contractType;
+
+    // 甲方
+    @Size(max = 100)
+    @Column(name = "party_a")
+    private String partyA;
+
+    // 乙方（养护单位）
+    @Size(max = 100)
+    @Column(name = "party_b")
+    private String partyB;
+
+    @Column(precision = 15, scale = 2)
+    private BigDecimal amount;
+
+    @NotNull
+    @Column(name = "start_date")
+    private LocalDate startDate;
+
+    @NotNull
+    @Column(name = "end_date")
+    private LocalDate endDate;
+
+    @Column(name = "sign_date")
+    private LocalDate signDate;
+
+    @Size(max = 20)
+    private String status;
+
+    @Size(max = 100)
+    private String area;
+
+    @Size(max = 1000)
+    private String description;
+
+    // 到期提醒的发送时间，为空表示尚未提醒
+    @Column(name = "reminder_sent_at")
+    private LocalDateTime reminderSentAt;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // 默认构造函数
+    public Contract() {
+    }
+
+    // 在保存前自动设置创建时间
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+    }
+
+    // 在更新前自动设置更新时间
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    // 是否仍会发生自动状态流转
+    public boolean isOpen() {
+        return STATUS_ACTIVE.equals(status) || STATUS_PENDING.equals(status);
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getContractNo() {
+        return contractNo;
+    }
+
+    public void setContractNo(String contractNo) {
+        this.contractNo = contractNo;
+    }
+
+    public String getContractName() {
+        return contractName;
+    }
+
+    public void setContractName(String contractName) {
+        this.contractName = contractName;
+    }
+
+    public String getContractType() {
+        return contractType;
+    }
+
+    public void setContractType(String contractType) {
+        this.contractType = contractType;
+    }
+
+    public String getPartyA() {
+        return partyA;
+    }
+
+    public void setPartyA(String partyA) {
+        this.partyA = partyA;
+    }
+
+    public String getPartyB() {
+        return partyB;
+    }
+
+    public void setPartyB(String partyB) {
+        this.partyB = partyB;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public LocalDate getSignDate() {
+        return signDate;
+    }
+
+    public void setSignDate(LocalDate signDate) {
+        this.signDate = signDate;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getArea() {
+        return area;
+    }
+
+    public void setArea(String area) {
+        this.area = area;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public LocalDateTime getReminderSentAt() {
+        return reminderSentAt;
+    }
+
+    public void setReminderSentAt(LocalDateTime reminderSentAt) {
+        this.reminderSentAt = reminderSentAt;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
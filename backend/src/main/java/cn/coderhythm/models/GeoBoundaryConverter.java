@@ -0,0 +1,41 @@
+package cn.coderhythm.models;
+
+import cn.coderhythm.spatial.GeoBoundary;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+/**
+ * 边界顶点列表与 JSON 文本互转，数据库中存储为 [[经度, 纬度], ...]
+ */
+@Converter
+public class GeoBoundaryConverter implements AttributeConverter<GeoBoundary, String> {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Override
+    public String convertToDatabaseColumn(GeoBoundary boundary) {
+        if (boundary == null || boundary.isEmpty()) {
+            return null;
+        }
+        try {
+            return MAPPER.writeValueAsString(boundary);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("无法序列化边界数据", e);
+        }
+    }
+
+    @Override
+    public GeoBoundary convertToEntityAttribute(String json) {
+        if (json == null || json.isEmpty()) {
+            return null;
+        }
+        try {
+            return MAPPER.readValue(json, GeoBoundary.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("无法解析边界数据", e);
+        }
+    }
+}
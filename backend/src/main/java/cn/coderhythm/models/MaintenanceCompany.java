@@ -1,12 +1,18 @@
 package cn.coderhythm.models;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import javax.persistence.*;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.Size;
 import java.util.Date;
 
 @Entity
-@Table(name = "maintenance_companies")
+@Table(name = "maintenance_companies",
+       uniqueConstraints = @UniqueConstraint(name = "uk_maintenance_companies_company_name", columnNames = "company_name"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class MaintenanceCompany {
 
     @Id
@@ -37,6 +43,11 @@ public class MaintenanceCompany {
     @Size(max = 500)
     private String address;
 
+    // 乐观锁版本号，对外作为 ETag；已有数据补列时默认为 0
+    @Version
+    @Column(nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long version;
+
     @Column(name = "created_at")
     @Temporal(TemporalType.TIMESTAMP)
     private Date createdAt;
@@ -130,6 +141,14 @@ public class MaintenanceCompany {
         this.address = address;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public Date getCreatedAt() {
         return createdAt;
     }
@@ -0,0 +1,254 @@
+package cn.coderhythm.models;
+
+import cn.coderhythm.plan.RecurrenceFrequency;
+import cn.coderhythm.plan.RecurrenceRule;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import javax.persistence.*;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 养护计划
+ * 只保存重复规则（开始日期、结束日期、频率），每次执行的日期按需展开，不落库
+ */
+@Entity
+@Table(name = "maintenance_plans",
+       indexes = {
+           @Index(name = "idx_maintenance_plans_unit", columnList = "maintenance_unit_id"),
+           @Index(name = "idx_maintenance_plans_dates", columnList = "start_date, end_date")
+       })
+public class MaintenancePlan {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotBlank
+    @Size(max = 100)
+    @Column(name = "plan_name")
+    private String planName;
+
+    @Size(max = 50)
+    @Column(name = "plan_type")
+    private String planType;
+
+    @Size(max = 100)
+    private String area;
+
+    // 管养单元名称
+    @Size(max = 100)
+    @Column(name = "maintenance_unit")
+    private String maintenanceUnit;
+
+    @Column(name = "maintenance_unit_id")
+    private Long maintenanceUnitId;
+
+    @Size(max = 50)
+    @Column(name = "responsible_person")
+    private String responsiblePerson;
+
+    // 执行频率，取值见 RecurrenceFrequency 的中文名称
+    @NotBlank
+    @Size(max = 20)
+    private String frequency;
+
+    @Size(max = 10)
+    private String priority;
+
+    @Size(max = 20)
+    private String status;
+
+    @Size(max = 1000)
+    private String description;
+
+    @Size(max = 20)
+    @Column(name = "review_status")
+    private String reviewStatus;
+
+    @Size(max = 50)
+    private String reviewer;
+
+    @NotNull
+    @Column(name = "start_date")
+    private LocalDate startDate;
+
+    // 为空表示长期执行
+    @Column(name = "end_date")
+    private LocalDate endDate;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // 默认构造函数
+    public MaintenancePlan() {
+    }
+
+    // 在保存前自动设置创建时间和默认状态
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+        if (status == null) {
+            status = "未开始";
+        }
+        if (reviewStatus == null) {
+            reviewStatus = "未审核";
+        }
+    }
+
+    // 在更新前自动设置更新时间
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    // 重复规则
+    @JsonIgnore
+    public RecurrenceRule getRecurrenceRule() {
+        return new RecurrenceRule(startDate, endDate, RecurrenceFrequency.fromLabel(frequency));
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getPlanName() {
+        return planName;
+    }
+
+    public void setPlanName(String planName) {
+        this.planName = planName;
+    }
+
+    public String getPlanType() {
+        return planType;
+    }
+
+    public void setPlanType(String planType) {
+        this.planType = planType;
+    }
+
+    public String getArea() {
+        return area;
+    }
+
+    public void setArea(String area) {
+        this.area = area;
+    }
+
+    public String getMaintenanceUnit() {
+        return maintenanceUnit;
+    }
+
+    public void setMaintenanceUnit(String maintenanceUnit) {
+        this.maintenanceUnit = maintenanceUnit;
+    }
+
+    public Long getMaintenanceUnitId() {
+        return maintenanceUnitId;
+    }
+
+    public void setMaintenanceUnitId(Long maintenanceUnitId) {
+        this.maintenanceUnitId = maintenanceUnitId;
+    }
+
+    public String getResponsiblePerson() {
+        return responsiblePerson;
+    }
+
+    public void setResponsiblePerson(String responsiblePerson) {
+        this.responsiblePerson = responsiblePerson;
+    }
+
+    public String getFrequency() {
+        return frequency;
+    }
+
+    public void setFrequency(String frequency) {
+        this.frequency = frequency;
+    }
+
+    public String getPriority() {
+        return priority;
+    }
+
+    public void setPriority(String priority) {
+        this.priority = priority;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public String getReviewStatus() {
+        return reviewStatus;
+    }
+
+    public void setReviewStatus(String reviewStatus) {
+        this.reviewStatus = reviewStatus;
+    }
+
+    public String getReviewer() {
+        return reviewer;
+    }
+
+    public void setReviewer(String reviewer) {
+        this.reviewer = reviewer;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,184 @@
+package cn.coderhythm.models;
+
+import javax.persistence.*;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.time.LocalDateTime;
+
+/**
+ * 养护记录
+ * 表按 record_time 按月分区（见 MaintenanceRecordPartitionService），
+ * 所有范围查询都应以 record_time 作为条件以便数据库裁剪分区
+ */
+@Entity
+@Table(name = "maintenance_records",
+       indexes = {
+           @Index(name = "idx_maintenance_records_contractor_time", columnList = "contractor, record_time"),
+           @Index(name = "idx_maintenance_records_road_time", columnList = "road, record_time"),
+           @Index(name = "idx_maintenance_records_time", columnList = "record_time")
+       })
+public class MaintenanceRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotBlank
+    @Size(max = 100)
+    private String road;
+
+    @NotBlank
+    @Size(max = 100)
+    private String contractor;
+
+    @Size(max = 100)
+    private String inspector;
+
+    @Size(max = 200)
+    private String location;
+
+    @Size(max = 50)
+    @Column(name = "plant_type")
+    private String plantType;
+
+    @Size(max = 200)
+    @Column(name = "maintenance_goal")
+    private String maintenanceGoal;
+
+    @Size(max = 500)
+    @Column(name = "technical_measures")
+    private String technicalMeasures;
+
+    @NotNull
+    @Min(0)
+    @Max(100)
+    private Integer score;
+
+    // 分区键，不允许为空
+    @NotNull
+    @Column(name = "record_time", nullable = false)
+    private LocalDateTime recordTime;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    // 默认构造函数
+    public MaintenanceRecord() {
+    }
+
+    // 带参数的构造函数
+    public MaintenanceRecord(String road, String contractor, String inspector, String location,
+                             String plantType, String maintenanceGoal, String technicalMeasures,
+                             Integer score, LocalDateTime recordTime) {
+        this.road = road;
+        this.contractor = contractor;
+        this.inspector = inspector;
+        this.location = location;
+        this.plantType = plantType;
+        this.maintenanceGoal = maintenanceGoal;
+        this.technicalMeasures = technicalMeasures;
+        this.score = score;
+        this.recordTime = recordTime;
+    }
+
+    // 在保存前自动设置创建时间，未指定记录时间时使用当前时间
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (recordTime == null) {
+            recordTime = createdAt;
+        }
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getRoad() {
+        return road;
+    }
+
+    public void setRoad(String road) {
+        this.road = road;
+    }
+
+    public String getContractor() {
+        return contractor;
+    }
+
+    public void setContractor(String contractor) {
+        this.contractor = contractor;
+    }
+
+    public String getInspector() {
+        return inspector;
+    }
+
+    public void setInspector(String inspector) {
+        this.inspector = inspector;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public String getPlantType() {
+        return plantType;
+    }
+
+    public void setPlantType(String plantType) {
+        this.plantType = plantType;
+    }
+
+    public String getMaintenanceGoal() {
+        return maintenanceGoal;
+    }
+
+    public void setMaintenanceGoal(String maintenanceGoal) {
+        this.maintenanceGoal = maintenanceGoal;
+    }
+
+    public String getTechnicalMeasures() {
+        return technicalMeasures;
+    }
+
+    public void setTechnicalMeasures(String technicalMeasures) {
+        this.technicalMeasures = technicalMeasures;
+    }
+
+    public Integer getScore() {
+        return score;
+    }
+
+    public void setScore(Integer score) {
+        this.score = score;
+    }
+
+    public LocalDateTime getRecordTime() {
+        return recordTime;
+    }
+
+    public void setRecordTime(LocalDateTime recordTime) {
+        this.recordTime = recordTime;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -1,5 +1,9 @@
 package cn.coderhythm.models;
 
+import cn.coderhythm.spatial.GeoBoundary;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import javax.persistence.*;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
@@ -7,7 +11,10 @@ import javax.validation.constraints.Size;
 import java.util.Date;
 
 @Entity
-@Table(name = "maintenance_units")
+@Table(name = "maintenance_units",
+       uniqueConstraints = @UniqueConstraint(name = "uk_maintenance_units_unit_name", columnNames = "unit_name"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class MaintenanceUnit {
 
     @Id
@@ -16,6 +23,7 @@ public class MaintenanceUnit {
 
     @NotBlank
     @Size(max = 100)
+    @Column(name = "unit_name")
     private String unitName;
 
     @Size(max = 50)
@@ -33,6 +41,16 @@ public class MaintenanceUnit {
     @NotNull
     private Integer patchCount;
 
+    // 管养范围边界，顶点为 [经度, 纬度]，可为空
+    @Convert(converter = GeoBoundaryConverter.class)
+    @Column(columnDefinition = "TEXT")
+    private GeoBoundary boundary;
+
+    // 乐观锁版本号，对外作为 ETag；已有数据补列时默认为 0
+    @Version
+    @Column(nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long version;
+
     @Column(name = "created_at")
     @Temporal(TemporalType.TIMESTAMP)
     private Date createdAt;
@@ -126,6 +144,22 @@ public class MaintenanceUnit {
         this.patchCount = patchCount;
     }
 
+    public GeoBoundary getBoundary() {
+        return boundary;
+    }
+
+    public void setBoundary(GeoBoundary boundary) {
+        this.boundary = boundary;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public Date getCreatedAt() {
         return createdAt;
     }
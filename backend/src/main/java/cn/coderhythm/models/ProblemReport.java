@@ -0,0 +1,206 @@
+package cn.coderhythm.models;
+
+import javax.persistence.*;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Size;
+import java.time.LocalDateTime;
+
+/**
+ * 问题上报
+ */
+@Entity
+@Table(name = "problem_reports",
+       indexes = {
+           @Index(name = "idx_problem_reports_status_time", columnList = "status, report_time"),
+           @Index(name = "idx_problem_reports_unit", columnList = "maintenance_unit_id")
+       })
+public class ProblemReport {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotBlank
+    @Size(max = 50)
+    @Column(name = "problem_type")
+    private String problemType;
+
+    @Size(max = 50)
+    private String source;
+
+    @Size(max = 20)
+    private String urgency;
+
+    @NotBlank
+    @Size(max = 200)
+    @Column(name = "task_name")
+    private String taskName;
+
+    // 文字描述的位置
+    @Size(max = 200)
+    private String location;
+
+    // 可选的坐标
+    private Double latitude;
+
+    private Double longitude;
+
+    // 根据坐标自动匹配的管养单元
+    @Column(name = "maintenance_unit_id")
+    private Long maintenanceUnitId;
+
+    @Size(max = 100)
+    private String reporter;
+
+    @Column(name = "report_time")
+    private LocalDateTime reportTime;
+
+    @Size(max = 20)
+    private String status;
+
+    @Size(max = 1000)
+    private String description;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // 默认构造函数
+    public ProblemReport() {
+    }
+
+    // 在保存前自动设置上报时间和默认状态
+    @PrePersist
+    protected void onCreate() {
+        updatedAt = LocalDateTime.now();
+        if (reportTime == null) {
+            reportTime = updatedAt;
+        }
+        if (status == null) {
+            status = "未处理";
+        }
+    }
+
+    // 在更新前自动设置更新时间
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    // 是否带有坐标
+    public boolean hasCoordinates() {
+        return latitude != null && longitude != null;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getProblemType() {
+        return problemType;
+    }
+
+    public void setProblemType(String problemType) {
+        this.problemType = problemType;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public String getUrgency() {
+        return urgency;
+    }
+
+    public void setUrgency(String urgency) {
+        this.urgency = urgency;
+    }
+
+    public String getTaskName() {
+        return taskName;
+    }
+
+    public void setTaskName(String taskName) {
+        this.taskName = taskName;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
+    public Long getMaintenanceUnitId() {
+        return maintenanceUnitId;
+    }
+
+    public void setMaintenanceUnitId(Long maintenanceUnitId) {
+        this.maintenanceUnitId = maintenanceUnitId;
+    }
+
+    public String getReporter() {
+        return reporter;
+    }
+
+    public void setReporter(String reporter) {
+        this.reporter = reporter;
+    }
+
+    public LocalDateTime getReportTime() {
+        return reportTime;
+    }
+
+    public void setReportTime(LocalDateTime reportTime) {
+        this.reportTime = reportTime;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
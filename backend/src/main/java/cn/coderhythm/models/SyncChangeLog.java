@@ -0,0 +1,94 @@
+package cn.coderhythm.models;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 增量同步变更日志
+ * 自增主键即全局单调递增的版本号，每次写操作追加一条；删除操作记为墓碑（DELETE）
+ */
+@Entity
+@Table(name = "sync_change_log",
+       indexes = {
+           @Index(name = "idx_sync_change_log_entity", columnList = "entity_type, entity_id, version"),
+           @Index(name = "idx_sync_change_log_changed_at", columnList = "changed_at")
+       })
+public class SyncChangeLog {
+
+    public static final String OPERATION_UPSERT = "UPSERT";
+    public static final String OPERATION_DELETE = "DELETE";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "version")
+    private Long version;
+
+    @Column(name = "entity_type", length = 30, nullable = false)
+    private String entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(length = 10, nullable = false)
+    private String operation;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    // 默认构造函数
+    public SyncChangeLog() {
+    }
+
+    // 带参数的构造函数
+    public SyncChangeLog(String entityType, Long entityId, String operation) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.operation = operation;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        changedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(Long entityId) {
+        this.entityId = entityId;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    public void setChangedAt(LocalDateTime changedAt) {
+        this.changedAt = changedAt;
+    }
+}
@@ -0,0 +1,47 @@
+package cn.coderhythm.models;
+
+import javax.persistence.*;
+
+/**
+ * 增量同步的持久化状态，如已清理的墓碑版本水位
+ */
+@Entity
+@Table(name = "sync_state")
+public class SyncState {
+
+    public static final String PURGED_THROUGH = "purged_through";
+
+    @Id
+    @Column(name = "state_name", length = 50)
+    private String name;
+
+    @Column(name = "long_value")
+    private Long longValue;
+
+    // 默认构造函数
+    public SyncState() {
+    }
+
+    // 带参数的构造函数
+    public SyncState(String name, Long longValue) {
+        this.name = name;
+        this.longValue = longValue;
+    }
+
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Long getLongValue() {
+        return longValue;
+    }
+
+    public void setLongValue(Long longValue) {
+        this.longValue = longValue;
+    }
+}
@@ -0,0 +1,47 @@
+package cn.coderhythm.payload.request;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Size;
+
+public class AssessmentItemRequest {
+
+    @NotBlank(message = "考核级别不能为空")
+    @Size(max = 20, message = "考核级别长度不能超过20个字符")
+    private String level;
+
+    @NotBlank(message = "考核分类不能为空")
+    @Size(max = 50, message = "考核分类长度不能超过50个字符")
+    private String category;
+
+    @NotBlank(message = "项目名称不能为空")
+    @Size(max = 100, message = "项目名称长度不能超过100个字符")
+    private String name;
+
+    // 构造函数
+    public AssessmentItemRequest() {}
+
+    // Getters and Setters
+    public String getLevel() {
+        return level;
+    }
+
+    public void setLevel(String level) {
+        this.level = level;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}
@@ -0,0 +1,148 @@
+package cn.coderhythm.payload.request;
+
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class ContractRequest {
+
+    @NotBlank(message = "合同编号不能为空")
+    @Size(max = 50, message = "合同编号长度不能超过50个字符")
+    private String contractNo;
+
+    @NotBlank(message = "合同名称不能为空")
+    @Size(max = 200, message = "合同名称长度不能超过200个字符")
+    private String contractName;
+
+    @Size(max = 50, message = "合同类型长度不能超过50个字符")
+    private String contractType;
+
+    @Size(max = 100, message = "甲方长度不能超过100个字符")
+    private String partyA;
+
+    @Size(max = 100, message = "乙方长度不能超过100个字符")
+    private String partyB;
+
+    @DecimalMin(value = "0", message = "合同金额不能为负数")
+    private BigDecimal amount;
+
+    @NotNull(message = "开始日期不能为空")
+    private LocalDate startDate;
+
+    @NotNull(message = "结束日期不能为空")
+    private LocalDate endDate;
+
+    private LocalDate signDate;
+
+    @Size(max = 20, message = "状态长度不能超过20个字符")
+    private String status;
+
+    @Size(max = 100, message = "区域长度不能超过100个字符")
+    private String area;
+
+    @Size(max = 1000, message = "描述长度不能超过1000个字符")
+    private String description;
+
+    // 构造函数
+    public ContractRequest() {}
+
+    // Getters and Setters
+    public String getContractNo() {
+        return contractNo;
+    }
+
+    public void setContractNo(String contractNo) {
+        this.contractNo = contractNo;
+    }
+
+    public String getContractName() {
+        return contractName;
+    }
+
+    public void setContractName(String contractName) {
+        this.contractName = contractName;
+    }
+
+    public String getContractType() {
+        return contractType;
+    }
+
+    public void setContractType(String contractType) {
+        this.contractType = contractType;
+    }
+
+    public String getPartyA() {
+        return partyA;
+    }
+
+    public void setPartyA(String partyA) {
+        this.partyA = partyA;
+    }
+
+    public String getPartyB() {
+        return partyB;
+    }
+
+    public void setPartyB(String partyB) {
+        this.partyB = partyB;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public LocalDate getSignDate() {
+        return signDate;
+    }
+
+    public void setSignDate(LocalDate signDate) {
+        this.signDate = signDate;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getArea() {
+        return area;
+    }
+
+    public void setArea(String area) {
+        this.area = area;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+}
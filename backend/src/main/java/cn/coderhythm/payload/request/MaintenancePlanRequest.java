@@ -0,0 +1,167 @@
+package cn.coderhythm.payload.request;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.time.LocalDate;
+
+public class MaintenancePlanRequest {
+
+    @NotBlank(message = "计划名称不能为空")
+    @Size(max = 100, message = "计划名称长度不能超过100个字符")
+    private String planName;
+
+    @Size(max = 50, message = "计划类型长度不能超过50个字符")
+    private String planType;
+
+    @Size(max = 100, message = "区域长度不能超过100个字符")
+    private String area;
+
+    @Size(max = 100, message = "管养单元长度不能超过100个字符")
+    private String maintenanceUnit;
+
+    private Long maintenanceUnitId;
+
+    @Size(max = 50, message = "负责人长度不能超过50个字符")
+    private String responsiblePerson;
+
+    @NotBlank(message = "执行频率不能为空")
+    @Size(max = 20, message = "执行频率长度不能超过20个字符")
+    private String frequency;
+
+    @Size(max = 10, message = "优先级长度不能超过10个字符")
+    private String priority;
+
+    @Size(max = 20, message = "状态长度不能超过20个字符")
+    private String status;
+
+    @Size(max = 1000, message = "描述长度不能超过1000个字符")
+    private String description;
+
+    @Size(max = 20, message = "审核状态长度不能超过20个字符")
+    private String reviewStatus;
+
+    @Size(max = 50, message = "审核人长度不能超过50个字符")
+    private String reviewer;
+
+    @NotNull(message = "开始日期不能为空")
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+    // 构造函数
+    public MaintenancePlanRequest() {}
+
+    // Getters and Setters
+    public String getPlanName() {
+        return planName;
+    }
+
+    public void setPlanName(String planName) {
+        this.planName = planName;
+    }
+
+    public String getPlanType() {
+        return planType;
+    }
+
+    public void setPlanType(String planType) {
+        this.planType = planType;
+    }
+
+    public String getArea() {
+        return area;
+    }
+
+    public void setArea(String area) {
+        this.area = area;
+    }
+
+    public String getMaintenanceUnit() {
+        return maintenanceUnit;
+    }
+
+    public void setMaintenanceUnit(String maintenanceUnit) {
+        this.maintenanceUnit = maintenanceUnit;
+    }
+
+    public Long getMaintenanceUnitId() {
+        return maintenanceUnitId;
+    }
+
+    public void setMaintenanceUnitId(Long maintenanceUnitId) {
+        this.maintenanceUnitId = maintenanceUnitId;
+    }
+
+    public String getResponsiblePerson() {
+        return responsiblePerson;
+    }
+
+    public void setResponsiblePerson(String responsiblePerson) {
+        this.responsiblePerson = responsiblePerson;
+    }
+
+    public String getFrequency() {
+        return frequency;
+    }
+
+    public void setFrequency(String frequency) {
+        this.frequency = frequency;
+    }
+
+    public String getPriority() {
+        return priority;
+    }
+
+    public void setPriority(String priority) {
+        this.priority = priority;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public String getReviewStatus() {
+        return reviewStatus;
+    }
+
+    public void setReviewStatus(String reviewStatus) {
+        this.reviewStatus = reviewStatus;
+    }
+
+    public String getReviewer() {
+        return reviewer;
+    }
+
+    public void setReviewer(String reviewer) {
+        this.reviewer = reviewer;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+}
@@ -0,0 +1,118 @@
+package cn.coderhythm.payload.request;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.time.LocalDateTime;
+
+public class MaintenanceRecordRequest {
+
+    @NotBlank(message = "道路名称不能为空")
+    @Size(max = 100, message = "道路名称长度不能超过100个字符")
+    private String road;
+
+    @NotBlank(message = "养护单位不能为空")
+    @Size(max = 100, message = "养护单位长度不能超过100个字符")
+    private String contractor;
+
+    @Size(max = 100, message = "检查人长度不能超过100个字符")
+    private String inspector;
+
+    @Size(max = 200, message = "位置长度不能超过200个字符")
+    private String location;
+
+    @Size(max = 50, message = "植物类型长度不能超过50个字符")
+    private String plantType;
+
+    @Size(max = 200, message = "养护目标长度不能超过200个字符")
+    private String maintenanceGoal;
+
+    @Size(max = 500, message = "技术措施长度不能超过500个字符")
+    private String technicalMeasures;
+
+    @NotNull(message = "评分不能为空")
+    @Min(value = 0, message = "评分不能小于0")
+    @Max(value = 100, message = "评分不能大于100")
+    private Integer score;
+
+    // 为空时使用当前时间
+    private LocalDateTime recordTime;
+
+    // 构造函数
+    public MaintenanceRecordRequest() {}
+
+    // Getters and Setters
+    public String getRoad() {
+        return road;
+    }
+
+    public void setRoad(String road) {
+        this.road = road;
+    }
+
+    public String getContractor() {
+        return contractor;
+    }
+
+    public void setContractor(String contractor) {
+        this.contractor = contractor;
+    }
+
+    public String getInspector() {
+        return inspector;
+    }
+
+    public void setInspector(String inspector) {
+        this.inspector = inspector;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public String getPlantType() {
+        return plantType;
+    }
+
+    public void setPlantType(String plantType) {
+        this.plantType = plantType;
+    }
+
+    public String getMaintenanceGoal() {
+        return maintenanceGoal;
+    }
+
+    public void setMaintenanceGoal(String maintenanceGoal) {
+        this.maintenanceGoal = maintenanceGoal;
+    }
+
+    public String getTechnicalMeasures() {
+        return technicalMeasures;
+    }
+
+    public void setTechnicalMeasures(String technicalMeasures) {
+        this.technicalMeasures = technicalMeasures;
+    }
+
+    public Integer getScore() {
+        return score;
+    }
+
+    public void setScore(Integer score) {
+        this.score = score;
+    }
+
+    public LocalDateTime getRecordTime() {
+        return recordTime;
+    }
+
+    public void setRecordTime(LocalDateTime recordTime) {
+        this.recordTime = recordTime;
+    }
+}
@@ -3,6 +3,7 @@ package cn.coderhythm.payload.request;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
+import java.util.List;
 
 public class MaintenanceUnitRequest {
 
@@ -25,6 +26,10 @@ public class MaintenanceUnitRequest {
     @NotNull(message = "斑块数量不能为空")
     private Integer patchCount;
 
+    // 管养范围边界，顶点为 [经度, 纬度]，可为空
+    @Size(min = 3, max = 5000, message = "边界顶点数量应在3到5000之间")
+    private List<double[]> boundary;
+
     // 构造函数
     public MaintenanceUnitRequest() {}
 
@@ -86,4 +91,12 @@ public class MaintenanceUnitRequest {
     public void setPatchCount(Integer patchCount) {
         this.patchCount = patchCount;
     }
-} 
\ No newline at end of file
+
+    public List<double[]> getBoundary() {
+        return boundary;
+    }
+
+    public void setBoundary(List<double[]> boundary) {
+        this.boundary = boundary;
+    }
+}
@@ -0,0 +1,138 @@
+package cn.coderhythm.payload.request;
+
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Size;
+import java.time.LocalDateTime;
+
+public class ProblemReportRequest {
+
+    @NotBlank(message = "问题类型不能为空")
+    @Size(max = 50, message = "问题类型长度不能超过50个字符")
+    private String problemType;
+
+    @Size(max = 50, message = "问题来源长度不能超过50个字符")
+    private String source;
+
+    @Size(max = 20, message = "紧急程度长度不能超过20个字符")
+    private String urgency;
+
+    @NotBlank(message = "任务名称不能为空")
+    @Size(max = 200, message = "任务名称长度不能超过200个字符")
+    private String taskName;
+
+    @Size(max = 200, message = "位置长度不能超过200个字符")
+    private String location;
+
+    @DecimalMin(value = "-90", message = "纬度超出范围")
+    @DecimalMax(value = "90", message = "纬度超出范围")
+    private Double latitude;
+
+    @DecimalMin(value = "-180", message = "经度超出范围")
+    @DecimalMax(value = "180", message = "经度超出范围")
+    private Double longitude;
+
+    @Size(max = 100, message = "上报人长度不能超过100个字符")
+    private String reporter;
+
+    private LocalDateTime reportTime;
+
+    @Size(max = 20, message = "状态长度不能超过20个字符")
+    private String status;
+
+    @Size(max = 1000, message = "描述长度不能超过1000个字符")
+    private String description;
+
+    // 构造函数
+    public ProblemReportRequest() {}
+
+    // Getters and Setters
+    public String getProblemType() {
+        return problemType;
+    }
+
+    public void setProblemType(String problemType) {
+        this.problemType = problemType;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public String getUrgency() {
+        return urgency;
+    }
+
+    public void setUrgency(String urgency) {
+        this.urgency = urgency;
+    }
+
+    public String getTaskName() {
+        return taskName;
+    }
+
+    public void setTaskName(String taskName) {
+        this.taskName = taskName;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
+    public String getReporter() {
+        return reporter;
+    }
+
+    public void setReporter(String reporter) {
+        this.reporter = reporter;
+    }
+
+    public LocalDateTime getReportTime() {
+        return reportTime;
+    }
+
+    public void setReportTime(LocalDateTime reportTime) {
+        this.reportTime = reportTime;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+}
@@ -0,0 +1,71 @@
+package cn.coderhythm.payload.request;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.Size;
+
+public class UploadInitRequest {
+
+    @NotBlank(message = "文件名不能为空")
+    @Size(max = 200, message = "文件名长度不能超过200个字符")
+    private String fileName;
+
+    @NotBlank(message = "文件类型不能为空")
+    private String contentType;
+
+    @NotNull(message = "文件大小不能为空")
+    @Positive(message = "文件大小必须大于0")
+    private Long totalSize;
+
+    // 分片大小，不传时使用服务端默认值
+    private Integer chunkSize;
+
+    // 用途：problem-report / maintenance-record
+    @Size(max = 30, message = "用途长度不能超过30个字符")
+    private String purpose;
+
+    // 构造函数
+    public UploadInitRequest() {}
+
+    // Getters and Setters
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public Long getTotalSize() {
+        return totalSize;
+    }
+
+    public void setTotalSize(Long totalSize) {
+        this.totalSize = totalSize;
+    }
+
+    public Integer getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(Integer chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public String getPurpose() {
+        return purpose;
+    }
+
+    public void setPurpose(String purpose) {
+        this.purpose = purpose;
+    }
+}
@@ -0,0 +1,68 @@
+package cn.coderhythm.payload.response;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 考核项目目录树的节点：考核级别 → 考核分类 → 项目
+ * 目录快照在多个请求间共享，节点及子列表均不可变
+ */
+public final class AssessmentCatalogNode {
+
+    private AssessmentCatalogNode() {
+    }
+
+    public static final class Level {
+        private final String level;
+        private final List<Category> categories;
+
+        public Level(String level, List<Category> categories) {
+            this.level = level;
+            this.categories = Collections.unmodifiableList(categories);
+        }
+
+        public String getLevel() {
+            return level;
+        }
+
+        public List<Category> getCategories() {
+            return categories;
+        }
+    }
+
+    public static final class Category {
+        private final String category;
+        private final List<Item> items;
+
+        public Category(String category, List<Item> items) {
+            this.category = category;
+            this.items = Collections.unmodifiableList(items);
+        }
+
+        public String getCategory() {
+            return category;
+        }
+
+        public List<Item> getItems() {
+            return items;
+        }
+    }
+
+    public static final class Item {
+        private final Long id;
+        private final String name;
+
+        public Item(Long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+}
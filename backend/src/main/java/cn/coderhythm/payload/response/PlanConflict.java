@@ -0,0 +1,64 @@
+package cn.coderhythm.payload.response;
+
+import java.time.LocalDate;
+
+/**
+ * 两个养护计划在同一管养单元或同一区域内的有效期重叠
+ */
+public class PlanConflict {
+
+    // unit 或 area
+    private final String scope;
+    private final String scopeValue;
+    private final Long planId;
+    private final String planName;
+    private final Long otherPlanId;
+    private final String otherPlanName;
+    private final LocalDate overlapStart;
+    // 为空表示两个计划都长期执行
+    private final LocalDate overlapEnd;
+
+    public PlanConflict(String scope, String scopeValue, Long planId, String planName,
+                        Long otherPlanId, String otherPlanName, LocalDate overlapStart, LocalDate overlapEnd) {
+        this.scope = scope;
+        this.scopeValue = scopeValue;
+        this.planId = planId;
+        this.planName = planName;
+        this.otherPlanId = otherPlanId;
+        this.otherPlanName = otherPlanName;
+        this.overlapStart = overlapStart;
+        this.overlapEnd = overlapEnd;
+    }
+
+    public String getScope() {
+        return scope;
+    }
+
+    public String getScopeValue() {
+        return scopeValue;
+    }
+
+    public Long getPlanId() {
+        return planId;
+    }
+
+    public String getPlanName() {
+        return planName;
+    }
+
+    public Long getOtherPlanId() {
+        return otherPlanId;
+    }
+
+    public String getOtherPlanName() {
+        return otherPlanName;
+    }
+
+    public LocalDate getOverlapStart() {
+        return overlapStart;
+    }
+
+    public LocalDate getOverlapEnd() {
+        return overlapEnd;
+    }
+}
@@ -0,0 +1,76 @@
+package cn.coderhythm.payload.response;
+
+import cn.coderhythm.models.MaintenancePlan;
+
+import java.time.LocalDate;
+
+/**
+ * 养护计划的一次执行，由重复规则展开得到，不落库
+ * 会被缓存并在多个请求间共享，因此不可变
+ */
+public final class PlanOccurrence {
+
+    private final Long planId;
+    private final String planName;
+    private final String planType;
+    private final String maintenanceUnit;
+    private final Long maintenanceUnitId;
+    private final String area;
+    private final String responsiblePerson;
+    private final String frequency;
+    private final String priority;
+    private final LocalDate date;
+
+    public PlanOccurrence(MaintenancePlan plan, LocalDate date) {
+        this.planId = plan.getId();
+        this.planName = plan.getPlanName();
+        this.planType = plan.getPlanType();
+        this.maintenanceUnit = plan.getMaintenanceUnit();
+        this.maintenanceUnitId = plan.getMaintenanceUnitId();
+        this.area = plan.getArea();
+        this.responsiblePerson = plan.getResponsiblePerson();
+        this.frequency = plan.getFrequency();
+        this.priority = plan.getPriority();
+        this.date = date;
+    }
+
+    public Long getPlanId() {
+        return planId;
+    }
+
+    public String getPlanName() {
+        return planName;
+    }
+
+    public String getPlanType() {
+        return planType;
+    }
+
+    public String getMaintenanceUnit() {
+        return maintenanceUnit;
+    }
+
+    public Long getMaintenanceUnitId() {
+        return maintenanceUnitId;
+    }
+
+    public String getArea() {
+        return area;
+    }
+
+    public String getResponsiblePerson() {
+        return responsiblePerson;
+    }
+
+    public String getFrequency() {
+        return frequency;
+    }
+
+    public String getPriority() {
+        return priority;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+}
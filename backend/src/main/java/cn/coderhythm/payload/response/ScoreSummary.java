@@ -0,0 +1,35 @@
+package cn.coderhythm.payload.response;
+
+/**
+ * 评分聚合结果，由 JPQL 构造表达式创建
+ */
+public class ScoreSummary {
+
+    // 分组键（养护单位或道路），整体汇总时为空
+    private final String groupKey;
+    private final Double averageScore;
+    private final Long recordCount;
+
+    // 整体汇总
+    public ScoreSummary(Double averageScore, Long recordCount) {
+        this(null, averageScore, recordCount);
+    }
+
+    public ScoreSummary(String groupKey, Double averageScore, Long recordCount) {
+        this.groupKey = groupKey;
+        this.averageScore = averageScore;
+        this.recordCount = recordCount;
+    }
+
+    public String getGroupKey() {
+        return groupKey;
+    }
+
+    public Double getAverageScore() {
+        return averageScore;
+    }
+
+    public Long getRecordCount() {
+        return recordCount;
+    }
+}
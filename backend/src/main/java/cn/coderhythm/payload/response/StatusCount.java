@@ -0,0 +1,23 @@
+package cn.coderhythm.payload.response;
+
+/**
+ * 按状态分组计数，由 JPQL 构造表达式创建
+ */
+public class StatusCount {
+
+    private final String status;
+    private final Long total;
+
+    public StatusCount(String status, Long total) {
+        this.status = status;
+        this.total = total;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public Long getTotal() {
+        return total;
+    }
+}
@@ -0,0 +1,29 @@
+package cn.coderhythm.payload.response;
+
+/**
+ * 管养单元汇总统计，由 JPQL 构造表达式创建
+ */
+public class UnitStatistics {
+
+    private final Long unitCount;
+    private final Double totalGreenArea;
+    private final Long totalTreeCount;
+
+    public UnitStatistics(Long unitCount, Double totalGreenArea, Long totalTreeCount) {
+        this.unitCount = unitCount;
+        this.totalGreenArea = totalGreenArea;
+        this.totalTreeCount = totalTreeCount;
+    }
+
+    public Long getUnitCount() {
+        return unitCount;
+    }
+
+    public Double getTotalGreenArea() {
+        return totalGreenArea;
+    }
+
+    public Long getTotalTreeCount() {
+        return totalTreeCount;
+    }
+}
@@ -0,0 +1,66 @@
+package cn.coderhythm.payload.response;
+
+import cn.coderhythm.upload.UploadSession;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * 分片上传会话状态，客户端据此只补传缺失的分片
+ */
+public class UploadSessionResponse {
+
+    private final String uploadId;
+    private final String fileName;
+    private final long totalSize;
+    private final int chunkSize;
+    private final int totalChunks;
+    private final int receivedChunks;
+    private final List<Integer> missingChunks;
+    private final LocalDateTime expiresAt;
+
+    public UploadSessionResponse(UploadSession session) {
+        this.uploadId = session.getId();
+        this.fileName = session.getFileName();
+        this.totalSize = session.getTotalSize();
+        this.chunkSize = session.getChunkSize();
+        this.totalChunks = session.getTotalChunks();
+        this.receivedChunks = session.getReceivedCount();
+        this.missingChunks = session.getMissingChunks();
+        this.expiresAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(session.getExpiresAtMillis()), ZoneId.systemDefault());
+    }
+
+    public String getUploadId() {
+        return uploadId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public long getTotalSize() {
+        return totalSize;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public int getTotalChunks() {
+        return totalChunks;
+    }
+
+    public int getReceivedChunks() {
+        return receivedChunks;
+    }
+
+    public List<Integer> getMissingChunks() {
+        return missingChunks;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+}
@@ -0,0 +1,203 @@
+package cn.coderhythm.plan;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 闭区间 [start, end] 的增强区间树（以 (start, value) 为键的 treap，节点记录子树最大 end）
+ * 查询与给定区间相交的全部条目耗时 O(log n + k)
+ * 非线程安全，由调用方加锁
+ *
+ * @param <T> 区间对应的对象，需实现 Comparable 以区分起点相同的区间
+ */
+public class IntervalTree<T extends Comparable<T>> {
+
+    private Node<T> root;
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void insert(long start, long end, T value) {
+        if (end < start) {
+            throw new IllegalArgumentException("区间终点不能小于起点");
+        }
+        root = insert(root, new Node<>(start, end, value));
+        size++;
+    }
+
+    /**
+     * 删除起点为 start、对象为 value 的区间
+     * @return 是否删除成功
+     */
+    public boolean remove(long start, T value) {
+        int before = size;
+        root = remove(root, start, value);
+        return size < before;
+    }
+
+    /**
+     * 查询与 [start, end] 相交的全部区间，按起点排序
+     */
+    public List<Entry<T>> overlapping(long start, long end) {
+        List<Entry<T>> result = new ArrayList<>();
+        collect(root, start, end, result);
+        return result;
+    }
+
+    private Node<T> insert(Node<T> node, Node<T> entry) {
+        if (node == null) {
+            return entry;
+        }
+        if (compare(entry.start, entry.value, node) < 0) {
+            node.left = insert(node.left, entry);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, entry);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        node.update();
+        return node;
+    }
+
+    private Node<T> remove(Node<T> node, long start, T value) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(start, value, node);
+        if (cmp < 0) {
+            node.left = remove(node.left, start, value);
+        } else if (cmp > 0) {
+            node.right = remove(node.right, start, value);
+        } else {
+            size--;
+            return merge(node.left, node.right);
+        }
+        node.update();
+        return node;
+    }
+
+    private Node<T> merge(Node<T> left, Node<T> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private void collect(Node<T> node, long start, long end, List<Entry<T>> result) {
+        // 子树内所有区间都在查询起点之前结束
+        if (node == null || node.maxEnd < start) {
+            return;
+        }
+        collect(node.left, start, end, result);
+        // 右子树的起点都不小于当前节点，当前节点已在查询终点之后则右侧无需继续
+        if (node.start > end) {
+            return;
+        }
+        if (node.end >= start) {
+            result.add(new Entry<>(node.start, node.end, node.value));
+        }
+        collect(node.right, start, end, result);
+    }
+
+    private int compare(long start, T value, Node<T> node) {
+        int cmp = Long.compare(start, node.start);
+        if (cmp != 0) {
+            return cmp;
+        }
+        return Objects.compare(value, node.value, Comparable::compareTo);
+    }
+
+    private Node<T> rotateRight(Node<T> node) {
+        Node<T> left = node.left;
+        node.left = left.right;
+        left.right = node;
+        node.update();
+        left.update();
+        return left;
+    }
+
+    private Node<T> rotateLeft(Node<T> node) {
+        Node<T> right = node.right;
+        node.right = right.left;
+        right.left = node;
+        node.update();
+        right.update();
+        return right;
+    }
+
+    /**
+     * 查询结果
+     */
+    public static final class Entry<T> {
+        private final long start;
+        private final long end;
+        private final T value;
+
+        Entry(long start, long end, T value) {
+            this.start = start;
+            this.end = end;
+            this.value = value;
+        }
+
+        public long getStart() {
+            return start;
+        }
+
+        public long getEnd() {
+            return end;
+        }
+
+        public T getValue() {
+            return value;
+        }
+    }
+
+    private static final class Node<T> {
+        final long start;
+        final long end;
+        final T value;
+        final int priority = ThreadLocalRandom.current().nextInt();
+        long maxEnd;
+        Node<T> left;
+        Node<T> right;
+
+        Node(long start, long end, T value) {
+            this.start = start;
+            this.end = end;
+            this.value = value;
+            this.maxEnd = end;
+        }
+
+        void update() {
+            maxEnd = end;
+            if (left != null && left.maxEnd > maxEnd) {
+                maxEnd = left.maxEnd;
+            }
+            if (right != null && right.maxEnd > maxEnd) {
+                maxEnd = right.maxEnd;
+            }
+        }
+    }
+}
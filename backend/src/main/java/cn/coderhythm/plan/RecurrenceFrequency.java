@@ -0,0 +1,73 @@
+package cn.coderhythm.plan;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 养护计划执行频率，名称与前端一致
+ * 第 k 次执行日期始终由开始日期直接推算，避免按月累加时月末日期逐次漂移（如 1-31 → 2-28 → 3-28）
+ */
+public enum RecurrenceFrequency {
+
+    DAILY("每日", ChronoUnit.DAYS, 1),
+    WEEKLY("每周", ChronoUnit.DAYS, 7),
+    BIWEEKLY("两周一次", ChronoUnit.DAYS, 14),
+    MONTHLY("每月", ChronoUnit.MONTHS, 1),
+    QUARTERLY("每季度", ChronoUnit.MONTHS, 3),
+    HALFYEAR("半年一次", ChronoUnit.MONTHS, 6),
+    YEARLY("每年", ChronoUnit.MONTHS, 12);
+
+    private final String label;
+    private final ChronoUnit unit;
+    private final int step;
+
+    RecurrenceFrequency(String label, ChronoUnit unit, int step) {
+        this.label = label;
+        this.unit = unit;
+        this.step = step;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * 按中文名称或枚举名查找，无法识别时返回 null
+     */
+    public static RecurrenceFrequency fromLabel(String value) {
+        if (value == null) {
+            return null;
+        }
+        for (RecurrenceFrequency frequency : values()) {
+            if (frequency.label.equals(value) || frequency.name().equalsIgnoreCase(value)) {
+                return frequency;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 第 k 次（从 0 开始）执行日期
+     */
+    public LocalDate nth(LocalDate start, long k) {
+        return start.plus(k * step, unit);
+    }
+
+    /**
+     * 日期不早于 date 的第一次执行的序号，直接定位而不是从开始日期逐次推算
+     */
+    public long firstIndexOnOrAfter(LocalDate start, LocalDate date) {
+        if (!date.isAfter(start)) {
+            return 0;
+        }
+        long k = unit.between(start, date) / step;
+        // 月末日期会被截断，估算值可能差一，向前后校正
+        while (k > 0 && !nth(start, k - 1).isBefore(date)) {
+            k--;
+        }
+        while (nth(start, k).isBefore(date)) {
+            k++;
+        }
+        return k;
+    }
+}
@@ -0,0 +1,80 @@
+package cn.coderhythm.plan;
+
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * 重复规则：从开始日期起按频率执行，结束日期为空表示长期有效
+ * 只保存规则，执行日期在查询时按窗口惰性展开
+ */
+public final class RecurrenceRule {
+
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final RecurrenceFrequency frequency;
+
+    public RecurrenceRule(LocalDate startDate, LocalDate endDate, RecurrenceFrequency frequency) {
+        if (startDate == null || frequency == null) {
+            throw new IllegalArgumentException("开始日期和频率不能为空");
+        }
+        if (endDate != null && endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("结束日期不能早于开始日期");
+        }
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.frequency = frequency;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public RecurrenceFrequency getFrequency() {
+        return frequency;
+    }
+
+    /**
+     * 窗口 [from, to]（含两端）内的执行日期
+     * 迭代器直接从窗口起点开始，耗时只与窗口内的执行次数有关
+     */
+    public Iterator<LocalDate> occurrencesBetween(LocalDate from, LocalDate to) {
+        LocalDate lower = from.isBefore(startDate) ? startDate : from;
+        LocalDate upper = endDate != null && endDate.isBefore(to) ? endDate : to;
+        if (lower.isAfter(upper)) {
+            return new OccurrenceIterator(0, null);
+        }
+        return new OccurrenceIterator(frequency.firstIndexOnOrAfter(startDate, lower), upper);
+    }
+
+    private final class OccurrenceIterator implements Iterator<LocalDate> {
+        private final LocalDate upper;
+        private long index;
+        private LocalDate next;
+
+        OccurrenceIterator(long index, LocalDate upper) {
+            this.index = index;
+            this.upper = upper;
+            this.next = upper == null ? null : frequency.nth(startDate, index);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null && !next.isAfter(upper);
+        }
+
+        @Override
+        public LocalDate next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            LocalDate current = next;
+            next = frequency.nth(startDate, ++index);
+            return current;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package cn.coderhythm.querybudget;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 声明接口单次请求允许执行的 SQL 语句数上限
+ * 标在控制器类上作为该类接口的默认值，标在方法上覆盖类上的值。
+ * 计数从进入控制器方法开始，包含响应序列化期间触发的懒加载，不包含 JWT 认证过滤器中的查询。
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface QueryBudget {
+
+    /**
+     * 允许的最大语句数
+     */
+    int value();
+}
@@ -0,0 +1,98 @@
+package cn.coderhythm.querybudget;
+
+import cn.coderhythm.payload.response.MessageResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 每个请求结束时检查 SQL 语句数是否超出接口声明的预算
+ * failOnViolation 为 true 时先缓存响应体，超出预算则丢弃原响应改为返回 500，让测试和冒烟脚本直接失败；
+ * 为 false 时只记录日志。
+ */
+@Slf4j
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private final ObjectMapper objectMapper;
+    private final boolean failOnViolation;
+    private final boolean requireBudget;
+    private final List<String> excludedPaths;
+
+    public QueryBudgetFilter(ObjectMapper objectMapper, boolean failOnViolation, boolean requireBudget,
+                             List<String> excludedPaths) {
+        this.objectMapper = objectMapper;
+        this.failOnViolation = failOnViolation;
+        this.requireBudget = requireBudget;
+        this.excludedPaths = excludedPaths;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // SSE 等长连接不能缓存响应体
+        String path = request.getServletPath();
+        return excludedPaths.stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper cachingResponse = failOnViolation ? new ContentCachingResponseWrapper(response) : null;
+        QueryCounter.begin();
+        try {
+            filterChain.doFilter(request, cachingResponse != null ? cachingResponse : response);
+
+            String violation = checkBudget(request);
+            if (violation != null && cachingResponse != null) {
+                cachingResponse.resetBuffer();
+                cachingResponse.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+                cachingResponse.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                cachingResponse.getOutputStream().write(objectMapper.writeValueAsBytes(new MessageResponse(violation)));
+            }
+        } finally {
+            QueryCounter.end();
+            if (cachingResponse != null) {
+                cachingResponse.copyBodyToResponse();
+            }
+        }
+    }
+
+    private String checkBudget(HttpServletRequest request) {
+        Object handler = request.getAttribute(QueryBudgetInterceptor.HANDLER_ATTRIBUTE);
+        if (handler == null) {
+            // 没有进入控制器方法（静态资源、认证失败等）
+            return null;
+        }
+        Integer budget = (Integer) request.getAttribute(QueryBudgetInterceptor.BUDGET_ATTRIBUTE);
+        int count = QueryCounter.getCount();
+        String endpoint = request.getMethod() + " " + request.getServletPath() + " (" + handler + ")";
+
+        String violation = null;
+        if (budget == null) {
+            if (requireBudget) {
+                violation = "接口未声明 @QueryBudget: " + endpoint;
+            }
+        } else if (count > budget) {
+            violation = "SQL 语句数超出预算: " + endpoint + " 实际 " + count + " 条，预算 " + budget + " 条";
+        } else {
+            log.debug("SQL 语句数 {}/{}: {}", count, budget, endpoint);
+        }
+
+        if (violation != null) {
+            log.error("{}\n{}", violation, String.join("\n", QueryCounter.getStatements()));
+        }
+        return violation;
+    }
+}
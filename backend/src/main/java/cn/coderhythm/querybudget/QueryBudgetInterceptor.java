@@ -0,0 +1,35 @@
+package cn.coderhythm.querybudget;
+
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 进入控制器方法前解析 @QueryBudget 并清零计数，结果交给 QueryBudgetFilter 在请求结束时检查
+ */
+public class QueryBudgetInterceptor implements HandlerInterceptor {
+
+    static final String HANDLER_ATTRIBUTE = QueryBudgetInterceptor.class.getName() + ".handler";
+    static final String BUDGET_ATTRIBUTE = QueryBudgetInterceptor.class.getName() + ".budget";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod)) {
+            return true;
+        }
+        HandlerMethod handlerMethod = (HandlerMethod) handler;
+        QueryBudget budget = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getMethod(), QueryBudget.class);
+        if (budget == null) {
+            budget = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), QueryBudget.class);
+        }
+        request.setAttribute(HANDLER_ATTRIBUTE, handlerMethod.getBeanType().getSimpleName() + "#" + handlerMethod.getMethod().getName());
+        if (budget != null) {
+            request.setAttribute(BUDGET_ATTRIBUTE, budget.value());
+        }
+        QueryCounter.reset();
+        return true;
+    }
+}
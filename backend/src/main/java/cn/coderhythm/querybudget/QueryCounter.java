@@ -0,0 +1,69 @@
+package cn.coderhythm.querybudget;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 按线程统计 SQL 语句数
+ * 只统计处于活动状态的线程；提交到其他线程池执行的查询（如仪表盘并发数据块）不计入当前请求。
+ */
+public final class QueryCounter {
+
+    // 超出预算时日志中最多列出的语句数
+    private static final int MAX_RECORDED_STATEMENTS = 50;
+
+    private static final ThreadLocal<Counter> CURRENT = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    public static void begin() {
+        CURRENT.set(new Counter());
+    }
+
+    /**
+     * 清零但保持统计状态，用于跳过认证等与接口无关的查询
+     */
+    public static void reset() {
+        Counter counter = CURRENT.get();
+        if (counter != null) {
+            counter.count = 0;
+            counter.statements.clear();
+        }
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    static void record(String sql) {
+        Counter counter = CURRENT.get();
+        if (counter == null) {
+            return;
+        }
+        counter.count++;
+        if (counter.statements.size() < MAX_RECORDED_STATEMENTS) {
+            counter.statements.add(sql);
+        }
+    }
+
+    public static int getCount() {
+        Counter counter = CURRENT.get();
+        return counter != null ? counter.count : 0;
+    }
+
+    public static List<String> getStatements() {
+        Counter counter = CURRENT.get();
+        return counter != null ? new ArrayList<>(counter.statements) : Collections.emptyList();
+    }
+
+    private static final class Counter {
+        int count;
+        final List<String> statements = new ArrayList<>();
+    }
+}
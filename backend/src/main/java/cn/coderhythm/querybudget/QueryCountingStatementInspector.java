@@ -0,0 +1,16 @@
+package cn.coderhythm.querybudget;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate 每准备一条 SQL 调用一次，原样返回语句，只做计数
+ * 直接通过 JdbcTemplate 执行的语句不经过这里。
+ */
+public class QueryCountingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        QueryCounter.record(sql);
+        return sql;
+    }
+}
@@ -0,0 +1,9 @@
+package cn.coderhythm.repository;
+
+import cn.coderhythm.models.AssessmentItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AssessmentItemRepository extends JpaRepository<AssessmentItem, Long> {
+}
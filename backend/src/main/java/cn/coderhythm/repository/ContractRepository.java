@@ -0,0 +1,72 @@
+package cn.coderhythm.repository;
+
+import cn.coderhythm.models.Contract;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.LockModeType;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ContractRepository extends JpaRepository<Contract, Long> {
+    // 通过状态查找合同
+    List<Contract> findByStatusOrderByEndDateAsc(String status);
+
+    // 开始日期已到或临近的待生效合同
+    List<Contract> findByStatusAndStartDateLessThanEqual(String status, LocalDate until);
+
+    // 近期仍会自动流转的合同（走 status, end_date 索引），用于构建时间轮
+    @Query("SELECT c FROM Contract c WHERE c.status IN ('生效中', '待生效') AND c.endDate <= :until")
+    List<Contract> findOpenEndingBefore(@Param("until") LocalDate until);
+
+    // 即将到期的合同
+    @Query("SELECT c FROM Contract c WHERE c.status IN ('生效中', '待生效') " +
+           "AND c.endDate >= :from AND c.endDate <= :until ORDER BY c.endDate ASC")
+    List<Contract> findExpiringBetween(@Param("from") LocalDate from, @Param("until") LocalDate until);
+
+    // 以下三个查询与对应的批量 UPDATE 条件相同，在同一事务中先加行锁查出实际会流转的合同，只为它们发布事件
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c.id FROM Contract c " +
+           "WHERE c.id IN :ids AND c.status = '待生效' AND c.startDate <= :today AND c.endDate >= :today")
+    List<Long> lockActivatable(@Param("ids") Collection<Long> ids, @Param("today") LocalDate today);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c.id FROM Contract c " +
+           "WHERE c.id IN :ids AND c.status IN ('生效中', '待生效') AND c.endDate < :today")
+    List<Long> lockExpirable(@Param("ids") Collection<Long> ids, @Param("today") LocalDate today);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c.id FROM Contract c " +
+           "WHERE c.id IN :ids AND c.reminderSentAt IS NULL AND c.status IN ('生效中', '待生效')")
+    List<Long> lockRemindable(@Param("ids") Collection<Long> ids);
+
+    // 批量生效，条件保证只处理仍待生效且已到开始日期的合同
+    @Modifying
+    @Transactional
+    @Query("UPDATE Contract c SET c.status = '生效中', c.updatedAt = :now " +
+           "WHERE c.id IN :ids AND c.status = '待生效' AND c.startDate <= :today AND c.endDate >= :today")
+    int activate(@Param("ids") Collection<Long> ids, @Param("today") LocalDate today, @Param("now") LocalDateTime now);
+
+    // 批量标记到期
+    @Modifying
+    @Transactional
+    @Query("UPDATE Contract c SET c.status = '已到期', c.updatedAt = :now " +
+           "WHERE c.id IN :ids AND c.status IN ('生效中', '待生效') AND c.endDate < :today")
+    int expire(@Param("ids") Collection<Long> ids, @Param("today") LocalDate today, @Param("now") LocalDateTime now);
+
+    // 批量记录到期提醒
+    @Modifying
+    @Transactional
+    @Query("UPDATE Contract c SET c.reminderSentAt = :now " +
+           "WHERE c.id IN :ids AND c.reminderSentAt IS NULL AND c.status IN ('生效中', '待生效')")
+    int markReminded(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+}
@@ -2,8 +2,13 @@ package cn.coderhythm.repository;
 
 import cn.coderhythm.models.MaintenanceCompany;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,4 +25,17 @@ public interface MaintenanceCompanyRepository extends JpaRepository<MaintenanceC
     
     // 检查企业名称是否存在
     boolean existsByCompanyName(String companyName);
+
+    // 按版本号条件更新，不先查询实体；version 为 null 时不检查版本。返回 0 表示不存在或版本已变化
+    @Modifying
+    @Transactional
+    @Query("UPDATE MaintenanceCompany c SET c.companyName = :companyName, c.companyType = :companyType, " +
+           "c.legalPerson = :legalPerson, c.contactPerson = :contactPerson, c.contactPhone = :contactPhone, " +
+           "c.address = :address, c.updatedAt = :now, c.version = c.version + 1 " +
+           "WHERE c.id = :id AND (:version IS NULL OR c.version = :version)")
+    int updateIfVersion(@Param("id") Long id, @Param("version") Long version,
+                        @Param("companyName") String companyName, @Param("companyType") String companyType,
+                        @Param("legalPerson") String legalPerson, @Param("contactPerson") String contactPerson,
+                        @Param("contactPhone") String contactPhone, @Param("address") String address,
+                        @Param("now") Date now);
 } 
\ No newline at end of file
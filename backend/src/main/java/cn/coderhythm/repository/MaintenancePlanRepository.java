@@ -0,0 +1,27 @@
+package cn.coderhythm.repository;
+
+import cn.coderhythm.models.MaintenancePlan;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface MaintenancePlanRepository extends JpaRepository<MaintenancePlan, Long> {
+    // 查找某个管养单元的计划
+    List<MaintenancePlan> findByMaintenanceUnitIdOrderByStartDateAsc(Long maintenanceUnitId);
+
+    // 有效期与窗口 [from, to] 相交的计划
+    @Query("SELECT p FROM MaintenancePlan p WHERE p.startDate <= :to AND (p.endDate IS NULL OR p.endDate >= :from)")
+    List<MaintenancePlan> findActiveInWindow(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // 某个管养单元中有效期与窗口相交的计划
+    @Query("SELECT p FROM MaintenancePlan p WHERE p.maintenanceUnitId = :unitId " +
+           "AND p.startDate <= :to AND (p.endDate IS NULL OR p.endDate >= :from)")
+    List<MaintenancePlan> findActiveInWindowForUnit(@Param("unitId") Long unitId,
+                                                    @Param("from") LocalDate from,
+                                                    @Param("to") LocalDate to);
+}
@@ -0,0 +1,63 @@
+package cn.coderhythm.repository;
+
+import cn.coderhythm.models.MaintenanceRecord;
+import cn.coderhythm.payload.response.ScoreSummary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 养护记录查询统一使用半开区间 [start, end) 直接比较 record_time，
+ * 不要对 record_time 套用函数，否则 MySQL 无法裁剪分区
+ */
+@Repository
+public interface MaintenanceRecordRepository extends JpaRepository<MaintenanceRecord, Long> {
+
+    // 按时间范围查询
+    @Query("SELECT r FROM MaintenanceRecord r WHERE r.recordTime >= :start AND r.recordTime < :end")
+    Page<MaintenanceRecord> findInRange(@Param("start") LocalDateTime start,
+                                        @Param("end") LocalDateTime end,
+                                        Pageable pageable);
+
+    // 按养护单位和时间范围查询，走 (contractor, record_time) 索引
+    @Query("SELECT r FROM MaintenanceRecord r WHERE r.contractor = :contractor " +
+           "AND r.recordTime >= :start AND r.recordTime < :end")
+    Page<MaintenanceRecord> findByContractorInRange(@Param("contractor") String contractor,
+                                                    @Param("start") LocalDateTime start,
+                                                    @Param("end") LocalDateTime end,
+                                                    Pageable pageable);
+
+    // 按道路和时间范围查询，走 (road, record_time) 索引
+    @Query("SELECT r FROM MaintenanceRecord r WHERE r.road = :road " +
+           "AND r.recordTime >= :start AND r.recordTime < :end")
+    Page<MaintenanceRecord> findByRoadInRange(@Param("road") String road,
+                                              @Param("start") LocalDateTime start,
+                                              @Param("end") LocalDateTime end,
+                                              Pageable pageable);
+
+    // 时间范围内的整体平均分
+    @Query("SELECT new cn.coderhythm.payload.response.ScoreSummary(AVG(r.score), COUNT(r)) FROM MaintenanceRecord r " +
+           "WHERE r.recordTime >= :start AND r.recordTime < :end")
+    ScoreSummary summarizeScore(@Param("start") LocalDateTime start,
+                                @Param("end") LocalDateTime end);
+
+    // 时间范围内按养护单位统计平均分
+    @Query("SELECT new cn.coderhythm.payload.response.ScoreSummary(r.contractor, AVG(r.score), COUNT(r)) " +
+           "FROM MaintenanceRecord r WHERE r.recordTime >= :start AND r.recordTime < :end " +
+           "GROUP BY r.contractor ORDER BY AVG(r.score) DESC")
+    List<ScoreSummary> averageScoreByContractor(@Param("start") LocalDateTime start,
+                                                @Param("end") LocalDateTime end);
+
+    // 时间范围内按道路统计平均分
+    @Query("SELECT new cn.coderhythm.payload.response.ScoreSummary(r.road, AVG(r.score), COUNT(r)) " +
+           "FROM MaintenanceRecord r WHERE r.recordTime >= :start AND r.recordTime < :end " +
+           "GROUP BY r.road ORDER BY AVG(r.score) DESC")
+    List<ScoreSummary> averageScoreByRoad(@Param("start") LocalDateTime start,
+                                          @Param("end") LocalDateTime end);
+}
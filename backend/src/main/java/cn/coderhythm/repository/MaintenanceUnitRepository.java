@@ -1,9 +1,16 @@
 package cn.coderhythm.repository;
 
 import cn.coderhythm.models.MaintenanceUnit;
+import cn.coderhythm.payload.response.UnitStatistics;
+import cn.coderhythm.spatial.GeoBoundary;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,4 +24,25 @@ public interface MaintenanceUnitRepository extends JpaRepository<MaintenanceUnit
     
     // 检查管养单元名称是否存在
     boolean existsByUnitName(String unitName);
+
+    // 按版本号条件更新，不先查询实体；version 为 null 时不检查版本。返回 0 表示不存在或版本已变化
+    @Modifying
+    @Transactional
+    @Query("UPDATE MaintenanceUnit u SET u.unitName = :unitName, u.maintenanceLevel = :maintenanceLevel, " +
+           "u.treeTypes = :treeTypes, u.treeCount = :treeCount, u.greenArea = :greenArea, " +
+           "u.patchCount = :patchCount, u.boundary = :boundary, u.updatedAt = :now, u.version = u.version + 1 " +
+           "WHERE u.id = :id AND (:version IS NULL OR u.version = :version)")
+    int updateIfVersion(@Param("id") Long id, @Param("version") Long version,
+                        @Param("unitName") String unitName, @Param("maintenanceLevel") String maintenanceLevel,
+                        @Param("treeTypes") String treeTypes, @Param("treeCount") Integer treeCount,
+                        @Param("greenArea") Double greenArea, @Param("patchCount") Integer patchCount,
+                        @Param("boundary") GeoBoundary boundary, @Param("now") Date now);
+
+    // 查找设置了边界的管养单元，用于构建空间索引
+    List<MaintenanceUnit> findByBoundaryIsNotNull();
+
+    // 管养单元数量、绿地面积和树木数量汇总
+    @Query("SELECT new cn.coderhythm.payload.response.UnitStatistics(COUNT(u), SUM(u.greenArea), SUM(u.treeCount)) " +
+           "FROM MaintenanceUnit u")
+    UnitStatistics summarize();
 } 
\ No newline at end of file
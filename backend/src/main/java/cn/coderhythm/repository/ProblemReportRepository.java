@@ -0,0 +1,25 @@
+package cn.coderhythm.repository;
+
+import cn.coderhythm.models.ProblemReport;
+import cn.coderhythm.payload.response.StatusCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ProblemReportRepository extends JpaRepository<ProblemReport, Long> {
+    // 通过状态查找问题
+    List<ProblemReport> findByStatusOrderByReportTimeDesc(String status);
+
+    // 查找某个管养单元内的问题
+    List<ProblemReport> findByMaintenanceUnitId(Long maintenanceUnitId);
+
+    // 查找带坐标的问题，用于构建空间索引
+    List<ProblemReport> findByLatitudeIsNotNullAndLongitudeIsNotNull();
+
+    // 按处理状态统计问题数量
+    @Query("SELECT new cn.coderhythm.payload.response.StatusCount(p.status, COUNT(p)) FROM ProblemReport p GROUP BY p.status")
+    List<StatusCount> countByStatus();
+}
@@ -3,11 +3,18 @@ package cn.coderhythm.repository;
 import cn.coderhythm.model.ERole;
 import cn.coderhythm.model.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.util.Optional;
 
 @Repository
 public interface RoleRepository extends JpaRepository<Role, Integer> {
+
+    /**
+     * 注册时每个角色各查一次，结果进入查询缓存，角色实体本身在二级缓存中
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     Optional<Role> findByName(ERole name);
-} 
\ No newline at end of file
+}
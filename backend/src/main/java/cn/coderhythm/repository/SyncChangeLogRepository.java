@@ -0,0 +1,42 @@
+package cn.coderhythm.repository;
+
+import cn.coderhythm.models.SyncChangeLog;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface SyncChangeLogRepository extends JpaRepository<SyncChangeLog, Long> {
+
+    // 某版本之后的变更，只返回已超过稳定窗口的记录，避免并发写入时漏掉尚未提交的较小版本
+    @Query("SELECT l FROM SyncChangeLog l WHERE l.version > :since AND l.changedAt < :settledBefore ORDER BY l.version ASC")
+    List<SyncChangeLog> findChangesSince(@Param("since") Long since,
+                                         @Param("settledBefore") LocalDateTime settledBefore,
+                                         Pageable pageable);
+
+    // 当前最大版本号
+    @Query("SELECT MAX(l.version) FROM SyncChangeLog l")
+    Long findMaxVersion();
+
+    // 已被同一实体的更新版本取代的记录
+    @Query("SELECT l.version FROM SyncChangeLog l WHERE l.version < " +
+           "(SELECT MAX(l2.version) FROM SyncChangeLog l2 WHERE l2.entityType = l.entityType AND l2.entityId = l.entityId)")
+    List<Long> findSupersededVersions(Pageable pageable);
+
+    // 超过保留期限的墓碑
+    @Query("SELECT l.version FROM SyncChangeLog l WHERE l.operation = 'DELETE' AND l.changedAt < :cutoff ORDER BY l.version ASC")
+    List<Long> findExpiredTombstones(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM SyncChangeLog l WHERE l.version IN :versions")
+    int deleteByVersions(@Param("versions") Collection<Long> versions);
+}
@@ -0,0 +1,9 @@
+package cn.coderhythm.repository;
+
+import cn.coderhythm.models.SyncState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SyncStateRepository extends JpaRepository<SyncState, String> {
+}
@@ -0,0 +1,39 @@
+package cn.coderhythm.repository;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+
+/**
+ * 唯一约束名称，以及把写入失败对应回具体约束
+ * 重名检查交给数据库：直接插入或更新，违反约束时再转换为友好的错误提示，不再先查询是否存在。
+ */
+public final class UniqueConstraints {
+
+    public static final String COMPANY_NAME = "uk_maintenance_companies_company_name";
+    public static final String UNIT_NAME = "uk_maintenance_units_unit_name";
+    public static final String USER_USERNAME = "uk_users_username";
+    public static final String USER_EMAIL = "uk_users_email";
+
+    private UniqueConstraints() {
+    }
+
+    /**
+     * 判断写入失败是否由指定唯一约束引起
+     * MySQL 报告的约束名带表名前缀，H2 为大写并附带列信息，因此按不区分大小写的包含关系匹配。
+     */
+    public static boolean isViolated(DataIntegrityViolationException e, String constraintName) {
+        String expected = constraintName.toLowerCase(Locale.ROOT);
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException) {
+                String violated = ((ConstraintViolationException) cause).getConstraintName();
+                if (violated != null) {
+                    return violated.toLowerCase(Locale.ROOT).contains(expected);
+                }
+            }
+        }
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase(Locale.ROOT).contains(expected);
+    }
+}
@@ -3,8 +3,10 @@ package cn.coderhythm.security;
 import cn.coderhythm.security.jwt.AuthEntryPointJwt;
 import cn.coderhythm.security.jwt.AuthTokenFilter;
 import cn.coderhythm.security.service.UserDetailsServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -17,6 +19,9 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -35,6 +40,16 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
     @Autowired
     private AuthEntryPointJwt unauthorizedHandler;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // 独立的管理端口，未配置时管理端点与业务接口共用端口
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
+    @Value("${server.port:8080}")
+    private int serverPort;
+
     @Bean
     public AuthTokenFilter authenticationJwtTokenFilter() {
         return new AuthTokenFilter();
@@ -56,7 +71,7 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
     @Bean
     public PasswordEncoder passwordEncoder() {
         log.info("Creating password encoder bean");
-        return new BCryptPasswordEncoder();
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder(), meterRegistry);
     }
 
     @Override
@@ -71,6 +86,11 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
             .antMatchers("/h2-console/**").permitAll()
             .antMatchers("/avatars/**").permitAll()
             .antMatchers("/resources/**").permitAll()
+            // 健康检查不携带令牌
+            .antMatchers("/actuator/health/**").permitAll()
+            // Prometheus 只能从独立的管理端口免登录抓取，该端口不经 nginx 代理；业务端口上的其余管理端点只对管理员开放
+            .requestMatchers(prometheusOnManagementPort()).permitAll()
+            .antMatchers("/actuator/**").hasRole("ADMIN")
             .anyRequest().authenticated();
         
         // Fix H2 database console: Refused to display in a frame because it set 'X-Frame-Options' to 'deny'
@@ -80,15 +100,23 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
         log.info("HTTP security configuration completed");
     }
     
+    private RequestMatcher prometheusOnManagementPort() {
+        boolean separatePort = managementPort > 0 && managementPort != serverPort;
+        return new AndRequestMatcher(
+                new AntPathRequestMatcher("/actuator/prometheus"),
+                request -> separatePort && request.getLocalPort() == managementPort);
+    }
+
     @Bean
     CorsConfigurationSource corsConfigurationSource() {
         log.info("Configuring CORS settings");
         CorsConfiguration configuration = new CorsConfiguration();
         // Allow all origins
         configuration.setAllowedOriginPatterns(Collections.singletonList("*"));
-        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
-        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "X-Requested-With", "Accept"));
-        configuration.setExposedHeaders(Arrays.asList("Authorization"));
+        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
+        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "X-Requested-With", "Accept",
+                "If-None-Match", "If-Match", "X-Chunk-Checksum"));
+        configuration.setExposedHeaders(Arrays.asList("Authorization", "ETag", "Retry-After"));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
         
@@ -1,6 +1,7 @@
 package cn.coderhythm.security.jwt;
 
 import cn.coderhythm.security.service.UserDetailsServiceImpl;
+import cn.coderhythm.tracing.RequestTrace;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -20,6 +21,10 @@ import java.io.IOException;
 
 @Slf4j
 public class AuthTokenFilter extends OncePerRequestFilter {
+
+    private static final String EVENT_STREAM_PATH = "/events/stream";
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
     
     @Autowired
     private JwtUtils jwtUtils;
@@ -32,11 +37,13 @@ public class AuthTokenFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
         
         final String requestURI = request.getRequestURI();
-        log.debug("Processing request: {} {}", request.getMethod(), requestURI);
+        if (log.isDebugEnabled()) {
+            log.debug("Processing request: {} {}", request.getMethod(), requestURI);
+        }
         
         // Skip authentication for paths that don't need JWT
         if (shouldSkipAuthentication(requestURI)) {
-            log.info("Skipping authentication for public endpoint: {}", requestURI);
+            log.debug("Skipping authentication for public endpoint: {}", requestURI);
             filterChain.doFilter(request, response);
             return;
         }
@@ -47,12 +54,16 @@ public class AuthTokenFilter extends OncePerRequestFilter {
             if (jwt != null) {
                 log.debug("JWT token found in request for path: {}", requestURI);
                 
-                if (jwtUtils.validateJwtToken(jwt)) {
-                    String username = jwtUtils.getUserNameFromJwtToken(jwt);
+                long jwtStart = RequestTrace.start();
+                String username = jwtUtils.getUserNameIfValid(jwt);
+                RequestTrace.stop(RequestTrace.JWT, jwtStart);
+                if (username != null) {
                     log.debug("Valid JWT found for user: {}", username);
 
                     try {
+                        long userStart = RequestTrace.start();
                         UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                        RequestTrace.stop(RequestTrace.USER, userStart);
                         UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                                 userDetails, null, userDetails.getAuthorities());
                         authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -60,7 +71,7 @@ public class AuthTokenFilter extends OncePerRequestFilter {
                         SecurityContextHolder.getContext().setAuthentication(authentication);
                         log.debug("User '{}' authentication set to security context", username);
                     } catch (UsernameNotFoundException e) {
-                        log.error("User not found: {}", username);
+                        log.warn("User not found: {}", username);
                         // User doesn't exist, JWT may contain a user that has been deleted
                     }
                 } else {
@@ -77,10 +88,9 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     }
 
     private boolean shouldSkipAuthentication(String requestURI) {
-        AntPathMatcher pathMatcher = new AntPathMatcher();
-        return pathMatcher.match("/auth/**", requestURI) || 
-               pathMatcher.match("/avatars/**", requestURI) ||
-               pathMatcher.match("/resources/**", requestURI);
+        return PATH_MATCHER.match("/auth/**", requestURI) ||
+               PATH_MATCHER.match("/avatars/**", requestURI) ||
+               PATH_MATCHER.match("/resources/**", requestURI);
     }
 
     private String parseJwt(HttpServletRequest request) {
@@ -90,6 +100,14 @@ public class AuthTokenFilter extends OncePerRequestFilter {
             return headerAuth.substring(7);
         }
 
+        // EventSource 不支持自定义请求头，事件流允许通过查询参数传递 token
+        if (EVENT_STREAM_PATH.equals(request.getServletPath())) {
+            String token = request.getParameter("token");
+            if (StringUtils.hasText(token)) {
+                return token;
+            }
+        }
+
         return null;
     }
 } 
\ No newline at end of file
@@ -2,7 +2,10 @@ package cn.coderhythm.security.jwt;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -22,15 +25,23 @@ public class JwtUtils {
     @Value("${jwt.expiration}")
     private int jwtExpirationMs;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     public String generateJwtToken(Authentication authentication) {
         UserDetails userPrincipal = (UserDetails) authentication.getPrincipal();
 
-        return Jwts.builder()
-                .setSubject(userPrincipal.getUsername())
-                .setIssuedAt(new Date())
-                .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
-                .compact();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return Jwts.builder()
+                    .setSubject(userPrincipal.getUsername())
+                    .setIssuedAt(new Date())
+                    .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
+                    .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                    .compact();
+        } finally {
+            sample.stop(meterRegistry.timer("garden.jwt.sign"));
+        }
     }
 
     private Key getSigningKey() {
@@ -47,9 +58,39 @@ public class JwtUtils {
                 .getSubject();
     }
 
+    /**
+     * 校验令牌并取出用户名，只解析一次；令牌无效时返回 null
+     */
+    public String getUserNameIfValid(String authToken) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "invalid";
+        try {
+            String username = Jwts.parserBuilder()
+                    .setSigningKey(getSigningKey())
+                    .build()
+                    .parseClaimsJws(authToken)
+                    .getBody()
+                    .getSubject();
+            outcome = "valid";
+            return username;
+        } catch (ExpiredJwtException e) {
+            // 每个请求都会走到这里，结果已按 outcome 计入 garden.jwt.verify，不再逐条输出错误日志
+            outcome = "expired";
+            log.debug("JWT token is expired: {}", e.getMessage());
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Invalid JWT token: {}", e.getMessage());
+        } finally {
+            sample.stop(meterRegistry.timer("garden.jwt.verify", "outcome", outcome));
+        }
+        return null;
+    }
+
     public boolean validateJwtToken(String authToken) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "invalid";
         try {
             Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(authToken);
+            outcome = "valid";
             return true;
         } catch (MalformedJwtException e) {
             log.error("Invalid JWT token: {}", e.getMessage());
@@ -59,6 +100,8 @@ public class JwtUtils {
             log.error("JWT token is unsupported: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
             log.error("JWT claims string is empty: {}", e.getMessage());
+        } finally {
+            sample.stop(meterRegistry.timer("garden.jwt.verify", "outcome", outcome));
         }
 
         return false;
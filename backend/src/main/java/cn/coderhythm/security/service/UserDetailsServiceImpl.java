@@ -2,6 +2,8 @@ package cn.coderhythm.security.service;
 
 import cn.coderhythm.model.User;
 import cn.coderhythm.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -16,9 +18,24 @@ public class UserDetailsServiceImpl implements UserDetailsService {
     @Autowired
     UserRepository userRepository;
 
+    @Autowired
+    MeterRegistry meterRegistry;
+
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "not_found";
+        try {
+            UserDetails userDetails = loadUser(username);
+            outcome = "found";
+            return userDetails;
+        } finally {
+            sample.stop(meterRegistry.timer("garden.user.load", "outcome", outcome));
+        }
+    }
+
+    private UserDetails loadUser(String username) {
         // 尝试先使用新的方法获取完整信息
         User user = userRepository.findUserWithDetailsById(username)
                 .orElse(null);
@@ -30,9 +47,11 @@ public class UserDetailsServiceImpl implements UserDetailsService {
                 .orElseThrow(() -> new UsernameNotFoundException("User Not Found with username: " + username));
         }
         
-        // 打印用户信息以便调试
-        log.info("加载用户信息: username={}, nickname={}, avatar={}", 
-                user.getUsername(), user.getNickname(), user.getAvatar());
+        // 每个已认证请求都会调用，只在调试时输出
+        if (log.isDebugEnabled()) {
+            log.debug("加载用户信息: username={}, nickname={}, avatar={}",
+                    user.getUsername(), user.getNickname(), user.getAvatar());
+        }
                 
         return UserDetailsImpl.build(user);
     }
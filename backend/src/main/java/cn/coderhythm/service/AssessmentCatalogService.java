@@ -0,0 +1,195 @@
+package cn.coderhythm.service;
+
+import cn.coderhythm.models.AssessmentItem;
+import cn.coderhythm.payload.response.AssessmentCatalogNode;
+import cn.coderhythm.repository.AssessmentItemRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * 考核项目目录
+ * 启动时一次查询构建不可变的目录树快照，并预先序列化为 JSON 字节和 ETag；
+ * 读请求只读取 volatile 引用，不加锁也不查库。写操作在旧快照的副本上修改后整体替换。
+ */
+@Service
+@Slf4j
+public class AssessmentCatalogService {
+
+    // 考核级别按习惯顺序排列，其他级别排在后面
+    private static final List<String> LEVEL_ORDER = Arrays.asList("一级", "二级", "三级", "四级");
+
+    private static final Comparator<Entry> ENTRY_ORDER = Comparator
+            .comparing((Entry entry) -> levelRank(entry.level))
+            .thenComparing(entry -> entry.level)
+            .thenComparing(entry -> entry.category)
+            .thenComparing(entry -> entry.name)
+            .thenComparing(entry -> entry.id);
+
+    @Autowired
+    private AssessmentItemRepository assessmentItemRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // 串行化写操作；reload 持锁期间查库，用显式锁避免虚拟线程被钉住
+    private final Lock writeLock = new ReentrantLock();
+
+    private volatile Snapshot snapshot;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        writeLock.lock();
+        try {
+            List<Entry> entries = assessmentItemRepository.findAll().stream()
+                    .map(Entry::new)
+                    .collect(Collectors.toList());
+            snapshot = build(entries);
+            log.info("考核项目目录加载完成，共 {} 项", entries.size());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 当前目录快照
+     */
+    public Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            // 启动完成前的请求
+            reload();
+            current = snapshot;
+        }
+        return current;
+    }
+
+    /**
+     * 项目新增或修改后调用
+     */
+    public void upsert(AssessmentItem item) {
+        writeLock.lock();
+        try {
+            List<Entry> entries = new ArrayList<>(getSnapshot().entries);
+            entries.removeIf(entry -> entry.id.equals(item.getId()));
+            entries.add(new Entry(item));
+            snapshot = build(entries);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 项目删除后调用
+     */
+    public void remove(Long itemId) {
+        writeLock.lock();
+        try {
+            List<Entry> entries = new ArrayList<>(getSnapshot().entries);
+            if (entries.removeIf(entry -> entry.id.equals(itemId))) {
+                snapshot = build(entries);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private Snapshot build(List<Entry> entries) {
+        entries.sort(ENTRY_ORDER);
+
+        List<AssessmentCatalogNode.Level> levels = new ArrayList<>();
+        int i = 0;
+        while (i < entries.size()) {
+            String level = entries.get(i).level;
+            List<AssessmentCatalogNode.Category> categories = new ArrayList<>();
+            while (i < entries.size() && entries.get(i).level.equals(level)) {
+                String category = entries.get(i).category;
+                List<AssessmentCatalogNode.Item> items = new ArrayList<>();
+                while (i < entries.size() && entries.get(i).level.equals(level)
+                        && entries.get(i).category.equals(category)) {
+                    items.add(new AssessmentCatalogNode.Item(entries.get(i).id, entries.get(i).name));
+                    i++;
+                }
+                categories.add(new AssessmentCatalogNode.Category(category, items));
+            }
+            levels.add(new AssessmentCatalogNode.Level(level, categories));
+        }
+
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(levels);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("考核项目目录序列化失败", e);
+        }
+        String etag = "\"" + DigestUtils.md5DigestAsHex(json) + "\"";
+        return new Snapshot(Collections.unmodifiableList(entries), Collections.unmodifiableList(levels), json, etag);
+    }
+
+    private static int levelRank(String level) {
+        int index = LEVEL_ORDER.indexOf(level);
+        return index >= 0 ? index : LEVEL_ORDER.size();
+    }
+
+    /**
+     * 不可变的目录快照
+     */
+    public static final class Snapshot {
+        private final List<Entry> entries;
+        private final List<AssessmentCatalogNode.Level> tree;
+        private final byte[] json;
+        private final String etag;
+
+        Snapshot(List<Entry> entries, List<AssessmentCatalogNode.Level> tree, byte[] json, String etag) {
+            this.entries = entries;
+            this.tree = tree;
+            this.json = json;
+            this.etag = etag;
+        }
+
+        public List<AssessmentCatalogNode.Level> getTree() {
+            return tree;
+        }
+
+        // 预先序列化的 JSON，直接写入响应，调用方不得修改
+        public byte[] getJson() {
+            return json;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        public int getItemCount() {
+            return entries.size();
+        }
+    }
+
+    private static final class Entry {
+        final Long id;
+        final String level;
+        final String category;
+        final String name;
+
+        Entry(AssessmentItem item) {
+            this.id = item.getId();
+            this.level = Objects.toString(item.getLevel(), "");
+            this.category = Objects.toString(item.getCategory(), "");
+            this.name = Objects.toString(item.getName(), "");
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package cn.coderhythm.service;
+
+import cn.coderhythm.event.ChangeEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 将进程内的 ChangeEvent 推送给 SSE 订阅者
+ * 每个订阅者有独立的有界队列，由 eventDispatchExecutor 串行发送；
+ * 队列写满说明客户端消费过慢，直接断开该订阅者，不影响其他连接和事件发布方。
+ */
+@Service
+@Slf4j
+public class ChangeEventBroadcaster {
+
+    @Autowired
+    @Qualifier("eventDispatchExecutor")
+    private ThreadPoolTaskExecutor dispatchExecutor;
+
+    @Value("${app.events.buffer-size:256}")
+    private int bufferSize;
+
+    @Value("${app.events.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    private final Map<Long, Subscriber> subscribers = new ConcurrentHashMap<>();
+    private final AtomicLong subscriberSequence = new AtomicLong();
+    private final AtomicLong eventSequence = new AtomicLong();
+
+    /**
+     * 新建订阅
+     */
+    public SseEmitter subscribe(String username) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(subscriberSequence.incrementAndGet(), username, emitter, bufferSize);
+        subscribers.put(subscriber.id, subscriber);
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber.id));
+        emitter.onTimeout(() -> subscribers.remove(subscriber.id));
+        emitter.onError(e -> subscribers.remove(subscriber.id));
+
+        // 首条消息让代理立即刷新响应头
+        enqueue(subscriber, Message.comment("connected"));
+        log.debug("SSE 订阅建立: id={}, user={}, 当前订阅数={}", subscriber.id, username, subscribers.size());
+        return emitter;
+    }
+
+    // 写操作提交后才推送，回滚的变更不会通知客户端
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onChangeEvent(ChangeEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Message message = new Message(eventSequence.incrementAndGet(), event, null);
+        subscribers.values().forEach(subscriber -> enqueue(subscriber, message));
+    }
+
+    /**
+     * 定期发送心跳注释，避免代理因空闲断开连接
+     */
+    @Scheduled(fixedDelayString = "${app.events.heartbeat-ms:15000}")
+    public void sendHeartbeats() {
+        subscribers.values().forEach(subscriber -> enqueue(subscriber, Message.comment("heartbeat")));
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    private void enqueue(Subscriber subscriber, Message message) {
+        if (!subscriber.queue.offer(message)) {
+            log.warn("SSE 订阅者 {}({}) 消费过慢，已断开", subscriber.id, subscriber.username);
+            drop(subscriber, null);
+            return;
+        }
+        scheduleDrain(subscriber);
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                dispatchExecutor.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.draining.set(false);
+                drop(subscriber, e);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            Message message;
+            while ((message = subscriber.queue.poll()) != null) {
+                subscriber.emitter.send(message.toSseEvent());
+            }
+        } catch (IOException | IllegalStateException e) {
+            // 客户端已断开
+            drop(subscriber, e);
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // 发送期间可能有新消息入队
+        if (!subscriber.queue.isEmpty()) {
+            scheduleDrain(subscriber);
+        }
+    }
+
+    private void drop(Subscriber subscriber, Throwable cause) {
+        if (subscribers.remove(subscriber.id) == null) {
+            return;
+        }
+        subscriber.queue.clear();
+        if (cause == null) {
+            subscriber.emitter.complete();
+        } else {
+            subscriber.emitter.completeWithError(cause);
+        }
+    }
+
+    private static final class Subscriber {
+        final long id;
+        final String username;
+        final SseEmitter emitter;
+        final BlockingQueue<Message> queue;
+        final AtomicBoolean draining = new AtomicBoolean(false);
+
+        Subscriber(long id, String username, SseEmitter emitter, int bufferSize) {
+            this.id = id;
+            this.username = username;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+
+    /**
+     * 待发送的消息；SseEventBuilder 不能重复 build，因此每个订阅者发送时再各自构建
+     */
+    private static final class Message {
+        final long id;
+        final ChangeEvent event;
+        final String comment;
+
+        Message(long id, ChangeEvent event, String comment) {
+            this.id = id;
+            this.event = event;
+            this.comment = comment;
+        }
+
+        static Message comment(String comment) {
+            return new Message(0, null, comment);
+        }
+
+        SseEmitter.SseEventBuilder toSseEvent() {
+            if (event == null) {
+                return SseEmitter.event().comment(comment);
+            }
+            return SseEmitter.event()
+                    .id(String.valueOf(id))
+                    .name(event.getType())
+                    .data(event);
+        }
+    }
+}
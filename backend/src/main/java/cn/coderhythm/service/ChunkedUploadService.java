@@ -0,0 +1,378 @@
+package cn.coderhythm.service;
+
+import cn.coderhythm.payload.request.UploadInitRequest;
+import cn.coderhythm.upload.UploadException;
+import cn.coderhythm.upload.UploadSession;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * 巡查照片等证据文件的可续传分片上传
+ * 发起上传时按总大小预分配数据文件，各分片按偏移量用 FileChannel 定位写入，互不依赖、可并发、可重传；
+ * 每个分片校验 CRC32C，已接收分片记录在会话位图中，断线后客户端只需补传缺失的分片。
+ * 长时间无进展的会话由定时任务清理。
+ * 会话文件（预分配的 .part 和元数据 .json）放在 app.uploads.session-dir，必须位于上传目录之外，
+ * 否则未完成、未校验的数据会经 /uploads/** 被直接访问；每个用户同时进行中的会话数有上限，防止占满磁盘。
+ */
+@Service
+@Slf4j
+public class ChunkedUploadService {
+
+    public static final String CHECKSUM_HEADER = "X-Chunk-Checksum";
+
+    private static final int MIN_CHUNK_SIZE = 64 * 1024;
+
+    private static final Map<String, String> EXTENSIONS = new HashMap<>();
+    private static final Map<String, String> PURPOSE_DIRECTORIES = new HashMap<>();
+
+    static {
+        EXTENSIONS.put("image/jpeg", ".jpg");
+        EXTENSIONS.put("image/png", ".png");
+        EXTENSIONS.put("image/webp", ".webp");
+        EXTENSIONS.put("image/heic", ".heic");
+
+        PURPOSE_DIRECTORIES.put("problem-report", "problems");
+        PURPOSE_DIRECTORIES.put("maintenance-record", "records");
+    }
+
+    @Value("${file.upload-dir:uploads}")
+    private String uploadDir;
+
+    @Value("${app.uploads.max-file-size:52428800}")
+    private long maxFileSize;
+
+    @Value("${app.uploads.default-chunk-size:1048576}")
+    private int defaultChunkSize;
+
+    @Value("${app.uploads.max-chunk-size:8388608}")
+    private int maxChunkSize;
+
+    @Value("${app.uploads.session-dir:upload-sessions}")
+    private String sessionDir;
+
+    @Value("${app.uploads.max-sessions-per-owner:5}")
+    private int maxSessionsPerOwner;
+
+    @Value("${app.uploads.session-ttl-minutes:1440}")
+    private long sessionTtlMinutes;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<String, UploadSession> sessions = new ConcurrentHashMap<>();
+
+    /**
+     * 会话目录不能位于上传目录之内，配置错误时拒绝启动
+     */
+    @PostConstruct
+    public void checkSessionDirectory() {
+        Path uploads = Paths.get(uploadDir).toAbsolutePath().normalize();
+        if (sessionDirectory().startsWith(uploads)) {
+            throw new IllegalStateException("app.uploads.session-dir 不能位于上传目录 " + uploads + " 之内");
+        }
+    }
+
+    /**
+     * 启动时恢复未完成的会话
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadSessions() {
+        migrateLegacySessions();
+        Path directory = sessionDirectory();
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.json")) {
+            for (Path file : files) {
+                try {
+                    UploadSession session = objectMapper.readValue(file.toFile(), UploadSession.class);
+                    sessions.put(session.getId(), session);
+                } catch (IOException e) {
+                    log.warn("无法读取上传会话 {}: {}", file.getFileName(), e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            log.error("扫描上传会话目录失败: {}", e.getMessage());
+        }
+        log.info("恢复未完成的上传会话 {} 个", sessions.size());
+        purgeExpired();
+    }
+
+    /**
+     * 发起上传，预分配数据文件
+     */
+    public UploadSession initiate(String owner, UploadInitRequest request) {
+        String extension = EXTENSIONS.get(request.getContentType().toLowerCase());
+        if (extension == null) {
+            throw new UploadException(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "不支持的文件类型：" + request.getContentType());
+        }
+        if (request.getTotalSize() > maxFileSize) {
+            throw new UploadException(HttpStatus.PAYLOAD_TOO_LARGE, "文件大小不能超过" + maxFileSize / 1024 / 1024 + "MB");
+        }
+        if (request.getPurpose() != null && !PURPOSE_DIRECTORIES.containsKey(request.getPurpose())) {
+            throw new UploadException(HttpStatus.BAD_REQUEST, "不支持的上传用途：" + request.getPurpose());
+        }
+        int chunkSize = request.getChunkSize() != null ? request.getChunkSize() : defaultChunkSize;
+        if (chunkSize < MIN_CHUNK_SIZE || chunkSize > maxChunkSize) {
+            throw new UploadException(HttpStatus.BAD_REQUEST,
+                    "分片大小应在" + MIN_CHUNK_SIZE / 1024 + "KB到" + maxChunkSize / 1024 + "KB之间");
+        }
+
+        UploadSession session = new UploadSession(UUID.randomUUID().toString().replace("-", ""), owner,
+                request.getFileName(), request.getContentType().toLowerCase(), request.getPurpose(),
+                request.getTotalSize(), chunkSize);
+        touch(session);
+        reserve(session);
+        try {
+            Files.createDirectories(sessionDirectory());
+            try (RandomAccessFile file = new RandomAccessFile(dataFile(session.getId()).toFile(), "rw")) {
+                file.setLength(session.getTotalSize());
+            }
+            saveSession(session);
+        } catch (IOException e) {
+            sessions.remove(session.getId());
+            deleteFiles(session.getId());
+            throw new UploadException(HttpStatus.INTERNAL_SERVER_ERROR, "创建上传会话失败");
+        }
+        return session;
+    }
+
+    public UploadSession getSession(String uploadId, String owner) {
+        UploadSession session = sessions.get(uploadId);
+        if (session == null || session.isExpired(System.currentTimeMillis())) {
+            throw new UploadException(HttpStatus.NOT_FOUND, "上传会话不存在或已过期");
+        }
+        if (!session.getOwner().equals(owner)) {
+            throw new UploadException(HttpStatus.FORBIDDEN, "无权访问该上传会话");
+        }
+        return session;
+    }
+
+    /**
+     * 写入一个分片，重复写入同一分片是幂等的
+     * @param offset 分片在文件中的偏移量，必须是分片大小的整数倍
+     * @param checksum 分片的 CRC32C，十六进制
+     */
+    public UploadSession writeChunk(String uploadId, String owner, long offset, InputStream body, String checksum)
+            throws IOException {
+        UploadSession session = getSession(uploadId, owner);
+        if (offset < 0 || offset % session.getChunkSize() != 0 || offset >= session.getTotalSize()) {
+            throw new UploadException(HttpStatus.BAD_REQUEST, "分片偏移量无效：" + offset);
+        }
+        if (checksum == null || checksum.isEmpty()) {
+            throw new UploadException(HttpStatus.BAD_REQUEST, "缺少分片校验值 " + CHECKSUM_HEADER);
+        }
+        int index = (int) (offset / session.getChunkSize());
+        int expectedLength = session.expectedLength(index);
+
+        byte[] chunk = readFully(body, expectedLength);
+        CRC32C crc = new CRC32C();
+        crc.update(chunk, 0, chunk.length);
+        if (!String.format("%08x", crc.getValue()).equalsIgnoreCase(checksum.trim())) {
+            throw new UploadException(HttpStatus.BAD_REQUEST, "分片 " + index + " 校验失败，请重新上传");
+        }
+
+        // 定位写入，不同分片之间无需加锁
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try (FileChannel channel = FileChannel.open(dataFile(uploadId), StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.wrap(chunk);
+            long position = offset;
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+        } finally {
+            sample.stop(meterRegistry.timer("garden.file.write", "kind", "chunk"));
+        }
+        meterRegistry.counter("garden.file.write.bytes", "kind", "chunk").increment(chunk.length);
+
+        session.getLock().lock();
+        try {
+            session.markReceived(index);
+            touch(session);
+            saveSession(session);
+        } finally {
+            session.getLock().unlock();
+        }
+        return session;
+    }
+
+    /**
+     * 全部分片到齐后落盘并移动到正式目录
+     * @return 相对于上传目录的文件路径
+     */
+    public String complete(String uploadId, String owner) throws IOException {
+        UploadSession session = getSession(uploadId, owner);
+        session.getLock().lock();
+        try {
+            if (!sessions.containsKey(uploadId)) {
+                throw new UploadException(HttpStatus.NOT_FOUND, "上传会话不存在或已过期");
+            }
+            if (!session.isComplete()) {
+                throw new UploadException(HttpStatus.CONFLICT,
+                        "还有 " + (session.getTotalChunks() - session.getReceivedCount()) + " 个分片未上传");
+            }
+
+            Path source = dataFile(uploadId);
+            try (FileChannel channel = FileChannel.open(source, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+
+            String directory = "evidence/" + PURPOSE_DIRECTORIES.getOrDefault(session.getPurpose(), "other")
+                    + "/" + YearMonth.now().format(DateTimeFormatter.ofPattern("yyyyMM"));
+            String fileName = uploadId + EXTENSIONS.get(session.getContentType());
+            Path target = Paths.get(uploadDir, directory, fileName);
+            Files.createDirectories(target.getParent());
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+
+            sessions.remove(uploadId);
+            Files.deleteIfExists(metadataFile(uploadId));
+            return directory + "/" + fileName;
+        } finally {
+            session.getLock().unlock();
+        }
+    }
+
+    public void abort(String uploadId, String owner) {
+        getSession(uploadId, owner);
+        sessions.remove(uploadId);
+        deleteFiles(uploadId);
+    }
+
+    /**
+     * 清理过期的会话
+     */
+    @Scheduled(fixedDelayString = "${app.uploads.cleanup-interval-ms:600000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        int purged = 0;
+        for (UploadSession session : sessions.values()) {
+            if (session.isExpired(now) && sessions.remove(session.getId(), session)) {
+                deleteFiles(session.getId());
+                purged++;
+            }
+        }
+        if (purged > 0) {
+            log.info("清理过期上传会话 {} 个", purged);
+        }
+    }
+
+    // 计数和登记放在同一把锁里，同一用户并发发起上传也不会超出上限；过期未清理的会话不计入
+    private synchronized void reserve(UploadSession session) {
+        long now = System.currentTimeMillis();
+        long open = sessions.values().stream()
+                .filter(s -> s.getOwner().equals(session.getOwner()) && !s.isExpired(now))
+                .count();
+        if (open >= maxSessionsPerOwner) {
+            throw new UploadException(HttpStatus.TOO_MANY_REQUESTS,
+                    "未完成的上传过多（最多 " + maxSessionsPerOwner + " 个），请先完成或取消已有的上传");
+        }
+        sessions.put(session.getId(), session);
+    }
+
+    // 旧版本把会话文件放在上传目录下的 sessions 子目录，启动时迁移到会话目录
+    private void migrateLegacySessions() {
+        Path legacy = Paths.get(uploadDir, "sessions");
+        if (!Files.isDirectory(legacy)) {
+            return;
+        }
+        try {
+            Files.createDirectories(sessionDirectory());
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(legacy, "*.{json,part}")) {
+                for (Path file : files) {
+                    Files.move(file, sessionDirectory().resolve(file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            try (DirectoryStream<Path> rest = Files.newDirectoryStream(legacy)) {
+                if (!rest.iterator().hasNext()) {
+                    Files.delete(legacy);
+                }
+            }
+        } catch (IOException e) {
+            log.error("迁移旧的上传会话目录 {} 失败: {}", legacy, e.getMessage());
+        }
+    }
+
+    // 读取恰好 length 个字节，多于或少于都视为请求无效
+    private byte[] readFully(InputStream body, int length) throws IOException {
+        byte[] chunk = new byte[length];
+        int read = 0;
+        while (read < length) {
+            int n = body.read(chunk, read, length - read);
+            if (n < 0) {
+                throw new UploadException(HttpStatus.BAD_REQUEST, "分片长度不足，应为 " + length + " 字节");
+            }
+            read += n;
+        }
+        if (body.read() >= 0) {
+            throw new UploadException(HttpStatus.BAD_REQUEST, "分片长度超出，应为 " + length + " 字节");
+        }
+        return chunk;
+    }
+
+    private void touch(UploadSession session) {
+        session.setExpiresAtMillis(System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(sessionTtlMinutes));
+    }
+
+    // 先写临时文件再替换，避免进程中断时留下半截的会话文件
+    private void saveSession(UploadSession session) throws IOException {
+        Path target = metadataFile(session.getId());
+        Path temp = target.resolveSibling(session.getId() + ".json.tmp");
+        objectMapper.writeValue(temp.toFile(), session);
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void deleteFiles(String uploadId) {
+        try {
+            Files.deleteIfExists(dataFile(uploadId));
+            Files.deleteIfExists(metadataFile(uploadId));
+        } catch (IOException e) {
+            log.warn("删除上传会话 {} 的文件失败: {}", uploadId, e.getMessage());
+        }
+    }
+
+    private Path sessionDirectory() {
+        return Paths.get(sessionDir).toAbsolutePath().normalize();
+    }
+
+    private Path dataFile(String uploadId) {
+        return sessionDirectory().resolve(uploadId + ".part");
+    }
+
+    private Path metadataFile(String uploadId) {
+        return sessionDirectory().resolve(uploadId + ".json");
+    }
+}
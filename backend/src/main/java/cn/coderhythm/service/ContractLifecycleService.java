@@ -0,0 +1,293 @@
+package cn.coderhythm.service;
+
+import cn.coderhythm.event.ChangeEvent;
+import cn.coderhythm.models.Contract;
+import cn.coderhythm.repository.ContractRepository;
+import cn.coderhythm.timer.HierarchicalTimingWheel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 合同状态自动流转：待生效 → 生效中、到期提醒、生效中 → 已到期
+ * 近期（app.contracts.horizon-days 内）的截止时间放入内存分层时间轮，启动时和每天凌晨通过 end_date 索引查询重建；
+ * 每个 tick 把到期的合同按流转类型汇总，每种类型一条批量 UPDATE，不再轮询整张表。
+ * 每种流转在一个事务中执行：先按 UPDATE 的同一条件加锁查出实际会流转的合同，再更新并只为这些合同发布事件，
+ * 已被手工终止或修改的合同不会收到通知，事件随事务提交后才推送。
+ */
+@Service
+@Slf4j
+public class ContractLifecycleService {
+
+    private static final int UPDATE_BATCH = 1000;
+
+    private enum Transition {
+        ACTIVATE, REMIND, EXPIRE
+    }
+
+    @Autowired
+    private ContractRepository contractRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.contracts.tick-ms:60000}")
+    private long tickMs;
+
+    @Value("${app.contracts.wheel-size:60}")
+    private int wheelSize;
+
+    @Value("${app.contracts.reminder-days:30}")
+    private int reminderDays;
+
+    @Value("${app.contracts.horizon-days:7}")
+    private int horizonDays;
+
+    // 时间轮与 deadlines、due 的访问都在此锁内
+    private final Lock lock = new ReentrantLock();
+
+    private HierarchicalTimingWheel<Timer> wheel;
+
+    // 每个合同当前有效的截止时间，时间轮中与之不一致的旧条目到期时直接忽略
+    private final Map<Long, long[]> deadlines = new HashMap<>();
+
+    // 已到期、等待下一个 tick 写库的合同
+    private final Map<Transition, Set<Long>> due = new EnumMap<>(Transition.class);
+
+    /**
+     * 重建时间轮
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.contracts.horizon-refresh-cron:0 5 0 * * *}")
+    public void rebuild() {
+        LocalDate horizon = LocalDate.now().plusDays(horizonDays);
+        // 两个查询可能返回同一合同
+        Map<Long, Contract> contracts = new LinkedHashMap<>();
+        contractRepository.findOpenEndingBefore(horizon.plusDays(reminderDays))
+                .forEach(contract -> contracts.put(contract.getId(), contract));
+        contractRepository.findByStatusAndStartDateLessThanEqual(Contract.STATUS_PENDING, horizon)
+                .forEach(contract -> contracts.put(contract.getId(), contract));
+
+        lock.lock();
+        try {
+            wheel = new HierarchicalTimingWheel<>(tickMs, wheelSize, System.currentTimeMillis());
+            deadlines.clear();
+            contracts.values().forEach(this::register);
+            log.info("合同时间轮重建完成：{} 个截止时间，{} 个已到期待处理",
+                    wheel.size(), due.values().stream().mapToInt(Set::size).sum());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 合同新增或修改后调用
+     */
+    public void schedule(Contract contract) {
+        lock.lock();
+        try {
+            deadlines.remove(contract.getId());
+            for (Set<Long> ids : due.values()) {
+                ids.remove(contract.getId());
+            }
+            if (wheel != null) {
+                register(contract);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 合同删除后调用
+     */
+    public void unschedule(Long contractId) {
+        lock.lock();
+        try {
+            deadlines.remove(contractId);
+            for (Set<Long> ids : due.values()) {
+                ids.remove(contractId);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.contracts.tick-ms:60000}")
+    public void tick() {
+        Map<Transition, Set<Long>> batch = new EnumMap<>(Transition.class);
+        lock.lock();
+        try {
+            if (wheel == null) {
+                return;
+            }
+            wheel.advanceTo(System.currentTimeMillis(), this::onTimerExpired);
+            due.forEach((transition, ids) -> {
+                if (!ids.isEmpty()) {
+                    batch.put(transition, new LinkedHashSet<>(ids));
+                    ids.clear();
+                }
+            });
+        } finally {
+            lock.unlock();
+        }
+        batch.forEach(this::apply);
+    }
+
+    private void apply(Transition transition, Set<Long> ids) {
+        LocalDate today = LocalDate.now();
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> all = new ArrayList<>(ids);
+        List<Long> matched = transactionTemplate.execute(status -> {
+            List<Long> locked = new ArrayList<>();
+            for (int from = 0; from < all.size(); from += UPDATE_BATCH) {
+                List<Long> chunk = all.subList(from, Math.min(from + UPDATE_BATCH, all.size()));
+                List<Long> chunkMatched = lockMatching(transition, chunk, today);
+                if (!chunkMatched.isEmpty()) {
+                    update(transition, chunkMatched, today, now);
+                    locked.addAll(chunkMatched);
+                }
+            }
+            for (Long id : locked) {
+                publish(transition, id);
+            }
+            return locked;
+        });
+        log.info("合同自动流转 {}：到期 {} 个，更新 {} 个", transition, all.size(), matched.size());
+    }
+
+    private List<Long> lockMatching(Transition transition, List<Long> ids, LocalDate today) {
+        switch (transition) {
+            case ACTIVATE:
+                return contractRepository.lockActivatable(ids, today);
+            case REMIND:
+                return contractRepository.lockRemindable(ids);
+            case EXPIRE:
+                return contractRepository.lockExpirable(ids, today);
+            default:
+                return new ArrayList<>();
+        }
+    }
+
+    private void update(Transition transition, List<Long> ids, LocalDate today, LocalDateTime now) {
+        switch (transition) {
+            case ACTIVATE:
+                contractRepository.activate(ids, today, now);
+                break;
+            case REMIND:
+                contractRepository.markReminded(ids, now);
+                break;
+            case EXPIRE:
+                contractRepository.expire(ids, today, now);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void publish(Transition transition, Long id) {
+        switch (transition) {
+            case ACTIVATE:
+                eventPublisher.publishEvent(ChangeEvent.statusChanged(ChangeEvent.ENTITY_CONTRACT, id, Contract.STATUS_ACTIVE));
+                break;
+            case REMIND:
+                eventPublisher.publishEvent(new ChangeEvent(ChangeEvent.ENTITY_CONTRACT, ChangeEvent.ACTION_EXPIRY_REMINDER, id, null));
+                break;
+            case EXPIRE:
+                eventPublisher.publishEvent(ChangeEvent.statusChanged(ChangeEvent.ENTITY_CONTRACT, id, Contract.STATUS_EXPIRED));
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void register(Contract contract) {
+        if (!contract.isOpen()) {
+            return;
+        }
+        long horizonMs = toMillis(LocalDate.now().plusDays(horizonDays + 1L));
+        long[] contractDeadlines = new long[Transition.values().length];
+        Arrays.fill(contractDeadlines, -1);
+
+        if (Contract.STATUS_PENDING.equals(contract.getStatus())) {
+            contractDeadlines[Transition.ACTIVATE.ordinal()] = toMillis(contract.getStartDate());
+        }
+        if (contract.getReminderSentAt() == null) {
+            contractDeadlines[Transition.REMIND.ordinal()] = toMillis(contract.getEndDate().minusDays(reminderDays));
+        }
+        // 结束日期当天仍有效，次日零点到期
+        contractDeadlines[Transition.EXPIRE.ordinal()] = toMillis(contract.getEndDate().plusDays(1));
+
+        boolean registered = false;
+        for (Transition transition : Transition.values()) {
+            long deadline = contractDeadlines[transition.ordinal()];
+            if (deadline < 0 || deadline >= horizonMs) {
+                // 超出时间轮范围的由每日重建加入
+                contractDeadlines[transition.ordinal()] = -1;
+                continue;
+            }
+            registered = true;
+            Timer timer = new Timer(contract.getId(), transition, deadline);
+            if (!wheel.add(deadline, timer)) {
+                markDue(transition, contract.getId());
+                contractDeadlines[transition.ordinal()] = -1;
+            }
+        }
+        if (registered) {
+            deadlines.put(contract.getId(), contractDeadlines);
+        }
+    }
+
+    private void onTimerExpired(Timer timer) {
+        long[] contractDeadlines = deadlines.get(timer.contractId);
+        if (contractDeadlines == null || contractDeadlines[timer.transition.ordinal()] != timer.deadlineMs) {
+            return;
+        }
+        contractDeadlines[timer.transition.ordinal()] = -1;
+        markDue(timer.transition, timer.contractId);
+    }
+
+    private void markDue(Transition transition, Long contractId) {
+        due.computeIfAbsent(transition, t -> new LinkedHashSet<>()).add(contractId);
+    }
+
+    private static long toMillis(LocalDate date) {
+        return date.atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static final class Timer {
+        final Long contractId;
+        final Transition transition;
+        final long deadlineMs;
+
+        Timer(Long contractId, Transition transition, long deadlineMs) {
+            this.contractId = contractId;
+            this.transition = transition;
+            this.deadlineMs = deadlineMs;
+        }
+    }
+}
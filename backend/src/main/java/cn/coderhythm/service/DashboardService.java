@@ -0,0 +1,140 @@
+package cn.coderhythm.service;
+
+import cn.coderhythm.model.User;
+import cn.coderhythm.repository.MaintenanceCompanyRepository;
+import cn.coderhythm.repository.MaintenanceRecordRepository;
+import cn.coderhythm.repository.MaintenanceUnitRepository;
+import cn.coderhythm.repository.ProblemReportRepository;
+import cn.coderhythm.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * 仪表盘汇总
+ * 各数据块在有界线程池上并发查询，每块单独超时；超时或失败的块返回 null 并列入 unavailable，
+ * 整体耗时取决于最慢的一块而不是各块之和。
+ */
+@Service
+@Slf4j
+public class DashboardService {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MaintenanceCompanyRepository maintenanceCompanyRepository;
+
+    @Autowired
+    private MaintenanceUnitRepository maintenanceUnitRepository;
+
+    @Autowired
+    private ProblemReportRepository problemReportRepository;
+
+    @Autowired
+    private MaintenanceRecordRepository maintenanceRecordRepository;
+
+    @Autowired
+    @Qualifier("dashboardExecutor")
+    private ThreadPoolTaskExecutor dashboardExecutor;
+
+    @Value("${app.dashboard.part-timeout-ms:2000}")
+    private long partTimeoutMs;
+
+    @Value("${app.dashboard.score-window-days:30}")
+    private int scoreWindowDays;
+
+    public Map<String, Object> buildSummary(Long userId) {
+        Map<String, Supplier<Object>> parts = new LinkedHashMap<>();
+        parts.put("profile", () -> loadProfile(userId));
+        parts.put("companies", this::loadCompanyStatistics);
+        parts.put("units", maintenanceUnitRepository::summarize);
+        parts.put("problems", problemReportRepository::countByStatus);
+        parts.put("scores", this::loadRecentScores);
+
+        Map<String, CompletableFuture<Object>> futures = new LinkedHashMap<>();
+        parts.forEach((name, supplier) -> futures.put(name, submit(name, supplier)));
+        CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0])).join();
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        List<String> unavailable = new ArrayList<>();
+        futures.forEach((name, future) -> {
+            Object value = future.join();
+            if (value == null) {
+                unavailable.add(name);
+            }
+            summary.put(name, value);
+        });
+        summary.put("unavailable", unavailable);
+        summary.put("generatedAt", LocalDateTime.now());
+        return summary;
+    }
+
+    private CompletableFuture<Object> submit(String name, Supplier<Object> supplier) {
+        CompletableFuture<Object> future;
+        try {
+            future = CompletableFuture.supplyAsync(supplier, dashboardExecutor);
+        } catch (RejectedExecutionException e) {
+            log.warn("仪表盘线程池已满，跳过数据块: {}", name);
+            return CompletableFuture.completedFuture(null);
+        }
+        return future
+                .orTimeout(partTimeoutMs, TimeUnit.MILLISECONDS)
+                .exceptionally(e -> {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    if (cause instanceof TimeoutException) {
+                        log.warn("仪表盘数据块 {} 超过 {}ms 未返回", name, partTimeoutMs);
+                    } else {
+                        log.error("仪表盘数据块 {} 查询失败: {}", name, cause.getMessage());
+                    }
+                    return null;
+                });
+    }
+
+    private Object loadProfile(Long userId) {
+        return userRepository.findById(userId).map(this::toProfile).orElse(null);
+    }
+
+    private Map<String, Object> toProfile(User user) {
+        Map<String, Object> profile = new HashMap<>();
+        profile.put("id", user.getId());
+        profile.put("username", user.getUsername());
+        profile.put("fullName", user.getFullName());
+        profile.put("nickname", user.getNickname());
+        profile.put("avatar", user.getAvatar());
+        profile.put("lastLogin", user.getLastLogin());
+        return profile;
+    }
+
+    private Object loadCompanyStatistics() {
+        Map<String, Object> statistics = new HashMap<>();
+        statistics.put("companyCount", maintenanceCompanyRepository.count());
+        return statistics;
+    }
+
+    private Object loadRecentScores() {
+        LocalDateTime end = LocalDate.now().plusDays(1).atStartOfDay();
+        LocalDateTime start = end.minusDays(scoreWindowDays);
+        Map<String, Object> scores = new HashMap<>();
+        scores.put("windowDays", scoreWindowDays);
+        scores.put("overall", maintenanceRecordRepository.summarizeScore(start, end));
+        scores.put("byContractor", maintenanceRecordRepository.averageScoreByContractor(start, end));
+        return scores;
+    }
+}
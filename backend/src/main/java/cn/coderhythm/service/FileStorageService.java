@@ -1,5 +1,8 @@
 package cn.coderhythm.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
@@ -19,6 +22,9 @@ public class FileStorageService {
     @Value("${file.upload-dir:uploads}")
     private String uploadDir;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     /**
      * 初始化上传目录
      */
@@ -71,10 +77,14 @@ public class FileStorageService {
         Path avatarPath = Paths.get(uploadDir, "avatars", fileName);
         
         // 解码Base64并保存文件
+        byte[] decodedImage = Base64.getDecoder().decode(base64Data);
+        Timer.Sample sample = Timer.start(meterRegistry);
         try (FileOutputStream fos = new FileOutputStream(avatarPath.toFile())) {
-            byte[] decodedImage = Base64.getDecoder().decode(base64Data);
             fos.write(decodedImage);
+        } finally {
+            sample.stop(meterRegistry.timer("garden.file.write", "kind", "avatar"));
         }
+        meterRegistry.counter("garden.file.write.bytes", "kind", "avatar").increment(decodedImage.length);
         
         // 返回相对路径，用于数据库存储和URL访问
         return "avatars/" + fileName;
@@ -0,0 +1,192 @@
+package cn.coderhythm.service;
+
+import cn.coderhythm.models.MaintenancePlan;
+import cn.coderhythm.payload.response.PlanOccurrence;
+import cn.coderhythm.repository.MaintenancePlanRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 养护计划执行日期的按窗口展开
+ * 只取有效期与窗口相交的计划，每个计划的迭代器直接定位到窗口起点，再按日期多路归并；
+ * 热点窗口（如本周、本月）的结果放在 LRU 缓存中，任何计划写操作都会使缓存整体失效。
+ */
+@Service
+@Slf4j
+public class MaintenancePlanService {
+
+    @Autowired
+    private MaintenancePlanRepository maintenancePlanRepository;
+
+    @Value("${app.maintenance-plans.occurrence-cache-size:64}")
+    private int cacheSize;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Counter cacheHits;
+    private Counter cacheMisses;
+
+    // 每次失效时递增，防止失效前开始的查询把旧结果写回缓存
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Lock cacheLock = new ReentrantLock();
+
+    private final Map<WindowKey, List<PlanOccurrence>> cache = new LinkedHashMap<WindowKey, List<PlanOccurrence>>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<WindowKey, List<PlanOccurrence>> eldest) {
+            return size() > cacheSize;
+        }
+    };
+
+    @PostConstruct
+    public void registerMetrics() {
+        cacheHits = meterRegistry.counter("cache.gets", "cache", "plan-occurrences", "result", "hit");
+        cacheMisses = meterRegistry.counter("cache.gets", "cache", "plan-occurrences", "result", "miss");
+        meterRegistry.gaugeMapSize("cache.size", Tags.of("cache", "plan-occurrences"), cache);
+    }
+
+    /**
+     * 窗口 [from, to]（含两端）内的全部执行，按日期、计划 ID 排序
+     * @param unitId 管养单元 ID，为空时查询全部单元
+     */
+    public List<PlanOccurrence> getOccurrences(LocalDate from, LocalDate to, Long unitId) {
+        WindowKey key = new WindowKey(from, to, unitId);
+        long currentGeneration = generation.get();
+        cacheLock.lock();
+        try {
+            List<PlanOccurrence> cached = cache.get(key);
+            if (cached != null) {
+                cacheHits.increment();
+                return cached;
+            }
+        } finally {
+            cacheLock.unlock();
+        }
+        cacheMisses.increment();
+
+        List<MaintenancePlan> plans = unitId != null
+                ? maintenancePlanRepository.findActiveInWindowForUnit(unitId, from, to)
+                : maintenancePlanRepository.findActiveInWindow(from, to);
+        List<PlanOccurrence> occurrences = Collections.unmodifiableList(expand(plans, from, to));
+
+        cacheLock.lock();
+        try {
+            if (generation.get() == currentGeneration) {
+                cache.put(key, occurrences);
+            }
+        } finally {
+            cacheLock.unlock();
+        }
+        return occurrences;
+    }
+
+    /**
+     * 计划新增、修改或删除后调用
+     */
+    public void invalidate() {
+        cacheLock.lock();
+        try {
+            generation.incrementAndGet();
+            cache.clear();
+        } finally {
+            cacheLock.unlock();
+        }
+    }
+
+    private List<PlanOccurrence> expand(List<MaintenancePlan> plans, LocalDate from, LocalDate to) {
+        PriorityQueue<Cursor> queue = new PriorityQueue<>(
+                Comparator.comparing((Cursor cursor) -> cursor.current).thenComparing(cursor -> cursor.plan.getId()));
+        for (MaintenancePlan plan : plans) {
+            Iterator<LocalDate> dates;
+            try {
+                dates = plan.getRecurrenceRule().occurrencesBetween(from, to);
+            } catch (IllegalArgumentException e) {
+                log.warn("养护计划 {} 的重复规则无效，已跳过: {}", plan.getId(), e.getMessage());
+                continue;
+            }
+            if (dates.hasNext()) {
+                queue.add(new Cursor(plan, dates));
+            }
+        }
+
+        List<PlanOccurrence> result = new ArrayList<>();
+        while (!queue.isEmpty()) {
+            Cursor cursor = queue.poll();
+            result.add(new PlanOccurrence(cursor.plan, cursor.current));
+            if (cursor.advance()) {
+                queue.add(cursor);
+            }
+        }
+        return result;
+    }
+
+    private static final class Cursor {
+        final MaintenancePlan plan;
+        final Iterator<LocalDate> dates;
+        LocalDate current;
+
+        Cursor(MaintenancePlan plan, Iterator<LocalDate> dates) {
+            this.plan = plan;
+            this.dates = dates;
+            this.current = dates.next();
+        }
+
+        boolean advance() {
+            if (!dates.hasNext()) {
+                return false;
+            }
+            current = dates.next();
+            return true;
+        }
+    }
+
+    private static final class WindowKey {
+        final LocalDate from;
+        final LocalDate to;
+        final Long unitId;
+
+        WindowKey(LocalDate from, LocalDate to, Long unitId) {
+            this.from = from;
+            this.to = to;
+            this.unitId = unitId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof WindowKey)) {
+                return false;
+            }
+            WindowKey other = (WindowKey) o;
+            return from.equals(other.from) && to.equals(other.to) && Objects.equals(unitId, other.unitId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(from, to, unitId);
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package cn.coderhythm.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * 养护记录按月分区管理
+ * 仅在 MySQL 上生效：启动时把 maintenance_records 转换为按 record_time 的 RANGE COLUMNS 分区表，
+ * 并保证未来若干个月的分区提前存在。过期分区通过 EXCHANGE PARTITION 整体换出到按月的归档表，不做逐行删除，
+ * 也不直接删除数据；归档表可单独导出或删除。H2 等不支持分区的数据库上所有操作都会被跳过。
+ */
+@Service
+@Slf4j
+public class MaintenanceRecordPartitionService {
+
+    private static final String TABLE = "maintenance_records";
+    private static final String FUTURE_PARTITION = "p_future";
+    private static final String ARCHIVE_PREFIX = TABLE + "_archive_";
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.maintenance-records.partition.months-ahead:3}")
+    private int monthsAhead;
+
+    // 至少保留的完整月份数，当前月及之前这些月份的分区不允许归档
+    @Value("${app.maintenance-records.partition.min-retention-months:1}")
+    private int minRetentionMonths;
+
+    private final ReentrantLock ddlLock = new ReentrantLock();
+
+    private volatile Boolean partitioningSupported;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initPartitions() {
+        if (!isPartitioningSupported()) {
+            log.info("当前数据库不支持分区，养护记录表保持普通表结构");
+            return;
+        }
+        try {
+            ensurePartitioned();
+            ensureFuturePartitions();
+        } catch (Exception e) {
+            log.error("初始化养护记录分区失败: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 每天检查一次，保证未来分区始终存在
+     */
+    @Scheduled(cron = "${app.maintenance-records.partition.cron:0 10 0 * * *}")
+    public void maintainPartitions() {
+        if (isPartitioningSupported()) {
+            ensureFuturePartitions();
+        }
+    }
+
+    /**
+     * 把指定月份之前的全部分区换出到归档表
+     * 每个分区对应一张结构相同的非分区表 maintenance_records_archive_yyyyMM，EXCHANGE PARTITION 只交换表空间，
+     * 换出后原分区为空，再删除这个空分区。数据保留在归档表中，是否导出或删除由运维单独处理。
+     * @param before 保留的最早月份，不能晚于 {@link #latestArchiveBoundary()}
+     * @return 生成的归档表名
+     */
+    public List<String> archivePartitionsBefore(YearMonth before) {
+        YearMonth latest = latestArchiveBoundary();
+        if (before.isAfter(latest)) {
+            throw new IllegalArgumentException("只能归档 " + latest + " 之前的分区");
+        }
+        if (!isPartitioningSupported()) {
+            return new ArrayList<>();
+        }
+        ddlLock.lock();
+        try {
+            String boundary = PARTITION_NAME.format(before);
+            List<String> expired = listMonthlyPartitions().stream()
+                    .filter(name -> name.compareTo(boundary) < 0)
+                    .collect(Collectors.toList());
+            List<String> archived = new ArrayList<>();
+            for (String partition : expired) {
+                archived.add(archivePartition(partition));
+            }
+            return archived;
+        } finally {
+            ddlLock.unlock();
+        }
+    }
+
+    /**
+     * 允许的最晚归档边界：当前月份往前推 min-retention-months 个月，防止误把仍在写入的分区换出
+     */
+    public YearMonth latestArchiveBoundary() {
+        return YearMonth.now().minusMonths(minRetentionMonths);
+    }
+
+    /**
+     * 已有的归档表
+     */
+    public List<String> listArchiveTables() {
+        if (!isPartitioningSupported()) {
+            return new ArrayList<>();
+        }
+        return jdbcTemplate.queryForList(
+                "SELECT TABLE_NAME FROM information_schema.TABLES " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME LIKE ? ORDER BY TABLE_NAME",
+                String.class, ARCHIVE_PREFIX.replace("_", "\\_") + "%");
+    }
+
+    private String archivePartition(String partition) {
+        String archive = ARCHIVE_PREFIX + partition.substring(1);
+        if (listArchiveTables().contains(archive)) {
+            // 上次换出后删除空分区失败时，归档表已存在而分区为空，继续删除分区即可；分区仍有数据时不覆盖归档表
+            Integer rows = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM " + TABLE + " PARTITION (" + partition + ")", Integer.class);
+            if (rows != null && rows > 0) {
+                throw new IllegalStateException("归档表 " + archive + " 已存在，分区 " + partition + " 未换出");
+            }
+        } else {
+            jdbcTemplate.execute("CREATE TABLE " + archive + " LIKE " + TABLE);
+            jdbcTemplate.execute("ALTER TABLE " + archive + " REMOVE PARTITIONING");
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " EXCHANGE PARTITION " + partition + " WITH TABLE " + archive);
+        }
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP PARTITION " + partition);
+        log.info("养护记录分区 {} 已换出到归档表 {}", partition, archive);
+        return archive;
+    }
+
+    /**
+     * 当前存在的按月分区（不含 p_future）
+     */
+    public List<String> listMonthlyPartitions() {
+        if (!isPartitioningSupported()) {
+            return new ArrayList<>();
+        }
+        return jdbcTemplate.queryForList(
+                "SELECT PARTITION_NAME FROM information_schema.PARTITIONS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL " +
+                "ORDER BY PARTITION_ORDINAL_POSITION", String.class, TABLE)
+                .stream()
+                .filter(name -> !FUTURE_PARTITION.equals(name))
+                .collect(Collectors.toList());
+    }
+
+    private void ensurePartitioned() {
+        ddlLock.lock();
+        try {
+            Integer partitions = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM information_schema.PARTITIONS " +
+                    "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL",
+                    Integer.class, TABLE);
+            if (partitions != null && partitions > 0) {
+                return;
+            }
+
+            // 从已有数据的最早月份开始建分区
+            Timestamp earliest = jdbcTemplate.queryForObject(
+                    "SELECT MIN(record_time) FROM " + TABLE, Timestamp.class);
+            YearMonth from = earliest != null
+                    ? YearMonth.from(earliest.toLocalDateTime())
+                    : YearMonth.now();
+            YearMonth to = YearMonth.now().plusMonths(monthsAhead);
+
+            List<String> definitions = new ArrayList<>();
+            for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+                definitions.add(partitionDefinition(month));
+            }
+            definitions.add("PARTITION " + FUTURE_PARTITION + " VALUES LESS THAN (MAXVALUE)");
+
+            log.info("将养护记录表转换为按月分区表，分区范围 {} ~ {}", from, to);
+            // 分区键必须包含在主键中
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP PRIMARY KEY, ADD PRIMARY KEY (id, record_time)");
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " PARTITION BY RANGE COLUMNS(record_time) ("
+                    + String.join(", ", definitions) + ")");
+        } finally {
+            ddlLock.unlock();
+        }
+    }
+
+    private void ensureFuturePartitions() {
+        ddlLock.lock();
+        try {
+            List<String> existing = listMonthlyPartitions();
+            YearMonth target = YearMonth.now().plusMonths(monthsAhead);
+            YearMonth next = existing.isEmpty()
+                    ? YearMonth.now()
+                    : YearMonth.parse(existing.get(existing.size() - 1), PARTITION_NAME).plusMonths(1);
+
+            List<String> definitions = new ArrayList<>();
+            for (YearMonth month = next; !month.isAfter(target); month = month.plusMonths(1)) {
+                definitions.add(partitionDefinition(month));
+            }
+            if (definitions.isEmpty()) {
+                return;
+            }
+            definitions.add("PARTITION " + FUTURE_PARTITION + " VALUES LESS THAN (MAXVALUE)");
+
+            // p_future 正常情况下为空，拆分它只是元数据操作
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " REORGANIZE PARTITION " + FUTURE_PARTITION
+                    + " INTO (" + String.join(", ", definitions) + ")");
+            log.info("已为养护记录表新增 {} 个月度分区", definitions.size() - 1);
+        } catch (Exception e) {
+            log.error("新增养护记录分区失败: {}", e.getMessage(), e);
+        } finally {
+            ddlLock.unlock();
+        }
+    }
+
+    private String partitionDefinition(YearMonth month) {
+        return "PARTITION " + PARTITION_NAME.format(month)
+                + " VALUES LESS THAN ('" + month.plusMonths(1).atDay(1) + " 00:00:00')";
+    }
+
+    private boolean isPartitioningSupported() {
+        Boolean supported = partitioningSupported;
+        if (supported == null) {
+            supported = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+                try {
+                    return "MySQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+                } catch (SQLException e) {
+                    return false;
+                }
+            });
+            partitioningSupported = supported;
+        }
+        return Boolean.TRUE.equals(supported);
+    }
+}
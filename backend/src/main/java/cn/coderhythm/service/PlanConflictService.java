@@ -0,0 +1,218 @@
+package cn.coderhythm.service;
+
+import cn.coderhythm.models.MaintenancePlan;
+import cn.coderhythm.payload.response.PlanConflict;
+import cn.coderhythm.plan.IntervalTree;
+import cn.coderhythm.repository.MaintenancePlanRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 养护计划冲突检测
+ * 每个管养单元、每个区域各维护一棵以计划有效期为区间的区间树，启动时全量构建，之后随计划写操作增量维护。
+ * 单个计划的冲突查询为 O(log n + k)，按月冲突报告只遍历与该月相交的区间。
+ */
+@Service
+@Slf4j
+public class PlanConflictService {
+
+    public static final String SCOPE_UNIT = "unit";
+    public static final String SCOPE_AREA = "area";
+
+    // 长期执行的计划以最大值作为区间终点
+    private static final long OPEN_END = Long.MAX_VALUE;
+
+    @Autowired
+    private MaintenancePlanRepository maintenancePlanRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, IntervalTree<Long>> trees = new HashMap<>();
+    private final Map<Long, IndexedPlan> plans = new HashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<MaintenancePlan> all = maintenancePlanRepository.findAll();
+
+        lock.writeLock().lock();
+        try {
+            trees.clear();
+            plans.clear();
+            all.forEach(this::putPlan);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("养护计划区间索引构建完成：计划 {} 个，单元/区域 {} 个", plans.size(), trees.size());
+    }
+
+    /**
+     * 新增或更新计划
+     */
+    public void indexPlan(MaintenancePlan plan) {
+        lock.writeLock().lock();
+        try {
+            removePlanInternal(plan.getId());
+            putPlan(plan);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removePlan(Long planId) {
+        lock.writeLock().lock();
+        try {
+            removePlanInternal(planId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 查找与给定单元/区域和有效期重叠的已有计划
+     * @param excludePlanId 更新计划时排除其自身
+     */
+    public List<Long> findConflicts(Long unitId, String area, LocalDate startDate, LocalDate endDate, Long excludePlanId) {
+        long start = startDate.toEpochDay();
+        long end = endDate != null ? endDate.toEpochDay() : OPEN_END;
+
+        lock.readLock().lock();
+        try {
+            Set<Long> result = new LinkedHashSet<>();
+            for (String key : scopeKeys(unitId, area)) {
+                IntervalTree<Long> tree = trees.get(key);
+                if (tree == null) {
+                    continue;
+                }
+                for (IntervalTree.Entry<Long> entry : tree.overlapping(start, end)) {
+                    if (!entry.getValue().equals(excludePlanId)) {
+                        result.add(entry.getValue());
+                    }
+                }
+            }
+            return new ArrayList<>(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 窗口 [from, to] 内的全部冲突，每对计划只报告一次（优先按管养单元）
+     */
+    public List<PlanConflict> findConflictsInWindow(LocalDate from, LocalDate to) {
+        long windowStart = from.toEpochDay();
+        long windowEnd = to.toEpochDay();
+
+        lock.readLock().lock();
+        try {
+            List<PlanConflict> conflicts = new ArrayList<>();
+            Set<String> reportedPairs = new HashSet<>();
+            List<String> keys = new ArrayList<>(trees.keySet());
+            // 先处理管养单元，再处理区域
+            keys.sort((a, b) -> Boolean.compare(a.startsWith(SCOPE_AREA), b.startsWith(SCOPE_AREA)));
+
+            for (String key : keys) {
+                List<IntervalTree.Entry<Long>> entries = trees.get(key).overlapping(windowStart, windowEnd);
+                // 结果已按起点排序，扫描线找出两两重叠
+                List<IntervalTree.Entry<Long>> active = new ArrayList<>();
+                for (IntervalTree.Entry<Long> entry : entries) {
+                    active.removeIf(other -> other.getEnd() < entry.getStart());
+                    for (IntervalTree.Entry<Long> other : active) {
+                        long a = Math.min(other.getValue(), entry.getValue());
+                        long b = Math.max(other.getValue(), entry.getValue());
+                        if (reportedPairs.add(a + ":" + b)) {
+                            conflicts.add(toConflict(key, other, entry));
+                        }
+                    }
+                    active.add(entry);
+                }
+            }
+            return conflicts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private PlanConflict toConflict(String key, IntervalTree.Entry<Long> first, IntervalTree.Entry<Long> second) {
+        int separator = key.indexOf(':');
+        long overlapEnd = Math.min(first.getEnd(), second.getEnd());
+        return new PlanConflict(
+                key.substring(0, separator),
+                key.substring(separator + 1),
+                first.getValue(),
+                plans.get(first.getValue()).planName,
+                second.getValue(),
+                plans.get(second.getValue()).planName,
+                LocalDate.ofEpochDay(Math.max(first.getStart(), second.getStart())),
+                overlapEnd == OPEN_END ? null : LocalDate.ofEpochDay(overlapEnd));
+    }
+
+    private void putPlan(MaintenancePlan plan) {
+        if (plan.getStartDate() == null) {
+            return;
+        }
+        long start = plan.getStartDate().toEpochDay();
+        long end = plan.getEndDate() != null ? plan.getEndDate().toEpochDay() : OPEN_END;
+        if (end < start) {
+            log.warn("养护计划 {} 的结束日期早于开始日期，未加入冲突索引", plan.getId());
+            return;
+        }
+        List<String> keys = scopeKeys(plan.getMaintenanceUnitId(), plan.getArea());
+        for (String key : keys) {
+            trees.computeIfAbsent(key, k -> new IntervalTree<>()).insert(start, end, plan.getId());
+        }
+        plans.put(plan.getId(), new IndexedPlan(start, keys, plan.getPlanName()));
+    }
+
+    private void removePlanInternal(Long planId) {
+        IndexedPlan indexed = plans.remove(planId);
+        if (indexed == null) {
+            return;
+        }
+        for (String key : indexed.keys) {
+            IntervalTree<Long> tree = trees.get(key);
+            if (tree != null) {
+                tree.remove(indexed.start, planId);
+                if (tree.isEmpty()) {
+                    trees.remove(key);
+                }
+            }
+        }
+    }
+
+    private List<String> scopeKeys(Long unitId, String area) {
+        List<String> keys = new ArrayList<>(2);
+        if (unitId != null) {
+            keys.add(SCOPE_UNIT + ":" + unitId);
+        }
+        if (area != null && !area.trim().isEmpty()) {
+            keys.add(SCOPE_AREA + ":" + area.trim());
+        }
+        return keys;
+    }
+
+    private static final class IndexedPlan {
+        final long start;
+        final List<String> keys;
+        final String planName;
+
+        IndexedPlan(long start, List<String> keys, String planName) {
+            this.start = start;
+            this.keys = keys;
+            this.planName = planName;
+        }
+    }
+}
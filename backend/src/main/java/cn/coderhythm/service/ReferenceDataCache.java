@@ -0,0 +1,268 @@
+package cn.coderhythm.service;
+
+import cn.coderhythm.event.ChangeEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 热点参考数据列表（养护单位、管养单元）的预序列化响应缓存
+ * 首次请求时查询并序列化为 JSON 和 CBOR 字节，各自压缩一份 gzip 并计算 ETag；之后的请求按 Accept 直接写出字节，
+ * 不再查库、序列化或逐次压缩。对应实体的 ChangeEvent 到达时失效，另有最长存活时间，
+ * 限制多实例部署时其他实例写入造成的不一致。
+ */
+@Service
+@Slf4j
+public class ReferenceDataCache {
+
+    public static final String COMPANIES = ChangeEvent.ENTITY_COMPANY;
+    public static final String UNITS = ChangeEvent.ENTITY_UNIT;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.reference-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final Map<String, Lock> loadLocks = new ConcurrentHashMap<>();
+
+    /**
+     * 取缓存的响应体，未命中时由 loader 查询数据；同一列表同时只有一个请求在构建
+     */
+    public Entry get(String name, Supplier<?> loader) {
+        Entry entry = entries.get(name);
+        if (entry != null && !entry.isExpired(ttlSeconds)) {
+            meterRegistry.counter("cache.gets", "cache", "reference-data", "name", name, "result", "hit").increment();
+            return entry;
+        }
+        Lock lock = loadLocks.computeIfAbsent(name, key -> new ReentrantLock());
+        lock.lock();
+        try {
+            entry = entries.get(name);
+            if (entry != null && !entry.isExpired(ttlSeconds)) {
+                meterRegistry.counter("cache.gets", "cache", "reference-data", "name", name, "result", "hit").increment();
+                return entry;
+            }
+            meterRegistry.counter("cache.gets", "cache", "reference-data", "name", name, "result", "miss").increment();
+            AtomicLong generation = generations.computeIfAbsent(name, key -> new AtomicLong());
+            long currentGeneration = generation.get();
+            Object value = loader.get();
+            entry = new Entry(serialize(objectMapper, value), serialize(cborConverter.getObjectMapper(), value));
+            // 构建期间发生写操作时，本次结果只返回给当前请求，不写入缓存
+            if (generation.get() == currentGeneration) {
+                entries.put(name, entry);
+            }
+            return entry;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 写操作提交后才失效，避免提交前重建的缓存读到旧数据
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onChangeEvent(ChangeEvent event) {
+        if (COMPANIES.equals(event.getEntity()) || UNITS.equals(event.getEntity())) {
+            invalidate(event.getEntity());
+        }
+    }
+
+    public void invalidate(String name) {
+        generations.computeIfAbsent(name, key -> new AtomicLong()).incrementAndGet();
+        entries.remove(name);
+    }
+
+    private static byte[] serialize(ObjectMapper mapper, Object value) {
+        try {
+            return mapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("参考数据序列化失败", e);
+        }
+    }
+
+    /**
+     * 一份列表的 JSON 与 CBOR 两种表示
+     */
+    public static final class Entry {
+        private final Representation json;
+        private final Representation cbor;
+        private final long createdAtMillis;
+
+        Entry(byte[] json, byte[] cbor) {
+            this.json = new Representation(MediaType.APPLICATION_JSON, json, "");
+            this.cbor = new Representation(MediaType.APPLICATION_CBOR, cbor, "-cbor");
+            this.createdAtMillis = System.currentTimeMillis();
+        }
+
+        boolean isExpired(long ttlSeconds) {
+            return System.currentTimeMillis() - createdAtMillis > ttlSeconds * 1000;
+        }
+
+        /**
+         * 按 Accept、If-None-Match 和 Accept-Encoding 构建响应，未声明或接受任意类型时返回 JSON；
+         * 已压缩的响应带 Content-Encoding，Tomcat 不会再次压缩。gzip 与未压缩的字节不同，ETag 加 -gzip 后缀区分，
+         * 避免缓存按未压缩的 ETag 拿到压缩后的内容
+         */
+        public ResponseEntity<byte[]> toResponse(String accept, String ifNoneMatch, String acceptEncoding) {
+            Representation representation = select(accept);
+            if (representation == null) {
+                return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build();
+            }
+            boolean gzip = acceptsGzip(acceptEncoding);
+            String etag = gzip ? representation.gzipEtag : representation.etag;
+            if (ifNoneMatch != null && matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(etag)
+                        .cacheControl(CacheControl.noCache())
+                        .build();
+            }
+            ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                    .contentType(representation.mediaType)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+            if (gzip) {
+                return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(representation.gzip);
+            }
+            return builder.body(representation.bytes);
+        }
+
+        // If-None-Match 按弱比较逐个匹配实体标签
+        private static boolean matches(String ifNoneMatch, String etag) {
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals("*") || tag.equals(etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * 按 Accept-Encoding 的 q 值判断是否接受 gzip：显式列出 gzip（或 x-gzip）时以其 q 值为准，
+         * 否则看 *；q=0 表示不接受，q 值无法解析的项忽略
+         */
+        static boolean acceptsGzip(String acceptEncoding) {
+            if (acceptEncoding == null) {
+                return false;
+            }
+            Double gzip = null;
+            Double wildcard = null;
+            for (String element : acceptEncoding.split(",")) {
+                String[] parts = element.split(";");
+                String coding = parts[0].trim().toLowerCase();
+                double quality = 1.0;
+                for (int i = 1; i < parts.length; i++) {
+                    String parameter = parts[i].trim();
+                    if (parameter.length() > 2 && parameter.substring(0, 2).equalsIgnoreCase("q=")) {
+                        try {
+                            quality = Double.parseDouble(parameter.substring(2).trim());
+                        } catch (NumberFormatException e) {
+                            quality = -1;
+                        }
+                    }
+                }
+                if (quality < 0 || quality > 1) {
+                    continue;
+                }
+                if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                    gzip = gzip == null ? quality : Math.max(gzip, quality);
+                } else if (coding.equals("*")) {
+                    wildcard = quality;
+                }
+            }
+            if (gzip != null) {
+                return gzip > 0;
+            }
+            return wildcard != null && wildcard > 0;
+        }
+
+        private Representation select(String accept) {
+            if (accept == null || accept.isEmpty()) {
+                return json;
+            }
+            List<MediaType> mediaTypes;
+            try {
+                mediaTypes = MediaType.parseMediaTypes(accept);
+            } catch (InvalidMediaTypeException e) {
+                return json;
+            }
+            MediaType.sortBySpecificityAndQuality(mediaTypes);
+            for (MediaType mediaType : mediaTypes) {
+                if (mediaType.getQualityValue() == 0) {
+                    continue;
+                }
+                if (mediaType.isCompatibleWith(json.mediaType)) {
+                    return json;
+                }
+                if (mediaType.isCompatibleWith(cbor.mediaType)) {
+                    return cbor;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class Representation {
+        final MediaType mediaType;
+        final byte[] bytes;
+        final byte[] gzip;
+        final String etag;
+        final String gzipEtag;
+
+        Representation(MediaType mediaType, byte[] bytes, String etagSuffix) {
+            this.mediaType = mediaType;
+            this.bytes = bytes;
+            this.gzip = gzip(bytes);
+            String digest = DigestUtils.md5DigestAsHex(bytes) + etagSuffix;
+            this.etag = "\"" + digest + "\"";
+            this.gzipEtag = "\"" + digest + "-gzip\"";
+        }
+
+        private static byte[] gzip(byte[] bytes) {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(bytes.length / 8, 64));
+            try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+                out.write(bytes);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return buffer.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package cn.coderhythm.service;
+
+import cn.coderhythm.models.MaintenanceUnit;
+import cn.coderhythm.models.ProblemReport;
+import cn.coderhythm.repository.MaintenanceUnitRepository;
+import cn.coderhythm.repository.ProblemReportRepository;
+import cn.coderhythm.spatial.BoundingBox;
+import cn.coderhythm.spatial.GeoPolygon;
+import cn.coderhythm.spatial.GeoUtils;
+import cn.coderhythm.spatial.RTree;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 管养单元边界与问题坐标的内存空间索引
+ * 启动时从数据库全量构建 R 树，之后随管养单元和问题上报的写操作增量维护。
+ * 查询只返回 ID，由调用方一次性批量加载实体。
+ */
+@Service
+@Slf4j
+public class SpatialIndexService {
+
+    @Autowired
+    private MaintenanceUnitRepository maintenanceUnitRepository;
+
+    @Autowired
+    private ProblemReportRepository problemReportRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final RTree<Long> unitTree = new RTree<>();
+    private final Map<Long, GeoPolygon> unitPolygons = new HashMap<>();
+
+    private final RTree<Long> problemTree = new RTree<>();
+    private final Map<Long, double[]> problemPoints = new HashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<MaintenanceUnit> units = maintenanceUnitRepository.findByBoundaryIsNotNull();
+        List<ProblemReport> problems = problemReportRepository.findByLatitudeIsNotNullAndLongitudeIsNotNull();
+
+        lock.writeLock().lock();
+        try {
+            unitTree.clear();
+            unitPolygons.clear();
+            problemTree.clear();
+            problemPoints.clear();
+            units.forEach(this::putUnit);
+            problems.forEach(this::putProblem);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("空间索引构建完成：管养单元 {} 个，问题点位 {} 个", unitPolygons.size(), problemPoints.size());
+    }
+
+    /**
+     * 新增或更新管养单元边界，边界为空时从索引中移除
+     */
+    public void indexUnit(MaintenanceUnit unit) {
+        lock.writeLock().lock();
+        try {
+            removeUnitInternal(unit.getId());
+            putUnit(unit);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeUnit(Long unitId) {
+        lock.writeLock().lock();
+        try {
+            removeUnitInternal(unitId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 新增或更新问题坐标，坐标为空时从索引中移除
+     */
+    public void indexProblem(ProblemReport problem) {
+        lock.writeLock().lock();
+        try {
+            removeProblemInternal(problem.getId());
+            putProblem(problem);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeProblem(Long problemId) {
+        lock.writeLock().lock();
+        try {
+            removeProblemInternal(problemId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 查找包含该坐标的管养单元
+     */
+    public List<Long> findUnitsContaining(double lat, double lng) {
+        lock.readLock().lock();
+        try {
+            List<Long> result = new ArrayList<>();
+            for (Long unitId : unitTree.search(BoundingBox.ofPoint(lng, lat))) {
+                if (unitPolygons.get(unitId).contains(lng, lat)) {
+                    result.add(unitId);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 查找边界与矩形范围相交的管养单元
+     */
+    public List<Long> findUnitsInBox(BoundingBox box) {
+        lock.readLock().lock();
+        try {
+            return unitTree.search(box);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 查找矩形范围内的问题
+     */
+    public List<Long> findProblemsInBox(BoundingBox box) {
+        lock.readLock().lock();
+        try {
+            return problemTree.search(box);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 查找半径范围内的问题，按距离由近到远排序
+     */
+    public List<Long> findProblemsWithin(double lat, double lng, double radiusMeters) {
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> distances = new HashMap<>();
+            for (Long problemId : problemTree.search(GeoUtils.boxAround(lat, lng, radiusMeters))) {
+                double[] point = problemPoints.get(problemId);
+                double distance = GeoUtils.distanceMeters(lat, lng, point[1], point[0]);
+                if (distance <= radiusMeters) {
+                    distances.put(problemId, distance);
+                }
+            }
+            List<Long> result = new ArrayList<>(distances.keySet());
+            result.sort(Comparator.comparing(distances::get));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void putUnit(MaintenanceUnit unit) {
+        if (unit.getBoundary() == null || unit.getBoundary().size() < 3) {
+            return;
+        }
+        try {
+            GeoPolygon polygon = new GeoPolygon(unit.getBoundary());
+            unitPolygons.put(unit.getId(), polygon);
+            unitTree.insert(polygon.getBounds(), unit.getId());
+        } catch (IllegalArgumentException e) {
+            log.warn("管养单元 {} 的边界无效，未加入空间索引: {}", unit.getId(), e.getMessage());
+        }
+    }
+
+    private void removeUnitInternal(Long unitId) {
+        GeoPolygon polygon = unitPolygons.remove(unitId);
+        if (polygon != null) {
+            unitTree.remove(polygon.getBounds(), unitId);
+        }
+    }
+
+    private void putProblem(ProblemReport problem) {
+        if (!problem.hasCoordinates()) {
+            return;
+        }
+        double[] point = new double[]{problem.getLongitude(), problem.getLatitude()};
+        problemPoints.put(problem.getId(), point);
+        problemTree.insert(BoundingBox.ofPoint(point[0], point[1]), problem.getId());
+    }
+
+    private void removeProblemInternal(Long problemId) {
+        double[] point = problemPoints.remove(problemId);
+        if (point != null) {
+            problemTree.remove(BoundingBox.ofPoint(point[0], point[1]), problemId);
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package cn.coderhythm.service;
+
+import cn.coderhythm.event.ChangeEvent;
+import cn.coderhythm.models.MaintenanceCompany;
+import cn.coderhythm.models.MaintenanceUnit;
+import cn.coderhythm.models.ProblemReport;
+import cn.coderhythm.models.SyncChangeLog;
+import cn.coderhythm.models.SyncState;
+import cn.coderhythm.repository.MaintenanceCompanyRepository;
+import cn.coderhythm.repository.MaintenanceUnitRepository;
+import cn.coderhythm.repository.ProblemReportRepository;
+import cn.coderhythm.repository.SyncChangeLogRepository;
+import cn.coderhythm.repository.SyncStateRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 离线巡查端的增量同步
+ * 业务写操作通过 ChangeEvent 在同一事务中追加到 sync_change_log，客户端按版本号分页拉取“自版本 N 以来的变更”。
+ * 定期压缩：同一实体只保留最新一条记录；超过保留期的墓碑被清理，并记录清理水位，
+ * 游标落后于水位的客户端需要全量重新同步。
+ */
+@Service
+@Slf4j
+public class SyncService {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int COMPACTION_BATCH = 1000;
+
+    // 参与同步的实体类型与对应的表
+    private static final Map<String, String> ENTITY_TABLES = new LinkedHashMap<>();
+
+    static {
+        ENTITY_TABLES.put(ChangeEvent.ENTITY_COMPANY, "maintenance_companies");
+        ENTITY_TABLES.put(ChangeEvent.ENTITY_UNIT, "maintenance_units");
+        ENTITY_TABLES.put(ChangeEvent.ENTITY_PROBLEM, "problem_reports");
+    }
+
+    @Autowired
+    private SyncChangeLogRepository syncChangeLogRepository;
+
+    @Autowired
+    private SyncStateRepository syncStateRepository;
+
+    @Autowired
+    private MaintenanceCompanyRepository maintenanceCompanyRepository;
+
+    @Autowired
+    private MaintenanceUnitRepository maintenanceUnitRepository;
+
+    @Autowired
+    private ProblemReportRepository problemReportRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.sync.settle-ms:1000}")
+    private long settleMs;
+
+    @Value("${app.sync.tombstone-retention-days:30}")
+    private int tombstoneRetentionDays;
+
+    /**
+     * 首次启用时为已有数据补齐 UPSERT 记录，否则从版本 0 同步的客户端拿不到历史数据
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedIfEmpty() {
+        if (syncChangeLogRepository.count() > 0 || syncStateRepository.existsById(SyncState.PURGED_THROUGH)) {
+            return;
+        }
+        ENTITY_TABLES.forEach((entityType, table) -> {
+            int rows = jdbcTemplate.update(
+                    "INSERT INTO sync_change_log (entity_type, entity_id, operation, changed_at) " +
+                    "SELECT ?, id, ?, CURRENT_TIMESTAMP FROM " + table + " ORDER BY id",
+                    entityType, SyncChangeLog.OPERATION_UPSERT);
+            log.info("增量同步日志初始化: {} 共 {} 条", entityType, rows);
+        });
+        syncStateRepository.save(new SyncState(SyncState.PURGED_THROUGH, 0L));
+    }
+
+    /**
+     * 在业务写操作的事务提交前写入变更日志，两者一起提交或回滚，不会出现数据已变更而客户端同步不到的情况；
+     * 事务外发布的事件（如定时任务）单独写入
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onChangeEvent(ChangeEvent event) {
+        if (!ENTITY_TABLES.containsKey(event.getEntity())) {
+            return;
+        }
+        String operation = ChangeEvent.ACTION_DELETED.equals(event.getAction())
+                ? SyncChangeLog.OPERATION_DELETE
+                : SyncChangeLog.OPERATION_UPSERT;
+        syncChangeLogRepository.save(new SyncChangeLog(event.getEntity(), event.getEntityId(), operation));
+    }
+
+    /**
+     * 获取某版本之后的变更
+     * @param since 客户端已同步到的版本号，首次同步传 0
+     * @param limit 每页条数
+     */
+    public Map<String, Object> getChangesSince(long since, int limit) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("since", since);
+
+        long purgedThrough = syncStateRepository.findById(SyncState.PURGED_THROUGH)
+                .map(SyncState::getLongValue)
+                .orElse(0L);
+        if (since > 0 && since < purgedThrough) {
+            // 客户端错过了已被清理的墓碑，只能全量重新同步
+            response.put("resetRequired", true);
+            response.put("nextVersion", 0L);
+            response.put("hasMore", true);
+            response.put("changes", new ArrayList<>());
+            return response;
+        }
+
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        LocalDateTime settledBefore = LocalDateTime.now().minusNanos(settleMs * 1_000_000L);
+        List<SyncChangeLog> entries = syncChangeLogRepository.findChangesSince(
+                since, settledBefore, PageRequest.of(0, pageSize));
+
+        // 同一页中同一实体只保留最新一条
+        Map<String, SyncChangeLog> latest = new LinkedHashMap<>();
+        for (SyncChangeLog entry : entries) {
+            String key = entry.getEntityType() + ":" + entry.getEntityId();
+            latest.remove(key);
+            latest.put(key, entry);
+        }
+
+        Map<String, Map<Long, ?>> payloads = loadPayloads(latest.values());
+        List<Map<String, Object>> changes = new ArrayList<>();
+        for (SyncChangeLog entry : latest.values()) {
+            Map<String, Object> change = new LinkedHashMap<>();
+            change.put("version", entry.getVersion());
+            change.put("entityType", entry.getEntityType());
+            change.put("entityId", entry.getEntityId());
+            change.put("operation", entry.getOperation());
+            if (SyncChangeLog.OPERATION_UPSERT.equals(entry.getOperation())) {
+                Object data = payloads.getOrDefault(entry.getEntityType(), Collections.emptyMap()).get(entry.getEntityId());
+                if (data == null) {
+                    // 实体已被删除，后续会收到对应的墓碑
+                    continue;
+                }
+                change.put("data", data);
+            }
+            changes.add(change);
+        }
+
+        long nextVersion = entries.isEmpty() ? since : entries.get(entries.size() - 1).getVersion();
+        response.put("resetRequired", false);
+        response.put("nextVersion", nextVersion);
+        response.put("hasMore", entries.size() == pageSize);
+        response.put("changes", changes);
+        return response;
+    }
+
+    /**
+     * 压缩变更日志
+     */
+    @Scheduled(cron = "${app.sync.compaction-cron:0 30 3 * * *}")
+    public void compact() {
+        int superseded = 0;
+        List<Long> versions;
+        while (!(versions = syncChangeLogRepository.findSupersededVersions(PageRequest.of(0, COMPACTION_BATCH))).isEmpty()) {
+            superseded += syncChangeLogRepository.deleteByVersions(versions);
+        }
+
+        int tombstones = 0;
+        long purgedThrough = 0;
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(tombstoneRetentionDays);
+        while (!(versions = syncChangeLogRepository.findExpiredTombstones(cutoff, PageRequest.of(0, COMPACTION_BATCH))).isEmpty()) {
+            purgedThrough = Math.max(purgedThrough, versions.get(versions.size() - 1));
+            // 先推进水位再删除，保证任何时刻水位都不低于已删除的墓碑
+            advancePurgedThrough(purgedThrough);
+            tombstones += syncChangeLogRepository.deleteByVersions(versions);
+        }
+        log.info("增量同步日志压缩完成：清理被取代记录 {} 条，过期墓碑 {} 条", superseded, tombstones);
+    }
+
+    public Long getCurrentVersion() {
+        Long max = syncChangeLogRepository.findMaxVersion();
+        return max != null ? max : 0L;
+    }
+
+    private void advancePurgedThrough(long version) {
+        SyncState state = syncStateRepository.findById(SyncState.PURGED_THROUGH)
+                .orElse(new SyncState(SyncState.PURGED_THROUGH, 0L));
+        if (state.getLongValue() == null || state.getLongValue() < version) {
+            state.setLongValue(version);
+            syncStateRepository.save(state);
+        }
+    }
+
+    // 每种实体一次批量查询加载当前数据
+    private Map<String, Map<Long, ?>> loadPayloads(Iterable<SyncChangeLog> entries) {
+        Map<String, Set<Long>> idsByType = new HashMap<>();
+        for (SyncChangeLog entry : entries) {
+            if (SyncChangeLog.OPERATION_UPSERT.equals(entry.getOperation())) {
+                idsByType.computeIfAbsent(entry.getEntityType(), type -> new HashSet<>()).add(entry.getEntityId());
+            }
+        }
+
+        Map<String, Map<Long, ?>> payloads = new HashMap<>();
+        Set<Long> companyIds = idsByType.get(ChangeEvent.ENTITY_COMPANY);
+        if (companyIds != null) {
+            payloads.put(ChangeEvent.ENTITY_COMPANY, maintenanceCompanyRepository.findAllById(companyIds).stream()
+                    .collect(Collectors.toMap(MaintenanceCompany::getId, Function.identity())));
+        }
+        Set<Long> unitIds = idsByType.get(ChangeEvent.ENTITY_UNIT);
+        if (unitIds != null) {
+            payloads.put(ChangeEvent.ENTITY_UNIT, maintenanceUnitRepository.findAllById(unitIds).stream()
+                    .collect(Collectors.toMap(MaintenanceUnit::getId, Function.identity())));
+        }
+        Set<Long> problemIds = idsByType.get(ChangeEvent.ENTITY_PROBLEM);
+        if (problemIds != null) {
+            payloads.put(ChangeEvent.ENTITY_PROBLEM, problemReportRepository.findAllById(problemIds).stream()
+                    .collect(Collectors.toMap(ProblemReport::getId, Function.identity())));
+        }
+        return payloads;
+    }
+}
@@ -0,0 +1,63 @@
+package cn.coderhythm.spatial;
+
+/**
+ * 经纬度矩形范围（不可变），x 为经度，y 为纬度
+ */
+public final class BoundingBox {
+
+    private final double minLng;
+    private final double minLat;
+    private final double maxLng;
+    private final double maxLat;
+
+    public BoundingBox(double minLng, double minLat, double maxLng, double maxLat) {
+        this.minLng = Math.min(minLng, maxLng);
+        this.minLat = Math.min(minLat, maxLat);
+        this.maxLng = Math.max(minLng, maxLng);
+        this.maxLat = Math.max(minLat, maxLat);
+    }
+
+    public static BoundingBox ofPoint(double lng, double lat) {
+        return new BoundingBox(lng, lat, lng, lat);
+    }
+
+    public boolean intersects(BoundingBox other) {
+        return minLng <= other.maxLng && maxLng >= other.minLng
+                && minLat <= other.maxLat && maxLat >= other.minLat;
+    }
+
+    public boolean contains(double lng, double lat) {
+        return lng >= minLng && lng <= maxLng && lat >= minLat && lat <= maxLat;
+    }
+
+    public BoundingBox union(BoundingBox other) {
+        return new BoundingBox(
+                Math.min(minLng, other.minLng), Math.min(minLat, other.minLat),
+                Math.max(maxLng, other.maxLng), Math.max(maxLat, other.maxLat));
+    }
+
+    public double area() {
+        return (maxLng - minLng) * (maxLat - minLat);
+    }
+
+    // 合并 other 后面积的增量
+    public double enlargement(BoundingBox other) {
+        return union(other).area() - area();
+    }
+
+    public double getMinLng() {
+        return minLng;
+    }
+
+    public double getMinLat() {
+        return minLat;
+    }
+
+    public double getMaxLng() {
+        return maxLng;
+    }
+
+    public double getMaxLat() {
+        return maxLat;
+    }
+}
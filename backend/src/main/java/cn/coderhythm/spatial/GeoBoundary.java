@@ -0,0 +1,71 @@
+package cn.coderhythm.spatial;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 管养范围边界（不可变），顶点为 [经度, 纬度]，JSON 与数据库中均表示为 [[经度, 纬度], ...]
+ * 按顶点坐标比较相等：Hibernate 脏检查时比较的是快照与当前值，
+ * 直接使用 List&lt;double[]&gt; 时数组只按引用比较，带边界的实体每次 flush 都会被当作已修改。
+ * 顶点格式在构建 GeoPolygon 时校验，这里只做保存。实体放入二级缓存时按 Serializable 拆解。
+ */
+public final class GeoBoundary implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final double[][] vertices;
+
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public GeoBoundary(double[][] vertices) {
+        this.vertices = new double[vertices.length][];
+        for (int i = 0; i < vertices.length; i++) {
+            this.vertices[i] = vertices[i] == null ? null : vertices[i].clone();
+        }
+    }
+
+    /**
+     * 由请求中的顶点列表创建，列表为 null 时返回 null
+     */
+    public static GeoBoundary of(List<double[]> vertices) {
+        return vertices == null ? null : new GeoBoundary(vertices.toArray(new double[0][]));
+    }
+
+    public int size() {
+        return vertices.length;
+    }
+
+    public boolean isEmpty() {
+        return vertices.length == 0;
+    }
+
+    // 第 i 个顶点的副本，格式无效的顶点原样返回（可能为 null）
+    public double[] vertex(int i) {
+        return vertices[i] == null ? null : vertices[i].clone();
+    }
+
+    // 序列化时直接输出内部数组，不对外暴露
+    @JsonValue
+    private double[][] vertices() {
+        return vertices;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof GeoBoundary)) {
+            return false;
+        }
+        return Arrays.deepEquals(vertices, ((GeoBoundary) o).vertices);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.deepHashCode(vertices);
+    }
+}
@@ -0,0 +1,56 @@
+package cn.coderhythm.spatial;
+
+/**
+ * 简单多边形（无洞），顶点为 [经度, 纬度]
+ */
+public final class GeoPolygon {
+
+    private final double[] lngs;
+    private final double[] lats;
+    private final BoundingBox bounds;
+
+    public GeoPolygon(GeoBoundary vertices) {
+        if (vertices == null || vertices.size() < 3) {
+            throw new IllegalArgumentException("多边形至少需要3个顶点");
+        }
+        int n = vertices.size();
+        lngs = new double[n];
+        lats = new double[n];
+        double minLng = Double.MAX_VALUE, minLat = Double.MAX_VALUE;
+        double maxLng = -Double.MAX_VALUE, maxLat = -Double.MAX_VALUE;
+        for (int i = 0; i < n; i++) {
+            double[] vertex = vertices.vertex(i);
+            if (vertex == null || vertex.length < 2) {
+                throw new IllegalArgumentException("顶点格式应为 [经度, 纬度]");
+            }
+            lngs[i] = vertex[0];
+            lats[i] = vertex[1];
+            minLng = Math.min(minLng, vertex[0]);
+            minLat = Math.min(minLat, vertex[1]);
+            maxLng = Math.max(maxLng, vertex[0]);
+            maxLat = Math.max(maxLat, vertex[1]);
+        }
+        bounds = new BoundingBox(minLng, minLat, maxLng, maxLat);
+    }
+
+    /**
+     * 射线法判断点是否落在多边形内
+     */
+    public boolean contains(double lng, double lat) {
+        if (!bounds.contains(lng, lat)) {
+            return false;
+        }
+        boolean inside = false;
+        for (int i = 0, j = lngs.length - 1; i < lngs.length; j = i++) {
+            if ((lats[i] > lat) != (lats[j] > lat)
+                    && lng < (lngs[j] - lngs[i]) * (lat - lats[i]) / (lats[j] - lats[i]) + lngs[i]) {
+                inside = !inside;
+            }
+        }
+        return inside;
+    }
+
+    public BoundingBox getBounds() {
+        return bounds;
+    }
+}
@@ -0,0 +1,35 @@
+package cn.coderhythm.spatial;
+
+/**
+ * 经纬度距离计算工具
+ */
+public final class GeoUtils {
+
+    private static final double EARTH_RADIUS_METERS = 6_371_000d;
+    private static final double METERS_PER_DEGREE_LAT = 111_320d;
+
+    private GeoUtils() {
+    }
+
+    /**
+     * Haversine 公式计算两点间的球面距离（米）
+     */
+    public static double distanceMeters(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /**
+     * 以某点为中心、半径为 radiusMeters 的外接矩形，用于在 R 树中做粗筛
+     */
+    public static BoundingBox boxAround(double lat, double lng, double radiusMeters) {
+        double dLat = radiusMeters / METERS_PER_DEGREE_LAT;
+        double cosLat = Math.max(Math.cos(Math.toRadians(lat)), 1e-6);
+        double dLng = radiusMeters / (METERS_PER_DEGREE_LAT * cosLat);
+        return new BoundingBox(lng - dLng, lat - dLat, lng + dLng, lat + dLat);
+    }
+}
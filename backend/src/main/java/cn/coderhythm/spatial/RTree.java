@@ -0,0 +1,309 @@
+package cn.coderhythm.spatial;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 内存 R 树（Guttman，二次分裂）
+ * 非线程安全，由调用方加锁
+ *
+ * @param <T> 索引对象，删除时通过 equals 匹配
+ */
+public class RTree<T> {
+
+    private static final int DEFAULT_MAX_ENTRIES = 16;
+
+    private final int maxEntries;
+    private final int minEntries;
+
+    private Node<T> root;
+    private int size;
+
+    public RTree() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    public RTree(int maxEntries) {
+        if (maxEntries < 4) {
+            throw new IllegalArgumentException("maxEntries 不能小于 4");
+        }
+        this.maxEntries = maxEntries;
+        this.minEntries = Math.max(2, maxEntries * 2 / 5);
+        this.root = new Node<>(true);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        root = new Node<>(true);
+        size = 0;
+    }
+
+    public void insert(BoundingBox box, T value) {
+        Node<T> entry = new Node<>(box, value);
+        Node<T> leaf = chooseLeaf(box);
+        leaf.add(entry);
+        size++;
+        adjustTree(leaf, leaf.children.size() > maxEntries ? split(leaf) : null);
+    }
+
+    /**
+     * 删除 box 范围内与 value 相等的条目
+     * @return 是否删除成功
+     */
+    public boolean remove(BoundingBox box, T value) {
+        Node<T> leaf = findLeaf(root, box, value);
+        if (leaf == null) {
+            return false;
+        }
+        leaf.children.removeIf(entry -> Objects.equals(entry.value, value));
+        size--;
+        condenseTree(leaf);
+        return true;
+    }
+
+    /**
+     * 查询外接矩形与 box 相交的全部对象
+     */
+    public List<T> search(BoundingBox box) {
+        List<T> result = new ArrayList<>();
+        if (size > 0) {
+            search(root, box, result);
+        }
+        return result;
+    }
+
+    private void search(Node<T> node, BoundingBox box, List<T> result) {
+        for (Node<T> child : node.children) {
+            if (child.box.intersects(box)) {
+                if (node.leaf) {
+                    result.add(child.value);
+                } else {
+                    search(child, box, result);
+                }
+            }
+        }
+    }
+
+    private Node<T> chooseLeaf(BoundingBox box) {
+        Node<T> node = root;
+        while (!node.leaf) {
+            Node<T> best = null;
+            double bestEnlargement = Double.MAX_VALUE;
+            double bestArea = Double.MAX_VALUE;
+            for (Node<T> child : node.children) {
+                double enlargement = child.box.enlargement(box);
+                double area = child.box.area();
+                if (enlargement < bestEnlargement || (enlargement == bestEnlargement && area < bestArea)) {
+                    best = child;
+                    bestEnlargement = enlargement;
+                    bestArea = area;
+                }
+            }
+            node = best;
+        }
+        return node;
+    }
+
+    private Node<T> findLeaf(Node<T> node, BoundingBox box, T value) {
+        if (node.leaf) {
+            for (Node<T> entry : node.children) {
+                if (Objects.equals(entry.value, value)) {
+                    return node;
+                }
+            }
+            return null;
+        }
+        for (Node<T> child : node.children) {
+            if (child.box.intersects(box)) {
+                Node<T> leaf = findLeaf(child, box, value);
+                if (leaf != null) {
+                    return leaf;
+                }
+            }
+        }
+        return null;
+    }
+
+    private void adjustTree(Node<T> node, Node<T> sibling) {
+        while (true) {
+            node.recalculateBox();
+            if (node == root) {
+                if (sibling != null) {
+                    Node<T> newRoot = new Node<>(false);
+                    newRoot.add(node);
+                    newRoot.add(sibling);
+                    newRoot.recalculateBox();
+                    root = newRoot;
+                }
+                return;
+            }
+            Node<T> parent = node.parent;
+            if (sibling != null) {
+                parent.add(sibling);
+                sibling = parent.children.size() > maxEntries ? split(parent) : null;
+            }
+            node = parent;
+        }
+    }
+
+    private void condenseTree(Node<T> leaf) {
+        List<Node<T>> orphans = new ArrayList<>();
+        Node<T> node = leaf;
+        while (node != root) {
+            Node<T> parent = node.parent;
+            if (node.children.size() < minEntries) {
+                parent.children.remove(node);
+                collectEntries(node, orphans);
+            } else {
+                node.recalculateBox();
+            }
+            node = parent;
+        }
+        root.recalculateBox();
+        while (!root.leaf && root.children.size() == 1) {
+            root = root.children.get(0);
+            root.parent = null;
+        }
+        if (!root.leaf && root.children.isEmpty()) {
+            root = new Node<>(true);
+        }
+        for (Node<T> orphan : orphans) {
+            size--;
+            insert(orphan.box, orphan.value);
+        }
+    }
+
+    private void collectEntries(Node<T> node, List<Node<T>> out) {
+        if (node.leaf) {
+            out.addAll(node.children);
+        } else {
+            for (Node<T> child : node.children) {
+                collectEntries(child, out);
+            }
+        }
+    }
+
+    /**
+     * 二次分裂：node 保留第一组，返回第二组组成的新节点
+     */
+    private Node<T> split(Node<T> node) {
+        List<Node<T>> remaining = new ArrayList<>(node.children);
+        node.children.clear();
+        Node<T> sibling = new Node<>(node.leaf);
+
+        // 选出放在一起最浪费面积的两个条目作为种子
+        int seedA = 0, seedB = 1;
+        double worst = -Double.MAX_VALUE;
+        for (int i = 0; i < remaining.size(); i++) {
+            for (int j = i + 1; j < remaining.size(); j++) {
+                BoundingBox a = remaining.get(i).box;
+                BoundingBox b = remaining.get(j).box;
+                double waste = a.union(b).area() - a.area() - b.area();
+                if (waste > worst) {
+                    worst = waste;
+                    seedA = i;
+                    seedB = j;
+                }
+            }
+        }
+        Node<T> first = remaining.get(seedA);
+        Node<T> second = remaining.get(seedB);
+        remaining.remove(seedB);
+        remaining.remove(seedA);
+        node.add(first);
+        sibling.add(second);
+        BoundingBox boxA = first.box;
+        BoundingBox boxB = second.box;
+
+        while (!remaining.isEmpty()) {
+            // 某一组必须拿走剩余全部条目才能达到下限
+            if (node.children.size() + remaining.size() == minEntries) {
+                for (Node<T> entry : remaining) {
+                    node.add(entry);
+                }
+                break;
+            }
+            if (sibling.children.size() + remaining.size() == minEntries) {
+                for (Node<T> entry : remaining) {
+                    sibling.add(entry);
+                }
+                break;
+            }
+
+            // 选择对两组偏好差异最大的条目
+            int pick = 0;
+            double maxDiff = -1;
+            for (int i = 0; i < remaining.size(); i++) {
+                BoundingBox box = remaining.get(i).box;
+                double diff = Math.abs(boxA.enlargement(box) - boxB.enlargement(box));
+                if (diff > maxDiff) {
+                    maxDiff = diff;
+                    pick = i;
+                }
+            }
+            Node<T> entry = remaining.remove(pick);
+            double growA = boxA.enlargement(entry.box);
+            double growB = boxB.enlargement(entry.box);
+            boolean toA;
+            if (growA != growB) {
+                toA = growA < growB;
+            } else if (boxA.area() != boxB.area()) {
+                toA = boxA.area() < boxB.area();
+            } else {
+                toA = node.children.size() <= sibling.children.size();
+            }
+            if (toA) {
+                node.add(entry);
+                boxA = boxA.union(entry.box);
+            } else {
+                sibling.add(entry);
+                boxB = boxB.union(entry.box);
+            }
+        }
+
+        node.recalculateBox();
+        sibling.recalculateBox();
+        return sibling;
+    }
+
+    private static final class Node<T> {
+        final boolean leaf;
+        final List<Node<T>> children;
+        final T value;
+        BoundingBox box;
+        Node<T> parent;
+
+        // 内部节点或叶子节点
+        Node(boolean leaf) {
+            this.leaf = leaf;
+            this.children = new ArrayList<>();
+            this.value = null;
+        }
+
+        // 数据条目
+        Node(BoundingBox box, T value) {
+            this.leaf = false;
+            this.children = null;
+            this.value = value;
+            this.box = box;
+        }
+
+        void add(Node<T> child) {
+            children.add(child);
+            child.parent = this;
+            box = box == null ? child.box : box.union(child.box);
+        }
+
+        void recalculateBox() {
+            BoundingBox result = null;
+            for (Node<T> child : children) {
+                result = result == null ? child.box : result.union(child.box);
+            }
+            box = result;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package cn.coderhythm.timer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 分层时间轮
+ * 第 0 层每格一个 tick，第 i 层每格 wheelSize^i 个 tick；远期条目放在高层，
+ * 时钟走到其所在格时再逐层下放，最终在第 0 层到期触发。增删为 O(1)，推进时钟只处理到期的格子。
+ * 非线程安全，由调用方加锁
+ *
+ * @param <T> 定时条目
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final List<Level<T>> levels = new ArrayList<>();
+
+    // 当前已处理到的 tick（绝对值，即时间戳 / tickMs）
+    private long currentTick;
+    private int size;
+
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (tickMs <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("tickMs 必须大于 0，wheelSize 不能小于 2");
+        }
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.currentTick = startMs / tickMs;
+        levels.add(new Level<>(1, wheelSize));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 添加定时条目
+     * @return false 表示已经到期，未加入时间轮，由调用方立即处理
+     */
+    public boolean add(long deadlineMs, T item) {
+        // 向上取整：条目在不早于截止时间的第一个 tick 触发
+        long deadlineTick = Math.floorDiv(deadlineMs + tickMs - 1, tickMs);
+        if (deadlineTick <= currentTick) {
+            return false;
+        }
+        place(new Entry<>(deadlineTick, item));
+        size++;
+        return true;
+    }
+
+    /**
+     * 将时钟推进到 nowMs，依次交出期间到期的条目
+     */
+    public void advanceTo(long nowMs, Consumer<T> expired) {
+        long targetTick = nowMs / tickMs;
+        while (currentTick < targetTick) {
+            currentTick++;
+            // 高层到达格子边界时先把条目下放
+            for (int i = levels.size() - 1; i >= 1; i--) {
+                Level<T> level = levels.get(i);
+                if (currentTick % level.span == 0) {
+                    for (Entry<T> entry : level.drain(slot(currentTick, level))) {
+                        if (entry.tick <= currentTick) {
+                            size--;
+                            expired.accept(entry.item);
+                        } else {
+                            place(entry);
+                        }
+                    }
+                }
+            }
+            Level<T> lowest = levels.get(0);
+            for (Entry<T> entry : lowest.drain(slot(currentTick, lowest))) {
+                size--;
+                expired.accept(entry.item);
+            }
+        }
+    }
+
+    private void place(Entry<T> entry) {
+        long delta = entry.tick - currentTick;
+        int index = 0;
+        long span = 1;
+        while (delta >= span * wheelSize) {
+            span *= wheelSize;
+            index++;
+            if (index == levels.size()) {
+                levels.add(new Level<>(span, wheelSize));
+            }
+        }
+        Level<T> level = levels.get(index);
+        level.buckets.get(slot(entry.tick, level)).add(entry);
+    }
+
+    private int slot(long tick, Level<T> level) {
+        return (int) ((tick / level.span) % wheelSize);
+    }
+
+    private static final class Level<T> {
+        // 每格包含的 tick 数
+        final long span;
+        final List<List<Entry<T>>> buckets;
+
+        Level(long span, int wheelSize) {
+            this.span = span;
+            this.buckets = new ArrayList<>(wheelSize);
+            for (int i = 0; i < wheelSize; i++) {
+                buckets.add(new ArrayList<>());
+            }
+        }
+
+        List<Entry<T>> drain(int slot) {
+            List<Entry<T>> bucket = buckets.get(slot);
+            if (bucket.isEmpty()) {
+                return bucket;
+            }
+            buckets.set(slot, new ArrayList<>());
+            return bucket;
+        }
+    }
+
+    private static final class Entry<T> {
+        final long tick;
+        final T item;
+
+        Entry(long tick, T item) {
+            this.tick = tick;
+            this.item = item;
+        }
+    }
+}
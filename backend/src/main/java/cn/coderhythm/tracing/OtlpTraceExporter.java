@@ -0,0 +1,90 @@
+package cn.coderhythm.tracing;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.propagation.TextMapGetter;
+import io.opentelemetry.exporter.otlp.http.trace.OtlpHttpSpanExporter;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 把请求追踪以 OTLP/HTTP 导出到本地 Collector
+ * 请求结束后一次性补建 span：根 span 覆盖整个请求，各阶段明细按记录时的偏移作为子 span；
+ * 请求头带 traceparent 时接到上游链路下。导出在后台批量进行，Collector 不可用时丢弃，不影响请求。
+ */
+@Slf4j
+public class OtlpTraceExporter implements AutoCloseable {
+
+    private static final AttributeKey<String> SERVICE_NAME = AttributeKey.stringKey("service.name");
+    private static final AttributeKey<String> HTTP_METHOD = AttributeKey.stringKey("http.method");
+    private static final AttributeKey<String> HTTP_ROUTE = AttributeKey.stringKey("http.route");
+    private static final AttributeKey<Long> HTTP_STATUS_CODE = AttributeKey.longKey("http.status_code");
+
+    private static final TextMapGetter<HttpServletRequest> HEADER_GETTER = new TextMapGetter<HttpServletRequest>() {
+        @Override
+        public Iterable<String> keys(HttpServletRequest request) {
+            return Collections.list(request.getHeaderNames());
+        }
+
+        @Override
+        public String get(HttpServletRequest request, String key) {
+            return request == null ? null : request.getHeader(key);
+        }
+    };
+
+    private final SdkTracerProvider tracerProvider;
+    private final Tracer tracer;
+
+    public OtlpTraceExporter(String endpoint, String serviceName) {
+        this.tracerProvider = SdkTracerProvider.builder()
+                .setResource(Resource.getDefault().merge(Resource.create(Attributes.of(SERVICE_NAME, serviceName))))
+                .addSpanProcessor(BatchSpanProcessor.builder(
+                        OtlpHttpSpanExporter.builder().setEndpoint(endpoint).build()).build())
+                .build();
+        this.tracer = tracerProvider.get(OtlpTraceExporter.class.getName());
+        log.info("请求追踪导出到 {}", endpoint);
+    }
+
+    void export(RequestTrace trace, long totalNanos, HttpServletRequest request, int status, String route) {
+        Context parent = W3CTraceContextPropagator.getInstance().extract(Context.root(), request, HEADER_GETTER);
+        long startEpochNanos = trace.getStartEpochNanos();
+        Span root = tracer.spanBuilder(request.getMethod() + " " + route)
+                .setParent(parent)
+                .setSpanKind(SpanKind.SERVER)
+                .setStartTimestamp(startEpochNanos, TimeUnit.NANOSECONDS)
+                .setAttribute(HTTP_METHOD, request.getMethod())
+                .setAttribute(HTTP_ROUTE, route)
+                .setAttribute(HTTP_STATUS_CODE, (long) status)
+                .startSpan();
+        if (status >= 500) {
+            root.setStatus(StatusCode.ERROR);
+        }
+        Context context = parent.with(root);
+        for (RequestTrace.Span span : trace.getSpans()) {
+            long spanStart = startEpochNanos + span.offsetNanos;
+            tracer.spanBuilder(span.name)
+                    .setParent(context)
+                    .setStartTimestamp(spanStart, TimeUnit.NANOSECONDS)
+                    .startSpan()
+                    .end(spanStart + span.durationNanos, TimeUnit.NANOSECONDS);
+        }
+        root.end(startEpochNanos + totalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void close() {
+        tracerProvider.close();
+    }
+}
@@ -0,0 +1,172 @@
+package cn.coderhythm.tracing;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 单个请求内各阶段的耗时记录，按线程保存
+ * 每个阶段按名称累计次数和总耗时，用于 Server-Timing 响应头和慢请求日志；另保留前 maxSpans 个明细，供导出 OpenTelemetry。
+ * 没有活动记录的线程上 start() 返回 0，stop() 直接返回，关闭时几乎没有开销。
+ */
+public final class RequestTrace {
+
+    public static final String JWT = "jwt";
+    public static final String USER = "user";
+    public static final String DB = "db";
+    public static final String DB_POOL = "db-pool";
+    public static final String HANDLER = "handler";
+    public static final String SERIALIZE = "serialize";
+
+    private static final ThreadLocal<RequestTrace> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final long startEpochNanos = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+    private final int maxSpans;
+    private final List<Span> spans = new ArrayList<>();
+    private final Map<String, Total> totals = new LinkedHashMap<>();
+
+    private long handlerStartNanos;
+    private long serializeStartNanos;
+
+    private RequestTrace(int maxSpans) {
+        this.maxSpans = maxSpans;
+    }
+
+    static RequestTrace begin(int maxSpans) {
+        RequestTrace trace = new RequestTrace(maxSpans);
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    static RequestTrace current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 阶段开始时间，当前线程没有活动记录时返回 0
+     */
+    public static long start() {
+        return CURRENT.get() != null ? System.nanoTime() : 0;
+    }
+
+    public static void stop(String name, long startNanos) {
+        RequestTrace trace = CURRENT.get();
+        if (trace == null || startNanos == 0) {
+            return;
+        }
+        trace.record(name, startNanos, System.nanoTime());
+    }
+
+    void enterHandler() {
+        handlerStartNanos = System.nanoTime();
+        serializeStartNanos = 0;
+    }
+
+    /**
+     * 控制器方法已返回、响应体即将写出
+     */
+    void enterSerialization() {
+        long now = System.nanoTime();
+        if (handlerStartNanos != 0) {
+            record(HANDLER, handlerStartNanos, now);
+            handlerStartNanos = 0;
+        }
+        serializeStartNanos = now;
+    }
+
+    void exitHandler() {
+        long now = System.nanoTime();
+        if (serializeStartNanos != 0) {
+            record(SERIALIZE, serializeStartNanos, now);
+        } else if (handlerStartNanos != 0) {
+            record(HANDLER, handlerStartNanos, now);
+        }
+        handlerStartNanos = 0;
+        serializeStartNanos = 0;
+    }
+
+    private void record(String name, long fromNanos, long toNanos) {
+        long duration = toNanos - fromNanos;
+        Total total = totals.computeIfAbsent(name, key -> new Total());
+        total.count++;
+        total.nanos += duration;
+        if (spans.size() < maxSpans) {
+            spans.add(new Span(name, fromNanos - startNanos, duration));
+        }
+    }
+
+    long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    long getStartEpochNanos() {
+        return startEpochNanos;
+    }
+
+    List<Span> getSpans() {
+        return Collections.unmodifiableList(spans);
+    }
+
+    /**
+     * Server-Timing 响应头，如 jwt;dur=0.31, db;dur=12.40;desc="3 calls", total;dur=20.02
+     */
+    String toServerTiming(long totalNanos) {
+        StringBuilder header = new StringBuilder();
+        totals.forEach((name, total) -> {
+            header.append(name).append(";dur=").append(millis(total.nanos));
+            if (total.count > 1) {
+                header.append(";desc=\"").append(total.count).append(" calls\"");
+            }
+            header.append(", ");
+        });
+        return header.append("total;dur=").append(millis(totalNanos)).toString();
+    }
+
+    /**
+     * 慢请求日志中的分阶段耗时，如 jwt=0.31ms db=12.40ms(3)
+     */
+    String describe() {
+        StringBuilder description = new StringBuilder();
+        totals.forEach((name, total) -> {
+            if (description.length() > 0) {
+                description.append(' ');
+            }
+            description.append(name).append('=').append(millis(total.nanos)).append("ms");
+            if (total.count > 1) {
+                description.append('(').append(total.count).append(')');
+            }
+        });
+        return description.toString();
+    }
+
+    // 不随默认区域变化，否则部分区域会输出逗号小数，Server-Timing 无法解析
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0);
+    }
+
+    static final class Span {
+        final String name;
+        final long offsetNanos;
+        final long durationNanos;
+
+        Span(String name, long offsetNanos, long durationNanos) {
+            this.name = name;
+            this.offsetNanos = offsetNanos;
+            this.durationNanos = durationNanos;
+        }
+    }
+
+    private static final class Total {
+        int count;
+        long nanos;
+    }
+}
@@ -0,0 +1,85 @@
+package cn.coderhythm.tracing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 请求级耗时追踪
+ * 请求开始时为当前线程开启 RequestTrace，结束时按需写 Server-Timing 响应头、输出慢请求日志、导出到 OpenTelemetry。
+ * Server-Timing 必须在响应体之前发出，而序列化耗时要等响应体写完才知道，所以开启该响应头时先缓存响应体。
+ */
+@Slf4j
+public class TracingFilter extends OncePerRequestFilter {
+
+    public static final String SERVER_TIMING = "Server-Timing";
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private final boolean serverTiming;
+    private final long slowRequestNanos;
+    private final int maxSpans;
+    private final List<String> excludedPaths;
+    private final OtlpTraceExporter exporter;
+
+    /**
+     * @param exporter 未开启导出时为 null
+     */
+    public TracingFilter(boolean serverTiming, long slowRequestMillis, int maxSpans, List<String> excludedPaths,
+                         OtlpTraceExporter exporter) {
+        this.serverTiming = serverTiming;
+        this.slowRequestNanos = TimeUnit.MILLISECONDS.toNanos(slowRequestMillis);
+        this.maxSpans = maxSpans;
+        this.excludedPaths = excludedPaths;
+        this.exporter = exporter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // SSE 等长连接不能缓存响应体，耗时也没有意义
+        String path = request.getServletPath();
+        return excludedPaths.stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper cachingResponse = serverTiming ? new ContentCachingResponseWrapper(response) : null;
+        RequestTrace trace = RequestTrace.begin(maxSpans);
+        try {
+            filterChain.doFilter(request, cachingResponse != null ? cachingResponse : response);
+        } finally {
+            RequestTrace.end();
+            long totalNanos = trace.elapsedNanos();
+            if (cachingResponse != null) {
+                if (!cachingResponse.isCommitted()) {
+                    cachingResponse.setHeader(SERVER_TIMING, trace.toServerTiming(totalNanos));
+                }
+                cachingResponse.copyBodyToResponse();
+            }
+            if (slowRequestNanos > 0 && totalNanos >= slowRequestNanos) {
+                log.warn("慢请求 {} {} 耗时 {}ms，状态 {}：{}", request.getMethod(), request.getRequestURI(),
+                        TimeUnit.NANOSECONDS.toMillis(totalNanos), response.getStatus(), trace.describe());
+            }
+            if (exporter != null) {
+                exporter.export(trace, totalNanos, request, response.getStatus(), route(request));
+            }
+        }
+    }
+
+    // 优先用匹配到的路由模板，避免路径参数让 span 名称无限增长
+    private static String route(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : request.getServletPath();
+    }
+}
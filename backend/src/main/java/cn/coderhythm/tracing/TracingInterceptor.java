@@ -0,0 +1,30 @@
+package cn.coderhythm.tracing;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 记录控制器方法和响应体写出的耗时
+ * 进入控制器时开始 handler 阶段；TracingResponseBodyAdvice 在写出响应体前把它切换为 serialize 阶段，请求完成时结束。
+ */
+public class TracingInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestTrace trace = RequestTrace.current();
+        if (trace != null) {
+            trace.enterHandler();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestTrace trace = RequestTrace.current();
+        if (trace != null) {
+            trace.exitHandler();
+        }
+    }
+}
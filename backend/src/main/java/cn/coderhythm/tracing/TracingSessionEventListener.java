@@ -0,0 +1,45 @@
+package cn.coderhythm.tracing;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * 把 Hibernate 的取连接和 JDBC 执行耗时记入当前请求
+ * 通过 hibernate.session.events.auto 为每个 Session 创建一个实例，与 StatisticalLoggingSessionEventListener 并存；
+ * Session 不跨线程使用，开始时间直接存在字段里。
+ */
+public class TracingSessionEventListener extends BaseSessionEventListener {
+
+    private long acquisitionStart;
+    private long executionStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcConnectionAcquisitionStart() {
+        acquisitionStart = RequestTrace.start();
+    }
+
+    @Override
+    public void jdbcConnectionAcquisitionEnd() {
+        RequestTrace.stop(RequestTrace.DB_POOL, acquisitionStart);
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executionStart = RequestTrace.start();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        RequestTrace.stop(RequestTrace.DB, executionStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = RequestTrace.start();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        RequestTrace.stop(RequestTrace.DB, batchStart);
+    }
+}
@@ -0,0 +1,20 @@
+package cn.coderhythm.upload;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * 分片上传的业务异常，携带返回给客户端的 HTTP 状态
+ */
+public class UploadException extends RuntimeException {
+
+    private final HttpStatus status;
+
+    public UploadException(HttpStatus status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,179 @@
+package cn.coderhythm.upload;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 分片上传会话
+ * 以 JSON 形式保存在数据文件旁边，服务重启后可以继续上传；已接收的分片用位图记录
+ */
+public class UploadSession {
+
+    private String id;
+    private String owner;
+    private String fileName;
+    private String contentType;
+    private String purpose;
+    private long totalSize;
+    private int chunkSize;
+    private int totalChunks;
+    private long createdAtMillis;
+    private long expiresAtMillis;
+
+    @JsonIgnore
+    private BitSet received = new BitSet();
+
+    // 保护位图与元数据文件的写入；持锁期间有文件 I/O，用显式锁而非 synchronized，避免虚拟线程被钉住
+    @JsonIgnore
+    private final Lock lock = new ReentrantLock();
+
+    // 默认构造函数，用于 Jackson 反序列化
+    public UploadSession() {
+    }
+
+    public UploadSession(String id, String owner, String fileName, String contentType, String purpose,
+                         long totalSize, int chunkSize) {
+        this.id = id;
+        this.owner = owner;
+        this.fileName = fileName;
+        this.contentType = contentType;
+        this.purpose = purpose;
+        this.totalSize = totalSize;
+        this.chunkSize = chunkSize;
+        this.totalChunks = (int) ((totalSize + chunkSize - 1) / chunkSize);
+        this.createdAtMillis = System.currentTimeMillis();
+    }
+
+    // 分片的预期长度，最后一片可能不足 chunkSize
+    public int expectedLength(int index) {
+        long offset = (long) index * chunkSize;
+        return (int) Math.min(chunkSize, totalSize - offset);
+    }
+
+    public void markReceived(int index) {
+        received.set(index);
+    }
+
+    @JsonIgnore
+    public Lock getLock() {
+        return lock;
+    }
+
+    @JsonIgnore
+    public int getReceivedCount() {
+        return received.cardinality();
+    }
+
+    @JsonIgnore
+    public boolean isComplete() {
+        return received.cardinality() == totalChunks;
+    }
+
+    @JsonIgnore
+    public List<Integer> getMissingChunks() {
+        List<Integer> missing = new ArrayList<>();
+        for (int i = received.nextClearBit(0); i < totalChunks; i = received.nextClearBit(i + 1)) {
+            missing.add(i);
+        }
+        return missing;
+    }
+
+    @JsonIgnore
+    public boolean isExpired(long nowMillis) {
+        return expiresAtMillis < nowMillis;
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getPurpose() {
+        return purpose;
+    }
+
+    public void setPurpose(String purpose) {
+        this.purpose = purpose;
+    }
+
+    public long getTotalSize() {
+        return totalSize;
+    }
+
+    public void setTotalSize(long totalSize) {
+        this.totalSize = totalSize;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public int getTotalChunks() {
+        return totalChunks;
+    }
+
+    public void setTotalChunks(int totalChunks) {
+        this.totalChunks = totalChunks;
+    }
+
+    public long[] getReceivedBits() {
+        return received.toLongArray();
+    }
+
+    public void setReceivedBits(long[] receivedBits) {
+        this.received = BitSet.valueOf(receivedBits != null ? receivedBits : new long[0]);
+    }
+
+    public long getCreatedAtMillis() {
+        return createdAtMillis;
+    }
+
+    public void setCreatedAtMillis(long createdAtMillis) {
+        this.createdAtMillis = createdAtMillis;
+    }
+
+    public long getExpiresAtMillis() {
+        return expiresAtMillis;
+    }
+
+    public void setExpiresAtMillis(long expiresAtMillis) {
+        this.expiresAtMillis = expiresAtMillis;
+    }
+}
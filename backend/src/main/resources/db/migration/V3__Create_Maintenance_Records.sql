@@ -0,0 +1,23 @@
+-- 养护记录表（MySQL），按 record_time 按月 RANGE COLUMNS 分区
+-- 分区键必须包含在主键中，因此主键为 (id, record_time)
+-- 后续月份的分区由 MaintenanceRecordPartitionService 自动维护
+CREATE TABLE IF NOT EXISTS maintenance_records (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    road VARCHAR(100) NOT NULL,
+    contractor VARCHAR(100) NOT NULL,
+    inspector VARCHAR(100),
+    location VARCHAR(200),
+    plant_type VARCHAR(50),
+    maintenance_goal VARCHAR(200),
+    technical_measures VARCHAR(500),
+    score INT NOT NULL,
+    record_time DATETIME(6) NOT NULL,
+    created_at DATETIME(6),
+    PRIMARY KEY (id, record_time),
+    KEY idx_maintenance_records_contractor_time (contractor, record_time),
+    KEY idx_maintenance_records_road_time (road, record_time),
+    KEY idx_maintenance_records_time (record_time)
+)
+PARTITION BY RANGE COLUMNS(record_time) (
+    PARTITION p_future VALUES LESS THAN (MAXVALUE)
+);
@@ -0,0 +1,18 @@
+-- 增量同步变更日志，自增主键即版本号
+CREATE TABLE IF NOT EXISTS sync_change_log (
+    version BIGINT NOT NULL AUTO_INCREMENT,
+    entity_type VARCHAR(30) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    operation VARCHAR(10) NOT NULL,
+    changed_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (version),
+    KEY idx_sync_change_log_entity (entity_type, entity_id, version),
+    KEY idx_sync_change_log_changed_at (changed_at)
+);
+
+-- 增量同步状态，如已清理墓碑的版本水位
+CREATE TABLE IF NOT EXISTS sync_state (
+    state_name VARCHAR(50) NOT NULL,
+    long_value BIGINT,
+    PRIMARY KEY (state_name)
+);
@@ -0,0 +1,22 @@
+-- 养护合同表，end_date 索引用于构建到期时间轮
+CREATE TABLE IF NOT EXISTS contracts (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    contract_no VARCHAR(50) NOT NULL,
+    contract_name VARCHAR(200) NOT NULL,
+    contract_type VARCHAR(50),
+    party_a VARCHAR(100),
+    party_b VARCHAR(100),
+    amount DECIMAL(15, 2),
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    sign_date DATE,
+    status VARCHAR(20),
+    area VARCHAR(100),
+    description VARCHAR(1000),
+    reminder_sent_at DATETIME(6),
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    KEY idx_contracts_end_date (end_date),
+    KEY idx_contracts_status_end_date (status, end_date)
+);
@@ -0,0 +1,3 @@
+-- 养护单位、管养单元的乐观锁版本号，现有数据从 0 开始
+ALTER TABLE maintenance_companies ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE maintenance_units ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
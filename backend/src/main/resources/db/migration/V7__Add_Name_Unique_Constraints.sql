@@ -0,0 +1,7 @@
+-- 名称唯一约束，重名检查由数据库完成；执行前需先处理已有的重复名称
+ALTER TABLE maintenance_companies ADD CONSTRAINT uk_maintenance_companies_company_name UNIQUE (company_name);
+ALTER TABLE maintenance_units ADD CONSTRAINT uk_maintenance_units_unit_name UNIQUE (unit_name);
+
+-- users 表原有的用户名、邮箱唯一约束由 Hibernate 自动命名，补上固定名称的约束后可删除旧约束
+ALTER TABLE users ADD CONSTRAINT uk_users_username UNIQUE (username);
+ALTER TABLE users ADD CONSTRAINT uk_users_email UNIQUE (email);
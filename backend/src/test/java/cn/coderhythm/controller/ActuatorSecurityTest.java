@@ -0,0 +1,36 @@
+package cn.coderhythm.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 业务端口上只有健康检查公开，其余管理端点需要管理员身份
+ */
+class ActuatorSecurityTest extends ApiTestSupport {
+
+    @Test
+    void healthIsPublic() throws Exception {
+        perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void metricsRequireAdmin() throws Exception {
+        perform(get("/actuator/metrics"))
+                .andExpect(status().isUnauthorized());
+        perform(asUser(get("/actuator/metrics")))
+                .andExpect(status().isForbidden());
+        perform(asAdmin(get("/actuator/metrics/jvm.memory.used")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void prometheusIsNotPublicOnApplicationPort() throws Exception {
+        perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+        perform(asUser(get("/actuator/prometheus")))
+                .andExpect(status().isForbidden());
+    }
+}
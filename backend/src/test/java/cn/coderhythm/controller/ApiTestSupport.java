@@ -0,0 +1,122 @@
+package cn.coderhythm.controller;
+
+import cn.coderhythm.dto.request.LoginRequest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 接口测试基类：以 test 配置（H2 内存库）启动完整应用，通过 MockMvc 走完整的过滤器链
+ * test 配置开启了 @QueryBudget 检查且超出预算时返回 500，每个请求都经过 withinQueryBudget() 校验。
+ * 各测试类共用同一个应用上下文和数据库，创建数据时用 unique() 生成不重复的名称。
+ */
+@SpringBootTest(properties = {
+        "file.upload-dir=target/test-uploads",
+        "app.uploads.session-dir=target/test-upload-sessions",
+        "app.tracing.server-timing=true",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate=INFO",
+        "logging.level.org.springframework.web=INFO",
+        "logging.level.org.springframework.security=INFO",
+        "logging.level.cn.coderhythm=INFO"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+abstract class ApiTestSupport {
+
+    static final String ADMIN_USERNAME = "admin";
+    static final String ADMIN_PASSWORD = "Admin@123";
+    static final String USER_USERNAME = "demo";
+    static final String USER_PASSWORD = "Demo@123";
+
+    private static final AtomicLong SEQUENCE = new AtomicLong(System.currentTimeMillis() % 100000);
+
+    // BCrypt 校验较慢，令牌在各测试类之间复用
+    private static String adminToken;
+    private static String userToken;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    /**
+     * 执行请求并检查没有超出接口的 SQL 语句数预算
+     */
+    ResultActions perform(MockHttpServletRequestBuilder request) throws Exception {
+        return mockMvc.perform(request).andExpect(withinQueryBudget());
+    }
+
+    /**
+     * 超出预算或未声明预算时 QueryBudgetFilter 把响应改为 500，失败信息中带上原因
+     */
+    static ResultMatcher withinQueryBudget() {
+        return result -> {
+            if (result.getResponse().getStatus() >= 500) {
+                fail(result.getRequest().getMethod() + " " + result.getRequest().getRequestURI() + " 返回 "
+                        + result.getResponse().getStatus() + ": "
+                        + result.getResponse().getContentAsString(StandardCharsets.UTF_8));
+            }
+        };
+    }
+
+    MockHttpServletRequestBuilder asAdmin(MockHttpServletRequestBuilder request) throws Exception {
+        if (adminToken == null) {
+            adminToken = signIn(ADMIN_USERNAME, ADMIN_PASSWORD);
+        }
+        return request.header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken);
+    }
+
+    MockHttpServletRequestBuilder asUser(MockHttpServletRequestBuilder request) throws Exception {
+        if (userToken == null) {
+            userToken = signIn(USER_USERNAME, USER_PASSWORD);
+        }
+        return request.header(HttpHeaders.AUTHORIZATION, "Bearer " + userToken);
+    }
+
+    String signIn(String username, String password) throws Exception {
+        LoginRequest login = new LoginRequest();
+        login.setUsername(username);
+        login.setPassword(password);
+        MvcResult result = perform(withJson(post("/auth/signin"), login))
+                .andExpect(status().isOk())
+                .andReturn();
+        return body(result).get("token").asText();
+    }
+
+    MockHttpServletRequestBuilder withJson(MockHttpServletRequestBuilder request, Object payload) throws Exception {
+        return request.contentType(MediaType.APPLICATION_JSON)
+                .characterEncoding(StandardCharsets.UTF_8.name())
+                .content(objectMapper.writeValueAsBytes(payload));
+    }
+
+    JsonNode body(MvcResult result) throws Exception {
+        return objectMapper.readTree(result.getResponse().getContentAsByteArray());
+    }
+
+    long idOf(MvcResult result) throws Exception {
+        return body(result).get("id").asLong();
+    }
+
+    static String unique(String prefix) {
+        return prefix + SEQUENCE.incrementAndGet();
+    }
+}
@@ -0,0 +1,106 @@
+package cn.coderhythm.controller;
+
+import cn.coderhythm.payload.request.AssessmentItemRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AssessmentItemControllerTest extends ApiTestSupport {
+
+    @Test
+    void treeFollowsItemChanges() throws Exception {
+        String before = perform(asUser(get("/assessment-items/tree")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        perform(asUser(get("/assessment-items/tree")).header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isNotModified());
+
+        String category = unique("乔木养护");
+        long id = createItem(itemRequest("一级", category, "树冠完整度"));
+
+        perform(asUser(get("/assessment-items/tree")).header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(before)))
+                .andExpect(jsonPath("$[*].categories[*].items[*].id", hasItem((int) id)));
+    }
+
+    @Test
+    void treeAnswersIfNoneMatchWithNotModified() throws Exception {
+        MvcResult tree = perform(asUser(get("/assessment-items/tree")))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andReturn();
+        String etag = tree.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(tree.getResponse().getContentLength()).isPositive();
+
+        // 304 不带响应体，ETag 与缓存策略不变
+        MvcResult notModified = perform(asUser(get("/assessment-items/tree")).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andReturn();
+        assertThat(notModified.getResponse().getContentAsByteArray()).isEmpty();
+
+        // 弱比较、多个候选值和 * 都能匹配
+        perform(asUser(get("/assessment-items/tree")).header(HttpHeaders.IF_NONE_MATCH, "\"stale\", W/" + etag))
+                .andExpect(status().isNotModified());
+        perform(asUser(get("/assessment-items/tree")).header(HttpHeaders.IF_NONE_MATCH, "*"))
+                .andExpect(status().isNotModified());
+        perform(asUser(get("/assessment-items/tree")).header(HttpHeaders.IF_NONE_MATCH, "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+    }
+
+    @Test
+    void listGetUpdateAndDelete() throws Exception {
+        long id = createItem(itemRequest("二级", unique("绿篱养护"), "修剪平整度"));
+
+        perform(asUser(get("/assessment-items")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", hasItem((int) id)));
+        perform(asUser(get("/assessment-items/" + id)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("修剪平整度"));
+
+        perform(withJson(asAdmin(put("/assessment-items/" + id)), itemRequest("二级", unique("绿篱养护"), "轮廓清晰度")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("轮廓清晰度"));
+
+        perform(asAdmin(delete("/assessment-items/" + id)))
+                .andExpect(status().isOk());
+        perform(asUser(get("/assessment-items/" + id)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void writesRequireAdmin() throws Exception {
+        perform(withJson(asUser(post("/assessment-items")), itemRequest("一级", unique("草坪养护"), "覆盖率")))
+                .andExpect(status().isForbidden());
+    }
+
+    private long createItem(AssessmentItemRequest request) throws Exception {
+        MvcResult created = perform(withJson(asAdmin(post("/assessment-items")), request))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return idOf(created);
+    }
+
+    static AssessmentItemRequest itemRequest(String level, String category, String name) {
+        AssessmentItemRequest request = new AssessmentItemRequest();
+        request.setLevel(level);
+        request.setCategory(category);
+        request.setName(name);
+        return request;
+    }
+}
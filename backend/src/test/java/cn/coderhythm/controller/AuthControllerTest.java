@@ -0,0 +1,107 @@
+package cn.coderhythm.controller;
+
+import cn.coderhythm.dto.request.LoginRequest;
+import cn.coderhythm.dto.request.SignupRequest;
+import cn.coderhythm.model.ERole;
+import cn.coderhythm.repository.RoleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasItems;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AuthControllerTest extends ApiTestSupport {
+
+    @Autowired
+    RoleRepository roleRepository;
+
+    // 注册接口的预算按角色查询缓存命中计算，不依赖启动时 DataInitializer 是否已查询过角色
+    @BeforeEach
+    void warmRoleQueryCache() {
+        for (ERole role : ERole.values()) {
+            roleRepository.findByName(role);
+        }
+    }
+
+    @Test
+    void serviceIsUp() throws Exception {
+        perform(get("/auth/test"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void signUpThenSignIn() throws Exception {
+        SignupRequest signup = signupRequest(unique("inspector"));
+        perform(withJson(post("/auth/signup"), signup))
+                .andExpect(status().isOk());
+
+        perform(withJson(post("/auth/signin"), loginRequest(signup.getUsername(), signup.getPassword())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").isNotEmpty())
+                .andExpect(jsonPath("$.username").value(signup.getUsername()))
+                .andExpect(jsonPath("$.roles", hasItem("ROLE_USER")));
+    }
+
+    @Test
+    void signUpWithSeveralRoles() throws Exception {
+        SignupRequest signup = signupRequest(unique("inspector"));
+        signup.setRoles(new HashSet<>(Arrays.asList("mod", "user")));
+        perform(withJson(post("/auth/signup"), signup))
+                .andExpect(status().isOk());
+
+        perform(withJson(post("/auth/signin"), loginRequest(signup.getUsername(), signup.getPassword())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.roles", hasItems("ROLE_MODERATOR", "ROLE_USER")));
+    }
+
+    @Test
+    void duplicateUsernameIsRejected() throws Exception {
+        SignupRequest signup = signupRequest(unique("inspector"));
+        perform(withJson(post("/auth/signup"), signup))
+                .andExpect(status().isOk());
+
+        signup.setEmail(unique("other") + "@example.com");
+        perform(withJson(post("/auth/signup"), signup))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void badCredentialsAreRejected() throws Exception {
+        perform(withJson(post("/auth/signin"), loginRequest(ADMIN_USERNAME, "wrong-password")))
+                .andExpect(status().isBadRequest());
+        perform(withJson(post("/auth/signin"), loginRequest(unique("nobody"), "whatever")))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void protectedEndpointsRequireToken() throws Exception {
+        perform(get("/maintenance-companies"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    static SignupRequest signupRequest(String username) {
+        SignupRequest request = new SignupRequest();
+        request.setUsername(username);
+        request.setEmail(username + "@example.com");
+        request.setPassword("Inspect@2024");
+        request.setFullName("周晓明");
+        request.setPhone("13700001111");
+        request.setAddress("杭州市拱墅区湖墅南路 28 号");
+        return request;
+    }
+
+    static LoginRequest loginRequest(String username, String password) {
+        LoginRequest request = new LoginRequest();
+        request.setUsername(username);
+        request.setPassword(password);
+        return request;
+    }
+}
@@ -0,0 +1,98 @@
+package cn.coderhythm.controller;
+
+import cn.coderhythm.payload.request.ContractRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ContractControllerTest extends ApiTestSupport {
+
+    // 未指定状态时按起止日期推算，已开始未到期的合同为生效中
+    @Test
+    void listByStatusAndExpiring() throws Exception {
+        LocalDate today = LocalDate.now();
+        long expiring = createContract(contractRequest(unique("HT-2024-"), today.minusMonths(11), today.plusDays(10)));
+        long later = createContract(contractRequest(unique("HT-2024-"), today.minusMonths(1), today.plusMonths(11)));
+
+        perform(asUser(get("/contracts").param("status", "生效中")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", hasItem((int) expiring)));
+
+        perform(asUser(get("/contracts/expiring").param("days", "30")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", hasItem((int) expiring)))
+                .andExpect(jsonPath("$[*].id", not(hasItem((int) later))));
+    }
+
+    @Test
+    void getUpdateAndDelete() throws Exception {
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        ContractRequest request = contractRequest(unique("HT-2024-"), start, start.plusYears(1).minusDays(1));
+        long id = createContract(request);
+
+        perform(asUser(get("/contracts/" + id)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.contractNo").value(request.getContractNo()));
+
+        // 续签一年
+        request.setEndDate(start.plusYears(2).minusDays(1));
+        request.setAmount(new BigDecimal("1380000.00"));
+        perform(withJson(asAdmin(put("/contracts/" + id)), request))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.endDate").value("2025-12-31"))
+                .andExpect(jsonPath("$.amount").value(1380000.00));
+
+        perform(asAdmin(delete("/contracts/" + id)))
+                .andExpect(status().isOk());
+        perform(asUser(get("/contracts/" + id)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void endBeforeStartIsRejected() throws Exception {
+        perform(withJson(asAdmin(post("/contracts")),
+                contractRequest(unique("HT-2024-"), LocalDate.of(2024, 6, 1), LocalDate.of(2024, 5, 31))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void writesRequireAdmin() throws Exception {
+        perform(withJson(asUser(post("/contracts")),
+                contractRequest(unique("HT-2024-"), LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31))))
+                .andExpect(status().isForbidden());
+    }
+
+    private long createContract(ContractRequest request) throws Exception {
+        MvcResult created = perform(withJson(asAdmin(post("/contracts")), request))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return idOf(created);
+    }
+
+    static ContractRequest contractRequest(String contractNo, LocalDate startDate, LocalDate endDate) {
+        ContractRequest request = new ContractRequest();
+        request.setContractNo(contractNo);
+        request.setContractName("滨江区道路绿化养护服务合同");
+        request.setContractType("养护服务");
+        request.setPartyA("滨江区园林绿化管理中心");
+        request.setPartyB("绿源园林工程有限公司");
+        request.setAmount(new BigDecimal("1260000.00"));
+        request.setStartDate(startDate);
+        request.setEndDate(endDate);
+        request.setSignDate(startDate.minusDays(15));
+        request.setArea("滨江区");
+        request.setDescription("含行道树、绿化带及街头绿地日常养护");
+        return request;
+    }
+}
@@ -0,0 +1,32 @@
+package cn.coderhythm.controller;
+
+import cn.coderhythm.event.ChangeEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+/**
+ * 只在测试中注册，记录提交后送达的合同变更事件（包括定时任务线程发布的）
+ */
+@Component
+public class ContractEventRecorder {
+
+    private final List<ChangeEvent> events = new CopyOnWriteArrayList<>();
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onChangeEvent(ChangeEvent event) {
+        if (ChangeEvent.ENTITY_CONTRACT.equals(event.getEntity())) {
+            events.add(event);
+        }
+    }
+
+    List<ChangeEvent> eventsFor(Long contractId) {
+        return events.stream()
+                .filter(event -> contractId.equals(event.getEntityId()))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,76 @@
+package cn.coderhythm.controller;
+
+import cn.coderhythm.event.ChangeEvent;
+import cn.coderhythm.models.Contract;
+import cn.coderhythm.repository.ContractRepository;
+import cn.coderhythm.service.ContractLifecycleService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 合同自动流转只为实际更新的合同发布事件
+ */
+class ContractLifecycleTest extends ApiTestSupport {
+
+    @Autowired
+    ContractLifecycleService contractLifecycleService;
+
+    @Autowired
+    ContractRepository contractRepository;
+
+    @Autowired
+    ContractEventRecorder eventRecorder;
+
+    @Test
+    void onlyMatchedContractsArePublished() throws Exception {
+        LocalDate today = LocalDate.now();
+        Contract pending = contractRepository.save(contract(Contract.STATUS_PENDING, today.minusDays(1)));
+        Contract terminated = contractRepository.save(contract(Contract.STATUS_TERMINATED, today.minusDays(1)));
+
+        contractLifecycleService.schedule(pending);
+        // 时间轮中的条目已过时：合同在库中已被终止，流转时不应再生效或发通知
+        Contract stale = contract(Contract.STATUS_PENDING, today.minusDays(1));
+        stale.setId(terminated.getId());
+        contractLifecycleService.schedule(stale);
+
+        contractLifecycleService.tick();
+
+        // 定时任务线程可能先一步处理，等它提交
+        List<ChangeEvent> activated = awaitEvents(pending.getId());
+        assertThat(activated).hasSize(1);
+        assertThat(activated.get(0).getAction()).isEqualTo(ChangeEvent.ACTION_STATUS_CHANGED);
+        assertThat(activated.get(0).getStatus()).isEqualTo(Contract.STATUS_ACTIVE);
+        assertThat(contractRepository.findById(pending.getId()).get().getStatus()).isEqualTo(Contract.STATUS_ACTIVE);
+
+        assertThat(eventRecorder.eventsFor(terminated.getId())).isEmpty();
+        assertThat(contractRepository.findById(terminated.getId()).get().getStatus()).isEqualTo(Contract.STATUS_TERMINATED);
+    }
+
+    private List<ChangeEvent> awaitEvents(Long contractId) throws InterruptedException {
+        for (int i = 0; i < 50 && eventRecorder.eventsFor(contractId).isEmpty(); i++) {
+            Thread.sleep(100);
+        }
+        return eventRecorder.eventsFor(contractId);
+    }
+
+    private static Contract contract(String status, LocalDate startDate) {
+        Contract contract = new Contract();
+        contract.setContractNo(unique("HT-2025-"));
+        contract.setContractName("西湖区公园绿地养护服务合同");
+        contract.setContractType("养护服务");
+        contract.setPartyA("西湖区园林绿化管理中心");
+        contract.setPartyB("四季园林有限公司");
+        contract.setAmount(new BigDecimal("860000.00"));
+        contract.setStartDate(startDate);
+        // 结束日期远在时间轮范围之外，只触发生效
+        contract.setEndDate(startDate.plusYears(1));
+        contract.setStatus(status);
+        return contract;
+    }
+}
@@ -0,0 +1,47 @@
+package cn.coderhythm.controller;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static cn.coderhythm.controller.MaintenanceRecordControllerTest.recordRequest;
+import static cn.coderhythm.controller.MaintenanceUnitControllerTest.unitRequest;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 仪表盘各数据块由查询直接构造统计结果，逐块检查都能序列化
+ */
+class DashboardControllerTest extends ApiTestSupport {
+
+    @Test
+    void summaryContainsEveryPart() throws Exception {
+        perform(withJson(asAdmin(post("/maintenance-units")), unitRequest(unique("钱塘绿廊"), null)))
+                .andExpect(status().isCreated());
+        String contractor = unique("四季园林");
+        perform(withJson(asUser(post("/maintenance-records")),
+                recordRequest(unique("江南大道"), contractor, 86, LocalDateTime.now().minusDays(1).withNano(0))))
+                .andExpect(status().isCreated());
+
+        perform(asUser(get("/dashboard/summary")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.unavailable", hasSize(0)))
+                .andExpect(jsonPath("$.profile.username").value(USER_USERNAME))
+                .andExpect(jsonPath("$.companies.companyCount").isNumber())
+                .andExpect(jsonPath("$.units.unitCount").isNumber())
+                .andExpect(jsonPath("$.units.totalGreenArea").exists())
+                .andExpect(jsonPath("$.problems").isArray())
+                .andExpect(jsonPath("$.scores.overall.recordCount").isNumber())
+                .andExpect(jsonPath("$.scores.byContractor[*].groupKey", hasItem(contractor)));
+    }
+
+    @Test
+    void summaryRequiresLogin() throws Exception {
+        perform(get("/dashboard/summary"))
+                .andExpect(status().isUnauthorized());
+    }
+}
@@ -0,0 +1,51 @@
+package cn.coderhythm.controller;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static cn.coderhythm.controller.MaintenanceCompanyControllerTest.companyRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Hibernate 统计信息和二级缓存命中率已绑定到指标注册表，Prometheus 抓取时导出为 hibernate_* 序列
+ */
+class HibernateCacheMetricsTest extends ApiTestSupport {
+
+    private static final String COMPANY_REGION = "cn.coderhythm.models.MaintenanceCompany";
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Test
+    void hibernateStatisticsAreBound() {
+        assertThat(meterRegistry.find("hibernate.sessions.open").meters()).isNotEmpty();
+        assertThat(meterRegistry.find("hibernate.second.level.cache.requests").tag("region", COMPANY_REGION).meters())
+                .isNotEmpty();
+        assertThat(meterRegistry.find("hibernate.second.level.cache.hit.ratio")
+                .tag("region", "default-query-results-region").gauge()).isNotNull();
+    }
+
+    @Test
+    void regionHitRatioReflectsCacheHits() throws Exception {
+        MvcResult created = perform(withJson(asAdmin(post("/maintenance-companies")),
+                companyRequest(unique("碧水园林有限公司"))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        long id = idOf(created);
+
+        // 新增的实体提交后写入缓存区域，按 ID 读取时命中
+        perform(asUser(get("/maintenance-companies/" + id))).andExpect(status().isOk());
+        perform(asUser(get("/maintenance-companies/" + id))).andExpect(status().isOk());
+
+        Gauge hitRatio = meterRegistry.find("hibernate.second.level.cache.hit.ratio")
+                .tag("region", COMPANY_REGION).gauge();
+        assertThat(hitRatio).isNotNull();
+        assertThat(hitRatio.value()).isGreaterThan(0);
+    }
+}
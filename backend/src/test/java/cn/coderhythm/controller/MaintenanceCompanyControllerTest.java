@@ -0,0 +1,235 @@
+package cn.coderhythm.controller;
+
+import cn.coderhythm.payload.request.MaintenanceCompanyRequest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class MaintenanceCompanyControllerTest extends ApiTestSupport {
+
+    @Autowired
+    MappingJackson2CborHttpMessageConverter cborConverter;
+
+    @Test
+    void listSupportsConditionalGet() throws Exception {
+        long id = createCompany(unique("绿源园林工程有限公司"));
+
+        MvcResult list = perform(asUser(get("/maintenance-companies")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", hasItem((int) id)))
+                .andReturn();
+        String etag = list.getResponse().getHeader(HttpHeaders.ETAG);
+
+        perform(asUser(get("/maintenance-companies")).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void listIsServedGzippedWithItsOwnEtag() throws Exception {
+        long id = createCompany(unique("绿源园林工程有限公司"));
+
+        String plainEtag = perform(asUser(get("/maintenance-companies")))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        MvcResult gzipped = perform(asUser(get("/maintenance-companies"))
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(containsString(HttpHeaders.ACCEPT_ENCODING))))
+                .andExpect(header().string(HttpHeaders.ETAG, endsWith("-gzip\"")))
+                .andReturn();
+        String gzipEtag = gzipped.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(gzipEtag).isNotEqualTo(plainEtag);
+        try (GZIPInputStream in = new GZIPInputStream(
+                new ByteArrayInputStream(gzipped.getResponse().getContentAsByteArray()))) {
+            assertThat(objectMapper.readTree(in).findValuesAsText("id")).contains(String.valueOf(id));
+        }
+
+        // 每种编码只认自己的 ETag
+        perform(asUser(get("/maintenance-companies"))
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .header(HttpHeaders.IF_NONE_MATCH, gzipEtag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, gzipEtag));
+        perform(asUser(get("/maintenance-companies")).header(HttpHeaders.IF_NONE_MATCH, gzipEtag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, plainEtag));
+
+        // q=0 表示不接受
+        perform(asUser(get("/maintenance-companies")).header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, identity"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().string(HttpHeaders.ETAG, plainEtag));
+        perform(asUser(get("/maintenance-companies")).header(HttpHeaders.ACCEPT_ENCODING, "*;q=0.5"))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+    }
+
+    @Test
+    void cborRoundTrip() throws Exception {
+        ObjectMapper cbor = cborConverter.getObjectMapper();
+        MaintenanceCompanyRequest request = companyRequest(unique("碧水园林有限公司"));
+
+        // CBOR 请求体，CBOR 响应体
+        MvcResult created = perform(asAdmin(post("/maintenance-companies"))
+                .contentType(MediaType.APPLICATION_CBOR)
+                .accept(MediaType.APPLICATION_CBOR)
+                .content(cbor.writeValueAsBytes(request)))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn();
+        JsonNode company = cbor.readTree(created.getResponse().getContentAsByteArray());
+        long id = company.get("id").asLong();
+        assertThat(company.get("companyName").asText()).isEqualTo(request.getCompanyName());
+        assertThat(company.get("legalPerson").asText()).isEqualTo("王建国");
+
+        perform(asUser(get("/maintenance-companies/" + id)).accept(MediaType.APPLICATION_JSON))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.companyName").value(request.getCompanyName()));
+
+        // 缓存的列表按 Accept 返回 CBOR，ETag 与 JSON 不同
+        String jsonEtag = perform(asUser(get("/maintenance-companies")))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        MvcResult list = perform(asUser(get("/maintenance-companies"))
+                .header(HttpHeaders.ACCEPT, "application/json;q=0.5, application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string(HttpHeaders.ETAG, endsWith("-cbor\"")))
+                .andReturn();
+        String cborEtag = list.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(cborEtag).isNotEqualTo(jsonEtag);
+        assertThat(cbor.readTree(list.getResponse().getContentAsByteArray()).findValuesAsText("companyName"))
+                .contains(request.getCompanyName());
+
+        perform(asUser(get("/maintenance-companies")).accept(MediaType.APPLICATION_CBOR)
+                .header(HttpHeaders.IF_NONE_MATCH, cborEtag))
+                .andExpect(status().isNotModified());
+        perform(asUser(get("/maintenance-companies")).accept(MediaType.APPLICATION_XML))
+                .andExpect(status().isNotAcceptable());
+    }
+
+    @Test
+    void getAndSearch() throws Exception {
+        String name = unique("青山绿化养护有限公司");
+        long id = createCompany(name);
+
+        perform(asUser(get("/maintenance-companies/" + id)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andExpect(jsonPath("$.companyName").value(name));
+
+        perform(asUser(get("/maintenance-companies/search").param("companyName", name)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", hasItem((int) id)));
+
+        perform(asUser(get("/maintenance-companies/" + Long.MAX_VALUE)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void updateWithIfMatch() throws Exception {
+        long id = createCompany(unique("四季园林有限公司"));
+
+        MaintenanceCompanyRequest update = companyRequest(unique("四季园林有限公司"));
+        update.setContactPhone("0571-88886666");
+        perform(withJson(asAdmin(put("/maintenance-companies/" + id)), update).header(HttpHeaders.IF_MATCH, "\"0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.id").value((int) id))
+                .andExpect(jsonPath("$.version").value(1))
+                .andExpect(jsonPath("$.contactPhone").value("0571-88886666"));
+
+        perform(asUser(get("/maintenance-companies/" + id)))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.contactPhone").value("0571-88886666"))
+                .andExpect(jsonPath("$.createdAt", notNullValue()));
+
+        perform(withJson(asAdmin(put("/maintenance-companies/" + id)), update).header(HttpHeaders.IF_MATCH, "\"0\""))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+    }
+
+    @Test
+    void updateWithoutIfMatchIsRejected() throws Exception {
+        long id = createCompany(unique("万象绿化有限公司"));
+
+        MaintenanceCompanyRequest update = companyRequest(unique("万象绿化有限公司"));
+        update.setAddress("杭州市西湖区文三路 100 号");
+        perform(withJson(asAdmin(put("/maintenance-companies/" + id)), update))
+                .andExpect(status().isPreconditionRequired());
+
+        perform(withJson(asAdmin(put("/maintenance-companies/" + id)), update).header(HttpHeaders.IF_MATCH, "*"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.address").value("杭州市西湖区文三路 100 号"));
+
+        perform(withJson(asAdmin(put("/maintenance-companies/" + Long.MAX_VALUE)),
+                companyRequest(unique("万象绿化有限公司"))).header(HttpHeaders.IF_MATCH, "\"0\""))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void duplicateNameIsRejected() throws Exception {
+        String name = unique("翠林园艺有限公司");
+        createCompany(name);
+        perform(withJson(asAdmin(post("/maintenance-companies")), companyRequest(name)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void writesRequireAdmin() throws Exception {
+        perform(withJson(asUser(post("/maintenance-companies")), companyRequest(unique("无权限公司"))))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void deleteCompany() throws Exception {
+        long id = createCompany(unique("临时养护公司"));
+
+        perform(asAdmin(delete("/maintenance-companies/" + id)))
+                .andExpect(status().isOk());
+        perform(asUser(get("/maintenance-companies/" + id)))
+                .andExpect(status().isNotFound());
+    }
+
+    private long createCompany(String name) throws Exception {
+        MvcResult created = perform(withJson(asAdmin(post("/maintenance-companies")), companyRequest(name)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andReturn();
+        return idOf(created);
+    }
+
+    static MaintenanceCompanyRequest companyRequest(String name) {
+        MaintenanceCompanyRequest request = new MaintenanceCompanyRequest();
+        request.setCompanyName(name);
+        request.setCompanyType("园林绿化");
+        request.setLegalPerson("王建国");
+        request.setContactPerson("李敏");
+        request.setContactPhone("13912345678");
+        request.setAddress("杭州市滨江区江南大道 588 号");
+        return request;
+    }
+}
@@ -0,0 +1,118 @@
+package cn.coderhythm.controller;
+
+import cn.coderhythm.payload.request.MaintenancePlanRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class MaintenancePlanControllerTest extends ApiTestSupport {
+
+    @Test
+    void occurrencesInWindow() throws Exception {
+        String area = unique("滨江区");
+        long id = createPlan(planRequest(unique("行道树修剪"), area, "每周", LocalDate.of(2020, 3, 2), LocalDate.of(2020, 6, 30)));
+
+        // 3 月 2 日起每周一次，3 月共 5 次
+        perform(asUser(get("/maintenance-plans/occurrences").param("from", "2020-03-01").param("to", "2020-03-31")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.planId == " + id + ")]", hasSize(5)))
+                .andExpect(jsonPath("$[?(@.planId == " + id + ")].date", hasItem("2020-03-30")));
+
+        perform(asUser(get("/maintenance-plans/occurrences").param("from", "2020-03-31").param("to", "2020-03-01")))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void conflictsInSameArea() throws Exception {
+        String area = unique("西湖区");
+        long first = createPlan(planRequest(unique("草坪养护"), area, "每月", LocalDate.of(2020, 4, 1), LocalDate.of(2020, 9, 30)));
+
+        MaintenancePlanRequest overlapping = planRequest(unique("灌木修剪"), area, "每季度",
+                LocalDate.of(2020, 8, 1), LocalDate.of(2020, 12, 31));
+        perform(withJson(asUser(post("/maintenance-plans/conflicts/check")), overlapping))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", hasItem((int) first)));
+
+        long second = createPlan(overlapping);
+        perform(asUser(get("/maintenance-plans/" + second + "/conflicts")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", hasItem((int) first)));
+
+        perform(asUser(get("/maintenance-plans/conflicts").param("month", "2020-08")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.scopeValue == '" + area + "')]", hasSize(1)));
+    }
+
+    @Test
+    void getUpdateAndDelete() throws Exception {
+        MaintenancePlanRequest request = planRequest(unique("病虫害防治"), unique("拱墅区"), "每月",
+                LocalDate.of(2020, 5, 1), null);
+        long id = createPlan(request);
+
+        perform(asUser(get("/maintenance-plans")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", hasItem((int) id)));
+        perform(asUser(get("/maintenance-plans/" + id)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.frequency").value("每月"));
+
+        request.setFrequency("QUARTERLY");
+        request.setPriority("高");
+        perform(withJson(asAdmin(put("/maintenance-plans/" + id)), request))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.frequency").value("每季度"))
+                .andExpect(jsonPath("$.priority").value("高"));
+
+        perform(asAdmin(delete("/maintenance-plans/" + id)))
+                .andExpect(status().isOk());
+        perform(asUser(get("/maintenance-plans/" + id)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void unknownFrequencyIsRejected() throws Exception {
+        perform(withJson(asAdmin(post("/maintenance-plans")),
+                planRequest(unique("浇水"), unique("上城区"), "每两天", LocalDate.of(2020, 5, 1), null)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void writesRequireAdmin() throws Exception {
+        perform(withJson(asUser(post("/maintenance-plans")),
+                planRequest(unique("施肥"), unique("上城区"), "每月", LocalDate.of(2020, 5, 1), null)))
+                .andExpect(status().isForbidden());
+    }
+
+    private long createPlan(MaintenancePlanRequest request) throws Exception {
+        MvcResult created = perform(withJson(asAdmin(post("/maintenance-plans")), request))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return idOf(created);
+    }
+
+    static MaintenancePlanRequest planRequest(String name, String area, String frequency,
+                                              LocalDate startDate, LocalDate endDate) {
+        MaintenancePlanRequest request = new MaintenancePlanRequest();
+        request.setPlanName(name);
+        request.setPlanType("日常养护");
+        request.setArea(area);
+        request.setResponsiblePerson("陈志强");
+        request.setFrequency(frequency);
+        request.setPriority("中");
+        request.setStatus("进行中");
+        request.setDescription("按养护标准执行，完成后上传现场照片");
+        request.setStartDate(startDate);
+        request.setEndDate(endDate);
+        return request;
+    }
+}
@@ -0,0 +1,177 @@
+package cn.coderhythm.controller;
+
+import cn.coderhythm.payload.request.MaintenanceRecordRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 统计接口的返回值由查询直接构造，这里逐个序列化一遍（不分组、按养护单位、按道路）
+ * 每个测试用不同的月份，避免与其他测试写入的记录混在一起。
+ */
+class MaintenanceRecordControllerTest extends ApiTestSupport {
+
+    private String contractor;
+    private String road;
+
+    @BeforeEach
+    void names() {
+        contractor = unique("绿源园林");
+        road = unique("文三路");
+    }
+
+    @Test
+    void listFilterAndPage() throws Exception {
+        createRecord(road, contractor, 88, LocalDateTime.of(2019, 3, 5, 9, 30));
+        createRecord(road, contractor, 92, LocalDateTime.of(2019, 3, 12, 14, 0));
+        createRecord(unique("学院路"), unique("青山绿化"), 75, LocalDateTime.of(2019, 3, 20, 8, 15));
+
+        perform(asUser(get("/maintenance-records")
+                .param("startDate", "2019-03-01").param("endDate", "2019-03-31").param("size", "2")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.totalElements").value(3))
+                .andExpect(jsonPath("$.content[0].score").value(75));
+
+        perform(asUser(get("/maintenance-records")
+                .param("startDate", "2019-03-01").param("endDate", "2019-03-31").param("contractor", contractor)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2));
+
+        perform(asUser(get("/maintenance-records")
+                .param("startDate", "2019-03-01").param("endDate", "2019-03-31").param("road", road)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2));
+    }
+
+    @Test
+    void averageScoreWithoutGrouping() throws Exception {
+        createRecord(road, contractor, 80, LocalDateTime.of(2019, 4, 2, 10, 0));
+        createRecord(road, contractor, 90, LocalDateTime.of(2019, 4, 9, 10, 0));
+
+        perform(asUser(get("/maintenance-records/statistics/average-score")
+                .param("startDate", "2019-04-01").param("endDate", "2019-04-30")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.averageScore", closeTo(85.0, 1e-9)))
+                .andExpect(jsonPath("$.recordCount").value(2));
+    }
+
+    @Test
+    void averageScoreWithoutRecords() throws Exception {
+        perform(asUser(get("/maintenance-records/statistics/average-score")
+                .param("startDate", "2018-01-01").param("endDate", "2018-01-31")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.recordCount").value(0));
+    }
+
+    @Test
+    void averageScoreByContractorAndRoad() throws Exception {
+        String otherContractor = unique("青山绿化");
+        createRecord(road, contractor, 70, LocalDateTime.of(2019, 5, 3, 9, 0));
+        createRecord(road, contractor, 90, LocalDateTime.of(2019, 5, 4, 9, 0));
+        createRecord(unique("学院路"), otherContractor, 60, LocalDateTime.of(2019, 5, 5, 9, 0));
+
+        perform(asUser(get("/maintenance-records/statistics/average-score")
+                .param("startDate", "2019-05-01").param("endDate", "2019-05-31").param("groupBy", "contractor")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[?(@.groupKey == '" + contractor + "')].averageScore").value(80.0))
+                .andExpect(jsonPath("$[?(@.groupKey == '" + contractor + "')].recordCount").value(2));
+
+        perform(asUser(get("/maintenance-records/statistics/average-score")
+                .param("startDate", "2019-05-01").param("endDate", "2019-05-31").param("groupBy", "road")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[?(@.groupKey == '" + road + "')].averageScore").value(80.0));
+
+        perform(asUser(get("/maintenance-records/statistics/average-score")
+                .param("startDate", "2019-05-01").param("endDate", "2019-05-31").param("groupBy", "inspector")))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getUpdateAndDelete() throws Exception {
+        long id = createRecord(road, contractor, 85, LocalDateTime.of(2019, 6, 1, 9, 0));
+
+        perform(asUser(get("/maintenance-records/" + id)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.road").value(road));
+
+        MaintenanceRecordRequest update = recordRequest(road, contractor, 95, LocalDateTime.of(2019, 6, 1, 9, 0));
+        update.setTechnicalMeasures("补植缺株，修剪枯枝，追施有机肥");
+        perform(withJson(asUser(put("/maintenance-records/" + id)), update))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.score").value(95))
+                .andExpect(jsonPath("$.technicalMeasures").value("补植缺株，修剪枯枝，追施有机肥"));
+
+        perform(asUser(delete("/maintenance-records/" + id)))
+                .andExpect(status().isForbidden());
+        perform(asAdmin(delete("/maintenance-records/" + id)))
+                .andExpect(status().isOk());
+        perform(asUser(get("/maintenance-records/" + id)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void invalidScoreIsRejected() throws Exception {
+        perform(withJson(asUser(post("/maintenance-records")),
+                recordRequest(road, contractor, 120, LocalDateTime.of(2019, 6, 2, 9, 0))))
+                .andExpect(status().isBadRequest());
+    }
+
+    // H2 不支持分区，分区接口返回空列表
+    @Test
+    void partitionEndpoints() throws Exception {
+        perform(asAdmin(get("/maintenance-records/partitions")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+        perform(asAdmin(get("/maintenance-records/partitions/archives")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+        perform(asAdmin(post("/maintenance-records/partitions/archive").param("before", "2019-01")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.archiveTables", hasSize(0)));
+        perform(asAdmin(post("/maintenance-records/partitions/archive").param("before", "2019-1-1")))
+                .andExpect(status().isBadRequest());
+        // 当前月和上个月的分区仍在写入，不允许归档
+        perform(asAdmin(post("/maintenance-records/partitions/archive")
+                .param("before", YearMonth.now().toString())))
+                .andExpect(status().isBadRequest());
+        perform(asUser(get("/maintenance-records/partitions")))
+                .andExpect(status().isForbidden());
+    }
+
+    private long createRecord(String road, String contractor, int score, LocalDateTime recordTime) throws Exception {
+        MvcResult created = perform(withJson(asUser(post("/maintenance-records")),
+                recordRequest(road, contractor, score, recordTime)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return idOf(created);
+    }
+
+    static MaintenanceRecordRequest recordRequest(String road, String contractor, int score, LocalDateTime recordTime) {
+        MaintenanceRecordRequest request = new MaintenanceRecordRequest();
+        request.setRoad(road);
+        request.setContractor(contractor);
+        request.setInspector("赵磊");
+        request.setLocation(road + "与教工路交叉口东北侧");
+        request.setPlantType("乔木");
+        request.setMaintenanceGoal("树冠完整，无病虫害");
+        request.setTechnicalMeasures("修剪枯枝，清理树穴");
+        request.setScore(score);
+        request.setRecordTime(recordTime);
+        return request;
+    }
+}
@@ -0,0 +1,178 @@
+package cn.coderhythm.controller;
+
+import cn.coderhythm.payload.request.MaintenanceUnitRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class MaintenanceUnitControllerTest extends ApiTestSupport {
+
+    @Test
+    void listEtagFollowsChanges() throws Exception {
+        createUnit(unique("西溪湿地"), square(120.05, 30.27, 0.01));
+        String before = perform(asUser(get("/maintenance-units")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        perform(asUser(get("/maintenance-units")).header(HttpHeaders.IF_NONE_MATCH, "\"other\", W/" + before))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, before));
+
+        // 写操作提交后缓存失效，旧 ETag 不再匹配
+        long id = createUnit(unique("西溪湿地"), square(120.05, 30.27, 0.01));
+        perform(asUser(get("/maintenance-units")).header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(before)))
+                .andExpect(jsonPath("$[*].id", hasItem((int) id)));
+    }
+
+    @Test
+    void createWithBoundaryThenReadBack() throws Exception {
+        MaintenanceUnitRequest request = unitRequest(unique("滨江公园"), square(120.20, 30.20, 0.01));
+        MvcResult created = perform(withJson(asAdmin(post("/maintenance-units")), request))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andExpect(jsonPath("$.boundary.length()").value(4))
+                .andReturn();
+        long id = idOf(created);
+
+        perform(asUser(get("/maintenance-units/" + id)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andExpect(jsonPath("$.unitName").value(request.getUnitName()))
+                .andExpect(jsonPath("$.boundary[1][0]", closeTo(120.21, 1e-9)));
+
+        perform(asUser(get("/maintenance-units")))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$[*].id", hasItem((int) id)));
+    }
+
+    @Test
+    void updateWithBoundaryAndIfMatch() throws Exception {
+        long id = createUnit(unique("西湖绿带"), square(120.30, 30.30, 0.01));
+
+        MaintenanceUnitRequest update = unitRequest(unique("西湖绿带"), square(120.30, 30.30, 0.02));
+        update.setTreeCount(480);
+        perform(withJson(asAdmin(put("/maintenance-units/" + id)), update).header(HttpHeaders.IF_MATCH, "\"0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.treeCount").value(480))
+                .andExpect(jsonPath("$.id").value((int) id))
+                .andExpect(jsonPath("$.version").value(1))
+                .andExpect(jsonPath("$.boundary[2][1]", closeTo(30.32, 1e-9)));
+
+        perform(asUser(get("/maintenance-units/" + id)))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.treeCount").value(480))
+                .andExpect(jsonPath("$.createdAt", notNullValue()));
+
+        // 旧版本号再次提交时返回 412 和当前 ETag
+        perform(withJson(asAdmin(put("/maintenance-units/" + id)), update).header(HttpHeaders.IF_MATCH, "\"0\""))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+
+        // 空间索引按更新后的边界查询
+        perform(asUser(get("/map/units/locate").param("lat", "30.315").param("lng", "120.315")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", hasItem((int) id)));
+    }
+
+    @Test
+    void updateWithoutIfMatchIsRejected() throws Exception {
+        long id = createUnit(unique("运河绿地"), square(120.40, 30.40, 0.01));
+
+        MaintenanceUnitRequest update = unitRequest(unique("运河绿地"), square(120.40, 30.40, 0.01));
+        update.setMaintenanceLevel("二级");
+        perform(withJson(asAdmin(put("/maintenance-units/" + id)), update))
+                .andExpect(status().isPreconditionRequired());
+
+        // If-Match: * 明确要求覆盖，不检查版本
+        perform(withJson(asAdmin(put("/maintenance-units/" + id)), update).header(HttpHeaders.IF_MATCH, "*"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.maintenanceLevel").value("二级"));
+        perform(asUser(get("/maintenance-units/" + id)))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+    }
+
+    @Test
+    void updateMissingUnitReturnsNotFound() throws Exception {
+        perform(withJson(asAdmin(put("/maintenance-units/" + Long.MAX_VALUE)),
+                unitRequest(unique("不存在的单元"), null)).header(HttpHeaders.IF_MATCH, "\"0\""))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void duplicateNameIsRejected() throws Exception {
+        String name = unique("湘湖湿地");
+        createUnit(name, null);
+        perform(withJson(asAdmin(post("/maintenance-units")), unitRequest(name, null)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void boundaryWithTooFewVerticesIsRejected() throws Exception {
+        List<double[]> line = Arrays.asList(new double[]{120.1, 30.1}, new double[]{120.2, 30.2});
+        perform(withJson(asAdmin(post("/maintenance-units")), unitRequest(unique("线状绿地"), line)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void writesRequireAdmin() throws Exception {
+        perform(withJson(asUser(post("/maintenance-units")), unitRequest(unique("无权限单元"), null)))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void deleteUnit() throws Exception {
+        long id = createUnit(unique("临时绿地"), square(120.50, 30.50, 0.01));
+
+        perform(asAdmin(delete("/maintenance-units/" + id)))
+                .andExpect(status().isOk());
+        perform(asUser(get("/maintenance-units/" + id)))
+                .andExpect(status().isNotFound());
+    }
+
+    private long createUnit(String name, List<double[]> boundary) throws Exception {
+        MvcResult created = perform(withJson(asAdmin(post("/maintenance-units")), unitRequest(name, boundary)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return idOf(created);
+    }
+
+    static MaintenanceUnitRequest unitRequest(String name, List<double[]> boundary) {
+        MaintenanceUnitRequest request = new MaintenanceUnitRequest();
+        request.setUnitName(name);
+        request.setMaintenanceLevel("一级");
+        request.setTreeTypes("香樟,银杏,桂花");
+        request.setTreeCount(320);
+        request.setGreenArea(12500.5);
+        request.setPatchCount(6);
+        request.setBoundary(boundary);
+        return request;
+    }
+
+    // 以 (lng, lat) 为西南角、边长 size 度的正方形
+    static List<double[]> square(double lng, double lat, double size) {
+        return Arrays.asList(
+                new double[]{lng, lat},
+                new double[]{lng + size, lat},
+                new double[]{lng + size, lat + size},
+                new double[]{lng, lat + size});
+    }
+}
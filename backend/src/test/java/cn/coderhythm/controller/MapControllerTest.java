@@ -0,0 +1,81 @@
+package cn.coderhythm.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static cn.coderhythm.controller.MaintenanceUnitControllerTest.square;
+import static cn.coderhythm.controller.MaintenanceUnitControllerTest.unitRequest;
+import static cn.coderhythm.controller.ProblemReportControllerTest.problemRequest;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 每个测试在不同的经纬度范围内建数据，互不干扰
+ */
+class MapControllerTest extends ApiTestSupport {
+
+    @Test
+    void unitsInBoxAndLocate() throws Exception {
+        long unitId = idOf(perform(withJson(asAdmin(post("/maintenance-units")),
+                unitRequest(unique("钱江新城绿地"), square(121.00, 31.00, 0.01))))
+                .andExpect(status().isCreated())
+                .andReturn());
+
+        perform(asUser(get("/map/units")
+                .param("minLat", "30.99").param("minLng", "120.99").param("maxLat", "31.02").param("maxLng", "121.02")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", hasItem((int) unitId)));
+
+        perform(asUser(get("/map/units/locate").param("lat", "31.005").param("lng", "121.005")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", hasItem((int) unitId)));
+        perform(asUser(get("/map/units/locate").param("lat", "31.015").param("lng", "121.005")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", not(hasItem((int) unitId))));
+    }
+
+    @Test
+    void problemsInBoxNearbyAndUnit() throws Exception {
+        long unitId = idOf(perform(withJson(asAdmin(post("/maintenance-units")),
+                unitRequest(unique("奥体中心绿地"), square(121.10, 31.10, 0.01))))
+                .andExpect(status().isCreated())
+                .andReturn());
+        long problemId = idOf(perform(withJson(asUser(post("/problem-reports")),
+                problemRequest(unique("喷灌损坏"), 31.105, 121.105)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.maintenanceUnitId").value(unitId))
+                .andReturn());
+
+        perform(asUser(get("/map/problems")
+                .param("minLat", "31.10").param("minLng", "121.10").param("maxLat", "31.11").param("maxLng", "121.11")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", hasItem((int) problemId)));
+
+        perform(asUser(get("/map/problems/nearby").param("lat", "31.106").param("lng", "121.106").param("radius", "500")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(problemId));
+        perform(asUser(get("/map/problems/nearby").param("lat", "31.106").param("lng", "121.106").param("radius", "60000")))
+                .andExpect(status().isBadRequest());
+
+        perform(asUser(get("/map/problems/" + problemId + "/unit")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(unitId));
+    }
+
+    @Test
+    void problemWithoutCoordinates() throws Exception {
+        long problemId = idOf(perform(withJson(asUser(post("/problem-reports")), problemRequest(unique("电话投诉"), null, null)))
+                .andExpect(status().isCreated())
+                .andReturn());
+
+        perform(asUser(get("/map/problems/" + problemId + "/unit")))
+                .andExpect(status().isBadRequest());
+        perform(asUser(get("/map/problems/" + Long.MAX_VALUE + "/unit")))
+                .andExpect(status().isNotFound());
+    }
+}
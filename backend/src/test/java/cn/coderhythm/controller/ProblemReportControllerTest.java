@@ -0,0 +1,95 @@
+package cn.coderhythm.controller;
+
+import cn.coderhythm.payload.request.ProblemReportRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ProblemReportControllerTest extends ApiTestSupport {
+
+    @Test
+    void reportAndTrackStatus() throws Exception {
+        long id = createProblem(problemRequest(unique("行道树倒伏"), 30.2741, 120.1551));
+
+        perform(withJson(asUser(patch("/problem-reports/" + id + "/status")),
+                Collections.singletonMap("status", "处理中")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("处理中"));
+
+        perform(asUser(get("/problem-reports").param("status", "处理中")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", hasItem((int) id)));
+
+        perform(withJson(asUser(patch("/problem-reports/" + id + "/status")), Collections.emptyMap()))
+                .andExpect(status().isBadRequest());
+        perform(withJson(asUser(patch("/problem-reports/" + Long.MAX_VALUE + "/status")),
+                Collections.singletonMap("status", "已完成")))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getUpdateAndDelete() throws Exception {
+        ProblemReportRequest request = problemRequest(unique("绿化带缺株"), 30.2630, 120.1790);
+        long id = createProblem(request);
+
+        perform(asUser(get("/problem-reports")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", hasItem((int) id)));
+        perform(asUser(get("/problem-reports/" + id)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.taskName").value(request.getTaskName()));
+
+        request.setUrgency("紧急");
+        request.setDescription("缺株约 20 米，需尽快补植");
+        perform(withJson(asUser(put("/problem-reports/" + id)), request))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.urgency").value("紧急"));
+
+        perform(asUser(delete("/problem-reports/" + id)))
+                .andExpect(status().isForbidden());
+        perform(asAdmin(delete("/problem-reports/" + id)))
+                .andExpect(status().isOk());
+        perform(asUser(get("/problem-reports/" + id)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void coordinatesOutOfRangeAreRejected() throws Exception {
+        perform(withJson(asUser(post("/problem-reports")), problemRequest(unique("坐标错误"), 95.0, 120.0)))
+                .andExpect(status().isBadRequest());
+    }
+
+    private long createProblem(ProblemReportRequest request) throws Exception {
+        MvcResult created = perform(withJson(asUser(post("/problem-reports")), request))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return idOf(created);
+    }
+
+    static ProblemReportRequest problemRequest(String taskName, Double latitude, Double longitude) {
+        ProblemReportRequest request = new ProblemReportRequest();
+        request.setProblemType("树木倒伏");
+        request.setSource("巡查上报");
+        request.setUrgency("一般");
+        request.setTaskName(taskName);
+        request.setLocation("延安路与庆春路交叉口");
+        request.setLatitude(latitude);
+        request.setLongitude(longitude);
+        request.setReporter("孙丽");
+        request.setReportTime(LocalDateTime.now().withNano(0));
+        request.setStatus("待处理");
+        request.setDescription("大风后树木倾斜，影响人行道通行");
+        return request;
+    }
+}
@@ -0,0 +1,38 @@
+package cn.coderhythm.controller;
+
+import cn.coderhythm.querybudget.QueryBudget;
+import cn.coderhythm.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 只在测试中注册的探针接口，每个接口执行一条 SQL，用来验证 QueryBudgetFilter 的判定
+ * 放在测试代码的组件扫描范围内而不是单独的测试配置里，所有测试类共用同一个应用上下文和内存库
+ */
+@RestController
+@RequestMapping("/query-budget-probe")
+public class QueryBudgetProbeController {
+
+    @Autowired
+    UserRepository userRepository;
+
+    @GetMapping("/over")
+    @QueryBudget(0)
+    public ResponseEntity<Long> over() {
+        return ResponseEntity.ok(userRepository.count());
+    }
+
+    @GetMapping("/within")
+    @QueryBudget(1)
+    public ResponseEntity<Long> within() {
+        return ResponseEntity.ok(userRepository.count());
+    }
+
+    @GetMapping("/undeclared")
+    public ResponseEntity<Long> undeclared() {
+        return ResponseEntity.ok(userRepository.count());
+    }
+}
@@ -0,0 +1,35 @@
+package cn.coderhythm.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 确认预算检查本身有效：超出预算或未声明预算的接口必须返回 500
+ * 探针接口见 QueryBudgetProbeController，只存在于测试代码中
+ */
+class QueryBudgetTest extends ApiTestSupport {
+
+    @Test
+    void overBudgetEndpointFails() throws Exception {
+        mockMvc.perform(asUser(get("/query-budget-probe/over")))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.message", containsString("超出预算")));
+    }
+
+    @Test
+    void endpointWithoutBudgetFails() throws Exception {
+        mockMvc.perform(asUser(get("/query-budget-probe/undeclared")))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.message", containsString("未声明")));
+    }
+
+    @Test
+    void endpointWithinBudgetPasses() throws Exception {
+        perform(asUser(get("/query-budget-probe/within")))
+                .andExpect(status().isOk());
+    }
+}
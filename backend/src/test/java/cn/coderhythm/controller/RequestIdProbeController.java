@@ -0,0 +1,23 @@
+package cn.coderhythm.controller;
+
+import cn.coderhythm.logging.RequestIdFilter;
+import cn.coderhythm.querybudget.QueryBudget;
+import org.slf4j.MDC;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 只在测试中注册的探针接口，返回控制器执行时 MDC 中的 requestId，用来验证 RequestIdFilter 的传递
+ */
+@RestController
+@RequestMapping("/request-id-probe")
+public class RequestIdProbeController {
+
+    @GetMapping
+    @QueryBudget(0)
+    public ResponseEntity<String> requestId() {
+        return ResponseEntity.ok(String.valueOf(MDC.get(RequestIdFilter.MDC_KEY)));
+    }
+}
@@ -0,0 +1,62 @@
+package cn.coderhythm.controller;
+
+import cn.coderhythm.logging.RequestIdFilter;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * X-Request-Id：沿用合法的传入值，否则生成；控制器日志上下文中的 ID 与响应头一致，请求结束后清除
+ * 探针接口见 RequestIdProbeController，只存在于测试代码中
+ */
+class RequestIdTest extends ApiTestSupport {
+
+    @Test
+    void incomingIdIsPropagatedAndEchoed() throws Exception {
+        perform(asUser(get("/request-id-probe")).header(RequestIdFilter.HEADER, "gateway-7f3a.01"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(RequestIdFilter.HEADER, "gateway-7f3a.01"))
+                .andExpect(content().string("gateway-7f3a.01"));
+        assertThat(MDC.get(RequestIdFilter.MDC_KEY)).isNull();
+    }
+
+    @Test
+    void missingOrInvalidIdIsReplaced() throws Exception {
+        String first = generatedId(perform(asUser(get("/request-id-probe"))).andReturn());
+        String second = generatedId(perform(asUser(get("/request-id-probe"))).andReturn());
+        assertThat(first).isNotEqualTo(second);
+
+        // 不合法的值（可能用于日志注入）不会被沿用
+        for (String invalid : new String[]{"abc\r\nforged=1", "含中文", "x".repeat(65), " "}) {
+            String id = generatedId(perform(asUser(get("/request-id-probe")).header(RequestIdFilter.HEADER, invalid))
+                    .andReturn());
+            assertThat(id).isNotEqualTo(invalid.trim());
+        }
+        assertThat(MDC.get(RequestIdFilter.MDC_KEY)).isNull();
+    }
+
+    @Test
+    void idIsEchoedOnRejectedRequests() throws Exception {
+        // 关联 ID 过滤器排在安全过滤器链之前，401 和 404 也带上 ID
+        perform(get("/request-id-probe").header(RequestIdFilter.HEADER, "unauthenticated-1"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(header().string(RequestIdFilter.HEADER, "unauthenticated-1"));
+        perform(asUser(get("/maintenance-companies/" + Long.MAX_VALUE)).header(RequestIdFilter.HEADER, "missing-1"))
+                .andExpect(status().isNotFound())
+                .andExpect(header().string(RequestIdFilter.HEADER, "missing-1"));
+    }
+
+    // 生成的 ID 是十六进制，控制器看到的与响应头一致
+    private static String generatedId(MvcResult result) throws Exception {
+        String id = result.getResponse().getHeader(RequestIdFilter.HEADER);
+        assertThat(id).matches("[0-9a-f]{1,16}");
+        assertThat(result.getResponse().getContentAsString()).isEqualTo(id);
+        return id;
+    }
+}
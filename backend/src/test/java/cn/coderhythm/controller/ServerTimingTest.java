@@ -0,0 +1,89 @@
+package cn.coderhythm.controller;
+
+import cn.coderhythm.tracing.TracingFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Server-Timing 响应头：各阶段耗时和总耗时，测试中通过 app.tracing.server-timing=true 开启
+ */
+class ServerTimingTest extends ApiTestSupport {
+
+    // 每一项形如 db;dur=1.25 或 db;dur=1.25;desc="3 calls"
+    private static final Pattern METRIC = Pattern.compile("([a-z-]+);dur=(\\d+\\.\\d{2})(?:;desc=\"(\\d+) calls\")?");
+
+    @Test
+    void reportsPhasesOfAuthenticatedRequest() throws Exception {
+        MvcResult result = perform(asUser(get("/maintenance-companies/search").param("companyName", "园林")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isArray())
+                .andReturn();
+
+        Map<String, Double> metrics = parse(result.getResponse().getHeader(TracingFilter.SERVER_TIMING));
+        assertThat(metrics).containsKeys("jwt", "handler", "db", "serialize", "total");
+        // total 总是最后一项，且不小于任一阶段
+        assertThat(metrics.keySet()).last().isEqualTo("total");
+        assertThat(metrics.get("total")).isGreaterThanOrEqualTo(metrics.get("handler"));
+        // 缓存响应体后仍要原样写出
+        assertThat(result.getResponse().getHeader(HttpHeaders.CONTENT_LENGTH)).isNotNull();
+    }
+
+    @Test
+    void headerIsPresentOnNotModifiedAndUnauthorized() throws Exception {
+        String etag = perform(asUser(get("/assessment-items/tree")))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        MvcResult notModified = perform(asUser(get("/assessment-items/tree")).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andReturn();
+        assertThat(parse(notModified.getResponse().getHeader(TracingFilter.SERVER_TIMING))).containsKey("total");
+
+        perform(get("/maintenance-companies"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(header().exists(TracingFilter.SERVER_TIMING));
+    }
+
+    @Test
+    void durationsUseDotRegardlessOfDefaultLocale() throws Exception {
+        Locale original = Locale.getDefault();
+        Locale.setDefault(Locale.GERMANY);
+        try {
+            MvcResult result = perform(asUser(get("/maintenance-companies/search").param("companyName", "园林")))
+                    .andReturn();
+            assertThat(parse(result.getResponse().getHeader(TracingFilter.SERVER_TIMING))).containsKey("total");
+        } finally {
+            Locale.setDefault(original);
+        }
+    }
+
+    @Test
+    void excludedPathsHaveNoHeader() throws Exception {
+        // 排除规则按 servletPath 匹配；MockMvc 默认 servletPath 为空，这里按 Tomcat 中 DispatcherServlet 映射到 / 时的取值设置
+        perform(get("/actuator/health").servletPath("/actuator/health"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(TracingFilter.SERVER_TIMING));
+    }
+
+    private static Map<String, Double> parse(String header) {
+        assertThat(header).isNotBlank();
+        Map<String, Double> metrics = new LinkedHashMap<>();
+        for (String item : header.split(", ")) {
+            Matcher matcher = METRIC.matcher(item);
+            assertThat(matcher.matches()).as("Server-Timing 项 %s", item).isTrue();
+            metrics.put(matcher.group(1), Double.parseDouble(matcher.group(2)));
+        }
+        return metrics;
+    }
+}
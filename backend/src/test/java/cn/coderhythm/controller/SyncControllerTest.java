@@ -0,0 +1,68 @@
+package cn.coderhythm.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+
+import static cn.coderhythm.controller.MaintenanceCompanyControllerTest.companyRequest;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 变更日志写入后要等 app.sync.settle-ms 才对客户端可见，这里轮询等待
+ */
+class SyncControllerTest extends ApiTestSupport {
+
+    private static final long SETTLE_TIMEOUT_MS = 10_000;
+
+    @Test
+    void pullsUpsertThenTombstone() throws Exception {
+        long since = body(perform(asUser(get("/sync/version"))).andExpect(status().isOk()).andReturn())
+                .get("version").asLong();
+
+        String name = unique("同步测试园林有限公司");
+        long id = idOf(perform(withJson(asAdmin(post("/maintenance-companies")), companyRequest(name)))
+                .andExpect(status().isCreated())
+                .andReturn());
+
+        JsonNode upsert = awaitChange(since, id);
+        assertEquals("upsert", upsert.get("operation").asText().toLowerCase());
+        assertEquals(name, upsert.get("data").get("companyName").asText());
+
+        perform(asAdmin(delete("/maintenance-companies/" + id)))
+                .andExpect(status().isOk());
+        JsonNode tombstone = awaitChange(upsert.get("version").asLong(), id);
+        assertEquals("delete", tombstone.get("operation").asText().toLowerCase());
+    }
+
+    @Test
+    void syncRequiresLogin() throws Exception {
+        perform(get("/sync/changes"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    // 逐页拉取 since 之后的变更，直到出现该养护单位的记录
+    private JsonNode awaitChange(long since, long companyId) throws Exception {
+        long deadline = System.currentTimeMillis() + SETTLE_TIMEOUT_MS;
+        long cursor = since;
+        while (System.currentTimeMillis() < deadline) {
+            JsonNode page = body(perform(asUser(get("/sync/changes").param("since", String.valueOf(cursor))))
+                    .andExpect(status().isOk())
+                    .andReturn());
+            for (JsonNode change : page.get("changes")) {
+                if ("company".equals(change.get("entityType").asText()) && change.get("entityId").asLong() == companyId) {
+                    return change;
+                }
+            }
+            cursor = page.get("nextVersion").asLong();
+            if (!page.get("hasMore").asBoolean()) {
+                Thread.sleep(200);
+            }
+        }
+        fail("等待 " + SETTLE_TIMEOUT_MS + "ms 后仍未拉取到养护单位 " + companyId + " 的变更");
+        return null;
+    }
+}
@@ -0,0 +1,195 @@
+package cn.coderhythm.controller;
+
+import cn.coderhythm.payload.request.UploadInitRequest;
+import cn.coderhythm.service.ChunkedUploadService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.CRC32C;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class UploadSessionControllerTest extends ApiTestSupport {
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    @Value("${app.uploads.session-dir}")
+    String sessionDir;
+
+    @Value("${app.uploads.max-sessions-per-owner}")
+    int maxSessionsPerOwner;
+
+    @Test
+    void uploadInChunksOutOfOrder() throws Exception {
+        byte[] file = new byte[CHUNK_SIZE + 1000];
+        new Random(42).nextBytes(file);
+        String uploadId = initiate(uploadRequest("现场照片.png", "image/png", file.length));
+
+        perform(asUser(chunk(uploadId, CHUNK_SIZE, Arrays.copyOfRange(file, CHUNK_SIZE, file.length))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.receivedChunks").value(1))
+                .andExpect(jsonPath("$.missingChunks", contains(0)));
+
+        perform(asUser(get("/upload-sessions/" + uploadId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalChunks").value(2))
+                .andExpect(jsonPath("$.missingChunks", contains(0)));
+
+        // 分片未到齐不能完成
+        perform(asUser(post("/upload-sessions/" + uploadId + "/complete")))
+                .andExpect(status().isConflict());
+
+        perform(asUser(chunk(uploadId, 0, Arrays.copyOfRange(file, 0, CHUNK_SIZE))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.missingChunks", hasSize(0)));
+
+        String path = body(perform(asUser(post("/upload-sessions/" + uploadId + "/complete")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.path", startsWith("evidence/problems/")))
+                .andReturn()).get("path").asText();
+
+        perform(asUser(get("/uploads/" + path)))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(file));
+    }
+
+    @Test
+    void corruptedChunkIsRejected() throws Exception {
+        byte[] data = new byte[CHUNK_SIZE];
+        new Random(7).nextBytes(data);
+        String uploadId = initiate(uploadRequest("树木倒伏.png", "image/png", data.length));
+
+        perform(asUser(put("/upload-sessions/" + uploadId + "/chunks")
+                .param("offset", "0")
+                .header(ChunkedUploadService.CHECKSUM_HEADER, "00000000")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .content(data)))
+                .andExpect(status().isBadRequest());
+        perform(asUser(get("/upload-sessions/" + uploadId)))
+                .andExpect(jsonPath("$.receivedChunks").value(0));
+    }
+
+    @Test
+    void abortAndOwnership() throws Exception {
+        String uploadId = initiate(uploadRequest("巡查记录.jpg", "image/jpeg", 1000));
+
+        perform(asAdmin(get("/upload-sessions/" + uploadId)))
+                .andExpect(status().isForbidden());
+        perform(asUser(delete("/upload-sessions/" + uploadId)))
+                .andExpect(status().isOk());
+        perform(asUser(get("/upload-sessions/" + uploadId)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void sessionFilesAreNotServed() throws Exception {
+        String uploadId = initiate(uploadRequest("现场照片.png", "image/png", 1000));
+
+        // 会话目录在上传目录之外，未完成的数据和元数据不能经 /uploads/** 访问
+        assertThat(Files.exists(Paths.get(sessionDir, uploadId + ".part"))).isTrue();
+        perform(asUser(get("/uploads/sessions/" + uploadId + ".part")))
+                .andExpect(status().isNotFound());
+        perform(asUser(get("/uploads/sessions/" + uploadId + ".json")))
+                .andExpect(status().isNotFound());
+
+        perform(asUser(delete("/upload-sessions/" + uploadId)))
+                .andExpect(status().isOk());
+        assertThat(Files.exists(Paths.get(sessionDir, uploadId + ".part"))).isFalse();
+    }
+
+    @Test
+    void openSessionsPerOwnerAreCapped() throws Exception {
+        // 其他测试可能留下未完成的会话，只要求在上限以内被拒绝
+        List<String> created = new ArrayList<>();
+        int status = HttpStatus.CREATED.value();
+        while (status == HttpStatus.CREATED.value() && created.size() <= maxSessionsPerOwner) {
+            MvcResult result = perform(withJson(asUser(post("/upload-sessions")),
+                    uploadRequest("现场照片.png", "image/png", 1000))).andReturn();
+            status = result.getResponse().getStatus();
+            if (status == HttpStatus.CREATED.value()) {
+                created.add(body(result).get("uploadId").asText());
+            }
+        }
+        assertThat(status).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(created.size()).isLessThanOrEqualTo(maxSessionsPerOwner);
+
+        // 上限按用户计算，其他用户不受影响
+        String adminUpload = body(perform(withJson(asAdmin(post("/upload-sessions")),
+                uploadRequest("现场照片.png", "image/png", 1000)))
+                .andExpect(status().isCreated())
+                .andReturn()).get("uploadId").asText();
+        perform(asAdmin(delete("/upload-sessions/" + adminUpload)))
+                .andExpect(status().isOk());
+
+        // 取消一个后可以再发起
+        if (!created.isEmpty()) {
+            perform(asUser(delete("/upload-sessions/" + created.remove(0))))
+                    .andExpect(status().isOk());
+            created.add(initiate(uploadRequest("现场照片.png", "image/png", 1000)));
+        }
+        for (String uploadId : created) {
+            perform(asUser(delete("/upload-sessions/" + uploadId)))
+                    .andExpect(status().isOk());
+        }
+    }
+
+    @Test
+    void invalidSessionsAreRejected() throws Exception {
+        perform(withJson(asUser(post("/upload-sessions")), uploadRequest("说明.pdf", "application/pdf", 1000)))
+                .andExpect(status().isUnsupportedMediaType());
+
+        UploadInitRequest tinyChunks = uploadRequest("现场照片.png", "image/png", 1000);
+        tinyChunks.setChunkSize(1024);
+        perform(withJson(asUser(post("/upload-sessions")), tinyChunks))
+                .andExpect(status().isBadRequest());
+
+        perform(withJson(post("/upload-sessions"), uploadRequest("现场照片.png", "image/png", 1000)))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private String initiate(UploadInitRequest request) throws Exception {
+        return body(perform(withJson(asUser(post("/upload-sessions")), request))
+                .andExpect(status().isCreated())
+                .andReturn()).get("uploadId").asText();
+    }
+
+    private static MockHttpServletRequestBuilder chunk(String uploadId, long offset, byte[] data) {
+        CRC32C crc = new CRC32C();
+        crc.update(data);
+        return put("/upload-sessions/" + uploadId + "/chunks")
+                .param("offset", String.valueOf(offset))
+                .header(ChunkedUploadService.CHECKSUM_HEADER, String.format("%08x", crc.getValue()))
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .content(data);
+    }
+
+    private static UploadInitRequest uploadRequest(String fileName, String contentType, long totalSize) {
+        UploadInitRequest request = new UploadInitRequest();
+        request.setFileName(fileName);
+        request.setContentType(contentType);
+        request.setTotalSize(totalSize);
+        request.setChunkSize(CHUNK_SIZE);
+        request.setPurpose("problem-report");
+        return request;
+    }
+}
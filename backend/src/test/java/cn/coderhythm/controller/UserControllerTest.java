@@ -0,0 +1,103 @@
+package cn.coderhythm.controller;
+
+import cn.coderhythm.dto.request.SignupRequest;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static cn.coderhythm.controller.AuthControllerTest.loginRequest;
+import static cn.coderhythm.controller.AuthControllerTest.signupRequest;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class UserControllerTest extends ApiTestSupport {
+
+    // 1x1 PNG
+    private static final String AVATAR = "data:image/png;base64,"
+            + "iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAQAAAC1HAwCAAAAC0lEQVR42mNkYAAAAAYAAjCB0C8AAAAASUVORK5CYII=";
+
+    @Test
+    void profile() throws Exception {
+        perform(asUser(get("/users/profile")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value(USER_USERNAME));
+    }
+
+    @Test
+    void updateProfileWithAvatarAndPassword() throws Exception {
+        SignupRequest signup = signupRequest(unique("gardener"));
+        perform(withJson(post("/auth/signup"), signup))
+                .andExpect(status().isOk());
+        String token = "Bearer " + signIn(signup.getUsername(), signup.getPassword());
+
+        Map<String, Object> updates = new LinkedHashMap<>();
+        updates.put("nickname", "小周");
+        updates.put("bio", "负责滨江区行道树巡查");
+        updates.put("avatar", AVATAR);
+        String avatar = body(perform(withJson(put("/users/profile"), updates).header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nickname").value("小周"))
+                .andExpect(jsonPath("$.avatar", startsWith("avatars/")))
+                .andReturn()).get("avatar").asText();
+
+        // 头像不需要登录即可访问
+        perform(get("/" + avatar))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.IMAGE_PNG));
+
+        Map<String, Object> password = new LinkedHashMap<>();
+        password.put("currentPassword", "not-my-password");
+        password.put("newPassword", "Garden@2025");
+        perform(withJson(put("/users/profile"), password).header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isBadRequest());
+
+        password.put("currentPassword", signup.getPassword());
+        perform(withJson(put("/users/profile"), password).header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.passwordChanged").value(true));
+        perform(withJson(post("/auth/signin"), loginRequest(signup.getUsername(), "Garden@2025")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void adminManagesUsers() throws Exception {
+        SignupRequest signup = signupRequest(unique("temp"));
+        perform(withJson(post("/auth/signup"), signup))
+                .andExpect(status().isOk());
+
+        long id = findUserId(signup.getUsername());
+
+        perform(asAdmin(get("/users/" + id)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value(signup.getUsername()));
+        perform(asAdmin(delete("/users/" + id)))
+                .andExpect(status().isOk());
+        perform(asAdmin(get("/users/" + id)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void userAdministrationRequiresAdmin() throws Exception {
+        perform(asUser(get("/users")))
+                .andExpect(status().isForbidden());
+    }
+
+    private long findUserId(String username) throws Exception {
+        for (JsonNode user : body(perform(asAdmin(get("/users"))).andExpect(status().isOk()).andReturn())) {
+            if (username.equals(user.get("username").asText())) {
+                return user.get("id").asLong();
+            }
+        }
+        throw new AssertionError("找不到用户 " + username);
+    }
+}
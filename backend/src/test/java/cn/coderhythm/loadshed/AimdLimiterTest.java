@@ -0,0 +1,144 @@
+package cn.coderhythm.loadshed;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * AIMD 并发上限：每批在途请求最多收缩一次，上限在 [minLimit, maxLimit] 之间
+ */
+class AimdLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(50);
+
+    @Test
+    void backsOffOncePerBatch() {
+        AimdLimiter limiter = new AimdLimiter(100, 1, 200, 10, 0.9);
+        long firstBatch = startNow();
+        acquire(limiter, 50);
+
+        // 同一批请求全部超时，只收缩一次
+        for (int i = 0; i < 25; i++) {
+            limiter.release(firstBatch, SLOW, false);
+        }
+        for (int i = 0; i < 25; i++) {
+            limiter.release(firstBatch, FAST, true);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(90);
+        assertThat(limiter.getInFlight()).isZero();
+
+        // 收缩之后才开始的请求可以再次触发收缩，之前开始的不能
+        long secondBatch = startNow();
+        acquire(limiter, 2);
+        limiter.release(secondBatch, SLOW, false);
+        assertThat(limiter.getLimit()).isEqualTo(81);
+        limiter.release(firstBatch, SLOW, false);
+        assertThat(limiter.getLimit()).isEqualTo(81);
+    }
+
+    @Test
+    void concurrentFailuresBackOffOnce() throws Exception {
+        AimdLimiter limiter = new AimdLimiter(64, 1, 64, 10, 0.5);
+        long batch = startNow();
+        acquire(limiter, 32);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            CountDownLatch ready = new CountDownLatch(1);
+            List<Future<?>> releases = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                releases.add(executor.submit(() -> {
+                    ready.await();
+                    limiter.release(batch, SLOW, true);
+                    return null;
+                }));
+            }
+            ready.countDown();
+            for (Future<?> release : releases) {
+                release.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(limiter.getLimit()).isEqualTo(32);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void limitStaysAboveFloor() {
+        AimdLimiter limiter = new AimdLimiter(5, 2, 10, 10, 0.5);
+        for (int round = 0; round < 5; round++) {
+            long batch = startNow();
+            acquire(limiter, 1);
+            limiter.release(batch, FAST, true);
+            assertThat(limiter.getLimit()).isGreaterThanOrEqualTo(2);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(2);
+
+        // 上限为下限时仍可接收 minLimit 个请求
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void growsOnlyUnderLoadAndUpToCeiling() {
+        AimdLimiter limiter = new AimdLimiter(10, 1, 12, 10, 0.9);
+
+        // 并发不到上限的一半时不增长
+        long start = startNow();
+        acquire(limiter, 1);
+        limiter.release(start, FAST, false);
+        assertThat(limiter.getLimit()).isEqualTo(10);
+
+        for (int round = 0; round < 10; round++) {
+            int inFlight = limiter.getLimit();
+            acquire(limiter, inFlight);
+            assertThat(limiter.tryAcquire()).isFalse();
+            limiter.release(startNow(), FAST, false);
+            for (int i = 1; i < inFlight; i++) {
+                limiter.release(start, FAST, false);
+            }
+            assertThat(limiter.getLimit()).isLessThanOrEqualTo(12);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(12);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void rejectsInvalidConfigurationAndClampsInitialLimit() {
+        assertThatThrownBy(() -> new AimdLimiter(10, 0, 10, 10, 0.9)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AimdLimiter(10, 20, 10, 10, 0.9)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AimdLimiter(10, 1, 10, 10, 1.0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AimdLimiter(10, 1, 10, 10, 0)).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(new AimdLimiter(100, 1, 20, 10, 0.9).getLimit()).isEqualTo(20);
+        assertThat(new AimdLimiter(0, 3, 20, 10, 0.9).getLimit()).isEqualTo(3);
+    }
+
+    private static void acquire(AimdLimiter limiter, int count) {
+        for (int i = 0; i < count; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+    }
+
+    // 保证返回的开始时间严格晚于此前的收缩时间
+    private static long startNow() {
+        long before = System.nanoTime();
+        long now;
+        do {
+            now = System.nanoTime();
+        } while (now == before);
+        return now;
+    }
+}
@@ -0,0 +1,171 @@
+package cn.coderhythm.plan;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 区间树的增删与相交查询，查询结果与逐个比较的暴力实现对照；同时检查 treap 的堆序、键序和子树 maxEnd
+ */
+class IntervalTreeTest {
+
+    @Test
+    void removeAmongEqualStarts() {
+        Random random = new Random(11);
+        IntervalTree<Integer> tree = new IntervalTree<>();
+        List<long[]> intervals = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            long end = 10 + random.nextInt(100);
+            tree.insert(10, end, i);
+            intervals.add(new long[]{10, end, i});
+        }
+        assertInvariants(tree);
+
+        // 起点相同的区间按对象区分，只删掉指定的那个
+        assertThat(tree.remove(10, 64)).isFalse();
+        assertThat(tree.remove(11, 5)).isFalse();
+        assertThat(tree.size()).isEqualTo(64);
+
+        List<long[]> order = new ArrayList<>(intervals);
+        Collections.shuffle(order, random);
+        for (long[] interval : order) {
+            assertThat(tree.remove(interval[0], (int) interval[2])).isTrue();
+            intervals.remove(interval);
+            assertThat(tree.size()).isEqualTo(intervals.size());
+            assertInvariants(tree);
+            for (long point : new long[]{9, 10, 50, 109, 110}) {
+                assertMatchesOracle(tree, intervals, point, point);
+            }
+            assertThat(tree.remove(interval[0], (int) interval[2])).isFalse();
+        }
+        assertThat(tree.isEmpty()).isTrue();
+        assertThat(tree.overlapping(Long.MIN_VALUE, Long.MAX_VALUE)).isEmpty();
+    }
+
+    @Test
+    void overlappingMatchesBruteForce() {
+        Random random = new Random(23);
+        IntervalTree<Integer> tree = new IntervalTree<>();
+        List<long[]> intervals = new ArrayList<>();
+        int nextId = 0;
+        for (int step = 0; step < 3000; step++) {
+            if (intervals.isEmpty() || random.nextInt(3) > 0) {
+                // 起点取值范围小，制造大量相同起点
+                long start = random.nextInt(300);
+                long end = start + (random.nextInt(10) == 0 ? random.nextInt(500) : random.nextInt(20));
+                tree.insert(start, end, nextId);
+                intervals.add(new long[]{start, end, nextId});
+                nextId++;
+            } else {
+                long[] interval = intervals.remove(random.nextInt(intervals.size()));
+                assertThat(tree.remove(interval[0], (int) interval[2])).isTrue();
+            }
+            if (step % 100 == 0) {
+                assertInvariants(tree);
+            }
+            long queryStart = random.nextInt(900) - 50;
+            assertMatchesOracle(tree, intervals, queryStart, queryStart + random.nextInt(40));
+        }
+        assertThat(tree.size()).isEqualTo(intervals.size());
+        assertInvariants(tree);
+        assertMatchesOracle(tree, intervals, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    @Test
+    void closedIntervalBoundaries() {
+        IntervalTree<Integer> tree = new IntervalTree<>();
+        tree.insert(10, 20, 1);
+        tree.insert(20, 20, 2);
+        tree.insert(21, 30, 3);
+
+        assertThat(values(tree.overlapping(20, 20))).containsExactly(1, 2);
+        assertThat(values(tree.overlapping(0, 9))).isEmpty();
+        assertThat(values(tree.overlapping(30, 40))).containsExactly(3);
+        assertThat(values(tree.overlapping(0, 100))).containsExactly(1, 2, 3);
+        assertThatThrownBy(() -> tree.insert(5, 4, 4)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(tree.size()).isEqualTo(3);
+    }
+
+    private static void assertMatchesOracle(IntervalTree<Integer> tree, List<long[]> intervals, long start, long end) {
+        List<IntervalTree.Entry<Integer>> result = tree.overlapping(start, end);
+        List<Integer> expected = new ArrayList<>();
+        for (long[] interval : intervals) {
+            if (interval[0] <= end && interval[1] >= start) {
+                expected.add((int) interval[2]);
+            }
+        }
+        assertThat(values(result)).containsExactlyInAnyOrderElementsOf(expected);
+        // 结果按起点排序，起点相同时按对象排序
+        assertThat(result).isSortedAccordingTo(Comparator.<IntervalTree.Entry<Integer>>comparingLong(IntervalTree.Entry::getStart)
+                .thenComparing(IntervalTree.Entry::getValue));
+        for (IntervalTree.Entry<Integer> entry : result) {
+            long[] interval = intervals.stream().filter(i -> i[2] == entry.getValue()).findFirst().orElseThrow();
+            assertThat(entry.getStart()).isEqualTo(interval[0]);
+            assertThat(entry.getEnd()).isEqualTo(interval[1]);
+        }
+    }
+
+    private static List<Integer> values(List<IntervalTree.Entry<Integer>> entries) {
+        return entries.stream().map(IntervalTree.Entry::getValue).collect(Collectors.toList());
+    }
+
+    // ---- 通过反射检查 treap 结构 ----
+
+    private static void assertInvariants(IntervalTree<Integer> tree) {
+        assertThat(check(ReflectionTestUtils.getField(tree, "root"))).isEqualTo(tree.size());
+    }
+
+    // 返回子树节点数
+    private static int check(Object node) {
+        if (node == null) {
+            return 0;
+        }
+        Object left = ReflectionTestUtils.getField(node, "left");
+        Object right = ReflectionTestUtils.getField(node, "right");
+        long maxEnd = end(node);
+        for (Object child : new Object[]{left, right}) {
+            if (child != null) {
+                assertThat(priority(child)).isLessThanOrEqualTo(priority(node));
+                maxEnd = Math.max(maxEnd, (Long) ReflectionTestUtils.getField(child, "maxEnd"));
+            }
+        }
+        if (left != null) {
+            assertThat(compareKeys(left, node)).isLessThan(0);
+        }
+        if (right != null) {
+            assertThat(compareKeys(right, node)).isGreaterThanOrEqualTo(0);
+        }
+        assertThat((Long) ReflectionTestUtils.getField(node, "maxEnd")).isEqualTo(maxEnd);
+        return 1 + check(left) + check(right);
+    }
+
+    private static int compareKeys(Object a, Object b) {
+        int cmp = Long.compare(start(a), start(b));
+        return cmp != 0 ? cmp : value(a).compareTo(value(b));
+    }
+
+    private static long start(Object node) {
+        return (Long) ReflectionTestUtils.getField(node, "start");
+    }
+
+    private static long end(Object node) {
+        return (Long) ReflectionTestUtils.getField(node, "end");
+    }
+
+    private static Integer value(Object node) {
+        return (Integer) ReflectionTestUtils.getField(node, "value");
+    }
+
+    private static int priority(Object node) {
+        return (Integer) ReflectionTestUtils.getField(node, "priority");
+    }
+}
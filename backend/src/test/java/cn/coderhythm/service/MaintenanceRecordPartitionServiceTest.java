@@ -0,0 +1,140 @@
+package cn.coderhythm.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 分区归档只在 MySQL 上执行，这里用 MySQL 容器验证 CREATE LIKE / REMOVE PARTITIONING / EXCHANGE / DROP 的完整流程
+ * 以及中断后的续跑；没有 Docker 的环境自动跳过
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class MaintenanceRecordPartitionServiceTest {
+
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+
+    @Container
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>(DockerImageName.parse("mysql:8.0"));
+
+    private final YearMonth now = YearMonth.now();
+
+    private JdbcTemplate jdbcTemplate;
+
+    private MaintenanceRecordPartitionService service;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                MYSQL.getJdbcUrl(), MYSQL.getUsername(), MYSQL.getPassword()));
+        for (String table : jdbcTemplate.queryForList(
+                "SELECT TABLE_NAME FROM information_schema.TABLES WHERE TABLE_SCHEMA = DATABASE()", String.class)) {
+            jdbcTemplate.execute("DROP TABLE " + table);
+        }
+        jdbcTemplate.execute("CREATE TABLE maintenance_records (" +
+                "id BIGINT NOT NULL AUTO_INCREMENT, road VARCHAR(100), record_time DATETIME(6) NOT NULL, " +
+                "PRIMARY KEY (id))");
+        for (YearMonth month : Arrays.asList(now.minusMonths(4), now.minusMonths(3), now.minusMonths(2))) {
+            insertRecords(month, 2);
+        }
+        insertRecords(now, 1);
+
+        service = new MaintenanceRecordPartitionService();
+        ReflectionTestUtils.setField(service, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(service, "monthsAhead", 3);
+        ReflectionTestUtils.setField(service, "minRetentionMonths", 1);
+        service.initPartitions();
+    }
+
+    @Test
+    void archivesExpiredPartitionsByExchange() {
+        assertThat(service.listMonthlyPartitions()).contains(partition(now.minusMonths(4)), partition(now));
+
+        assertThat(service.archivePartitionsBefore(now.minusMonths(2)))
+                .containsExactly(archive(now.minusMonths(4)), archive(now.minusMonths(3)));
+
+        assertThat(service.listMonthlyPartitions())
+                .doesNotContain(partition(now.minusMonths(4)), partition(now.minusMonths(3)))
+                .contains(partition(now.minusMonths(2)));
+        assertThat(service.listArchiveTables())
+                .containsExactly(archive(now.minusMonths(4)), archive(now.minusMonths(3)));
+        assertThat(count(archive(now.minusMonths(4)))).isEqualTo(2);
+        assertThat(count(archive(now.minusMonths(3)))).isEqualTo(2);
+        assertThat(count("maintenance_records")).isEqualTo(3);
+        // 归档表是普通表，可以单独导出或删除
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.PARTITIONS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL",
+                Integer.class, archive(now.minusMonths(4)))).isZero();
+
+        // 再次执行不会重复归档
+        assertThat(service.archivePartitionsBefore(now.minusMonths(2))).isEmpty();
+    }
+
+    @Test
+    void resumesAfterExchangeWithoutDrop() {
+        // 模拟上次执行在 EXCHANGE 之后、DROP PARTITION 之前中断
+        String partition = partition(now.minusMonths(4));
+        String archive = archive(now.minusMonths(4));
+        jdbcTemplate.execute("CREATE TABLE " + archive + " LIKE maintenance_records");
+        jdbcTemplate.execute("ALTER TABLE " + archive + " REMOVE PARTITIONING");
+        jdbcTemplate.execute("ALTER TABLE maintenance_records EXCHANGE PARTITION " + partition + " WITH TABLE " + archive);
+
+        assertThat(service.archivePartitionsBefore(now.minusMonths(3))).containsExactly(archive);
+        assertThat(service.listMonthlyPartitions()).doesNotContain(partition);
+        assertThat(count(archive)).isEqualTo(2);
+    }
+
+    @Test
+    void refusesToOverwriteExistingArchive() {
+        // 归档表已存在但分区仍有数据，不能覆盖也不能删除分区
+        String partition = partition(now.minusMonths(4));
+        String archive = archive(now.minusMonths(4));
+        jdbcTemplate.execute("CREATE TABLE " + archive + " LIKE maintenance_records");
+        jdbcTemplate.execute("ALTER TABLE " + archive + " REMOVE PARTITIONING");
+
+        assertThatThrownBy(() -> service.archivePartitionsBefore(now.minusMonths(3)))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(service.listMonthlyPartitions()).contains(partition);
+        assertThat(count("maintenance_records")).isEqualTo(7);
+    }
+
+    @Test
+    void recentPartitionsCannotBeArchived() {
+        assertThatThrownBy(() -> service.archivePartitionsBefore(now))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(service.listArchiveTables()).isEqualTo(Collections.emptyList());
+    }
+
+    private void insertRecords(YearMonth month, int rows) {
+        for (int i = 0; i < rows; i++) {
+            jdbcTemplate.update("INSERT INTO maintenance_records (road, record_time) VALUES (?, ?)",
+                    "湖滨路", month.atDay(10 + i).atTime(9, 0));
+        }
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+
+    private static String partition(YearMonth month) {
+        return "p" + MONTH.format(month);
+    }
+
+    private static String archive(YearMonth month) {
+        return "maintenance_records_archive_" + MONTH.format(month);
+    }
+}
@@ -0,0 +1,218 @@
+package cn.coderhythm.spatial;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * R 树的结构不变式（节点条目数、外接矩形、叶子同深度）和查询结果，查询结果与线性扫描对照
+ */
+class RTreeTest {
+
+    private static final int MAX_ENTRIES = 4;
+
+    @Test
+    void quadraticSplitSeparatesClusters() {
+        RTree<Integer> tree = new RTree<>(MAX_ENTRIES);
+        tree.insert(new BoundingBox(0, 0, 1, 1), 0);
+        tree.insert(new BoundingBox(1, 1, 2, 2), 1);
+        tree.insert(new BoundingBox(0, 1, 1, 2), 2);
+        tree.insert(new BoundingBox(50, 50, 51, 51), 3);
+        assertThat(rootIsLeaf(tree)).isTrue();
+
+        // 第 5 个条目触发分裂，两个相距很远的簇各成一组
+        tree.insert(new BoundingBox(51, 51, 52, 52), 4);
+
+        assertThat(rootIsLeaf(tree)).isFalse();
+        List<Set<Integer>> groups = new ArrayList<>();
+        for (Object child : children(ReflectionTestUtils.getField(tree, "root"))) {
+            groups.add(values(child));
+        }
+        assertThat(groups).containsExactlyInAnyOrder(new HashSet<>(Arrays.asList(0, 1, 2)), new HashSet<>(Arrays.asList(3, 4)));
+        assertInvariants(tree);
+        assertThat(tree.search(new BoundingBox(49, 49, 60, 60))).containsExactlyInAnyOrder(3, 4);
+    }
+
+    @Test
+    void searchMatchesLinearScan() {
+        Random random = new Random(42);
+        RTree<Integer> tree = new RTree<>(8);
+        List<BoundingBox> boxes = randomBoxes(random, 2000);
+        for (int i = 0; i < boxes.size(); i++) {
+            tree.insert(boxes.get(i), i);
+        }
+        assertThat(tree.size()).isEqualTo(boxes.size());
+        assertInvariants(tree);
+
+        for (int q = 0; q < 300; q++) {
+            BoundingBox query = randomBox(random, q % 3 == 0 ? 0 : 20);
+            assertThat(tree.search(query)).containsExactlyInAnyOrderElementsOf(linearScan(boxes, query));
+        }
+    }
+
+    @Test
+    void removeAndReinsertKeepInvariants() {
+        Random random = new Random(7);
+        RTree<Integer> tree = new RTree<>(MAX_ENTRIES);
+        List<BoundingBox> boxes = randomBoxes(random, 400);
+        for (int i = 0; i < boxes.size(); i++) {
+            tree.insert(boxes.get(i), i);
+        }
+
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < boxes.size(); i++) {
+            order.add(i);
+        }
+        Collections.shuffle(order, random);
+        List<Integer> removed = order.subList(0, 300);
+        List<BoundingBox> live = new ArrayList<>(boxes);
+        for (int id : removed) {
+            assertThat(tree.remove(boxes.get(id), id)).isTrue();
+            live.set(id, null);
+            assertInvariants(tree);
+        }
+        assertThat(tree.size()).isEqualTo(100);
+        assertThat(tree.remove(boxes.get(removed.get(0)), removed.get(0))).isFalse();
+        // 范围不相交时找不到条目
+        int kept = order.get(350);
+        assertThat(tree.remove(new BoundingBox(-20, -20, -10, -10), kept)).isFalse();
+        assertThat(tree.size()).isEqualTo(100);
+        assertSearchesMatch(tree, live, random);
+
+        for (int id : removed) {
+            tree.insert(boxes.get(id), id);
+            live.set(id, boxes.get(id));
+        }
+        assertThat(tree.size()).isEqualTo(boxes.size());
+        assertInvariants(tree);
+        assertSearchesMatch(tree, live, random);
+
+        for (int id : order) {
+            assertThat(tree.remove(boxes.get(id), id)).isTrue();
+        }
+        assertThat(tree.size()).isZero();
+        assertThat(rootIsLeaf(tree)).isTrue();
+        assertThat(tree.search(new BoundingBox(0, 0, 100, 100))).isEmpty();
+        tree.insert(boxes.get(0), 0);
+        assertThat(tree.search(boxes.get(0))).containsExactly(0);
+    }
+
+    private static void assertSearchesMatch(RTree<Integer> tree, List<BoundingBox> live, Random random) {
+        for (int q = 0; q < 100; q++) {
+            BoundingBox query = randomBox(random, 25);
+            assertThat(tree.search(query)).containsExactlyInAnyOrderElementsOf(linearScan(live, query));
+        }
+    }
+
+    private static List<Integer> linearScan(List<BoundingBox> boxes, BoundingBox query) {
+        List<Integer> result = new ArrayList<>();
+        for (int i = 0; i < boxes.size(); i++) {
+            if (boxes.get(i) != null && boxes.get(i).intersects(query)) {
+                result.add(i);
+            }
+        }
+        return result;
+    }
+
+    private static List<BoundingBox> randomBoxes(Random random, int count) {
+        List<BoundingBox> boxes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            boxes.add(randomBox(random, 3));
+        }
+        return boxes;
+    }
+
+    // 坐标范围 [0, 100]，maxSize 为 0 时是点
+    private static BoundingBox randomBox(Random random, double maxSize) {
+        double lng = random.nextDouble() * 100;
+        double lat = random.nextDouble() * 100;
+        return new BoundingBox(lng, lat, lng + random.nextDouble() * maxSize, lat + random.nextDouble() * maxSize);
+    }
+
+    // ---- 通过反射检查内部结构 ----
+
+    private static boolean rootIsLeaf(RTree<?> tree) {
+        return (Boolean) ReflectionTestUtils.getField(ReflectionTestUtils.getField(tree, "root"), "leaf");
+    }
+
+    private static void assertInvariants(RTree<?> tree) {
+        Object root = ReflectionTestUtils.getField(tree, "root");
+        assertThat(ReflectionTestUtils.getField(root, "parent")).isNull();
+        int max = (Integer) ReflectionTestUtils.getField(tree, "maxEntries");
+        int min = (Integer) ReflectionTestUtils.getField(tree, "minEntries");
+        Set<Integer> leafDepths = new HashSet<>();
+        int entries = check(root, true, 0, min, max, leafDepths);
+        assertThat(entries).isEqualTo(tree.size());
+        assertThat(leafDepths).as("所有叶子在同一深度").hasSizeLessThanOrEqualTo(1);
+    }
+
+    private static int check(Object node, boolean isRoot, int depth, int min, int max, Set<Integer> leafDepths) {
+        boolean leaf = (Boolean) ReflectionTestUtils.getField(node, "leaf");
+        List<Object> children = children(node);
+        if (isRoot) {
+            if (!leaf) {
+                assertThat(children).hasSizeGreaterThanOrEqualTo(2);
+            }
+        } else {
+            assertThat(children).hasSizeBetween(min, max);
+        }
+        if (!children.isEmpty()) {
+            BoundingBox union = null;
+            for (Object child : children) {
+                assertThat(ReflectionTestUtils.getField(child, "parent")).isSameAs(node);
+                BoundingBox box = box(child);
+                union = union == null ? box : union.union(box);
+            }
+            assertSameBox(box(node), union);
+        }
+        if (leaf) {
+            leafDepths.add(depth);
+            return children.size();
+        }
+        int entries = 0;
+        for (Object child : children) {
+            entries += check(child, false, depth + 1, min, max, leafDepths);
+        }
+        return entries;
+    }
+
+    private static Set<Integer> values(Object node) {
+        if ((Boolean) ReflectionTestUtils.getField(node, "leaf")) {
+            return children(node).stream()
+                    .map(entry -> (Integer) ReflectionTestUtils.getField(entry, "value"))
+                    .collect(Collectors.toSet());
+        }
+        Set<Integer> result = new HashSet<>();
+        for (Object child : children(node)) {
+            result.addAll(values(child));
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Object> children(Object node) {
+        return (List<Object>) ReflectionTestUtils.getField(node, "children");
+    }
+
+    private static BoundingBox box(Object node) {
+        return (BoundingBox) ReflectionTestUtils.getField(node, "box");
+    }
+
+    private static void assertSameBox(BoundingBox actual, BoundingBox expected) {
+        assertThat(actual.getMinLng()).isCloseTo(expected.getMinLng(), within(1e-12));
+        assertThat(actual.getMinLat()).isCloseTo(expected.getMinLat(), within(1e-12));
+        assertThat(actual.getMaxLng()).isCloseTo(expected.getMaxLng(), within(1e-12));
+        assertThat(actual.getMaxLat()).isCloseTo(expected.getMaxLat(), within(1e-12));
+    }
+}
@@ -0,0 +1,135 @@
+package cn.coderhythm.timer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 分层时间轮：条目必须恰好在不早于截止时间的第一个 tick 触发，且只触发一次
+ */
+class HierarchicalTimingWheelTest {
+
+    @Test
+    void cascadesThroughLevels() {
+        // wheelSize=4 时各层每格 1、4、16、64、256 个 tick
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(1, 4, 0);
+        long[] deadlines = {1, 3, 4, 5, 15, 16, 17, 63, 64, 65, 255, 256, 257, 1000};
+        for (long deadline : deadlines) {
+            assertThat(wheel.add(deadline, deadline)).isTrue();
+        }
+
+        Map<Long, Long> firedAt = new HashMap<>();
+        for (long now = 1; now <= 1100; now++) {
+            long tick = now;
+            wheel.advanceTo(now, item -> assertThat(firedAt.put(item, tick)).isNull());
+        }
+        for (long deadline : deadlines) {
+            assertThat(firedAt.get(deadline)).as("deadline %d", deadline).isEqualTo(deadline);
+        }
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void deadlinesOnSpanEdges() {
+        // 起点不在任何格子边界上，截止时间恰好落在各层的格子边界和 wheelSize^i 距离处
+        long start = 7;
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(1, 4, start);
+        long[] deadlines = {8, 12, 16, 32, 48, 64, 128, 256, 512,
+                start + 4, start + 16, start + 64, start + 256, start + 3, start + 15, start + 63, start + 255};
+        for (long deadline : deadlines) {
+            wheel.add(deadline, deadline);
+        }
+
+        List<Long> fired = new ArrayList<>();
+        for (long now = start + 1; now <= 600; now++) {
+            List<Long> expired = new ArrayList<>();
+            wheel.advanceTo(now, expired::add);
+            for (long item : expired) {
+                assertThat(item).as("触发时刻").isEqualTo(now);
+            }
+            fired.addAll(expired);
+        }
+        assertThat(fired).containsExactlyInAnyOrder(box(deadlines));
+    }
+
+    @Test
+    void tickRoundingNeverFiresEarly() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1000, 60, 0);
+        wheel.add(5000, "整点");
+        wheel.add(5001, "刚过整点");
+
+        List<String> fired = new ArrayList<>();
+        wheel.advanceTo(4999, fired::add);
+        assertThat(fired).isEmpty();
+        wheel.advanceTo(5000, fired::add);
+        assertThat(fired).containsExactly("整点");
+        wheel.advanceTo(5999, fired::add);
+        assertThat(fired).containsExactly("整点");
+        wheel.advanceTo(6000, fired::add);
+        assertThat(fired).containsExactly("整点", "刚过整点");
+
+        // 已到期的条目不加入，由调用方立即处理
+        assertThat(wheel.add(6000, "已到期")).isFalse();
+        assertThat(wheel.add(5500, "已到期")).isFalse();
+        assertThat(wheel.size()).isZero();
+        assertThatThrownBy(() -> new HierarchicalTimingWheel<>(0, 60, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new HierarchicalTimingWheel<>(1000, 1, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void largeJumpsMatchOracle() {
+        Random random = new Random(5);
+        long tickMs = 10;
+        long now = 1_000_003;
+        HierarchicalTimingWheel<Integer> wheel = new HierarchicalTimingWheel<>(tickMs, 8, now);
+        Map<Integer, Long> pending = new HashMap<>();
+        List<Integer> fired = new ArrayList<>();
+        int nextId = 0;
+
+        for (int round = 0; round < 200; round++) {
+            int additions = random.nextInt(20);
+            for (int i = 0; i < additions; i++) {
+                long deadline = now + 1 + (long) (random.nextDouble() * Math.pow(10, 1 + random.nextInt(6)));
+                assertThat(wheel.add(deadline, nextId)).isTrue();
+                pending.put(nextId++, deadline);
+            }
+            // 大多是小步推进，偶尔一次跨越多层
+            long jump = random.nextInt(10) == 0 ? random.nextInt(2_000_000) : random.nextInt(200);
+            now += jump;
+            fired.clear();
+            wheel.advanceTo(now, fired::add);
+
+            List<Integer> expected = new ArrayList<>();
+            long currentTick = now / tickMs;
+            pending.forEach((id, deadline) -> {
+                if (Math.floorDiv(deadline + tickMs - 1, tickMs) <= currentTick) {
+                    expected.add(id);
+                }
+            });
+            assertThat(fired).containsExactlyInAnyOrderElementsOf(expected);
+            expected.forEach(pending::remove);
+            assertThat(wheel.size()).isEqualTo(pending.size());
+        }
+
+        now += 10_000_000;
+        fired.clear();
+        wheel.advanceTo(now, fired::add);
+        assertThat(fired).containsExactlyInAnyOrderElementsOf(pending.keySet());
+        assertThat(wheel.size()).isZero();
+    }
+
+    private static Long[] box(long[] values) {
+        Long[] boxed = new Long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            boxed[i] = values[i];
+        }
+        return boxed;
+    }
+}
@@ -0,0 +1,112 @@
+package cn.coderhythm.benchmark;
+
+import cn.coderhythm.security.jwt.AuthTokenFilter;
+import cn.coderhythm.security.jwt.JwtUtils;
+import cn.coderhythm.security.service.UserDetailsImpl;
+import cn.coderhythm.security.service.UserDetailsServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import javax.servlet.FilterChain;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT 过滤器的判定路径：路径匹配、取令牌、校验、构造认证信息
+ * 用户加载替换为内存返回，结果不含数据库查询；每次调用新建 Mock 请求，其分配也计入结果。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthTokenFilterBenchmark {
+
+    /**
+     * valid：携带有效令牌；tampered：签名错误；anonymous：未携带令牌；public：登录等公开接口
+     */
+    @Param({"valid", "tampered", "anonymous", "public"})
+    public String scenario;
+
+    private AuthTokenFilter filter;
+    private String authorization;
+    private String servletPath;
+
+    @Setup
+    public void setUp() {
+        JwtUtils jwtUtils = new JwtUtils();
+        BenchmarkSupport.inject(jwtUtils, "jwtSecret", BenchmarkSupport.JWT_SECRET);
+        BenchmarkSupport.inject(jwtUtils, "jwtExpirationMs", BenchmarkSupport.JWT_EXPIRATION_MS);
+        BenchmarkSupport.inject(jwtUtils, "meterRegistry", BenchmarkSupport.meterRegistry());
+
+        UserDetailsImpl userDetails = UserDetailsImpl.build(BenchmarkSupport.user(1L, "admin"));
+        filter = new AuthTokenFilter();
+        BenchmarkSupport.inject(filter, "jwtUtils", jwtUtils);
+        BenchmarkSupport.inject(filter, "userDetailsService", new InMemoryUserDetailsService(userDetails));
+
+        String token = jwtUtils.generateJwtToken(
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+        servletPath = "/maintenance-units";
+        switch (scenario) {
+            case "valid":
+                authorization = "Bearer " + token;
+                break;
+            case "tampered":
+                authorization = "Bearer " + token.substring(0, token.length() - 2) + "xx";
+                break;
+            case "public":
+                authorization = null;
+                servletPath = "/auth/signin";
+                break;
+            default:
+                authorization = null;
+        }
+    }
+
+    @Benchmark
+    public void doFilter(Blackhole blackhole) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api" + servletPath);
+        request.setContextPath("/api");
+        request.setServletPath(servletPath);
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        FilterChain chain = (req, res) -> blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    /**
+     * 直接返回固定用户，排除数据库访问
+     */
+    private static final class InMemoryUserDetailsService extends UserDetailsServiceImpl {
+        private final UserDetails userDetails;
+
+        InMemoryUserDetailsService(UserDetails userDetails) {
+            this.userDetails = userDetails;
+        }
+
+        @Override
+        public UserDetails loadUserByUsername(String username) {
+            return userDetails;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package cn.coderhythm.benchmark;
+
+import cn.coderhythm.model.ERole;
+import cn.coderhythm.model.Role;
+import cn.coderhythm.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.DirectFieldAccessor;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 基准测试共用的对象构造
+ * 被测类依赖字段注入，这里直接写字段，不启动 Spring 容器。
+ */
+final class BenchmarkSupport {
+
+    // 与 application.properties 中的 jwt.* 保持一致
+    static final String JWT_SECRET = "gardenManagerSecretKey2023@CodeRhythm!SecureAndComplex";
+    static final int JWT_EXPIRATION_MS = 86400000;
+
+    private BenchmarkSupport() {
+    }
+
+    static <T> T inject(T target, String field, Object value) {
+        new DirectFieldAccessor(target).setPropertyValue(field, value);
+        return target;
+    }
+
+    static SimpleMeterRegistry meterRegistry() {
+        return new SimpleMeterRegistry();
+    }
+
+    static User user(long id, String username) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoO5pX6zX3pZ8c1m7Q2fS0sYzT4nJk6r1W");
+        user.setFullName("测试用户" + id);
+        user.setNickname(username);
+        user.setAvatar("avatars/avatar_" + id + ".jpg");
+
+        Set<Role> roles = new HashSet<>();
+        roles.add(role(1, ERole.ROLE_USER));
+        roles.add(role(2, ERole.ROLE_ADMIN));
+        user.setRoles(roles);
+        return user;
+    }
+
+    private static Role role(int id, ERole name) {
+        Role role = new Role();
+        role.setId(id);
+        role.setName(name);
+        return role;
+    }
+}
@@ -0,0 +1,115 @@
+package cn.coderhythm.benchmark;
+
+import cn.coderhythm.datasource.ConnectionLimitingDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 平台线程池与虚拟线程两种执行模式处理一批阻塞请求的总耗时
+ * 每个请求先做一段不占连接的阻塞 I/O（文件读写、外部调用），再持有数据库连接执行一段查询；
+ * 连接经 ConnectionLimitingDataSource 限流，模拟连接池大小。platform 对应 Tomcat 默认的 200 个工作线程。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ExecutionModeBenchmark {
+
+    private static final int PLATFORM_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    public String mode;
+
+    // 同时到达的请求数
+    @Param({"1000", "5000"})
+    public int requests;
+
+    // 连接池大小
+    @Param({"10"})
+    public int connections;
+
+    @Param({"5"})
+    public long ioMillis;
+
+    @Param({"2"})
+    public long queryMillis;
+
+    private ExecutorService executor;
+    private ConnectionLimitingDataSource dataSource;
+    private List<Callable<Void>> batch;
+
+    @Setup
+    public void setUp() {
+        executor = "virtual".equals(mode)
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(PLATFORM_THREADS);
+        dataSource = new ConnectionLimitingDataSource(new SleepingDataSource(), connections, TimeUnit.MINUTES.toMillis(1));
+        batch = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            batch.add(this::handleRequest);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public int burst() throws Exception {
+        return executor.invokeAll(batch).size();
+    }
+
+    private Void handleRequest() throws Exception {
+        Thread.sleep(ioMillis);
+        try (Connection connection = dataSource.getConnection()) {
+            connection.isValid((int) queryMillis);
+        }
+        return null;
+    }
+
+    /**
+     * isValid 阻塞 queryMillis 毫秒，代替一次数据库往返
+     */
+    private final class SleepingDataSource extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() {
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        if ("isValid".equals(method.getName())) {
+                            Thread.sleep(queryMillis);
+                            return true;
+                        }
+                        return null;
+                    });
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) {
+            return getConnection();
+        }
+    }
+}
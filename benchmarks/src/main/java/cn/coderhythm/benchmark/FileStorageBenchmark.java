@@ -0,0 +1,78 @@
+package cn.coderhythm.benchmark;
+
+import cn.coderhythm.service.FileStorageService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.FileSystemUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Base64 头像保存：解码并写入磁盘
+ * 写入临时目录，每次调用后删除生成的文件，避免占满磁盘；删除不计入结果。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileStorageBenchmark {
+
+    /**
+     * 原始图片大小（字节）：手机压缩后的头像、普通照片、高清照片
+     */
+    @Param({"51200", "262144", "1048576"})
+    public int imageBytes;
+
+    private FileStorageService fileStorageService;
+    private Path uploadDir;
+    private String base64Image;
+    private String savedPath;
+
+    @Setup
+    public void setUp() throws Exception {
+        uploadDir = Files.createTempDirectory("garden-bench-uploads");
+        fileStorageService = new FileStorageService();
+        BenchmarkSupport.inject(fileStorageService, "uploadDir", uploadDir.toString());
+        BenchmarkSupport.inject(fileStorageService, "meterRegistry", BenchmarkSupport.meterRegistry());
+
+        byte[] image = new byte[imageBytes];
+        new Random(42).nextBytes(image);
+        base64Image = "data:image/jpeg;base64," + Base64.getEncoder().encodeToString(image);
+    }
+
+    @Benchmark
+    public String saveBase64Image() throws Exception {
+        savedPath = fileStorageService.saveBase64Image(base64Image, 1L);
+        return savedPath;
+    }
+
+    @TearDown(Level.Invocation)
+    public void deleteSaved() throws Exception {
+        if (savedPath != null) {
+            Files.deleteIfExists(uploadDir.resolve(savedPath));
+            savedPath = null;
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        FileSystemUtils.deleteRecursively(uploadDir);
+    }
+}
@@ -0,0 +1,121 @@
+package cn.coderhythm.benchmark;
+
+import cn.coderhythm.models.MaintenanceCompany;
+import cn.coderhythm.models.MaintenanceUnit;
+import cn.coderhythm.spatial.GeoBoundary;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 列表接口的 JSON / CBOR 序列化与解析
+ * ObjectMapper 按 Spring Boot 默认方式构建并注册 Blackbird，与接口返回时的配置一致；
+ * 解析用树模型，近似客户端读取响应的开销。各格式的响应体大小在 setUp 时打印。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class JsonSerializationBenchmark {
+
+    @Param({"1000", "100000"})
+    public int rows;
+
+    @Param({"json", "cbor"})
+    public String format;
+
+    private ObjectMapper objectMapper;
+    private List<MaintenanceCompany> companies;
+    private List<MaintenanceUnit> units;
+    private byte[] companiesPayload;
+    private byte[] unitsPayload;
+
+    @Setup
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json().modulesToInstall(new BlackbirdModule());
+        objectMapper = "cbor".equals(format) ? builder.factory(new CBORFactory()).build() : builder.build();
+        Random random = new Random(42);
+        Date now = new Date();
+
+        companies = new ArrayList<>(rows);
+        units = new ArrayList<>(rows);
+        for (int i = 1; i <= rows; i++) {
+            MaintenanceCompany company = new MaintenanceCompany("养护单位" + i, i % 3 == 0 ? "国有企业" : "民营企业",
+                    "法人" + i, "联系人" + i, "1380000" + String.format("%04d", i % 10000), "示例市示例区园林路" + i + "号");
+            company.setId((long) i);
+            company.setCreatedAt(now);
+            company.setUpdatedAt(now);
+            companies.add(company);
+
+            MaintenanceUnit unit = new MaintenanceUnit("管养单元" + i, i % 2 == 0 ? "一级" : "二级", "香樟,银杏,桂花",
+                    random.nextInt(500), 1000 + random.nextDouble() * 50000, random.nextInt(20));
+            unit.setId((long) i);
+            unit.setBoundary(boundary(random));
+            unit.setCreatedAt(now);
+            unit.setUpdatedAt(now);
+            units.add(unit);
+        }
+
+        try {
+            companiesPayload = objectMapper.writeValueAsBytes(companies);
+            unitsPayload = objectMapper.writeValueAsBytes(units);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        System.out.printf("%n%s %d 行：养护单位 %d 字节，管养单元 %d 字节%n",
+                format, rows, companiesPayload.length, unitsPayload.length);
+    }
+
+    @Benchmark
+    public byte[] companies() throws Exception {
+        return objectMapper.writeValueAsBytes(companies);
+    }
+
+    @Benchmark
+    public byte[] units() throws Exception {
+        return objectMapper.writeValueAsBytes(units);
+    }
+
+    @Benchmark
+    public JsonNode parseCompanies() throws Exception {
+        return objectMapper.readTree(companiesPayload);
+    }
+
+    @Benchmark
+    public JsonNode parseUnits() throws Exception {
+        return objectMapper.readTree(unitsPayload);
+    }
+
+    // 8 个顶点的管养范围边界
+    private static GeoBoundary boundary(Random random) {
+        double lng = 120 + random.nextDouble();
+        double lat = 30 + random.nextDouble();
+        List<double[]> boundary = new ArrayList<>(8);
+        for (int k = 0; k < 8; k++) {
+            double angle = Math.PI * 2 * k / 8;
+            boundary.add(new double[]{lng + Math.cos(angle) * 0.002, lat + Math.sin(angle) * 0.002});
+        }
+        return GeoBoundary.of(boundary);
+    }
+}
@@ -0,0 +1,70 @@
+package cn.coderhythm.benchmark;
+
+import cn.coderhythm.security.jwt.JwtUtils;
+import cn.coderhythm.security.service.UserDetailsImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT 签发与校验
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtUtils jwtUtils;
+    private Authentication authentication;
+    private String validToken;
+    private String tamperedToken;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = new JwtUtils();
+        BenchmarkSupport.inject(jwtUtils, "jwtSecret", BenchmarkSupport.JWT_SECRET);
+        BenchmarkSupport.inject(jwtUtils, "jwtExpirationMs", BenchmarkSupport.JWT_EXPIRATION_MS);
+        BenchmarkSupport.inject(jwtUtils, "meterRegistry", BenchmarkSupport.meterRegistry());
+
+        UserDetailsImpl userDetails = UserDetailsImpl.build(BenchmarkSupport.user(1L, "admin"));
+        authentication = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        validToken = jwtUtils.generateJwtToken(authentication);
+        // 改动签名的最后一个字符，走签名校验失败分支
+        char last = validToken.charAt(validToken.length() - 1);
+        tamperedToken = validToken.substring(0, validToken.length() - 1) + (last == 'A' ? 'B' : 'A');
+    }
+
+    @Benchmark
+    public String generateJwtToken() {
+        return jwtUtils.generateJwtToken(authentication);
+    }
+
+    @Benchmark
+    public boolean validateJwtToken() {
+        return jwtUtils.validateJwtToken(validToken);
+    }
+
+    @Benchmark
+    public String getUserNameIfValid() {
+        return jwtUtils.getUserNameIfValid(validToken);
+    }
+
+    @Benchmark
+    public String getUserNameIfValidTampered() {
+        return jwtUtils.getUserNameIfValid(tamperedToken);
+    }
+}
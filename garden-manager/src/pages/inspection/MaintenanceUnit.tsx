@@ -39,6 +39,7 @@ interface MaintenanceUnitData {
   treeCount: number;
   greenArea: number;
   patchCount: number;
+  version?: number;
   createdAt?: string;
   updatedAt?: string;
 }
@@ -73,6 +74,7 @@ const MaintenanceUnit: React.FC = () => {
         treeCount: unit.treeCount,
         greenArea: unit.greenArea,
         patchCount: unit.patchCount,
+        version: unit.version,
         createdAt: formatDate(unit.createdAt),
         updatedAt: formatDate(unit.updatedAt)
       }));
@@ -168,7 +170,7 @@ const MaintenanceUnit: React.FC = () => {
         message.success('管养单元已添加');
       } else if (currentUnit) {
         // 更新现有管养单元
-        await maintenanceUnitAPI.updateUnit(currentUnit.id, values);
+        await maintenanceUnitAPI.updateUnit(currentUnit.id, values, currentUnit.version ?? 0);
         message.success('管养单元已更新');
       }
       
@@ -162,9 +162,11 @@ const maintenanceUnitAPI = {
     return api.post('/maintenance-units', unitData);
   },
   
-  // 更新管养单元
-  updateUnit: (id, unitData) => {
-    return api.put(`/maintenance-units/${id}`, unitData);
+  // 更新管养单元，version 为列表中读到的版本号，已被他人修改时返回 412
+  updateUnit: (id, unitData, version) => {
+    return api.put(`/maintenance-units/${id}`, unitData, {
+      headers: { 'If-Match': `"${version}"` }
+    });
   },
   
   // 删除管养单元
@@ -186,7 +188,110 @@ const maintenanceCompanyAPI = {
   // 保持其他方法不变
   getById: (id) => api.get(`/maintenance-companies/${id}`),
   create: (data) => api.post('/maintenance-companies', data),
-  update: (id, data) => api.put(`/maintenance-companies/${id}`, data)
+  update: (id, data, version) =>
+    api.put(`/maintenance-companies/${id}`, data, { headers: { 'If-Match': `"${version}"` } })
 };
 
-export { api, authAPI, userAPI, maintenanceUnitAPI, maintenanceCompanyAPI }; 
\ No newline at end of file
+// 仪表盘相关接口
+const dashboardAPI = {
+  // 首屏汇总数据，一次请求返回个人信息和各项统计
+  getSummary: () => api.get('/dashboard/summary'),
+};
+
+// 变更事件推送（SSE），EventSource 无法设置请求头，通过查询参数携带 token
+const eventsAPI = {
+  subscribe: (onEvent) => {
+    const token = localStorage.getItem('accessToken');
+    const source = new EventSource(`${API_URL}/events/stream?token=${encodeURIComponent(token || '')}`);
+    ['problem', 'company', 'unit', 'contract'].forEach((entity) => {
+      ['created', 'updated', 'deleted', 'status_changed', 'expiry_reminder'].forEach((action) => {
+        source.addEventListener(`${entity}.${action}`, (e) => onEvent(JSON.parse(e.data)));
+      });
+    });
+    return source;
+  },
+};
+
+const maintenancePlanAPI = {
+  getAll: (unitId) => api.get('/maintenance-plans', { params: { unitId } }),
+  getById: (id) => api.get(`/maintenance-plans/${id}`),
+  create: (data) => api.post('/maintenance-plans', data),
+  update: (id, data) => api.put(`/maintenance-plans/${id}`, data),
+  delete: (id) => api.delete(`/maintenance-plans/${id}`),
+  getOccurrences: (from, to, unitId) => api.get('/maintenance-plans/occurrences', { params: { from, to, unitId } }),
+  checkConflicts: (data, excludePlanId) => api.post('/maintenance-plans/conflicts/check', data, { params: { excludePlanId } }),
+  getPlanConflicts: (id) => api.get(`/maintenance-plans/${id}/conflicts`),
+  getMonthlyConflicts: (month) => api.get('/maintenance-plans/conflicts', { params: { month } }),
+};
+
+const assessmentItemAPI = {
+  getTree: () => api.get('/assessment-items/tree'),
+  getAll: () => api.get('/assessment-items'),
+  create: (data) => api.post('/assessment-items', data),
+  update: (id, data) => api.put(`/assessment-items/${id}`, data),
+  delete: (id) => api.delete(`/assessment-items/${id}`),
+};
+
+const contractAPI = {
+  getAll: (status) => api.get('/contracts', { params: { status } }),
+  getExpiring: (days = 30) => api.get('/contracts/expiring', { params: { days } }),
+  getById: (id) => api.get(`/contracts/${id}`),
+  create: (data) => api.post('/contracts', data),
+  update: (id, data) => api.put(`/contracts/${id}`, data),
+  delete: (id) => api.delete(`/contracts/${id}`),
+};
+
+// CRC32C（Castagnoli）查找表，用于分片校验
+const CRC32C_TABLE = (() => {
+  const table = new Uint32Array(256);
+  for (let i = 0; i < 256; i++) {
+    let c = i;
+    for (let k = 0; k < 8; k++) {
+      c = c & 1 ? 0x82f63b78 ^ (c >>> 1) : c >>> 1;
+    }
+    table[i] = c >>> 0;
+  }
+  return table;
+})();
+
+const crc32c = (bytes) => {
+  let crc = 0xffffffff;
+  for (let i = 0; i < bytes.length; i++) {
+    crc = CRC32C_TABLE[(crc ^ bytes[i]) & 0xff] ^ (crc >>> 8);
+  }
+  return ((crc ^ 0xffffffff) >>> 0).toString(16).padStart(8, '0');
+};
+
+const uploadAPI = {
+  initiate: (data) => api.post('/upload-sessions', data),
+  getStatus: (uploadId) => api.get(`/upload-sessions/${uploadId}`),
+  uploadChunk: (uploadId, offset, bytes) => api.put(`/upload-sessions/${uploadId}/chunks`, bytes, {
+    params: { offset },
+    headers: { 'Content-Type': 'application/octet-stream', 'X-Chunk-Checksum': crc32c(bytes) },
+  }),
+  complete: (uploadId) => api.post(`/upload-sessions/${uploadId}/complete`),
+  abort: (uploadId) => api.delete(`/upload-sessions/${uploadId}`),
+
+  // 上传整个文件；传入已有的 uploadId 时只补传缺失的分片
+  uploadFile: async (file, { purpose, uploadId, onProgress } = {}) => {
+    const session = uploadId
+      ? (await uploadAPI.getStatus(uploadId)).data
+      : (await uploadAPI.initiate({ fileName: file.name, contentType: file.type, totalSize: file.size, purpose })).data;
+    let received = session.receivedChunks;
+    for (const index of session.missingChunks) {
+      const offset = index * session.chunkSize;
+      const buffer = await file.slice(offset, offset + session.chunkSize).arrayBuffer();
+      await uploadAPI.uploadChunk(session.uploadId, offset, new Uint8Array(buffer));
+      received += 1;
+      if (onProgress) onProgress(received / session.totalChunks, session.uploadId);
+    }
+    return (await uploadAPI.complete(session.uploadId)).data;
+  },
+};
+
+const syncAPI = {
+  getChanges: (since = 0, limit = 500) => api.get('/sync/changes', { params: { since, limit } }),
+  getVersion: () => api.get('/sync/version'),
+};
+
+export { api, authAPI, userAPI, maintenanceUnitAPI, maintenanceCompanyAPI, dashboardAPI, eventsAPI, syncAPI, maintenancePlanAPI, assessmentItemAPI, contractAPI, uploadAPI }; 
\ No newline at end of file
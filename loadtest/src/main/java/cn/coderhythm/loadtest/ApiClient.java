@@ -0,0 +1,108 @@
+package cn.coderhythm.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+/**
+ * 基于 JDK HttpClient 的接口调用，每次请求的耗时和结果记入 Metrics
+ */
+public class ApiClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final Metrics metrics;
+
+    public ApiClient(String baseUrl, Metrics metrics, int concurrency) {
+        this.baseUrl = baseUrl;
+        this.metrics = metrics;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(Math.max(2, concurrency / 4)))
+                .build();
+    }
+
+    public Response get(String name, String path, String token) {
+        return send(name, request(path, token).GET().build());
+    }
+
+    public Response post(String name, String path, String token, Object body) {
+        return send(name, request(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(toJson(body)))
+                .build());
+    }
+
+    public Response put(String name, String path, String token, Object body) {
+        return send(name, request(path, token)
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofByteArray(toJson(body)))
+                .build());
+    }
+
+    JsonNode readJson(Response response) {
+        try {
+            return objectMapper.readTree(response.body);
+        } catch (IOException e) {
+            throw new IllegalStateException("响应不是合法的 JSON: " + e.getMessage(), e);
+        }
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT);
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private Response send(String name, HttpRequest request) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            long elapsed = System.nanoTime() - start;
+            boolean ok = response.statusCode() < 400;
+            metrics.record(name, elapsed, ok);
+            return new Response(response.statusCode(), response.body());
+        } catch (IOException e) {
+            metrics.record(name, System.nanoTime() - start, false);
+            return new Response(-1, new byte[0]);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Response(-1, new byte[0]);
+        }
+    }
+
+    private byte[] toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    public static final class Response {
+        final int status;
+        final byte[] body;
+
+        Response(int status, byte[] body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        boolean isOk() {
+            return status >= 200 && status < 400;
+        }
+    }
+}
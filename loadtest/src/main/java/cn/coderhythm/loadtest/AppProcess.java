@@ -0,0 +1,127 @@
+package cn.coderhythm.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 以 test 配置（H2 内存库）启动后端子进程，等待健康检查通过
+ * 测试配置的 DEBUG 日志和 SQL 预算检查会严重拖慢吞吐，启动时通过命令行参数关闭，日志级别与生产配置一致（INFO）。
+ */
+public class AppProcess implements AutoCloseable {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+
+    private final Process process;
+    private final Path uploadDir;
+    private final String baseUrl;
+
+    private AppProcess(Process process, Path uploadDir, String baseUrl) {
+        this.process = process;
+        this.uploadDir = uploadDir;
+        this.baseUrl = baseUrl;
+    }
+
+    public static AppProcess start(LoadTestOptions options) throws IOException, InterruptedException {
+        if (!Files.isRegularFile(options.backendJar)) {
+            throw new IllegalStateException("找不到后端 jar: " + options.backendJar.toAbsolutePath()
+                    + "，请先在 backend 目录执行 mvn package -DskipTests，或通过 --backend-jar 指定");
+        }
+        Path uploadDir = Files.createTempDirectory("garden-loadtest-uploads");
+        Path logFile = Paths.get("loadtest-app.log");
+
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(options.appJvmOptions);
+        command.add("-jar");
+        command.add(options.backendJar.toAbsolutePath().toString());
+        command.add("--spring.profiles.active=test");
+        command.add("--server.port=" + options.port);
+        command.add("--file.upload-dir=" + uploadDir);
+        command.add("--spring.jpa.show-sql=false");
+        command.add("--spring.h2.console.enabled=false");
+        command.add("--logging.level.root=INFO");
+        command.add("--logging.level.org.springframework.web=INFO");
+        command.add("--logging.level.org.springframework.security=INFO");
+        command.add("--logging.level.org.hibernate=INFO");
+        command.add("--logging.level.cn.coderhythm=INFO");
+        command.add("--app.query-budget.enabled=false");
+        command.addAll(options.appArgs);
+
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(logFile.toFile())
+                .start();
+        String baseUrl = "http://localhost:" + options.port + "/api";
+        AppProcess app = new AppProcess(process, uploadDir, baseUrl);
+        Runtime.getRuntime().addShutdownHook(new Thread(app::close));
+
+        System.out.printf("启动后端（test 配置），日志输出到 %s …%n", logFile.toAbsolutePath());
+        app.awaitHealthy();
+        return app;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    private void awaitHealthy() throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health"))
+                .timeout(Duration.ofSeconds(2))
+                .GET()
+                .build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("后端进程已退出，退出码 " + process.exitValue() + "，详见 loadtest-app.log");
+            }
+            try {
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() == 200 && response.body().contains("\"UP\"")) {
+                    return;
+                }
+            } catch (IOException e) {
+                // 尚未开始监听
+            }
+            Thread.sleep(500);
+        }
+        close();
+        throw new IllegalStateException("后端在 " + STARTUP_TIMEOUT.getSeconds() + "s 内未就绪");
+    }
+
+    @Override
+    public void close() {
+        if (process.isAlive()) {
+            process.destroy();
+            try {
+                if (!process.waitFor(20, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+        deleteQuietly(uploadDir);
+    }
+
+    private static void deleteQuietly(Path dir) {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            // 临时目录，清理失败不影响结果
+        }
+    }
+}
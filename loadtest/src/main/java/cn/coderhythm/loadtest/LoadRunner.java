@@ -0,0 +1,86 @@
+package cn.coderhythm.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 闭环压测：固定数量的虚拟用户按权重随机选择场景，上一个操作完成后立即发起下一个
+ * 预热期间的数据不计入结果。
+ */
+public class LoadRunner {
+
+    private final ApiClient client;
+    private final Seeder seeder;
+    private final SeedData data;
+    private final Metrics metrics;
+    private final LoadTestOptions options;
+
+    private final Scenario[] weighted;
+    private final LongAdder operations = new LongAdder();
+
+    public LoadRunner(ApiClient client, Seeder seeder, SeedData data, Metrics metrics, LoadTestOptions options) {
+        this.client = client;
+        this.seeder = seeder;
+        this.data = data;
+        this.metrics = metrics;
+        this.options = options;
+
+        List<Scenario> expanded = new ArrayList<>();
+        for (Map.Entry<Scenario, Integer> entry : options.mix.entrySet()) {
+            for (int i = 0; i < entry.getValue(); i++) {
+                expanded.add(entry.getKey());
+            }
+        }
+        this.weighted = expanded.toArray(new Scenario[0]);
+    }
+
+    /**
+     * @return 统计区间的实际时长（纳秒）
+     */
+    public long run() throws InterruptedException {
+        long warmupEnd = System.nanoTime() + options.warmup.toNanos();
+        long end = warmupEnd + options.duration.toNanos();
+
+        CountDownLatch done = new CountDownLatch(options.concurrency);
+        for (int i = 0; i < options.concurrency; i++) {
+            Random random = new Random(options.seed * 1_000_003L + i);
+            Thread worker = new Thread(() -> {
+                try {
+                    while (System.nanoTime() < end) {
+                        weighted[random.nextInt(weighted.length)].execute(client, seeder, data, random);
+                        operations.increment();
+                    }
+                } finally {
+                    done.countDown();
+                }
+            }, "load-worker-" + i);
+            worker.setDaemon(true);
+            worker.start();
+        }
+
+        metrics.setEnabled(true);
+        sleepUntil(warmupEnd);
+        metrics.reset();
+        operations.reset();
+        long measureStart = System.nanoTime();
+        System.out.printf("预热结束，开始统计 %ds …%n", options.duration.getSeconds());
+
+        done.await();
+        return System.nanoTime() - measureStart;
+    }
+
+    long getOperations() {
+        return operations.sum();
+    }
+
+    private static void sleepUntil(long deadline) throws InterruptedException {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            Thread.sleep(Math.min(remaining / 1_000_000 + 1, 1000));
+        }
+    }
+}
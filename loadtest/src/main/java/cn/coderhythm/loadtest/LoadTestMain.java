@@ -0,0 +1,46 @@
+package cn.coderhythm.loadtest;
+
+/**
+ * 压测入口
+ * 默认以 test 配置启动后端并灌入数据，再按场景权重施压，最后输出吞吐量和延迟分位数。
+ * 指定 --base-url 时直接压测已运行的服务（仍会通过接口灌数）。
+ */
+public class LoadTestMain {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+
+        AppProcess app = null;
+        String baseUrl = options.baseUrl;
+        if (baseUrl == null) {
+            app = AppProcess.start(options);
+            baseUrl = app.getBaseUrl();
+        }
+
+        try {
+            Metrics metrics = new Metrics();
+            ApiClient client = new ApiClient(baseUrl, metrics, options.concurrency);
+            Seeder seeder = new Seeder(client, options);
+
+            metrics.setEnabled(false);
+            SeedData data = seeder.seed();
+
+            System.out.printf("开始压测：并发 %d，预热 %ds，统计 %ds，场景 %s%n", options.concurrency,
+                    options.warmup.getSeconds(), options.duration.getSeconds(), options.mix);
+            LoadRunner runner = new LoadRunner(client, seeder, data, metrics, options);
+            long elapsed = runner.run();
+
+            Report report = new Report(metrics.snapshot(), elapsed, runner.getOperations());
+            report.print(System.out);
+            if (options.jsonOut != null) {
+                report.writeJson(options.jsonOut);
+                System.out.println("结果已写入 " + options.jsonOut.toAbsolutePath());
+            }
+        } finally {
+            if (app != null) {
+                app.close();
+            }
+        }
+        System.exit(0);
+    }
+}
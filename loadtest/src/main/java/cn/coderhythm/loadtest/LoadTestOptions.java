@@ -0,0 +1,90 @@
+package cn.coderhythm.loadtest;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 压测参数，命令行格式为 --key=value
+ */
+public class LoadTestOptions {
+
+    // 不指定 --base-url 时自动启动的后端
+    Path backendJar = Paths.get("backend/target/garden-manager-backend-0.0.1-SNAPSHOT.jar");
+    List<String> appJvmOptions = Arrays.asList("-Xms1g", "-Xmx1g");
+    // 追加给后端的启动参数，如 --app.threads.virtual.enabled=true
+    List<String> appArgs = Collections.emptyList();
+    int port = 18080;
+    String baseUrl;
+
+    // 数据规模
+    int companies = 1000;
+    int units = 1000;
+    int users = 200;
+    int avatars = 50;
+
+    // 压测过程
+    int concurrency = 32;
+    Duration warmup = Duration.ofSeconds(10);
+    Duration duration = Duration.ofSeconds(60);
+    long seed = 42;
+    Map<Scenario, Integer> mix = parseMix("login=1,browse=4,profile=2,avatar=2");
+    Path jsonOut;
+
+    static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("参数格式应为 --key=value: " + arg);
+            }
+            String key = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (key) {
+                case "backend-jar": options.backendJar = Paths.get(value); break;
+                case "app-jvm-opts": options.appJvmOptions = Arrays.asList(value.trim().split("\\s+")); break;
+                case "app-args": options.appArgs = Arrays.asList(value.trim().split("\\s+")); break;
+                case "port": options.port = Integer.parseInt(value); break;
+                case "base-url": options.baseUrl = value.endsWith("/") ? value.substring(0, value.length() - 1) : value; break;
+                case "companies": options.companies = Integer.parseInt(value); break;
+                case "units": options.units = Integer.parseInt(value); break;
+                case "users": options.users = Integer.parseInt(value); break;
+                case "avatars": options.avatars = Integer.parseInt(value); break;
+                case "concurrency": options.concurrency = Integer.parseInt(value); break;
+                case "warmup": options.warmup = Duration.ofSeconds(Long.parseLong(value)); break;
+                case "duration": options.duration = Duration.ofSeconds(Long.parseLong(value)); break;
+                case "seed": options.seed = Long.parseLong(value); break;
+                case "mix": options.mix = parseMix(value); break;
+                case "json-out": options.jsonOut = Paths.get(value); break;
+                default: throw new IllegalArgumentException("未知参数: --" + key);
+            }
+        }
+        if (options.users < 1) {
+            throw new IllegalArgumentException("--users 至少为 1");
+        }
+        options.avatars = Math.min(options.avatars, options.users);
+        return options;
+    }
+
+    /**
+     * 场景权重，如 login=1,browse=4；权重为 0 的场景不执行
+     */
+    static Map<Scenario, Integer> parseMix(String value) {
+        Map<Scenario, Integer> mix = new LinkedHashMap<>();
+        for (String part : value.split(",")) {
+            String[] pair = part.trim().split("=");
+            int weight = pair.length > 1 ? Integer.parseInt(pair[1].trim()) : 1;
+            if (weight > 0) {
+                mix.put(Scenario.fromName(pair[0].trim()), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("--mix 至少需要一个场景");
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,66 @@
+package cn.coderhythm.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 按请求名称统计延迟分布和错误数
+ * Recorder 支持多线程无锁写入；预热结束时调用 reset 丢弃之前的数据。
+ */
+public class Metrics {
+
+    private final Map<String, Series> series = new ConcurrentHashMap<>();
+    private volatile boolean enabled = true;
+
+    void record(String name, long elapsedNanos, boolean ok) {
+        if (!enabled) {
+            return;
+        }
+        Series s = series.computeIfAbsent(name, key -> new Series());
+        s.recorder.recordValue(Math.max(1, elapsedNanos / 1000));
+        if (!ok) {
+            s.errors.increment();
+        }
+    }
+
+    void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    void reset() {
+        series.values().forEach(s -> {
+            s.recorder.getIntervalHistogram();
+            s.errors.reset();
+        });
+    }
+
+    /**
+     * 取出开始统计以来的结果，按请求名称排序
+     */
+    Map<String, Snapshot> snapshot() {
+        Map<String, Snapshot> result = new TreeMap<>();
+        series.forEach((name, s) -> result.put(name, new Snapshot(s.recorder.getIntervalHistogram(), s.errors.sum())));
+        return result;
+    }
+
+    private static final class Series {
+        // 微秒，3 位有效数字
+        final Recorder recorder = new Recorder(3);
+        final LongAdder errors = new LongAdder();
+    }
+
+    static final class Snapshot {
+        final Histogram histogram;
+        final long errors;
+
+        Snapshot(Histogram histogram, long errors) {
+            this.histogram = histogram;
+            this.errors = errors;
+        }
+    }
+}
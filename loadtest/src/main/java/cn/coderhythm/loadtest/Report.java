@@ -0,0 +1,81 @@
+package cn.coderhythm.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 输出吞吐量与延迟分位数，可选写入 JSON 便于前后对比
+ */
+public class Report {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final Map<String, Metrics.Snapshot> snapshots;
+    private final long elapsedNanos;
+    private final long operations;
+
+    public Report(Map<String, Metrics.Snapshot> snapshots, long elapsedNanos, long operations) {
+        this.snapshots = snapshots;
+        this.elapsedNanos = elapsedNanos;
+        this.operations = operations;
+    }
+
+    public void print(PrintStream out) {
+        double seconds = elapsedNanos / 1e9;
+        out.printf("%n统计时长 %.1fs，用户操作 %d 次，%.1f ops/s%n%n", seconds, operations, operations / seconds);
+        out.printf("%-30s %9s %7s %10s %9s %9s %9s %9s %9s%n",
+                "请求", "次数", "错误", "req/s", "p50(ms)", "p90(ms)", "p99(ms)", "p99.9(ms)", "max(ms)");
+        snapshots.forEach((name, snapshot) -> {
+            Histogram h = snapshot.histogram;
+            out.printf("%-30s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    name, h.getTotalCount(), snapshot.errors, h.getTotalCount() / seconds,
+                    millis(h.getValueAtPercentile(PERCENTILES[0])),
+                    millis(h.getValueAtPercentile(PERCENTILES[1])),
+                    millis(h.getValueAtPercentile(PERCENTILES[2])),
+                    millis(h.getValueAtPercentile(PERCENTILES[3])),
+                    millis(h.getMaxValue()));
+        });
+    }
+
+    public void writeJson(Path path) throws IOException {
+        double seconds = elapsedNanos / 1e9;
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("durationSeconds", seconds);
+        root.put("operations", operations);
+        root.put("operationsPerSecond", operations / seconds);
+
+        List<Map<String, Object>> requests = new ArrayList<>();
+        snapshots.forEach((name, snapshot) -> {
+            Histogram h = snapshot.histogram;
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("name", name);
+            entry.put("count", h.getTotalCount());
+            entry.put("errors", snapshot.errors);
+            entry.put("throughput", h.getTotalCount() / seconds);
+            Map<String, Object> latency = new LinkedHashMap<>();
+            for (double p : PERCENTILES) {
+                latency.put("p" + (p == Math.rint(p) ? String.valueOf((long) p) : String.valueOf(p)), millis(h.getValueAtPercentile(p)));
+            }
+            latency.put("max", millis(h.getMaxValue()));
+            latency.put("mean", h.getMean() / 1000.0);
+            entry.put("latencyMs", latency);
+            requests.add(entry);
+        });
+        root.put("requests", requests);
+
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), root);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,84 @@
+package cn.coderhythm.loadtest;
+
+import java.util.Collections;
+import java.util.Random;
+
+/**
+ * 压测场景，每执行一次代表一个用户操作，可能包含多个请求
+ */
+public enum Scenario {
+
+    /**
+     * 登录风暴：随机用户登录，主要压 BCrypt 校验与用户查询
+     */
+    LOGIN("login") {
+        @Override
+        void execute(ApiClient client, Seeder seeder, SeedData data, Random random) {
+            SeedData.Credential user = randomUser(data, random);
+            String token = seeder.login(user.username, user.password);
+            if (token != null) {
+                user.token = token;
+            }
+        }
+    },
+
+    /**
+     * 列表浏览：养护单位和管养单元全量列表
+     */
+    BROWSE("browse") {
+        @Override
+        void execute(ApiClient client, Seeder seeder, SeedData data, Random random) {
+            String token = randomUser(data, random).token;
+            client.get("GET /maintenance-companies", "/maintenance-companies", token);
+            client.get("GET /maintenance-units", "/maintenance-units", token);
+        }
+    },
+
+    /**
+     * 个人资料读取后修改昵称
+     */
+    PROFILE("profile") {
+        @Override
+        void execute(ApiClient client, Seeder seeder, SeedData data, Random random) {
+            String token = randomUser(data, random).token;
+            client.get("GET /users/profile", "/users/profile", token);
+            client.put("PUT /users/profile", "/users/profile", token,
+                    Collections.singletonMap("nickname", "压测" + random.nextInt(10_000)));
+        }
+    },
+
+    /**
+     * 头像读取
+     */
+    AVATAR("avatar") {
+        @Override
+        void execute(ApiClient client, Seeder seeder, SeedData data, Random random) {
+            if (data.avatarFiles.isEmpty()) {
+                return;
+            }
+            String file = data.avatarFiles.get(random.nextInt(data.avatarFiles.size()));
+            client.get("GET /avatars/{file}", "/avatars/" + file, null);
+        }
+    };
+
+    private final String label;
+
+    Scenario(String label) {
+        this.label = label;
+    }
+
+    abstract void execute(ApiClient client, Seeder seeder, SeedData data, Random random);
+
+    static Scenario fromName(String name) {
+        for (Scenario scenario : values()) {
+            if (scenario.label.equalsIgnoreCase(name)) {
+                return scenario;
+            }
+        }
+        throw new IllegalArgumentException("未知场景: " + name);
+    }
+
+    private static SeedData.Credential randomUser(SeedData data, Random random) {
+        return data.users.get(random.nextInt(data.users.size()));
+    }
+}
@@ -0,0 +1,25 @@
+package cn.coderhythm.loadtest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 灌数结果：可登录的压测用户及其令牌、已上传的头像文件
+ */
+public class SeedData {
+
+    final List<Credential> users = Collections.synchronizedList(new ArrayList<>());
+    final List<String> avatarFiles = Collections.synchronizedList(new ArrayList<>());
+
+    static final class Credential {
+        final String username;
+        final String password;
+        volatile String token;
+
+        Credential(String username, String password) {
+            this.username = username;
+            this.password = password;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package cn.coderhythm.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntConsumer;
+
+/**
+ * 通过业务接口灌入压测数据，与真实请求走同一条链路
+ * 数据内容由种子决定，同样的参数每次得到同样的数据。
+ */
+public class Seeder {
+
+    static final String ADMIN_USERNAME = "admin";
+    static final String ADMIN_PASSWORD = "Admin@123";
+    static final String USER_PASSWORD = "Load@123456";
+
+    private static final String[] COMPANY_TYPES = {"国有企业", "民营企业", "事业单位", "个体工商户"};
+    private static final String[] LEVELS = {"一级", "二级", "三级"};
+    private static final String[] TREE_TYPES = {"香樟", "银杏", "桂花", "广玉兰", "水杉", "榉树", "红枫"};
+    private static final String[] SURNAMES = {"王", "李", "张", "刘", "陈", "杨", "赵", "黄", "周", "吴"};
+
+    private final ApiClient client;
+    private final LoadTestOptions options;
+
+    public Seeder(ApiClient client, LoadTestOptions options) {
+        this.client = client;
+        this.options = options;
+    }
+
+    public SeedData seed() throws Exception {
+        String adminToken = login(ADMIN_USERNAME, ADMIN_PASSWORD);
+        if (adminToken == null) {
+            throw new IllegalStateException("管理员登录失败，无法灌入数据");
+        }
+        SeedData data = new SeedData();
+
+        ExecutorService pool = Executors.newFixedThreadPool(options.concurrency);
+        try {
+            long start = System.nanoTime();
+            runAll(pool, options.companies, i -> createCompany(adminToken, i));
+            runAll(pool, options.units, i -> createUnit(adminToken, i));
+            runAll(pool, options.users, i -> data.users.add(createUser(i)));
+            data.users.sort((a, b) -> a.username.compareTo(b.username));
+            runAll(pool, options.avatars, i -> uploadAvatar(data, data.users.get(i), i));
+            System.out.printf("灌数完成：养护单位 %d，管养单元 %d，用户 %d，头像 %d，耗时 %.1fs%n",
+                    options.companies, options.units, data.users.size(), data.avatarFiles.size(),
+                    (System.nanoTime() - start) / 1e9);
+        } finally {
+            pool.shutdownNow();
+        }
+        return data;
+    }
+
+    String login(String username, String password) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("username", username);
+        body.put("password", password);
+        ApiClient.Response response = client.post("POST /auth/signin", "/auth/signin", null, body);
+        if (!response.isOk()) {
+            return null;
+        }
+        JsonNode json = client.readJson(response);
+        JsonNode token = json.has("token") ? json.get("token") : json.get("accessToken");
+        return token != null ? token.asText() : null;
+    }
+
+    private void createCompany(String adminToken, int i) {
+        Random random = new Random(options.seed * 31 + i);
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("companyName", "压测养护单位" + i);
+        body.put("companyType", COMPANY_TYPES[random.nextInt(COMPANY_TYPES.length)]);
+        body.put("legalPerson", personName(random));
+        body.put("contactPerson", personName(random));
+        body.put("contactPhone", String.format("139%08d", random.nextInt(100_000_000)));
+        body.put("address", "示例市园林路" + (random.nextInt(999) + 1) + "号");
+        require(client.post("seed company", "/maintenance-companies", adminToken, body), "创建养护单位");
+    }
+
+    private void createUnit(String adminToken, int i) {
+        Random random = new Random(options.seed * 37 + i);
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("unitName", "压测管养单元" + i);
+        body.put("maintenanceLevel", LEVELS[random.nextInt(LEVELS.length)]);
+        body.put("treeTypes", TREE_TYPES[random.nextInt(TREE_TYPES.length)] + "," + TREE_TYPES[random.nextInt(TREE_TYPES.length)]);
+        body.put("treeCount", random.nextInt(1000));
+        body.put("greenArea", 500 + random.nextDouble() * 50_000);
+        body.put("patchCount", 1 + random.nextInt(30));
+        body.put("boundary", boundary(random));
+        require(client.post("seed unit", "/maintenance-units", adminToken, body), "创建管养单元");
+    }
+
+    private SeedData.Credential createUser(int i) {
+        Random random = new Random(options.seed * 41 + i);
+        String username = String.format("load%06d", i);
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("username", username);
+        body.put("email", username + "@example.com");
+        body.put("password", USER_PASSWORD);
+        body.put("fullName", personName(random));
+        require(client.post("seed signup", "/auth/signup", null, body), "注册用户");
+
+        SeedData.Credential credential = new SeedData.Credential(username, USER_PASSWORD);
+        credential.token = login(username, USER_PASSWORD);
+        if (credential.token == null) {
+            throw new IllegalStateException("压测用户登录失败: " + username);
+        }
+        return credential;
+    }
+
+    // 约 30KB 的随机内容，服务端不校验图片格式
+    private void uploadAvatar(SeedData data, SeedData.Credential user, int i) {
+        byte[] image = new byte[30 * 1024];
+        new Random(options.seed * 43 + i).nextBytes(image);
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("avatar", "data:image/jpeg;base64," + Base64.getEncoder().encodeToString(image));
+        ApiClient.Response response = client.put("seed avatar", "/users/profile", user.token, body);
+        require(response, "上传头像");
+        String avatar = client.readJson(response).path("avatar").asText("");
+        if (avatar.startsWith("avatars/")) {
+            data.avatarFiles.add(avatar.substring("avatars/".length()));
+        }
+    }
+
+    private void runAll(ExecutorService pool, int count, IntConsumer task) throws Exception {
+        List<Future<?>> futures = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int index = i;
+            futures.add(pool.submit(() -> task.accept(index)));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    private static void require(ApiClient.Response response, String action) {
+        if (!response.isOk()) {
+            throw new IllegalStateException(action + "失败，HTTP " + response.status + ": " + new String(response.body, StandardCharsets.UTF_8));
+        }
+    }
+
+    private static String personName(Random random) {
+        return SURNAMES[random.nextInt(SURNAMES.length)] + (char) ('一' + random.nextInt(0x5000))
+                + (random.nextBoolean() ? String.valueOf((char) ('一' + random.nextInt(0x5000))) : "");
+    }
+
+    // 8 个顶点的多边形边界
+    private static List<double[]> boundary(Random random) {
+        double lng = 120 + random.nextDouble();
+        double lat = 30 + random.nextDouble();
+        List<double[]> boundary = new ArrayList<>(8);
+        for (int k = 0; k < 8; k++) {
+            double angle = Math.PI * 2 * k / 8;
+            boundary.add(new double[]{lng + Math.cos(angle) * 0.002, lat + Math.sin(angle) * 0.002});
+        }
+        return boundary;
+    }
+}